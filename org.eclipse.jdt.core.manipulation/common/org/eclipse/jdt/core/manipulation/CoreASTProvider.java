@@ -31,6 +31,7 @@ import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.RecentASTCache;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
@@ -59,6 +60,9 @@ public final class CoreASTProvider {
 	private volatile ITypeRoot fReconcilingJavaElement;
 	private ITypeRoot fActiveJavaElement;
 	private CompilationUnit fAST;
+	/** The element and recent AST cache stamp <code>fAST</code> has been created from, if known */
+	private ITypeRoot fASTElement;
+	private long fASTStamp= RecentASTCache.NO_STAMP;
 	private Object fReconcileLock= new Object();
 	private Object fWaitLock= new Object();
 	private volatile boolean fIsReconciling;
@@ -132,6 +136,7 @@ public final class CoreASTProvider {
 		if (progressMonitor != null && progressMonitor.isCanceled())
 			return null;
 
+		RecentASTCache recentCache= RecentASTCache.getDefault();
 		boolean isActiveElement;
 		synchronized (this) {
 			isActiveElement= input.equals(fActiveJavaElement);
@@ -140,6 +145,7 @@ public final class CoreASTProvider {
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning cached AST:" + toString(fAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
+					recentCache.recordHit();
 					return fAST;
 				}
 				if (waitFlag == CoreASTProvider.WAIT_NO) {
@@ -152,6 +158,16 @@ public final class CoreASTProvider {
 			}
 		}
 
+		if (!isActiveElement) {
+			CompilationUnit recentAST= recentCache.get(input);
+			if (recentAST != null) {
+				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning recent AST:" + toString(recentAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+				return recentAST;
+			}
+		}
+
 		final boolean canReturnNull= waitFlag == CoreASTProvider.WAIT_NO || (waitFlag == CoreASTProvider.WAIT_ACTIVE_ONLY && (!isActiveElement || fAST != null));
 		boolean isReconciling= false;
 		final ITypeRoot activeElement;
@@ -173,7 +189,9 @@ public final class CoreASTProvider {
 					if (isReconciling(input)) {
 						if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 							System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "waiting for AST for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$
+						long start= System.nanoTime();
 						fWaitLock.wait(30000); // XXX: The 30 seconds timeout is an attempt to at least avoid a deadlock. See https://bugs.eclipse.org/366048#c21
+						recentCache.recordWait(System.nanoTime() - start);
 					}
 				}
 
@@ -195,8 +213,17 @@ public final class CoreASTProvider {
 
 
 		CompilationUnit ast= null;
+		long stamp= recentCache.getStamp();
 		try {
-			ast= createAST(input, progressMonitor);
+			// the previously active element may have been activated again
+			ast= isActiveElement ? recentCache.get(input) : null;
+			if (ast == null) {
+				long start= System.nanoTime();
+				ast= createAST(input, progressMonitor);
+				recentCache.recordParse(System.nanoTime() - start);
+				if (!isActiveElement)
+					recentCache.put(input, ast, stamp);
+			}
 			if (progressMonitor != null && progressMonitor.isCanceled()) {
 				ast= null;
 				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
@@ -208,10 +235,10 @@ public final class CoreASTProvider {
 					// in the meantime, reconcile created a new AST. Return that one
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for " + input.getElementName() + " - AST from reconciler is newer"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-					reconciled(fAST, input, null);
+					reconciled(fAST, input, fASTStamp);
 					return fAST;
 				} else
-					reconciled(ast, input, null);
+					reconciled(ast, input, stamp);
 			}
 		}
 		return ast;
@@ -319,6 +346,11 @@ public final class CoreASTProvider {
 	 *      boolean, IProgressMonitor)
 	 */
 	public void reconciled(CompilationUnit ast, ITypeRoot javaElement, IProgressMonitor progressMonitor) {
+		// the change of the reconcile has already been reported
+		reconciled(ast, javaElement, RecentASTCache.getDefault().getStamp());
+	}
+
+	private void reconciled(CompilationUnit ast, ITypeRoot javaElement, long stamp) {
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "reconciled: " + toString(javaElement) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
@@ -337,7 +369,7 @@ public final class CoreASTProvider {
 
 				return;
 			}
-			cache(ast, javaElement);
+			cache(ast, javaElement, stamp);
 		}
 	}
 
@@ -357,21 +389,41 @@ public final class CoreASTProvider {
 	 * @param ast the ast
 	 * @param javaElement the java element
 	 */
-	public synchronized void cache(CompilationUnit ast, ITypeRoot javaElement) {
+	public void cache(CompilationUnit ast, ITypeRoot javaElement) {
+		cache(ast, javaElement, RecentASTCache.NO_STAMP);
+	}
+
+	/**
+	 * Caches the given compilation unit AST for the given Java element. If the AST is replaced
+	 * by the one of another element, it is kept in the {@link RecentASTCache}.
+	 *
+	 * @param ast the ast
+	 * @param javaElement the java element
+	 * @param stamp the stamp of the recent AST cache taken before the AST was created, or
+	 *            {@link RecentASTCache#NO_STAMP} if unknown
+	 */
+	private synchronized void cache(CompilationUnit ast, ITypeRoot javaElement, long stamp) {
 
 		if (fActiveJavaElement != null && !fActiveJavaElement.equals(javaElement)) {
 			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && javaElement != null) // don't report call from disposeAST()
 				System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "don't cache AST for inactive: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$
+			RecentASTCache.getDefault().put(javaElement, ast, stamp);
 			return;
 		}
 
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && (javaElement != null || ast != null)) // don't report call from disposeAST()
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "caching AST: " + toString(ast) + " for: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
-		if (fAST != null)
+		if (fAST != null) {
+			if (fASTElement != null && !fASTElement.equals(javaElement))
+				RecentASTCache.getDefault().put(fASTElement, fAST, fASTStamp);
 			disposeAST();
+		}
 
 		fAST= ast;
+		fASTElement= ast != null ? javaElement : null;
+		fASTStamp= ast != null ? stamp : RecentASTCache.NO_STAMP;
+		RecentASTCache.getDefault().setStamp(ast, stamp);
 
 		// Signal AST change
 		synchronized (fWaitLock) {
@@ -410,6 +462,8 @@ public final class CoreASTProvider {
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "disposing AST: " + toString(fAST) + " for: " + toString(fActiveJavaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
 		fAST= null;
+		fASTElement= null;
+		fASTStamp= RecentASTCache.NO_STAMP;
 
 		cache(null, null);
 	}
@@ -0,0 +1,501 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.core.runtime.jobs.MultiRule;
+
+import org.eclipse.core.resources.IWorkspaceRunnable;
+
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation.IChooseImportQuery;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationMessages;
+import org.eclipse.jdt.internal.core.manipulation.Messages;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+
+/**
+ * Organizes the imports of many compilation units at once.
+ * <p>
+ * The units of each project are parsed in chunks, each chunk with one batch parser, and the type
+ * references of a unit are collected as soon as its AST is created. The names that have no binding
+ * are resolved with one type name search per project and source folder kind. The units are then
+ * processed in parallel by the jobs of a job group against the shared, read-only table of search
+ * results. The
+ * {@link IChooseImportQuery} is only called from the thread running the operation, project by
+ * project in the order of the units passed to the constructor.
+ * </p>
+ *
+ * @since 1.22
+ */
+public final class MultiOrganizeImportsOperation implements IWorkspaceRunnable {
+
+	/**
+	 * The number of units of a project whose ASTs are created by one batch parser and held at the
+	 * same time. Names that were resolved for an earlier chunk are not searched again.
+	 */
+	private static final int UNITS_PER_CHUNK= 200;
+
+	/**
+	 * The search scope of a compilation unit, see {@link OrganizeImportsOperation#createSearchScope(IJavaProject, boolean)}.
+	 */
+	private record ResolutionScope(IJavaProject project, boolean excludeTestCode) {
+	}
+
+	private interface UnitStep {
+		void run(int index) throws CoreException;
+	}
+
+	/**
+	 * Runs a step for the units of a chunk that are not taken by another job of the same group.
+	 * Exceptions are not reported by the job, they are kept and rethrown by the thread running the
+	 * operation.
+	 */
+	private static class UnitStepJob extends Job {
+
+		private final UnitStep fStep;
+		private final int fSize;
+		private final AtomicInteger fNextIndex;
+		private final AtomicBoolean fCanceled;
+		private volatile Throwable fException;
+
+		public UnitStepJob(String name, UnitStep step, int size, AtomicInteger nextIndex, AtomicBoolean canceled) {
+			super(name);
+			fStep= step;
+			fSize= size;
+			fNextIndex= nextIndex;
+			fCanceled= canceled;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				int index;
+				while (!fCanceled.get() && (index= fNextIndex.getAndIncrement()) < fSize) {
+					fStep.run(index);
+				}
+			} catch (CoreException | RuntimeException | Error e) {
+				fException= e;
+				fCanceled.set(true);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		protected void canceling() {
+			fCanceled.set(true);
+		}
+	}
+
+	private final ICompilationUnit[] fCompilationUnits;
+	private final boolean fIgnoreLowerCaseNames;
+	private final boolean fDoSave;
+	private final boolean fAllowSyntaxErrors;
+	private final IChooseImportQuery fChooseImportQuery;
+
+	private final Map<ResolutionScope, Map<String, List<TypeNameMatch>>> fResolvedTypes;
+
+	private IProblem[] fParsingErrors;
+	private boolean[] fOpenChoices;
+	private int fNumberOfImportsAdded;
+	private int fNumberOfImportsRemoved;
+
+	/**
+	 * Creates a new MultiOrganizeImportsOperation operation.
+	 *
+	 * @param cus The compilation units
+	 * @param ignoreLowerCaseNames when true, type names starting with a lower case are ignored
+	 * @param save If set, the results will be saved
+	 * @param allowSyntaxErrors If set, the operation will only proceed on compilation units that
+	 *            have no syntax errors
+	 * @param chooseImportQuery Query element to be used for UI interaction or <code>null</code> to
+	 *            not select anything
+	 */
+	public MultiOrganizeImportsOperation(ICompilationUnit[] cus, boolean ignoreLowerCaseNames, boolean save, boolean allowSyntaxErrors, IChooseImportQuery chooseImportQuery) {
+		fCompilationUnits= cus;
+		fIgnoreLowerCaseNames= ignoreLowerCaseNames;
+		fDoSave= save;
+		fAllowSyntaxErrors= allowSyntaxErrors;
+		fChooseImportQuery= chooseImportQuery;
+		fResolvedTypes= new HashMap<>();
+		fParsingErrors= new IProblem[cus.length];
+		fOpenChoices= new boolean[cus.length];
+	}
+
+	/**
+	 * Runs the operation.
+	 * @param monitor the progress monitor
+	 * @throws CoreException thrown when the operation failed
+	 * @throws OperationCanceledException Runtime error thrown when operation is canceled.
+	 */
+	@Override
+	public void run(IProgressMonitor monitor) throws CoreException, OperationCanceledException {
+		SubMonitor subMonitor= SubMonitor.convert(monitor, Messages.format(JavaManipulationMessages.MultiOrganizeImportsOperation_description, String.valueOf(fCompilationUnits.length)), 10);
+		TextEdit[] edits= createTextEdits(subMonitor.split(9));
+
+		SubMonitor applyMonitor= subMonitor.split(1).setWorkRemaining(edits.length);
+		for (int i= 0; i < edits.length; i++) {
+			if (edits[i] != null) {
+				JavaModelUtil.applyEdit(fCompilationUnits[i], edits[i], fDoSave, applyMonitor.split(1));
+			} else {
+				applyMonitor.worked(1);
+			}
+		}
+	}
+
+	/**
+	 * Creates the edits for all compilation units.
+	 *
+	 * @param monitor the progress monitor
+	 * @return the edit of each compilation unit, <code>null</code> for units that could not be
+	 *         processed because of a parse error
+	 * @throws CoreException thrown when the operation failed
+	 * @throws OperationCanceledException Runtime error thrown when operation is canceled.
+	 */
+	public TextEdit[] createTextEdits(IProgressMonitor monitor) throws CoreException, OperationCanceledException {
+		SubMonitor subMonitor= SubMonitor.convert(monitor, Messages.format(JavaManipulationMessages.MultiOrganizeImportsOperation_description, String.valueOf(fCompilationUnits.length)), fCompilationUnits.length * 4);
+		fResolvedTypes.clear();
+		fParsingErrors= new IProblem[fCompilationUnits.length];
+		fOpenChoices= new boolean[fCompilationUnits.length];
+		fNumberOfImportsAdded= 0;
+		fNumberOfImportsRemoved= 0;
+
+		TextEdit[] edits= new TextEdit[fCompilationUnits.length];
+		for (int[] chunk : createChunks()) {
+			processChunk(chunk, edits, subMonitor.split(chunk.length * 4));
+		}
+		return edits;
+	}
+
+	/**
+	 * Splits the units into chunks of at most {@link #UNITS_PER_CHUNK} units of the same project.
+	 *
+	 * @return the indexes of the units of each chunk
+	 */
+	private List<int[]> createChunks() {
+		Map<IJavaProject, List<Integer>> projects= new LinkedHashMap<>();
+		for (int i= 0; i < fCompilationUnits.length; i++) {
+			projects.computeIfAbsent(fCompilationUnits[i].getJavaProject(), key -> new ArrayList<>()).add(Integer.valueOf(i));
+		}
+		List<int[]> chunks= new ArrayList<>();
+		for (List<Integer> indexes : projects.values()) {
+			for (int start= 0; start < indexes.size(); start+= UNITS_PER_CHUNK) {
+				List<Integer> chunk= indexes.subList(start, Math.min(indexes.size(), start + UNITS_PER_CHUNK));
+				chunks.add(chunk.stream().mapToInt(Integer::intValue).toArray());
+			}
+		}
+		return chunks;
+	}
+
+	private void processChunk(int[] chunk, TextEdit[] edits, SubMonitor monitor) throws CoreException {
+		int size= chunk.length;
+		OrganizeImportsOperation[] operations= new OrganizeImportsOperation[size];
+		boolean[] collected= new boolean[size];
+
+		collectTypeReferences(chunk, operations, collected, monitor.split(size));
+
+		Map<ResolutionScope, Map<String, List<TypeNameMatch>>> unitTypes= new HashMap<>();
+		for (int i= 0; i < size; i++) {
+			if (collected[i]) {
+				unitTypes.put(getResolutionScope(operations[i]), null);
+			} else {
+				fParsingErrors[chunk[i]]= operations[i].getParseError();
+			}
+		}
+		resolveTypeNames(operations, collected, monitor.split(size));
+		for (ResolutionScope scope : unitTypes.keySet()) {
+			unitTypes.put(scope, Collections.unmodifiableMap(fResolvedTypes.get(scope)));
+		}
+
+		boolean[] hasOpenChoices= new boolean[size];
+		runInParallel(size, index -> {
+			if (collected[index]) {
+				OrganizeImportsOperation operation= operations[index];
+				hasOpenChoices[index]= operation.resolveTypeReferences(unitTypes.get(getResolutionScope(operation)), null);
+			}
+		}, monitor);
+		monitor.worked(size);
+
+		// the query is called in the order of the units, on the thread running the operation
+		for (int i= 0; i < size; i++) {
+			if (hasOpenChoices[i]) {
+				fOpenChoices[chunk[i]]= true;
+				operations[i].chooseImports();
+			}
+		}
+
+		runInParallel(size, index -> {
+			if (collected[index]) {
+				edits[chunk[index]]= operations[index].rewriteImports(null);
+			}
+		}, monitor);
+		monitor.worked(size);
+
+		for (int i= 0; i < size; i++) {
+			if (collected[i]) {
+				fNumberOfImportsAdded+= operations[i].getNumberOfImportsAdded();
+				fNumberOfImportsRemoved+= operations[i].getNumberOfImportsRemoved();
+			}
+		}
+	}
+
+	/**
+	 * Parses the units of a chunk with one batch parser, so that the name environment of their
+	 * project is built once, and collects the type references of each unit when its AST is
+	 * created.
+	 */
+	private void collectTypeReferences(int[] chunk, OrganizeImportsOperation[] operations, boolean[] collected, IProgressMonitor monitor) {
+		Map<ICompilationUnit, Integer> indexes= new HashMap<>();
+		List<ICompilationUnit> units= new ArrayList<>(chunk.length);
+		for (int i= 0; i < chunk.length; i++) {
+			ICompilationUnit cu= fCompilationUnits[chunk[i]];
+			if (indexes.putIfAbsent(cu, Integer.valueOf(i)) == null) {
+				units.add(cu);
+			}
+		}
+
+		ASTParser parser= createParser();
+		parser.setProject(units.get(0).getJavaProject());
+		parser.createASTs(units.toArray(new ICompilationUnit[units.size()]), new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				Integer index= indexes.get(source);
+				if (index != null && operations[index.intValue()] == null) {
+					collectTypeReferences(index.intValue(), source, ast, operations, collected);
+				}
+			}
+		}, monitor);
+
+		// units the batch parser did not report and repeated units are parsed on their own
+		for (int i= 0; i < chunk.length; i++) {
+			if (operations[i] == null) {
+				ICompilationUnit cu= fCompilationUnits[chunk[i]];
+				collectTypeReferences(i, cu, createAST(cu), operations, collected);
+			}
+		}
+	}
+
+	private void collectTypeReferences(int index, ICompilationUnit cu, CompilationUnit ast, OrganizeImportsOperation[] operations, boolean[] collected) {
+		OrganizeImportsOperation operation= new OrganizeImportsOperation(cu, ast, fIgnoreLowerCaseNames, false, fAllowSyntaxErrors, fChooseImportQuery);
+		collected[index]= operation.collectTypeReferences(null);
+		operations[index]= operation;
+	}
+
+	/**
+	 * Searches the unresolved names of the collected units that are not in the table yet, with one
+	 * search for each scope.
+	 */
+	private void resolveTypeNames(OrganizeImportsOperation[] operations, boolean[] collected, IProgressMonitor monitor) throws CoreException {
+		Map<ResolutionScope, Set<String>> missingNames= new LinkedHashMap<>();
+		for (int i= 0; i < operations.length; i++) {
+			if (!collected[i]) {
+				continue;
+			}
+			ResolutionScope scope= getResolutionScope(operations[i]);
+			Map<String, List<TypeNameMatch>> resolvedTypes= fResolvedTypes.computeIfAbsent(scope, key -> new HashMap<>());
+			for (String typeName : operations[i].getUnresolvedTypeNames()) {
+				if (!resolvedTypes.containsKey(typeName)) {
+					missingNames.computeIfAbsent(scope, key -> new LinkedHashSet<>()).add(typeName);
+				}
+			}
+		}
+
+		SubMonitor subMonitor= SubMonitor.convert(monitor, missingNames.size());
+		for (Entry<ResolutionScope, Set<String>> entry : missingNames.entrySet()) {
+			ResolutionScope scope= entry.getKey();
+			Map<String, List<TypeNameMatch>> resolvedTypes= fResolvedTypes.get(scope);
+			char[][] typeNames= new char[entry.getValue().size()][];
+			int i= 0;
+			for (String typeName : entry.getValue()) {
+				typeNames[i++]= typeName.toCharArray();
+				resolvedTypes.put(typeName, new ArrayList<>(1));
+			}
+
+			List<TypeNameMatch> typesFound= new ArrayList<>();
+			new SearchEngine().searchAllTypeNames(null, typeNames, OrganizeImportsOperation.createSearchScope(scope.project(), scope.excludeTestCode()),
+					new TypeNameMatchCollector(typesFound), IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, subMonitor.split(1));
+			for (TypeNameMatch match : typesFound) {
+				List<TypeNameMatch> matches= resolvedTypes.get(match.getSimpleTypeName());
+				if (matches != null) {
+					matches.add(match);
+				}
+			}
+		}
+	}
+
+	private static ResolutionScope getResolutionScope(OrganizeImportsOperation operation) throws CoreException {
+		return new ResolutionScope(operation.getCompilationUnit().getJavaProject(), !operation.isTestCode());
+	}
+
+	private static ASTParser createParser() {
+		ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setResolveBindings(true);
+		parser.setStatementsRecovery(IASTSharedValues.SHARED_AST_STATEMENT_RECOVERY);
+		parser.setBindingsRecovery(IASTSharedValues.SHARED_BINDING_RECOVERY);
+		return parser;
+	}
+
+	private static CompilationUnit createAST(ICompilationUnit cu) {
+		ASTParser parser= createParser();
+		parser.setSource(cu);
+		return (CompilationUnit) parser.createAST(null);
+	}
+
+	/**
+	 * Runs the step for each unit of a chunk in the jobs of one job group and waits for all of them.
+	 * Each unit is only touched by one thread at a time, so the ASTs need no further synchronization.
+	 */
+	private void runInParallel(int size, UnitStep step, IProgressMonitor monitor) throws CoreException {
+		if (size == 0) {
+			return;
+		}
+		String name= Messages.format(JavaManipulationMessages.MultiOrganizeImportsOperation_description, String.valueOf(fCompilationUnits.length));
+		int parallelism= Math.min(size, Runtime.getRuntime().availableProcessors());
+		AtomicInteger nextIndex= new AtomicInteger();
+		AtomicBoolean canceled= new AtomicBoolean();
+		JobGroup group= new JobGroup(name, parallelism, 0);
+		List<UnitStepJob> jobs= new ArrayList<>(parallelism);
+		for (int i= 0; i < parallelism; i++) {
+			UnitStepJob job= new UnitStepJob(name, step, size, nextIndex, canceled);
+			job.setJobGroup(group);
+			jobs.add(job);
+		}
+		try {
+			for (UnitStepJob job : jobs) {
+				job.schedule();
+			}
+			while (!group.join(100, null)) {
+				if (monitor.isCanceled()) {
+					canceled.set(true);
+					break;
+				}
+			}
+		} catch (InterruptedException e) {
+			canceled.set(true);
+			Thread.currentThread().interrupt();
+		} finally {
+			if (canceled.get()) {
+				group.cancel();
+				// the jobs must not touch the operations once this method returns
+				joinUninterruptibly(group);
+			}
+		}
+		for (UnitStepJob job : jobs) {
+			Throwable exception= job.fException;
+			if (exception instanceof CoreException) {
+				throw (CoreException) exception;
+			}
+			if (exception instanceof RuntimeException) {
+				throw (RuntimeException) exception;
+			}
+			if (exception instanceof Error) {
+				throw (Error) exception;
+			}
+		}
+		if (canceled.get() || monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	private static void joinUninterruptibly(JobGroup group) {
+		boolean interrupted= false;
+		while (true) {
+			try {
+				group.join(0, null);
+				break;
+			} catch (InterruptedException e) {
+				interrupted= true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * After executing the operation, returns for each compilation unit <code>null</code> if it has
+	 * been processed successfully or the range where parsing failed.
+	 * @return returns the parse errors
+	 */
+	public IProblem[] getParseErrors() {
+		return fParsingErrors;
+	}
+
+	/**
+	 * After executing the operation, returns for each compilation unit whether it had type
+	 * references with more than one candidate, that is whether the {@link IChooseImportQuery} has
+	 * been called for it.
+	 * @return returns the units with open choices
+	 */
+	public boolean[] getUnitsWithOpenChoices() {
+		return fOpenChoices;
+	}
+
+	/**
+	 * @return Returns the number of import statements added for all compilation units
+	 */
+	public int getNumberOfImportsAdded() {
+		return fNumberOfImportsAdded;
+	}
+
+	/**
+	 * @return Returns the number of import statements removed for all compilation units
+	 */
+	public int getNumberOfImportsRemoved() {
+		return fNumberOfImportsRemoved;
+	}
+
+	/**
+	 * @return Returns the scheduling rule for this operation
+	 */
+	public ISchedulingRule getScheduleRule() {
+		ISchedulingRule[] rules= new ISchedulingRule[fCompilationUnits.length];
+		for (int i= 0; i < rules.length; i++) {
+			rules[i]= fCompilationUnits[i].getResource();
+		}
+		return MultiRule.combine(rules);
+	}
+}
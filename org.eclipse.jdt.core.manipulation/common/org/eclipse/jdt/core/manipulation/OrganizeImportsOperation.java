@@ -346,23 +346,48 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 			fUnresolvedTypes.put(typeName, new UnresolvedTypeData(ref));
 		}
 
-		public boolean process(IProgressMonitor monitor) throws JavaModelException {
+		public Set<String> getUnresolvedTypeNames() {
+			return fUnresolvedTypes.keySet();
+		}
+
+		public boolean isTestCode() throws JavaModelException {
+			return ((IPackageFragmentRoot)fCurrPackage.getParent()).getResolvedClasspathEntry().isTest();
+		}
+
+		/**
+		 * Resolves the unresolved type references.
+		 *
+		 * @param resolvedTypes the types found for each simple name by an earlier search over the
+		 *            scope of this unit, or <code>null</code> to search for the names here
+		 * @param monitor the progress monitor
+		 * @return <code>true</code> if there are open choices left
+		 * @throws JavaModelException thrown when the search fails
+		 */
+		public boolean process(Map<String, List<TypeNameMatch>> resolvedTypes, IProgressMonitor monitor) throws JavaModelException {
 			try {
 				int nUnresolved= fUnresolvedTypes.size();
 				if (nUnresolved == 0) {
 					return false;
 				}
-				char[][] allTypes= new char[nUnresolved][];
-				int i= 0;
-				for (String string : fUnresolvedTypes.keySet()) {
-					allTypes[i++]= string.toCharArray();
-				}
 				final ArrayList<TypeNameMatch> typesFound= new ArrayList<>();
 				final IJavaProject project= fCurrPackage.getJavaProject();
-				boolean excludeTestCode= !((IPackageFragmentRoot)fCurrPackage.getParent()).getResolvedClasspathEntry().isTest();
-				IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
-				TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
-				new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				if (resolvedTypes != null) {
+					for (String typeName : fUnresolvedTypes.keySet()) {
+						List<TypeNameMatch> matches= resolvedTypes.get(typeName);
+						if (matches != null) {
+							typesFound.addAll(matches);
+						}
+					}
+				} else {
+					char[][] allTypes= new char[nUnresolved][];
+					int i= 0;
+					for (String string : fUnresolvedTypes.keySet()) {
+						allTypes[i++]= string.toCharArray();
+					}
+					IJavaSearchScope scope= createSearchScope(project, !isTestCode());
+					TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
+					new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				}
 
 				boolean is50OrHigher= JavaModelUtil.is50OrHigher(project);
 
@@ -487,6 +512,13 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		}
 	}
 
+	/**
+	 * The state kept between the steps of {@link OrganizeImportsOperation#createTextEdit(IProgressMonitor)}.
+	 */
+	private record CollectedReferences(ImportRewrite importsRewrite, Set<String> oldSingleImports, Set<String> oldDemandImports,
+			List<SimpleName> staticReferences, UnresolvableImportMatcher unresolvableImportMatcher, TypeReferenceProcessor processor) {
+	}
+
 	/**
 	 * Used to ensure that unresolvable imports don't get reduced into on-demand imports.
 	 */
@@ -515,6 +547,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 	private final boolean fAllowSyntaxErrors;
 	private Collection<String> fResolvedStaticFavoriteImports;
 
+	private CollectedReferences fReferences;
+
 	/**
 	 * Creates a new OrganizeImportsOperation operation.
 	 *
@@ -577,14 +611,34 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 
 	public TextEdit createTextEdit(IProgressMonitor m) throws CoreException, OperationCanceledException {
 		SubMonitor subMonitor= SubMonitor.convert(m, Messages.format(JavaManipulationMessages.OrganizeImportsOperation_description, BasicElementLabels.getFileName(fCompilationUnit)), 9);
+		if (!collectTypeReferences(subMonitor.split(3)))
+			return null;
+
+		if (resolveTypeReferences(null, subMonitor.split(3))) {
+			chooseImports();
+		}
+		return rewriteImports(subMonitor.split(3));
+	}
+
+	/**
+	 * Collects the type references of the compilation unit. This is the first step of
+	 * {@link #createTextEdit(IProgressMonitor)}, the steps are separated so that
+	 * {@link MultiOrganizeImportsOperation} can resolve the references of many units at once.
+	 *
+	 * @param m the progress monitor
+	 * @return <code>false</code> if the unit has a parse error and no imports can be organized
+	 */
+	boolean collectTypeReferences(IProgressMonitor m) {
+		SubMonitor subMonitor= SubMonitor.convert(m, 3);
 		fNumberOfImportsAdded= 0;
 		fNumberOfImportsRemoved= 0;
+		fReferences= null;
 
 		CompilationUnit astRoot= fASTRoot;
 		if (astRoot == null) {
 			astRoot= CoreASTProvider.getInstance().getAST(fCompilationUnit, CoreASTProvider.WAIT_YES, subMonitor.split(2));
 		}
-		subMonitor.setWorkRemaining(7);
+		subMonitor.setWorkRemaining(1);
 
 		ImportRewrite importsRewrite= CodeStyleConfiguration.createImportRewrite(astRoot, fRestoreExistingImports);
 		if (astRoot.getAST().hasResolvedBindings()) {
@@ -597,9 +651,7 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		List<SimpleName> staticReferences= new ArrayList<>();
 
 		if (!collectReferences(astRoot, typeReferences, staticReferences, oldSingleImports, oldDemandImports))
-			return null;
-
-		subMonitor.split(1);
+			return false;
 
 		UnresolvableImportMatcher unresolvableImportMatcher= UnresolvableImportMatcher.forCompilationUnit(astRoot);
 
@@ -616,42 +668,99 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 			SimpleName typeRef= refIterator.next();
 			processor.add(typeRef);
 		}
+		subMonitor.split(1);
 
-		boolean hasOpenChoices= processor.process(subMonitor.split(3));
-		addStaticImports(staticReferences, importsRewrite, unresolvableImportMatcher);
+		fReferences= new CollectedReferences(importsRewrite, oldSingleImports, oldDemandImports, staticReferences, unresolvableImportMatcher, processor);
+		return true;
+	}
 
-		if (hasOpenChoices && fChooseImportQuery != null) {
-			TypeNameMatch[][] choices= processor.getChoices();
-			ISourceRange[] ranges= processor.getChoicesSourceRanges();
-			TypeNameMatch[] chosen= fChooseImportQuery.chooseImports(choices, ranges);
-			if (chosen == null) {
-				// cancel pressed by the user
-				throw new OperationCanceledException();
-			}
-			for (int i= 0; i < chosen.length; i++) {
-				TypeNameMatch typeInfo= chosen[i];
-				if (typeInfo != null) {
-					importsRewrite.addImport(typeInfo.getFullyQualifiedName());
-				} else { // Skipped by user
-					String typeName= choices[i][0].getSimpleTypeName();
-					Set<String> matchingUnresolvableImports= unresolvableImportMatcher.matchTypeImports(typeName);
-					if (!matchingUnresolvableImports.isEmpty()) {
-						// If there are matching unresolvable import(s), rely on them to provide the type.
-						for (String string : matchingUnresolvableImports) {
-							importsRewrite.addImport(string, UNRESOLVABLE_IMPORT_CONTEXT);
-						}
+	/**
+	 * @return the simple names of the collected type references that have no binding
+	 */
+	Set<String> getUnresolvedTypeNames() {
+		return fReferences.processor().getUnresolvedTypeNames();
+	}
+
+	/**
+	 * @return <code>true</code> if the compilation unit is in a test source folder and test code
+	 *         has to be included when searching for the unresolved type names
+	 * @throws JavaModelException thrown when the classpath entry cannot be resolved
+	 */
+	boolean isTestCode() throws JavaModelException {
+		return fReferences.processor().isTestCode();
+	}
+
+	/**
+	 * Resolves the collected type references and adds the static imports.
+	 *
+	 * @param resolvedTypes the types found for the unresolved names, or <code>null</code> to
+	 *            search for them
+	 * @param m the progress monitor
+	 * @return <code>true</code> if there are open choices that {@link #chooseImports()} has to
+	 *         pass to the query
+	 * @throws JavaModelException thrown when the search fails
+	 */
+	boolean resolveTypeReferences(Map<String, List<TypeNameMatch>> resolvedTypes, IProgressMonitor m) throws JavaModelException {
+		boolean hasOpenChoices= fReferences.processor().process(resolvedTypes, SubMonitor.convert(m));
+		addStaticImports(fReferences.staticReferences(), fReferences.importsRewrite(), fReferences.unresolvableImportMatcher());
+		return hasOpenChoices && fChooseImportQuery != null;
+	}
+
+	/**
+	 * Lets the query choose between the open choices left by
+	 * {@link #resolveTypeReferences(Map, IProgressMonitor)}.
+	 *
+	 * @throws OperationCanceledException thrown when the query was canceled
+	 */
+	void chooseImports() throws OperationCanceledException {
+		TypeReferenceProcessor processor= fReferences.processor();
+		ImportRewrite importsRewrite= fReferences.importsRewrite();
+		TypeNameMatch[][] choices= processor.getChoices();
+		ISourceRange[] ranges= processor.getChoicesSourceRanges();
+		TypeNameMatch[] chosen= fChooseImportQuery.chooseImports(choices, ranges);
+		if (chosen == null) {
+			// cancel pressed by the user
+			throw new OperationCanceledException();
+		}
+		for (int i= 0; i < chosen.length; i++) {
+			TypeNameMatch typeInfo= chosen[i];
+			if (typeInfo != null) {
+				importsRewrite.addImport(typeInfo.getFullyQualifiedName());
+			} else { // Skipped by user
+				String typeName= choices[i][0].getSimpleTypeName();
+				Set<String> matchingUnresolvableImports= fReferences.unresolvableImportMatcher().matchTypeImports(typeName);
+				if (!matchingUnresolvableImports.isEmpty()) {
+					// If there are matching unresolvable import(s), rely on them to provide the type.
+					for (String string : matchingUnresolvableImports) {
+						importsRewrite.addImport(string, UNRESOLVABLE_IMPORT_CONTEXT);
 					}
 				}
 			}
 		}
+	}
 
-		TextEdit result= importsRewrite.rewriteImports(subMonitor.split(3));
+	/**
+	 * Creates the edit for the resolved imports. This is the last step of
+	 * {@link #createTextEdit(IProgressMonitor)}.
+	 *
+	 * @param m the progress monitor
+	 * @return the edit that updates the import declarations
+	 * @throws CoreException thrown when the imports cannot be rewritten
+	 */
+	TextEdit rewriteImports(IProgressMonitor m) throws CoreException {
+		CollectedReferences references= fReferences;
+		fReferences= null;
+		TextEdit result= references.importsRewrite().rewriteImports(m);
 
-		determineImportDifferences(importsRewrite, oldSingleImports, oldDemandImports);
+		determineImportDifferences(references.importsRewrite(), references.oldSingleImports(), references.oldDemandImports());
 
 		return result;
 	}
 
+	static IJavaSearchScope createSearchScope(IJavaProject project, boolean excludeTestCode) {
+		return SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
+	}
+
 	private void determineImportDifferences(ImportRewrite importsStructure, Set<String> oldSingleImports, Set<String> oldDemandImports) {
 		List<String> importsAdded= new ArrayList<>(importsStructure.getCreatedImports().length + importsStructure.getCreatedStaticImports().length);
 		importsAdded.addAll(Arrays.asList(importsStructure.getCreatedImports()));
@@ -788,6 +897,10 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		return fNumberOfImportsRemoved;
 	}
 
+	ICompilationUnit getCompilationUnit() {
+		return fCompilationUnit;
+	}
+
 	/**
 	 * @return Returns the scheduling rule for this operation
 	 */
@@ -0,0 +1,1307 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+import org.eclipse.jdt.core.dom.*;
+
+/**
+ * Runs several visitors in a single traversal of an AST.
+ * <p>
+ * Every visitor sees exactly the calls it would see if the AST were traversed with the visitor
+ * alone: if <code>preVisit2</code> or <code>visit</code> of a visitor returns <code>false</code>
+ * for a node, the visitor is not called for the children of that node, but it still gets the
+ * matching <code>endVisit</code> and <code>postVisit</code> calls. The subtree of a node is
+ * skipped altogether once none of the visitors is interested in it.
+ * </p>
+ * <p>
+ * The visitors are called in the order they have been given, so a visitor must not depend on the
+ * changes another visitor makes to the AST. Visitors created by {@link HelperVisitor} can be
+ * fused with {@link HelperVisitor#createASTVisitor(boolean)}.
+ * </p>
+ */
+public class FusedASTVisitor extends ASTVisitor {
+
+	private final ASTVisitor[] fVisitors;
+
+	/** Per visitor, the node for which <code>preVisit2</code> returned <code>false</code>, or <code>null</code> */
+	private final ASTNode[] fSkipped;
+
+	/** Per visitor, the node for which <code>visit</code> returned <code>false</code>, or <code>null</code> */
+	private final ASTNode[] fPruned;
+
+	/**
+	 * @param visitors the visitors to run, in the order they are called for a node
+	 */
+	public FusedASTVisitor(List<? extends ASTVisitor> visitors) {
+		super(true);
+		fVisitors= visitors.toArray(new ASTVisitor[visitors.size()]);
+		fSkipped= new ASTNode[fVisitors.length];
+		fPruned= new ASTNode[fVisitors.length];
+	}
+
+	/**
+	 * @return the number of fused visitors
+	 */
+	public int getVisitorCount() {
+		return fVisitors.length;
+	}
+
+	private boolean isActive(int i) {
+		return fSkipped[i] == null && fPruned[i] == null;
+	}
+
+	private <N extends ASTNode> boolean visitAll(N node, BiPredicate<ASTVisitor, N> visit) {
+		boolean result= false;
+		for (int i= 0; i < fVisitors.length; i++) {
+			if (isActive(i)) {
+				if (visit.test(fVisitors[i], node))
+					result= true;
+				else
+					fPruned[i]= node;
+			}
+		}
+		return result;
+	}
+
+	private <N extends ASTNode> void endVisitAll(N node, BiConsumer<ASTVisitor, N> endVisit) {
+		for (int i= 0; i < fVisitors.length; i++) {
+			if (fPruned[i] == node) {
+				fPruned[i]= null;
+				endVisit.accept(fVisitors[i], node);
+			} else if (isActive(i)) {
+				endVisit.accept(fVisitors[i], node);
+			}
+		}
+	}
+
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		boolean result= false;
+		for (int i= 0; i < fVisitors.length; i++) {
+			if (isActive(i)) {
+				if (fVisitors[i].preVisit2(node))
+					result= true;
+				else
+					fSkipped[i]= node;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void postVisit(ASTNode node) {
+		for (int i= 0; i < fVisitors.length; i++) {
+			if (fSkipped[i] == node) {
+				fSkipped[i]= null;
+				fVisitors[i].postVisit(node);
+			} else if (isActive(i)) {
+				fVisitors[i].postVisit(node);
+			}
+		}
+	}
+
+	@Override
+	public boolean visit(AnnotationTypeDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(AnnotationTypeDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(AnnotationTypeMemberDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(AnnotationTypeMemberDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(AnonymousClassDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(AnonymousClassDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ArrayAccess node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ArrayAccess node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ArrayCreation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ArrayCreation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ArrayInitializer node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ArrayInitializer node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ArrayType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ArrayType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(AssertStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(AssertStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(Assignment node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(Assignment node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(Block node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(Block node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(BlockComment node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(BlockComment node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(BooleanLiteral node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(BooleanLiteral node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(BreakStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(BreakStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(CaseDefaultExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(CaseDefaultExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(CastExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(CastExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(CatchClause node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(CatchClause node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(CharacterLiteral node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(CharacterLiteral node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ClassInstanceCreation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ClassInstanceCreation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(CompilationUnit node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(CompilationUnit node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ConditionalExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ConditionalExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ConstructorInvocation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ConstructorInvocation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ContinueStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ContinueStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(CreationReference node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(CreationReference node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(Dimension node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(Dimension node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(DoStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(DoStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(EitherOrMultiPattern node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(EitherOrMultiPattern node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(EmptyStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(EmptyStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(EnhancedForStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(EnhancedForStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(EnhancedForWithRecordPattern node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(EnhancedForWithRecordPattern node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(EnumConstantDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(EnumConstantDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(EnumDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(EnumDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ExportsDirective node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ExportsDirective node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ExpressionMethodReference node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ExpressionMethodReference node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ExpressionStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ExpressionStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(FieldAccess node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(FieldAccess node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(FieldDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(FieldDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ForStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ForStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(GuardedPattern node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(GuardedPattern node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(IfStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(IfStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ImplicitTypeDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ImplicitTypeDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ImportDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ImportDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(InfixExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(InfixExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(Initializer node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(Initializer node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(InstanceofExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(InstanceofExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(IntersectionType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(IntersectionType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(JavaDocRegion node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(JavaDocRegion node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(JavaDocTextElement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(JavaDocTextElement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(Javadoc node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(Javadoc node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(LabeledStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(LabeledStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(LambdaExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(LambdaExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(LineComment node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(LineComment node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(MarkerAnnotation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(MarkerAnnotation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(MemberRef node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(MemberRef node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(MemberValuePair node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(MemberValuePair node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(MethodDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(MethodDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(MethodInvocation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(MethodInvocation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(MethodRef node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(MethodRef node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(MethodRefParameter node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(MethodRefParameter node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(Modifier node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(Modifier node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ModuleDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ModuleDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ModuleModifier node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ModuleModifier node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ModuleQualifiedName node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ModuleQualifiedName node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(NameQualifiedType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(NameQualifiedType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(NormalAnnotation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(NormalAnnotation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(NullLiteral node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(NullLiteral node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(NullPattern node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(NullPattern node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(NumberLiteral node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(NumberLiteral node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(OpensDirective node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(OpensDirective node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(PackageDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(PackageDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ParameterizedType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ParameterizedType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ParenthesizedExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ParenthesizedExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(PatternInstanceofExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(PatternInstanceofExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(PostfixExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(PostfixExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(PrefixExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(PrefixExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(PrimitiveType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(PrimitiveType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ProvidesDirective node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ProvidesDirective node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(QualifiedName node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(QualifiedName node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(QualifiedType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(QualifiedType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(RecordDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(RecordDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(RecordPattern node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(RecordPattern node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(RequiresDirective node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(RequiresDirective node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ReturnStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ReturnStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SimpleName node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SimpleName node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SimpleType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SimpleType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SingleMemberAnnotation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SingleMemberAnnotation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SingleVariableDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SingleVariableDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(StringFragment node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(StringFragment node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(StringLiteral node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(StringLiteral node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(StringTemplateComponent node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(StringTemplateComponent node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(StringTemplateExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(StringTemplateExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SuperConstructorInvocation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SuperConstructorInvocation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SuperFieldAccess node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SuperFieldAccess node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SuperMethodInvocation node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SuperMethodInvocation node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SuperMethodReference node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SuperMethodReference node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SwitchCase node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SwitchCase node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SwitchExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SwitchExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SwitchStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SwitchStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(SynchronizedStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(SynchronizedStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TagElement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TagElement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TagProperty node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TagProperty node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TextBlock node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TextBlock node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TextElement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TextElement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ThisExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ThisExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(ThrowStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(ThrowStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TryStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TryStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TypeDeclaration node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TypeDeclaration node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TypeDeclarationStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TypeDeclarationStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TypeLiteral node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TypeLiteral node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TypeMethodReference node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TypeMethodReference node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TypeParameter node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TypeParameter node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(TypePattern node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(TypePattern node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(UnionType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(UnionType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(UsesDirective node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(UsesDirective node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(VariableDeclarationExpression node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(VariableDeclarationExpression node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(VariableDeclarationFragment node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(VariableDeclarationFragment node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(VariableDeclarationStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(VariableDeclarationStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(WhileStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(WhileStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(WildcardType node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(WildcardType node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+
+	@Override
+	public boolean visit(YieldStatement node) {
+		return visitAll(node, ASTVisitor::visit);
+	}
+
+	@Override
+	public void endVisit(YieldStatement node) {
+		endVisitAll(node, ASTVisitor::endVisit);
+	}
+}
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.common;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -34,6 +36,50 @@ import org.eclipse.jdt.core.dom.*;
  */
 public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 
+	/**
+	 * Map from visitor kind to callback which also stores the callbacks in an array indexed by
+	 * node type, so that {@link LambdaASTVisitor} needs no map lookup per visited node. Only
+	 * <code>put</code>, <code>remove</code> and <code>clear</code> keep the array up to date.
+	 *
+	 * @param <C> - callback type
+	 */
+	static final class DispatchMap<C> extends LinkedHashMap<VisitorEnum, C> {
+
+		private static final long serialVersionUID= 1L;
+
+		private static final int NODE_TYPE_LIMIT= VisitorEnum.stream().mapToInt(VisitorEnum::getValue).max().getAsInt() + 1;
+
+		private final Object[] byNodeType= new Object[NODE_TYPE_LIMIT];
+
+		@Override
+		public C put(VisitorEnum key, C value) {
+			byNodeType[key.getValue()]= value;
+			return super.put(key, value);
+		}
+
+		@Override
+		public C remove(Object key) {
+			if (key instanceof VisitorEnum visitorEnum) {
+				byNodeType[visitorEnum.getValue()]= null;
+			}
+			return super.remove(key);
+		}
+
+		@Override
+		public void clear() {
+			Arrays.fill(byNodeType, null);
+			super.clear();
+		}
+
+		/**
+		 * @param nodetype - node type
+		 * @return - callback registered for the node type or null
+		 */
+		Object forNodeType(int nodetype) {
+			return nodetype < byNodeType.length ? byNodeType[nodetype] : null;
+		}
+	}
+
 	ASTVisitor astvisitor;
 
 	public E dataholder;
@@ -43,7 +89,7 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	 * two parameters 1) ASTNode 2) your data object Call is processed when build(ASTNode) is
 	 * called.
 	 */
-	Map<VisitorEnum, BiPredicate<? extends ASTNode, E>> predicatemap;
+	DispatchMap<BiPredicate<? extends ASTNode, E>> predicatemap;
 
 	/**
 	 * This map contains one VisitorConsumer per kind if supplied Each BiConsumer is called with two
@@ -51,7 +97,7 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	 * Because the "visitend" does not return a boolean we need a consumer instead of a supplier
 	 * here.
 	 */
-	Map<VisitorEnum, BiConsumer<? extends ASTNode, E>> consumermap;
+	DispatchMap<BiConsumer<? extends ASTNode, E>> consumermap;
 
 	/**
 	 * Here we store data to implement convenience methods like method visitor where the method name
@@ -63,18 +109,18 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 
 	/**
 	 *
-	 * @return - Map of visitor kinds -> BiPredicates
+	 * @return - unmodifiable Map of visitor kinds -> BiPredicates
 	 */
 	public Map<VisitorEnum, BiPredicate<? extends ASTNode, E>> getSuppliermap() {
-		return predicatemap;
+		return Collections.unmodifiableMap(predicatemap);
 	}
 
 	/**
 	 *
-	 * @return - Map of visitor kinds -> BiConsumers
+	 * @return - unmodifiable Map of visitor kinds -> BiConsumers
 	 */
 	public Map<VisitorEnum, BiConsumer<? extends ASTNode, E>> getConsumermap() {
-		return consumermap;
+		return Collections.unmodifiableMap(consumermap);
 	}
 
 	public Set<ASTNode> nodesprocessed;
@@ -93,8 +139,8 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	 * @param dataholder - HelperVisitorProvider providing this HelperVisitor
 	 */
 	public HelperVisitor(Set<ASTNode> nodesprocessed, E dataholder) {
-		this.predicatemap= new LinkedHashMap<>();
-		this.consumermap= new LinkedHashMap<>();
+		this.predicatemap= new DispatchMap<>();
+		this.consumermap= new DispatchMap<>();
 		this.predicatedata= new HashMap<>();
 		this.consumerdata= new HashMap<>();
 
@@ -119,11 +165,22 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	 * @return - HelperVisitor
 	 */
 	public HelperVisitor<E, V, T> build(ASTNode node, boolean visitjavadoc) {
-		astvisitor= new LambdaASTVisitor<>(this, visitjavadoc);
-		node.accept(astvisitor);
+		node.accept(createASTVisitor(visitjavadoc));
 		return this;
 	}
 
+	/**
+	 * Creates the visitor without running it, e.g. to run it together with other visitors in a
+	 * {@link FusedASTVisitor}.
+	 *
+	 * @param visitjavadoc - true if Javadoc comments should be visited
+	 * @return - ASTVisitor calling the registered predicates and consumers
+	 */
+	public ASTVisitor createASTVisitor(boolean visitjavadoc) {
+		astvisitor= new LambdaASTVisitor<>(this, visitjavadoc);
+		return astvisitor;
+	}
+
 	/**
 	 * Add BiPredicate for visitor kind
 	 *
@@ -31,6 +31,7 @@ public class JavaManipulationMessages extends NLS {
 	public static String UndoCompilationUnitChange_no_file;
 
 	public static String OrganizeImportsOperation_description;
+	public static String MultiOrganizeImportsOperation_description;
 	public static String JavaModelUtil_applyedit_operation;
 	public static String Resources_fileModified;
 	public static String Resources_modifiedResources;
@@ -90,4 +91,6 @@ public class JavaManipulationMessages extends NLS {
 	public static String CodeTemplateContextType_validate_unknownvariable;
 	public static String CodeTemplateContextType_validate_missingvariable;
 	public static String CodeTemplateContextType_validate_invalidcomment;
+
+	public static String RecentASTCache_prefetch_job_name;
 }
@@ -30,9 +30,12 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerIndex;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameIndex;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
+import org.eclipse.jdt.internal.ui.text.ChainIndex;
 
 /**
  * The main plug-in class to be used in the workbench.
@@ -54,6 +57,8 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 
 	public static boolean DEBUG_TYPE_CONSTRAINTS;
 
+	public static boolean DEBUG_RENAME_ANALYSIS;
+
 	//The shared instance.
 	private static JavaManipulationPlugin fgDefault;
 
@@ -81,6 +86,10 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		CallerIndex.shutdown();
+		QualifiedNameIndex.shutdown();
+		RecentASTCache.shutdown();
+		ChainIndex.shutdown();
 		super.stop(context);
 		fgDefault= null;
 
@@ -186,5 +195,6 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	public void optionsChanged(DebugOptions options) {
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/ASTProvider", false); //$NON-NLS-1$
 		DEBUG_TYPE_CONSTRAINTS= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/TypeConstraints", false); //$NON-NLS-1$
+		DEBUG_RENAME_ANALYSIS= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/RenameAnalysis", false); //$NON-NLS-1$
 	}
 }
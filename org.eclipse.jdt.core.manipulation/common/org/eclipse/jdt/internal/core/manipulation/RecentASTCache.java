@@ -0,0 +1,429 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+
+/**
+ * Bounded cache of recently used shared ASTs, used by {@link CoreASTProvider} for elements that
+ * are not (or no longer) the active one.
+ * <p>
+ * An entry is keyed by its type root. It is dropped when a change of the type root is reported
+ * and it is not returned while the type root has unreconciled changes. Since the bindings of an
+ * AST also depend on other compilation units, all entries are dropped on any Java element change
+ * that is not a fine-grained change of the content of a compilation unit, like a reconcile. The
+ * ASTs are softly referenced and the total size of the cached sources is bounded.
+ * </p>
+ * <p>
+ * The cache also collects statistics of the AST provider.
+ * </p>
+ */
+public final class RecentASTCache implements IElementChangedListener {
+
+	/**
+	 * Statistics of the AST provider.
+	 *
+	 * @param activeHits number of requests answered with the AST of the active element
+	 * @param recentHits number of requests answered from this cache
+	 * @param waits number of requests that waited for the reconciler
+	 * @param waitNanos total time spent waiting for the reconciler
+	 * @param parses number of ASTs created by the AST provider
+	 * @param parseNanos total time spent creating ASTs
+	 */
+	public record Statistics(long activeHits, long recentHits, long waits, long waitNanos, long parses, long parseNanos) {
+		@Override
+		public String toString() {
+			return "active hits: " + activeHits + ", recent hits: " + recentHits //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", waits: " + waits + " (" + waitNanos / 1000000 + " ms), parses: " + parses + " (" + parseNanos / 1000000 + " ms)"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		}
+	}
+
+	private static final class Entry {
+		final int fLength;
+		final SoftReference<CompilationUnit> fAST;
+
+		Entry(CompilationUnit ast) {
+			fLength= ast.getLength();
+			fAST= new SoftReference<>(ast);
+		}
+	}
+
+	private class PrefetchJob extends Job {
+
+		private List<ITypeRoot> fInputs= new ArrayList<>();
+
+		PrefetchJob() {
+			super(JavaManipulationMessages.RecentASTCache_prefetch_job_name);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		synchronized void setInputs(List<ITypeRoot> inputs) {
+			fInputs= new ArrayList<>(inputs);
+		}
+
+		private synchronized List<ITypeRoot> getInputs() {
+			return fInputs;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			for (ITypeRoot input : getInputs()) {
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				if (input.exists() && !input.equals(CoreASTProvider.getInstance().getActiveJavaElement()))
+					CoreASTProvider.getInstance().getAST(input, CoreASTProvider.WAIT_YES, monitor);
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	/** Maximum number of cached ASTs */
+	private static final int MAX_ENTRIES= 8;
+
+	/** Maximum total length of the sources of the cached ASTs */
+	private static final long MAX_SOURCE_LENGTH= 4 * 1024 * 1024;
+
+	/** Maximum number of type roots whose last change is remembered */
+	private static final int MAX_CHANGES= 64;
+
+	/** Delay before recently used elements are prefetched */
+	private static final long PREFETCH_DELAY= 500;
+
+	/** Delta flags of a compilation unit that do not affect the bindings of other units */
+	private static final int CONTENT_ONLY= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED
+			| IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_PRIMARY_WORKING_COPY;
+
+	/** Stamp that is never accepted by {@link #put(ITypeRoot, CompilationUnit, long)} */
+	public static final long NO_STAMP= -1;
+
+	private static RecentASTCache fgInstance;
+
+	/** Access ordered map from type root to entry. Guarded by <code>this</code>. */
+	private final LinkedHashMap<ITypeRoot, Entry> fEntries= new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Total length of the sources of the entries. Guarded by <code>this</code>. */
+	private long fSourceLength;
+
+	/** Modification stamp, incremented on every reported change. Guarded by <code>this</code>. */
+	private long fModificationStamp;
+
+	/** Modification stamp of the last time all entries were dropped. Guarded by <code>this</code>. */
+	private long fClearStamp;
+
+	/**
+	 * Modification stamps of the last changes of the most recently changed type roots, in the order
+	 * of the changes. Guarded by <code>this</code>.
+	 */
+	private final LinkedHashMap<ITypeRoot, Long> fChanges= new LinkedHashMap<>();
+
+	/** Latest modification stamp that is no longer in <code>fChanges</code>. Guarded by <code>this</code>. */
+	private long fForgottenChangeStamp;
+
+	/** Modification stamps the ASTs of the AST provider have been created at. Guarded by <code>this</code>. */
+	private final WeakHashMap<CompilationUnit, Long> fASTStamps= new WeakHashMap<>();
+
+	private final PrefetchJob fPrefetchJob= new PrefetchJob();
+
+	private final AtomicLong fActiveHits= new AtomicLong();
+	private final AtomicLong fRecentHits= new AtomicLong();
+	private final AtomicLong fWaits= new AtomicLong();
+	private final AtomicLong fWaitNanos= new AtomicLong();
+	private final AtomicLong fParses= new AtomicLong();
+	private final AtomicLong fParseNanos= new AtomicLong();
+
+	private RecentASTCache() {
+	}
+
+	/**
+	 * @return the shared cache
+	 */
+	public static synchronized RecentASTCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new RecentASTCache();
+			JavaCore.addElementChangedListener(fgInstance, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Disposes the shared cache, if it has been created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			JavaCore.removeElementChangedListener(fgInstance);
+			fgInstance.fPrefetchJob.cancel();
+			fgInstance.clear();
+			fgInstance= null;
+		}
+	}
+
+	/**
+	 * Returns the cached AST for the given type root if no change of the type root has been
+	 * reported since the AST was created and the type root has no unreconciled changes.
+	 *
+	 * @param input the type root
+	 * @return the AST or <code>null</code>
+	 */
+	public CompilationUnit get(ITypeRoot input) {
+		Entry entry;
+		synchronized (this) {
+			entry= fEntries.get(input);
+		}
+		if (entry == null)
+			return null;
+
+		CompilationUnit ast= entry.fAST.get();
+		if (ast == null) {
+			remove(input, entry);
+			return null;
+		}
+		if (!isConsistent(input))
+			return null;
+		fRecentHits.incrementAndGet();
+		return ast;
+	}
+
+	/**
+	 * Returns a stamp to be passed to {@link #put(ITypeRoot, CompilationUnit, long)} for an AST
+	 * that is created from the current content of its type root.
+	 *
+	 * @return the current modification stamp
+	 */
+	public synchronized long getStamp() {
+		return fModificationStamp;
+	}
+
+	/**
+	 * Adds an AST to the cache, unless a change of its type root or of the bindings has been
+	 * reported since the given stamp was taken, or the type root has unreconciled changes.
+	 *
+	 * @param input the type root
+	 * @param ast the AST
+	 * @param stamp the stamp taken before the AST was created, or {@link #NO_STAMP}
+	 */
+	public void put(ITypeRoot input, CompilationUnit ast, long stamp) {
+		if (stamp == NO_STAMP || ast == null || ast.getLength() > MAX_SOURCE_LENGTH || !isConsistent(input))
+			return;
+
+		synchronized (this) {
+			if (!isUnchangedSince(input, stamp))
+				return;
+			fASTStamps.put(ast, Long.valueOf(stamp));
+
+			Entry entry= new Entry(ast);
+			Entry old= fEntries.put(input, entry);
+			if (old != null)
+				fSourceLength-= old.fLength;
+			fSourceLength+= entry.fLength;
+
+			Iterator<Entry> iterator= fEntries.values().iterator();
+			while ((fEntries.size() > MAX_ENTRIES || fSourceLength > MAX_SOURCE_LENGTH) && iterator.hasNext()) {
+				Entry eldest= iterator.next();
+				fSourceLength-= eldest.fLength;
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Remembers the modification stamp an AST of the AST provider has been created at, see
+	 * {@link #isCurrent(ITypeRoot, CompilationUnit)}.
+	 *
+	 * @param ast the AST or <code>null</code>
+	 * @param stamp the stamp taken before the AST was created, or {@link #NO_STAMP}
+	 */
+	public synchronized void setStamp(CompilationUnit ast, long stamp) {
+		if (ast != null && stamp != NO_STAMP)
+			fASTStamps.put(ast, Long.valueOf(stamp));
+	}
+
+	/**
+	 * Tells whether the given AST of the AST provider reflects the current content of the given
+	 * type root, i.e. no change of the type root has been reported since the AST was created and
+	 * the type root has no unreconciled changes.
+	 *
+	 * @param input the type root
+	 * @param ast the AST of the type root
+	 * @return <code>true</code> if the AST is known to be current
+	 */
+	public boolean isCurrent(ITypeRoot input, CompilationUnit ast) {
+		if (!isConsistent(input))
+			return false;
+		synchronized (this) {
+			Long stamp= fASTStamps.get(ast);
+			return stamp != null && isUnchangedSince(input, stamp.longValue());
+		}
+	}
+
+	private boolean isUnchangedSince(ITypeRoot input, long stamp) {
+		return stamp >= fClearStamp && stamp >= fForgottenChangeStamp && stamp >= fChanges.getOrDefault(input, Long.valueOf(0)).longValue();
+	}
+
+	private synchronized void remove(ITypeRoot input, Entry entry) {
+		if (fEntries.remove(input, entry))
+			fSourceLength-= entry.fLength;
+	}
+
+	/**
+	 * Drops the entry of a type root whose content has changed.
+	 *
+	 * @param input the changed type root
+	 */
+	private synchronized void changed(ITypeRoot input) {
+		fModificationStamp++;
+		fChanges.remove(input);
+		fChanges.put(input, Long.valueOf(fModificationStamp));
+		if (fChanges.size() > MAX_CHANGES) {
+			Iterator<Long> iterator= fChanges.values().iterator();
+			fForgottenChangeStamp= iterator.next().longValue();
+			iterator.remove();
+		}
+		Entry entry= fEntries.remove(input);
+		if (entry != null)
+			fSourceLength-= entry.fLength;
+	}
+
+	private static boolean isConsistent(ITypeRoot input) {
+		try {
+			return input.isConsistent();
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void clear() {
+		fClearStamp= ++fModificationStamp;
+		fChanges.clear();
+		fEntries.clear();
+		fSourceLength= 0;
+	}
+
+	/**
+	 * Creates the ASTs of the given type roots in the background, unless they are cached already.
+	 * Replaces the type roots of a prefetch that has not been started yet.
+	 *
+	 * @param inputs the type roots, most important first
+	 */
+	public void prefetch(List<ITypeRoot> inputs) {
+		fPrefetchJob.cancel();
+		fPrefetchJob.setInputs(inputs);
+		if (!inputs.isEmpty())
+			fPrefetchJob.schedule(PREFETCH_DELAY);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		List<ITypeRoot> changed= new ArrayList<>();
+		if (affectsBindings(event.getDelta(), changed)) {
+			clear();
+		} else {
+			for (ITypeRoot input : changed)
+				changed(input);
+		}
+	}
+
+	/**
+	 * Tells whether the given delta may affect the bindings of other compilation units and
+	 * collects the type roots whose content has changed otherwise.
+	 *
+	 * @param delta the delta
+	 * @param changed the list to add the changed type roots to
+	 * @return <code>true</code> if all entries have to be dropped
+	 */
+	private static boolean affectsBindings(IJavaElementDelta delta, List<ITypeRoot> changed) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+
+		IJavaElement element= delta.getElement();
+		int elementType= element.getElementType();
+		if (elementType == IJavaElement.COMPILATION_UNIT || elementType == IJavaElement.CLASS_FILE) {
+			int flags= delta.getFlags();
+			// a content change that is not fine-grained comes from outside of the reconciler,
+			// e.g. an external edit, a revert or a checkout
+			if (delta.getAffectedChildren().length > 0 || (flags & ~CONTENT_ONLY) != 0
+					|| (flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+				return true;
+			changed.add((ITypeRoot) element);
+			return false;
+		}
+
+		// F_CONTENT on containers denotes changes of non-Java resources
+		if ((delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0)
+			return true;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsBindings(child, changed))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Records time spent waiting for the reconciler.
+	 *
+	 * @param nanos the time waited
+	 */
+	public void recordWait(long nanos) {
+		fWaits.incrementAndGet();
+		fWaitNanos.addAndGet(nanos);
+	}
+
+	/**
+	 * Records time spent creating an AST.
+	 *
+	 * @param nanos the time spent
+	 */
+	public void recordParse(long nanos) {
+		fParses.incrementAndGet();
+		fParseNanos.addAndGet(nanos);
+	}
+
+	/**
+	 * Records a request answered with the AST of the active element.
+	 */
+	public void recordHit() {
+		fActiveHits.incrementAndGet();
+	}
+
+	/**
+	 * @return the statistics of the AST provider since startup
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(fActiveHits.get(), fRecentHits.get(), fWaits.get(), fWaitNanos.get(), fParses.get(), fParseNanos.get());
+	}
+}
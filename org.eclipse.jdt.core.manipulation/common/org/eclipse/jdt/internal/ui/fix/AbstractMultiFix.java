@@ -19,6 +19,7 @@ import java.util.Map;
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.ui.cleanup.CleanUpContext;
@@ -30,6 +31,23 @@ import org.eclipse.jdt.internal.ui.text.correction.ProblemLocation;
 
 public abstract class AbstractMultiFix extends AbstractCleanUp implements IMultiFix {
 
+	/**
+	 * Visitor collecting the fix of a clean up. It must not modify the AST, so that the collectors
+	 * of several clean ups can share one traversal of the compilation unit.
+	 *
+	 * @see AbstractMultiFix#createFixCollector(CompilationUnit)
+	 */
+	public abstract static class FixCollector extends ASTVisitor {
+
+		/**
+		 * Creates the fix after the compilation unit has been visited.
+		 *
+		 * @return the fix or <code>null</code> if nothing has to be fixed
+		 * @throws CoreException if the fix can not be created
+		 */
+		public abstract ICleanUpFix createFix() throws CoreException;
+	}
+
 	protected AbstractMultiFix() {
 	}
 
@@ -54,6 +72,37 @@ public abstract class AbstractMultiFix extends AbstractCleanUp implements IMulti
 
 	protected abstract ICleanUpFix createFix(CompilationUnit unit, IProblemLocation[] problems) throws CoreException;
 
+	/**
+	 * Returns a collector computing the same fix as {@link #createFix(CompilationUnit)}. Clean ups
+	 * which provide a collector are run together in a single traversal of the compilation unit by
+	 * the clean up refactoring. The default implementation returns <code>null</code>, which means
+	 * that the clean up visits the compilation unit on its own.
+	 *
+	 * @param unit the compilation unit to fix
+	 * @return the collector or <code>null</code>
+	 * @throws CoreException if the collector can not be created
+	 */
+	public FixCollector createFixCollector(CompilationUnit unit) throws CoreException {
+		return null;
+	}
+
+	/**
+	 * Computes the fix with the {@link #createFixCollector(CompilationUnit) collector} of this clean
+	 * up in a traversal of its own.
+	 *
+	 * @param unit the compilation unit to fix
+	 * @return the fix or <code>null</code> if nothing has to be fixed
+	 * @throws CoreException if the fix can not be created
+	 */
+	protected final ICleanUpFix collectFix(CompilationUnit unit) throws CoreException {
+		FixCollector collector= createFixCollector(unit);
+		if (collector == null)
+			return null;
+
+		unit.accept(collector);
+		return collector.createFix();
+	}
+
 	@Override
 	public int computeNumberOfFixes(CompilationUnit compilationUnit) {
 		return -1;
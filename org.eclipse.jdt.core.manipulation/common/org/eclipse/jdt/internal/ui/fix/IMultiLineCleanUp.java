@@ -32,10 +32,23 @@ public interface IMultiLineCleanUp extends ICleanUp {
 	public static class MultiLineCleanUpContext extends CleanUpContext {
 
 		private final IRegion[] fRegions;
+		private final boolean fRestrictAll;
 
 		public MultiLineCleanUpContext(ICompilationUnit unit, CompilationUnit ast, IRegion[] regions) {
+			this(unit, ast, regions, false);
+		}
+
+		/**
+		 * @param unit the compilation unit
+		 * @param ast the AST or <code>null</code>
+		 * @param regions the regions of the lines which should be cleaned up
+		 * @param restrictAll <code>true</code> if all clean ups should be restricted to the given
+		 *            regions, not only the multi line clean ups
+		 */
+		public MultiLineCleanUpContext(ICompilationUnit unit, CompilationUnit ast, IRegion[] regions, boolean restrictAll) {
 			super(unit, ast);
 			fRegions= regions;
+			fRestrictAll= restrictAll;
 		}
 
 		/**
@@ -48,5 +61,17 @@ public interface IMultiLineCleanUp extends ICleanUp {
 		public IRegion[] getRegions() {
 			return fRegions;
 		}
+
+		/**
+		 * Tells whether all clean ups should be restricted to the {@link #getRegions() regions}.
+		 * Clean ups which traverse the AST then only visit the nodes overlapping a region, and the
+		 * changes of the other clean ups outside of the regions are dropped.
+		 *
+		 * @return <code>true</code> if all clean ups should be restricted to the regions,
+		 *         <code>false</code> if only the multi line clean ups should be
+		 */
+		public boolean isRestrictedToRegions() {
+			return fRestrictAll;
+		}
 	}
 }
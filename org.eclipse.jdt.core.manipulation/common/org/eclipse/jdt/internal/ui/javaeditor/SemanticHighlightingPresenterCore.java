@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -280,6 +280,29 @@ public class SemanticHighlightingPresenterCore {
 		}
 	}
 
+	/**
+	 * Adds the current positions that intersect the given range to the given list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list The list
+	 * @param offset The range offset
+	 * @param length The range length
+	 */
+	public void addPositions(List<Position> list, int offset, int length) {
+		synchronized (fPositionLock) {
+			int start= computeIndexAtOffset(fPositions, offset);
+			if (start > 0) {
+				Position previous= fPositions.get(start - 1);
+				if (previous.getOffset() + previous.getLength() > offset)
+					start--;
+			}
+			int end= computeIndexAtOffset(fPositions, offset + length);
+			list.addAll(fPositions.subList(start, end));
+		}
+	}
+
 	/**
 	 * Create a runnable for updating the presentation.
 	 * <p>
@@ -12,11 +12,11 @@ package org.eclipse.jdt.internal.ui.text;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.eclipse.jdt.core.CompletionContext;
@@ -34,7 +34,7 @@ import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
 public final class ChainElementAnalyzer {
 
-	private static final Map<String, IType> typeCache= new HashMap<>();
+	private static final Map<String, IType> typeCache= new ConcurrentHashMap<>();
 
 	private static final Predicate<IField> NON_STATIC_FIELDS_ONLY_FILTER = t -> {
 		try {
@@ -293,7 +293,7 @@ public final class ChainElementAnalyzer {
 			if (resType != null) {
 				String fqExpectedType= JavaModelUtil.concatenateName(resType[0][0], resType[0][1]);
 				res= proj.findType(fqExpectedType);
-				if (isResolved) {
+				if (isResolved && res != null) {
 					typeCache.put(typeSig, res);
 				}
 				return res;
@@ -408,6 +408,14 @@ public final class ChainElementAnalyzer {
 		return false;
 	}
 
+	/**
+	 * Clears the cache of types resolved by {@link #getTypeFromSignature(IJavaProject, String, IType)}.
+	 * Called by {@link ChainIndex} when the structure of Java elements changes.
+	 */
+	static void clearTypeCache() {
+		typeCache.clear();
+	}
+
 	public static boolean isPrimitive (String typeSig) {
 		String elementType= Signature.getElementType(typeSig);
 		int kind= Signature.getTypeSignatureKind(elementType);
@@ -11,44 +11,114 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
 
+/**
+ * Searches call chains breadth first. The incomplete chains of a level are expanded in parallel on
+ * the common pool, the members and chain elements are taken from the {@link ChainIndex} of the
+ * project, which is kept across requests.
+ */
 public class ChainFinder {
 
+	/**
+	 * Result of expanding an incomplete chain.
+	 *
+	 * @param isEndOfChain <code>true</code> if the last element of the chain returns the expected
+	 *            type
+	 * @param nextEdges the elements that can be appended to the chain
+	 */
+	private record Expansion(boolean isEndOfChain, List<ChainElement> nextEdges) {
+	}
+
+	private static final Expansion END_OF_CHAIN= new Expansion(true, Collections.emptyList());
+
+	/** Maximum number of incomplete chains of a level */
+	private static final int MAX_INCOMPLETE_CHAINS= 50000;
+
+	/** Number of incomplete chains expanded by one task */
+	private static final int CHAINS_PER_TASK= 16;
+
 	private final List<ChainType> expectedTypes;
 
 	private final List<String> excludedTypes;
 
 	private final IType receiverType;
 
-	private final List<Chain> chains= new LinkedList<>();
+	private final ChainIndex index;
 
-	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
+	private final List<Chain> chains= Collections.synchronizedList(new ArrayList<>());
 
-	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
+	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new ConcurrentHashMap<>();
 
-	private final Map<String, Boolean> assignableCache= new HashMap<>();
+	private Consumer<Chain> chainListener;
 
 	private volatile boolean isCanceled;
 
+	private long startTime;
+
+	private long timeoutNanos;
+
 	public ChainFinder(final List<ChainType> expectedTypes, final List<String> excludedTypes,
 			final IType receiverType) {
+		this(expectedTypes, excludedTypes, receiverType,
+				receiverType != null ? ChainIndex.getIndex(receiverType.getJavaProject()) : ChainIndex.createPrivateIndex());
+	}
+
+	public ChainFinder(final List<ChainType> expectedTypes, final List<String> excludedTypes,
+			final IType receiverType, final ChainIndex index) {
 		this.expectedTypes= expectedTypes;
 		this.excludedTypes= excludedTypes;
 		this.receiverType= receiverType;
+		this.index= index;
+	}
+
+	/**
+	 * Sets a listener that is informed about each chain as soon as it has been found. The listener
+	 * is called in the thread that runs the search.
+	 *
+	 * @param listener the listener or <code>null</code>
+	 */
+	public void setChainListener(final Consumer<Chain> listener) {
+		this.chainListener= listener;
 	}
 
 	public void startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
 			final int maxDepth) {
+		startChainSearch(entrypoints, maxChains, minDepth, maxDepth, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Searches the chains starting at the given entry points. The chains found before the search is
+	 * canceled or times out remain available.
+	 *
+	 * @param entrypoints the first elements of the chains
+	 * @param maxChains the number of chains after which the search for an expected type stops
+	 * @param minDepth the minimum length of a chain
+	 * @param maxDepth the maximum length of a chain
+	 * @param timeout the time in ms after which the search is canceled
+	 * @return <code>true</code> if the search has completed, <code>false</code> if it has been
+	 *         canceled or has timed out
+	 */
+	public boolean startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
+			final int maxDepth, final long timeout) {
+		startTime= System.nanoTime();
+		timeoutNanos= TimeUnit.MILLISECONDS.toNanos(timeout);
 		for (final ChainType expected : expectedTypes) {
 			if (expected != null && !ChainFinder.isFromExcludedType(excludedTypes, expected)) {
 				ChainType expectedType= expected;
@@ -60,6 +130,7 @@ public class ChainFinder {
 						maxDepth);
 			}
 		}
+		return !isCanceled;
 	}
 
 	public void cancel() {
@@ -68,38 +139,121 @@ public class ChainFinder {
 
 	private void searchChainsForExpectedType(final ChainType expectedType, final int expectedDimensions,
 			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
+		List<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
 
 		while (!incompleteChains.isEmpty() && !isCanceled) {
-			final LinkedList<ChainElement> chain= incompleteChains.poll();
-			final ChainElement edge= chain.getLast();
-			if (isValidEndOfChain(edge, expectedType, expectedDimensions)) {
-				if (chain.size() >= minDepth) {
-					chains.add(new Chain(chain, expectedDimensions));
-					if (chains.size() == maxChains) {
+			final Expansion[] expansions= expandLevel(incompleteChains, expectedType, expectedDimensions, maxDepth);
+			if (expansions == null) {
+				return;
+			}
+
+			final List<LinkedList<ChainElement>> nextLevel= new ArrayList<>();
+			for (int i= 0; i < expansions.length; i++) {
+				final LinkedList<ChainElement> chain= incompleteChains.get(i);
+				if (expansions[i].isEndOfChain()) {
+					if (chain.size() >= minDepth) {
+						addChain(new Chain(chain, expectedDimensions));
+						if (chains.size() == maxChains) {
+							return;
+						}
+					}
+					continue;
+				}
+				for (final ChainElement newEdge : expansions[i].nextEdges()) {
+					if (nextLevel.size() >= MAX_INCOMPLETE_CHAINS) {
 						break;
 					}
+					nextLevel.add(cloneChainAndAppendEdge(chain, newEdge));
+				}
+			}
+			incompleteChains= nextLevel;
+		}
+	}
+
+	/**
+	 * Expands the incomplete chains of a level on the common pool.
+	 *
+	 * @return the expansion of each chain or <code>null</code> if the search has been canceled or
+	 *         has timed out
+	 */
+	private Expansion[] expandLevel(final List<LinkedList<ChainElement>> level, final ChainType expectedType,
+			final int expectedDimension, final int maxDepth) {
+		final Expansion[] expansions= new Expansion[level.size()];
+		final List<Future<?>> futures= new ArrayList<>();
+		for (int start= 0; start < level.size(); start+= CHAINS_PER_TASK) {
+			final int from= start;
+			final int to= Math.min(level.size(), start + CHAINS_PER_TASK);
+			futures.add(ForkJoinPool.commonPool().submit(() -> {
+				for (int i= from; i < to && !isCanceled; i++) {
+					expansions[i]= expand(level.get(i), expectedType, expectedDimension, maxDepth);
 				}
-				continue;
+			}));
+		}
+
+		try {
+			for (final Future<?> future : futures) {
+				long remaining= timeoutNanos - (System.nanoTime() - startTime);
+				future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
 			}
-			if (chain.size() < maxDepth && incompleteChains.size() <= 50000) {
-				searchDeeper(chain, incompleteChains, edge.getReturnType());
+		} catch (TimeoutException e) {
+			cancel();
+		} catch (InterruptedException e) {
+			cancel();
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			cancel();
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
 			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+		return isCanceled ? null : expansions;
+	}
+
+	private Expansion expand(final LinkedList<ChainElement> chain, final ChainType expectedType,
+			final int expectedDimension, final int maxDepth) {
+		final ChainElement edge= chain.getLast();
+		if (isValidEndOfChain(edge, expectedType, expectedDimension)) {
+			return END_OF_CHAIN;
+		}
+		final List<ChainElement> nextEdges= new ArrayList<>();
+		if (chain.size() < maxDepth) {
+			boolean staticOnly= edge.getElementType() == ElementType.TYPE;
+			for (final IJavaElement element : findAllFieldsAndMethods(edge.getReturnType(), staticOnly)) {
+				final ChainElement newEdge= index.getEdge(element);
+				if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
+					nextEdges.add(newEdge);
+				}
+			}
+		}
+		return new Expansion(false, nextEdges);
+	}
+
+	private void addChain(final Chain chain) {
+		chains.add(chain);
+		if (chainListener != null) {
+			chainListener.accept(chain);
 		}
 	}
 
 	/**
-	 * Returns the potentially incomplete list of call chains that could be found before a time out
-	 * happened. The contents of this list are mutable and may change as the search makes progress.
+	 * Returns the call chains found so far. If the search has been canceled or has timed out, the
+	 * list may be incomplete.
 	 *
-	 * @return The list of call chains
+	 * @return a copy of the list of call chains
 	 */
 	public List<Chain> getChains() {
-		return chains;
+		synchronized (chains) {
+			return new ArrayList<>(chains);
+		}
 	}
 
-	private static LinkedList<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= new LinkedList<>();
+	private static List<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
+		final List<LinkedList<ChainElement>> incompleteChains= new ArrayList<>();
 		for (final ChainElement entrypoint : entrypoints) {
 			final LinkedList<ChainElement> chain= new LinkedList<>();
 			chain.add(entrypoint);
@@ -134,37 +288,14 @@ public class ChainFinder {
 		if (expectedType.getPrimitiveType() != null) {
 			return expectedType.getPrimitiveType().equals(edge.getReturnType().getPrimitiveType());
 		}
-		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
-		if (isAssignable == null) {
-			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
-			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
-		}
-		return isAssignable;
-	}
-
-	private void searchDeeper(final LinkedList<ChainElement> chain,
-			final List<LinkedList<ChainElement>> incompleteChains, final ChainType currentlyVisitedType) {
-		boolean staticOnly= false;
-		if (chain.getLast().getElementType() == ElementType.TYPE) {
-			staticOnly= true;
-		}
-
-		for (final IJavaElement element : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
-			final ChainElement newEdge= createEdge(element);
-			if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
-				incompleteChains.add(cloneChainAndAppendEdge(chain, newEdge));
-			}
-		}
+		return index.isAssignable(edge, expectedType.getType(), expectedDimension);
 	}
 
 	private List<IJavaElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
 		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
 		if (cached == null) {
-			cached= new LinkedList<>();
-			Collection<IJavaElement> candidates= staticOnly
-					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
-					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
-			for (final IJavaElement e : candidates) {
+			cached= new ArrayList<>();
+			for (final IJavaElement e : index.getFieldsAndMethods(chainElementType, staticOnly, receiverType)) {
 				if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
 					cached.add(e);
 				}
@@ -174,15 +305,6 @@ public class ChainFinder {
 		return cached;
 	}
 
-	private ChainElement createEdge(final IJavaElement member) {
-		ChainElement cached= edgeCache.get(member);
-		if (cached == null) {
-			cached= new ChainElement(member, false);
-			edgeCache.put(member, cached);
-		}
-		return cached;
-	}
-
 	private static LinkedList<ChainElement> cloneChainAndAppendEdge(final LinkedList<ChainElement> chain,
 			final ChainElement newEdge) {
 		@SuppressWarnings("unchecked")
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Caches the members, chain elements and assignability checks used by the {@link ChainFinder}
+ * across completion requests. There is one index per project. An index is dropped when a Java
+ * element delta changes the structure of an element on the classpath of its project; changes of
+ * method bodies keep it.
+ * <p>
+ * The caches are accessed concurrently by the workers of a chain search. A cache that grows
+ * beyond {@link #MAX_ENTRIES} entries is cleared.
+ * </p>
+ */
+public final class ChainIndex {
+
+	private static final class DeltaListener implements IElementChangedListener {
+
+		/** Delta flags of a compilation unit that do not change its structure */
+		private static final int CONTENT_ONLY= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED
+				| IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_PRIMARY_WORKING_COPY;
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			List<IJavaElement> changed= new ArrayList<>();
+			collectStructuralChanges(event.getDelta(), changed);
+			if (!changed.isEmpty())
+				invalidate(changed);
+		}
+
+		private static void collectStructuralChanges(IJavaElementDelta delta, List<IJavaElement> result) {
+			if (delta.getKind() != IJavaElementDelta.CHANGED) {
+				result.add(delta.getElement());
+				return;
+			}
+
+			int elementType= delta.getElement().getElementType();
+			if (elementType == IJavaElement.COMPILATION_UNIT || elementType == IJavaElement.CLASS_FILE) {
+				if (delta.getAffectedChildren().length > 0 || (delta.getFlags() & ~CONTENT_ONLY) != 0)
+					result.add(delta.getElement());
+				return;
+			}
+
+			// F_CONTENT on containers denotes changes of non-Java resources
+			if ((delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0) {
+				result.add(delta.getElement());
+				return;
+			}
+			for (IJavaElementDelta child : delta.getAffectedChildren())
+				collectStructuralChanges(child, result);
+		}
+	}
+
+	/** Maximum number of entries of each cache of an index */
+	private static final int MAX_ENTRIES= 20000;
+
+	private static final Map<IJavaProject, ChainIndex> fgIndexes= new ConcurrentHashMap<>();
+
+	private static DeltaListener fgListener;
+
+	private final IJavaProject fProject;
+
+	private final Map<IJavaElement, ChainElement> fEdges= new ConcurrentHashMap<>();
+
+	private final Map<String, List<IJavaElement>> fMembers= new ConcurrentHashMap<>();
+
+	private final Map<String, Boolean> fAssignable= new ConcurrentHashMap<>();
+
+	private ChainIndex(IJavaProject project) {
+		fProject= project;
+	}
+
+	/**
+	 * Returns the index of the given project, creating it if needed.
+	 *
+	 * @param project the project
+	 * @return the index of the project
+	 */
+	public static ChainIndex getIndex(IJavaProject project) {
+		synchronized (ChainIndex.class) {
+			if (fgListener == null) {
+				fgListener= new DeltaListener();
+				JavaCore.addElementChangedListener(fgListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			}
+		}
+		return fgIndexes.computeIfAbsent(project, ChainIndex::new);
+	}
+
+	/**
+	 * Creates an index that is not shared with other requests and never invalidated.
+	 *
+	 * @return a new index
+	 */
+	public static ChainIndex createPrivateIndex() {
+		return new ChainIndex(null);
+	}
+
+	/**
+	 * Drops all indexes and stops listening to Java element changes.
+	 */
+	public static synchronized void shutdown() {
+		if (fgListener != null) {
+			JavaCore.removeElementChangedListener(fgListener);
+			fgListener= null;
+		}
+		fgIndexes.clear();
+		ChainElementAnalyzer.clearTypeCache();
+	}
+
+	private static void invalidate(List<IJavaElement> changed) {
+		for (IJavaElement element : changed) {
+			IJavaProject project= element.getJavaProject();
+			if (project == null) {
+				fgIndexes.clear();
+				break;
+			}
+			fgIndexes.keySet().removeIf(indexed -> indexed.equals(project) || indexed.isOnClasspath(element));
+		}
+		ChainElementAnalyzer.clearTypeCache();
+	}
+
+	/**
+	 * Returns the chain element for the given member.
+	 *
+	 * @param member a field, method, local variable or type
+	 * @return the chain element
+	 */
+	public ChainElement getEdge(IJavaElement member) {
+		ChainElement edge= fEdges.get(member);
+		if (edge == null) {
+			edge= new ChainElement(member, false);
+			put(fEdges, member, edge);
+		}
+		return edge;
+	}
+
+	/**
+	 * Returns the fields and methods of the given type that can be used as the next element of a
+	 * chain, as found by {@link ChainElementAnalyzer}.
+	 *
+	 * @param type the type
+	 * @param staticOnly <code>true</code> to get the static members, <code>false</code> to get the
+	 *            instance members
+	 * @param receiverType the type in which the chain is used, defines which members are visible
+	 * @return the members, must not be modified
+	 */
+	public List<IJavaElement> getFieldsAndMethods(ChainType type, boolean staticOnly, IType receiverType) {
+		String key= type.toString() + ':' + staticOnly + ':' + (receiverType != null ? receiverType.getHandleIdentifier() : null);
+		List<IJavaElement> members= fMembers.get(key);
+		if (members == null) {
+			Collection<IJavaElement> candidates= staticOnly
+					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(type, new ChainType(receiverType))
+					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(type, new ChainType(receiverType));
+			members= Collections.unmodifiableList(new ArrayList<>(candidates));
+			put(fMembers, key, members);
+		}
+		return members;
+	}
+
+	/**
+	 * Tells whether the return type of the given chain element is assignable to the expected type.
+	 *
+	 * @param edge the chain element
+	 * @param expectedType the expected type
+	 * @param expectedDimension the expected array dimension
+	 * @return <code>true</code> if the chain element can end a chain
+	 * @see ChainElementAnalyzer#isAssignable(ChainElement, IType, int)
+	 */
+	public boolean isAssignable(ChainElement edge, IType expectedType, int expectedDimension) {
+		String key= edge.getReturnType().toString() + ':' + edge.getReturnTypeDimension() + ':' + expectedType.getFullyQualifiedName() + ':' + expectedDimension;
+		Boolean assignable= fAssignable.get(key);
+		if (assignable == null) {
+			assignable= Boolean.valueOf(ChainElementAnalyzer.isAssignable(edge, expectedType, expectedDimension));
+			put(fAssignable, key, assignable);
+		}
+		return assignable.booleanValue();
+	}
+
+	/**
+	 * @return the project of this index or <code>null</code> for a private index
+	 */
+	public IJavaProject getProject() {
+		return fProject;
+	}
+
+	private static <K, V> void put(Map<K, V> cache, K key, V value) {
+		if (cache.size() >= MAX_ENTRIES)
+			cache.clear();
+		cache.putIfAbsent(key, value);
+	}
+}
@@ -60,6 +60,8 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 	public static final String IS_WRITEACCESS= "writeAccess"; //$NON-NLS-1$
 	public static final String IS_VARIABLE= "variable"; //$NON-NLS-1$
 
+	private final OccurrencesIndex fIndex;
+
 	private CompilationUnit fRoot;
 	private Name fSelectedNode;
 	private IBinding fTarget;
@@ -73,7 +75,18 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 	private String fWriteDescription;
 
 	public OccurrencesFinder() {
+		this(null);
+	}
+
+	/**
+	 * Creates a finder that answers its query from the given index when the index was
+	 * created for the AST the finder is initialized with.
+	 *
+	 * @param index the index of the AST, or <code>null</code> to always search the AST
+	 */
+	public OccurrencesFinder(OccurrencesIndex index) {
 		super(true);
+		fIndex= index;
 	}
 
 	@Override
@@ -100,6 +113,11 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 
 	private void performSearch() {
 		if (fResult == null) {
+			if (fIndex != null && fIndex.getASTRoot() == fRoot && !fTargetIsStaticMethodImport) {
+				fResult= fIndex.getOccurrences(fTarget, fReadDescription, fWriteDescription);
+				if (fResult != null)
+					return;
+			}
 			fResult= new ArrayList<>();
 			fWriteUsages= new HashSet<>();
 			fRoot.accept(this);
@@ -307,7 +325,7 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 		return null;
 	}
 
-	private IBinding getBindingDeclaration(IBinding binding) {
+	static IBinding getBindingDeclaration(IBinding binding) {
 		switch (binding.getKind()) {
 			case IBinding.TYPE :
 				return ((ITypeBinding)binding).getTypeDeclaration();
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldAccess;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.ImportDeclaration;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NameQualifiedType;
+import org.eclipse.jdt.core.dom.ParameterizedType;
+import org.eclipse.jdt.core.dom.PostfixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression.Operator;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
+import org.eclipse.jdt.internal.corext.dom.Bindings;
+
+/**
+ * The names of a compilation unit AST, grouped by the declaration of the binding they
+ * refer to. The index is built with one pass over the AST and answers the queries of
+ * {@link OccurrencesFinder} without visiting the AST again. Clients create one index
+ * per AST and pass it to every finder that works on that AST.
+ */
+public final class OccurrencesIndex {
+
+	private record Usage(Name name, IBinding binding, boolean isWrite) {
+	}
+
+	private final CompilationUnit fRoot;
+	private final Map<String, List<Usage>> fUsages;
+	private boolean fHasStaticMethodImports;
+
+	private OccurrencesIndex(CompilationUnit root) {
+		fRoot= root;
+		fUsages= new HashMap<>();
+	}
+
+	/**
+	 * Creates the index for the given AST.
+	 *
+	 * @param root the AST, must have been created with bindings
+	 * @return the index
+	 */
+	public static OccurrencesIndex create(CompilationUnit root) {
+		OccurrencesIndex index= new OccurrencesIndex(root);
+		root.accept(index.new Collector());
+		return index;
+	}
+
+	/**
+	 * @return the AST this index was created for
+	 */
+	public CompilationUnit getASTRoot() {
+		return fRoot;
+	}
+
+	/**
+	 * Returns the occurrences of the given binding declaration in the order in which
+	 * {@link OccurrencesFinder} reports them.
+	 *
+	 * @param target the binding declaration
+	 * @param readDescription the description of read occurrences
+	 * @param writeDescription the description of write occurrences
+	 * @return the occurrences, or <code>null</code> if the index cannot answer the query
+	 *         and the AST has to be searched
+	 */
+	List<OccurrenceLocation> getOccurrences(IBinding target, String readDescription, String writeDescription) {
+		String key= target.getKey();
+		if (key == null)
+			return null;
+		// static imports match methods by name, see OccurrencesFinder#addPossibleStaticImport
+		if (fHasStaticMethodImports && target instanceof IMethodBinding && Modifier.isStatic(target.getModifiers()))
+			return null;
+
+		List<OccurrenceLocation> result= new ArrayList<>();
+		List<Usage> usages= fUsages.get(key);
+		if (usages == null)
+			return result;
+
+		boolean isVariable= target instanceof IVariableBinding;
+		for (Usage usage : usages) {
+			if (!Bindings.equals(usage.binding(), target))
+				continue;
+			int flag= 0;
+			String description= readDescription;
+			if (isVariable) {
+				flag= usage.isWrite() ? IOccurrencesFinder.F_WRITE_OCCURRENCE : IOccurrencesFinder.F_READ_OCCURRENCE;
+				if (usage.isWrite())
+					description= writeDescription;
+			}
+			Name name= usage.name();
+			result.add(new OccurrenceLocation(name.getStartPosition(), name.getLength(), flag, description));
+		}
+		return result;
+	}
+
+	/**
+	 * Records the usages the way {@link OccurrencesFinder} does, but for all bindings at
+	 * once. Where the finder skips the children of a matching qualified name, the key of
+	 * that name is suppressed for the children.
+	 */
+	private class Collector extends ASTVisitor {
+
+		private final Map<Name, IBinding> fWrites= new HashMap<>();
+		private final Deque<QualifiedName> fSuppressors= new ArrayDeque<>();
+		private final Deque<String> fSuppressedKeys= new ArrayDeque<>();
+
+		public Collector() {
+			super(true);
+		}
+
+		@Override
+		public boolean visit(QualifiedName node) {
+			IBinding binding= node.resolveBinding();
+			if (binding instanceof IVariableBinding && ((IVariableBinding) binding).isField()) {
+				SimpleName name= node.getName();
+				suppress(node, addUsage(name, name.resolveBinding()));
+				return true;
+			}
+			if (binding instanceof IMethodBinding && isStaticImport(node)) {
+				fHasStaticMethodImports= true;
+				return true;
+			}
+			suppress(node, addUsage(node, binding));
+			return true;
+		}
+
+		@Override
+		public void endVisit(QualifiedName node) {
+			if (fSuppressors.peek() == node) {
+				fSuppressors.pop();
+				fSuppressedKeys.pop();
+			}
+		}
+
+		@Override
+		public boolean visit(SimpleName node) {
+			addUsage(node, node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(ClassInstanceCreation node) {
+			Type type= node.getType();
+			if (type instanceof ParameterizedType) {
+				type= ((ParameterizedType) type).getType();
+			}
+			if (type instanceof SimpleType) {
+				Name name= ((SimpleType) type).getName();
+				if (name instanceof QualifiedName)
+					name= ((QualifiedName) name).getName();
+				addUsage(name, node.resolveConstructorBinding());
+			} else if (type instanceof NameQualifiedType) {
+				Name name= ((NameQualifiedType) type).getName();
+				addUsage(name, node.resolveConstructorBinding());
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(Assignment node) {
+			addWrite(getSimpleName(node.getLeftHandSide()));
+			return true;
+		}
+
+		@Override
+		public boolean visit(SingleVariableDeclaration node) {
+			addWrite(node.getName(), node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(VariableDeclarationFragment node) {
+			if (node.getParent() instanceof FieldDeclaration || node.getInitializer() != null)
+				addWrite(node.getName(), node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(PrefixExpression node) {
+			PrefixExpression.Operator operator= node.getOperator();
+			if (operator == Operator.INCREMENT || operator == Operator.DECREMENT)
+				addWrite(getSimpleName(node.getOperand()));
+			return true;
+		}
+
+		@Override
+		public boolean visit(PostfixExpression node) {
+			addWrite(getSimpleName(node.getOperand()));
+			return true;
+		}
+
+		private void suppress(QualifiedName node, String key) {
+			if (key != null) {
+				fSuppressors.push(node);
+				fSuppressedKeys.push(key);
+			}
+		}
+
+		private void addWrite(SimpleName name) {
+			if (name != null)
+				addWrite(name, name.resolveBinding());
+		}
+
+		private void addWrite(Name node, IBinding binding) {
+			if (binding != null)
+				fWrites.put(node, OccurrencesFinder.getBindingDeclaration(binding));
+		}
+
+		/**
+		 * @return the key the usage was recorded for, or <code>null</code>
+		 */
+		private String addUsage(Name node, IBinding binding) {
+			if (binding == null)
+				return null;
+			IBinding declaration= OccurrencesFinder.getBindingDeclaration(binding);
+			String key= declaration.getKey();
+			if (key == null || fSuppressedKeys.contains(key))
+				return null;
+			IBinding write= fWrites.get(node);
+			boolean isWrite= write != null && Bindings.equals(write, declaration);
+			if (isWrite)
+				fWrites.remove(node);
+			fUsages.computeIfAbsent(key, k -> new ArrayList<>()).add(new Usage(node, declaration, isWrite));
+			return key;
+		}
+	}
+
+	private static boolean isStaticImport(ASTNode node) {
+		ASTNode parent= node.getParent();
+		return parent instanceof ImportDeclaration && ((ImportDeclaration) parent).isStatic();
+	}
+
+	private static SimpleName getSimpleName(Expression expression) {
+		if (expression instanceof SimpleName)
+			return ((SimpleName) expression);
+		else if (expression instanceof QualifiedName)
+			return (((QualifiedName) expression).getName());
+		else if (expression instanceof FieldAccess)
+			return ((FieldAccess) expression).getName();
+		return null;
+	}
+}
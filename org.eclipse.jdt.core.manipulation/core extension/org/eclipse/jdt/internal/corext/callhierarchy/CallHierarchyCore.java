@@ -23,6 +23,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.StringTokenizer;
 
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.jdt.core.IJavaElement;
@@ -151,6 +153,27 @@ public class CallHierarchyCore {
 		roots.add(root);
 	}
 
+	/**
+	 * Expands the given caller or callee roots breadth first. The wrappers of a level are
+	 * expanded in parallel. Recursive calls and wrappers that cannot have children are not
+	 * expanded.
+	 *
+	 * @param roots the wrappers to expand, usually returned by {@link #getCallerRoots(IMember[])}
+	 *            or {@link #getCalleeRoots(IMember[])}
+	 * @param maxDepth the number of levels to expand, <code>1</code> to only expand the roots
+	 * @param maxNodes the maximum number of wrappers in the expanded trees, including the roots.
+	 *            Children exceeding the budget are not reported.
+	 * @param listener the listener that receives the children of each level once it has been
+	 *            expanded
+	 * @param monitor the progress monitor, may be <code>null</code>
+	 * @throws org.eclipse.core.runtime.OperationCanceledException if the monitor has been canceled.
+	 *             The levels reported so far remain valid.
+	 */
+	public void expand(MethodWrapper[] roots, int maxDepth, int maxNodes, ICallHierarchyExpansionListener listener, IProgressMonitor monitor) {
+		Assert.isLegal(maxDepth > 0 && maxNodes > 0);
+		new CallHierarchyExpander(maxDepth, maxNodes, listener).expand(roots, monitor);
+	}
+
     public static CallLocation getCallLocation(Object element) {
         CallLocation callLocation= null;
 
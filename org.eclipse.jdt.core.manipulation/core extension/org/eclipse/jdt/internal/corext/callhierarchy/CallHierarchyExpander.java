@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+
+/**
+ * Expands call hierarchy trees breadth first. The wrappers of a level are expanded in parallel
+ * by the jobs of one job group; wrappers with the same member are expanded by the same job, so
+ * that all but the first one are answered from the method cache of their tree.
+ */
+final class CallHierarchyExpander {
+
+	/**
+	 * Progress monitor handed to the workers. It only forwards cancellation.
+	 */
+	private static class CancelOnlyProgressMonitor extends NullProgressMonitor {
+
+		private final AtomicBoolean fCanceled;
+
+		public CancelOnlyProgressMonitor(AtomicBoolean canceled) {
+			fCanceled= canceled;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled.get();
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled.set(canceled);
+		}
+	}
+
+	/**
+	 * Computes the calls of wrappers that share the same member.
+	 */
+	private class ExpandJob extends Job {
+
+		private final List<MethodWrapper> fWrappers;
+		private volatile Throwable fException;
+
+		public ExpandJob(List<MethodWrapper> wrappers) {
+			super(CallHierarchyMessages.CallHierarchyExpander_taskname);
+			fWrappers= wrappers;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IProgressMonitor workerMonitor= new CancelOnlyProgressMonitor(fCanceled);
+			try {
+				for (MethodWrapper wrapper : fWrappers)
+					wrapper.getCalls(workerMonitor);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (RuntimeException | Error e) {
+				fException= e;
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		protected void canceling() {
+			fCanceled.set(true);
+		}
+	}
+
+	private final int fMaxDepth;
+
+	private final int fMaxNodes;
+
+	private final ICallHierarchyExpansionListener fListener;
+
+	private final AtomicBoolean fCanceled= new AtomicBoolean();
+
+	CallHierarchyExpander(int maxDepth, int maxNodes, ICallHierarchyExpansionListener listener) {
+		fMaxDepth= maxDepth;
+		fMaxNodes= maxNodes;
+		fListener= listener;
+	}
+
+	void expand(MethodWrapper[] roots, IProgressMonitor monitor) {
+		SubMonitor subMonitor= SubMonitor.convert(monitor, CallHierarchyMessages.CallHierarchyExpander_taskname, fMaxDepth);
+		try {
+			List<MethodWrapper> level= new ArrayList<>();
+			int budget= fMaxNodes - roots.length;
+			for (MethodWrapper root : roots) {
+				if (isExpandable(root))
+					level.add(root);
+			}
+
+			for (int depth= 1; depth <= fMaxDepth && !level.isEmpty() && budget > 0; depth++) {
+				Map<MethodWrapper, MethodWrapper[]> calls= expandLevel(level, subMonitor);
+
+				List<MethodWrapper> next= new ArrayList<>();
+				for (Map.Entry<MethodWrapper, MethodWrapper[]> entry : calls.entrySet()) {
+					MethodWrapper[] children= entry.getValue();
+					if (children.length > budget) {
+						MethodWrapper[] truncated= new MethodWrapper[budget];
+						System.arraycopy(children, 0, truncated, 0, budget);
+						entry.setValue(truncated);
+						children= truncated;
+					}
+					budget-= children.length;
+					for (MethodWrapper child : children) {
+						if (isExpandable(child))
+							next.add(child);
+					}
+				}
+				fListener.levelExpanded(depth, calls);
+				subMonitor.worked(1);
+				level= next;
+			}
+		} finally {
+			subMonitor.done();
+		}
+	}
+
+	private Map<MethodWrapper, MethodWrapper[]> expandLevel(List<MethodWrapper> level, IProgressMonitor monitor) {
+		Map<String, List<MethodWrapper>> groups= new LinkedHashMap<>();
+		for (MethodWrapper wrapper : level)
+			groups.computeIfAbsent(wrapper.getMethodCall().getKey(), k -> new ArrayList<>()).add(wrapper);
+
+		JobGroup jobGroup= new JobGroup(CallHierarchyMessages.CallHierarchyExpander_taskname, Runtime.getRuntime().availableProcessors(), 0);
+		List<ExpandJob> jobs= new ArrayList<>(groups.size());
+		for (List<MethodWrapper> group : groups.values()) {
+			ExpandJob job= new ExpandJob(group);
+			job.setJobGroup(jobGroup);
+			jobs.add(job);
+		}
+		try {
+			for (ExpandJob job : jobs)
+				job.schedule();
+			while (!jobGroup.join(100, null)) {
+				if (monitor.isCanceled())
+					fCanceled.set(true);
+				if (fCanceled.get())
+					break;
+			}
+		} catch (InterruptedException e) {
+			fCanceled.set(true);
+			Thread.currentThread().interrupt();
+		} finally {
+			if (fCanceled.get()) {
+				jobGroup.cancel();
+				// the jobs must not touch the wrappers once the expansion is canceled
+				joinUninterruptibly(jobGroup);
+			}
+		}
+		for (ExpandJob job : jobs) {
+			Throwable exception= job.fException;
+			if (exception instanceof RuntimeException)
+				throw (RuntimeException) exception;
+			if (exception instanceof Error)
+				throw (Error) exception;
+		}
+		if (fCanceled.get() || monitor.isCanceled())
+			throw new OperationCanceledException();
+
+		// the children have been computed, this only creates the wrappers
+		Map<MethodWrapper, MethodWrapper[]> result= new LinkedHashMap<>();
+		for (MethodWrapper wrapper : level)
+			result.put(wrapper, wrapper.getCalls(monitor));
+		return result;
+	}
+
+	private static boolean isExpandable(MethodWrapper wrapper) {
+		return wrapper.canHaveChildren() && !wrapper.isRecursive();
+	}
+
+	private static void joinUninterruptibly(JobGroup group) {
+		boolean interrupted= false;
+		while (true) {
+			try {
+				group.join(0, null);
+				break;
+			} catch (InterruptedException e) {
+				interrupted= true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+}
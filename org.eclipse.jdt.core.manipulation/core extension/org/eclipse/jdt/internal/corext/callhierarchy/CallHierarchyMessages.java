@@ -25,6 +25,7 @@ public final class CallHierarchyMessages extends NLS {
 
 	public static String CallerMethodWrapper_taskname;
 	public static String CalleeMethodWrapper_taskname;
+	public static String CallHierarchyExpander_taskname;
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, CallHierarchyMessages.class);
@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * Reverse call index used by {@link CallerMethodWrapper} for searches in the workspace scope.
+ * <p>
+ * The index maps a called member to the raw, accurate references found by the search engine.
+ * The call hierarchy filters are applied when the references are turned into
+ * {@link MethodCall}s, so that changing the filters does not invalidate the index. Entries are
+ * grouped by the project declaring the called member. A change in a project can only add or
+ * remove references to members of the project itself or of the projects it requires, so only
+ * those groups are dropped. Members of libraries are kept in a separate group that is dropped on
+ * any change. Reconciling a working copy drops the groups in the same way, also if it only edits
+ * the bodies of existing members, since the search reports the references of working copies.
+ * </p>
+ * <p>
+ * The source groups are written to the plug-in state location on shutdown, together with a
+ * fingerprint of the project's sources and classpath. A group is only restored if neither its
+ * project nor a project requiring it has changed in between.
+ * </p>
+ */
+public final class CallerIndex implements IElementChangedListener {
+
+	/**
+	 * A reference to a called member, as found by the search engine.
+	 *
+	 * @param handle the handle identifier of the referencing member
+	 * @param start the start offset of the reference
+	 * @param end the end offset of the reference
+	 */
+	record Reference(String handle, int start, int end) {
+	}
+
+	private static final int VERSION= 1;
+
+	private static final String INDEX_DIRECTORY= "callhierarchy"; //$NON-NLS-1$
+
+	private static final String INDEX_EXTENSION= ".index"; //$NON-NLS-1$
+
+	/** Name of the group for members that are not declared in source. Never persisted. */
+	private static final String LIBRARY_GROUP= ""; //$NON-NLS-1$
+
+	private static final int STRUCTURE_CHANGED= IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+			| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED;
+
+	private static CallerIndex fgInstance;
+
+	/** The location of the persisted index, or <code>null</code> if not persisted */
+	private final File fLocation;
+
+	/** A map from group name to a map from key to references. Guarded by <code>this</code>. */
+	private final Map<String, Map<String, Reference[]>> fGroups= new HashMap<>();
+
+	/** Incremented on every invalidation. Guarded by <code>this</code>. */
+	private long fStamp;
+
+	private CallerIndex(File location) {
+		fLocation= location;
+	}
+
+	/**
+	 * Returns the shared index. The index is restored from the state location on first access.
+	 *
+	 * @return the shared index
+	 */
+	public static synchronized CallerIndex getDefault() {
+		if (fgInstance == null) {
+			JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+			File location= plugin != null ? plugin.getStateLocation().append(INDEX_DIRECTORY).toFile() : null;
+			fgInstance= new CallerIndex(location);
+			JavaCore.addElementChangedListener(fgInstance, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			fgInstance.restore();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Persists and disposes the shared index, if it has been created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			JavaCore.removeElementChangedListener(fgInstance);
+			fgInstance.save();
+			fgInstance= null;
+		}
+	}
+
+	/**
+	 * Returns the key of the search for references to the given member.
+	 *
+	 * @param member the called member
+	 * @param limitTo the limit of the search pattern
+	 * @return the key
+	 */
+	static String getKey(IMember member, int limitTo) {
+		return member.getHandleIdentifier() + '#' + limitTo;
+	}
+
+	/**
+	 * Returns a stamp that must be passed to {@link #put(IMember, String, List, long)} for
+	 * results of a search started after this call.
+	 *
+	 * @return the current stamp
+	 */
+	synchronized long getStamp() {
+		return fStamp;
+	}
+
+	/**
+	 * Returns the callers of the given member from the index.
+	 *
+	 * @param member the called member
+	 * @param key the key of the search
+	 * @return a map from handle identifier to {@link MethodCall}, or <code>null</code> if the
+	 *         index does not contain the callers
+	 */
+	Map<String, MethodCall> getCallers(IMember member, String key) {
+		Reference[] references;
+		synchronized (this) {
+			Map<String, Reference[]> group= fGroups.get(getGroupName(member));
+			references= group != null ? group.get(key) : null;
+		}
+		if (references == null)
+			return null;
+
+		CallSearchResultCollector collector= new CallSearchResultCollector();
+		for (Reference reference : references) {
+			IJavaElement caller= JavaCore.create(reference.handle());
+			if (!(caller instanceof IMember))
+				return null;
+			collector.addMember((IMember) caller, (IMember) caller, reference.start(), reference.end());
+		}
+		return collector.getCallers();
+	}
+
+	/**
+	 * Adds the result of a search to the index. The result is dropped if the index has been
+	 * invalidated since the given stamp was taken.
+	 *
+	 * @param member the called member
+	 * @param key the key of the search
+	 * @param references the references found
+	 * @param stamp the stamp taken before the search was started
+	 */
+	synchronized void put(IMember member, String key, List<Reference> references, long stamp) {
+		if (stamp != fStamp)
+			return;
+		fGroups.computeIfAbsent(getGroupName(member), k -> new HashMap<>()).put(key, references.toArray(new Reference[references.size()]));
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		Set<String> changed= new HashSet<>();
+		Set<String> affected= null;
+		if (collectChangedProjects(event.getDelta(), changed)) {
+			if (changed.isEmpty())
+				return;
+			affected= getAffectedGroups(changed);
+		}
+		synchronized (this) {
+			fStamp++;
+			if (affected == null)
+				fGroups.clear();
+			else
+				fGroups.keySet().removeAll(affected);
+		}
+	}
+
+	/*
+	 * Returns false if the whole index must be dropped.
+	 */
+	private static boolean collectChangedProjects(IJavaElementDelta delta, Set<String> result) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (!collectChangedProjects(child, result))
+						return false;
+				}
+				return true;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & STRUCTURE_CHANGED) != 0)
+					return false;
+				result.add(element.getElementName());
+				return true;
+			default:
+				// reconcile deltas are rooted at the working copy
+				IJavaProject project= element.getJavaProject();
+				if (project == null)
+					return false;
+				result.add(project.getElementName());
+				return true;
+		}
+	}
+
+	/*
+	 * Returns the groups that can contain references from the given projects, or null if they
+	 * cannot be determined.
+	 */
+	private static Set<String> getAffectedGroups(Set<String> projectNames) {
+		IJavaModel model= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot());
+		Set<String> result= new HashSet<>();
+		result.add(LIBRARY_GROUP);
+		Deque<String> pending= new ArrayDeque<>(projectNames);
+		while (!pending.isEmpty()) {
+			String name= pending.pop();
+			if (!result.add(name))
+				continue;
+			IJavaProject project= model.getJavaProject(name);
+			if (!project.isOpen())
+				continue;
+			try {
+				Collections.addAll(pending, project.getRequiredProjectNames());
+			} catch (JavaModelException e) {
+				return null;
+			}
+		}
+		return result;
+	}
+
+	private static String getGroupName(IMember member) {
+		if (member.isBinary())
+			return LIBRARY_GROUP;
+		return member.getJavaProject().getElementName();
+	}
+
+	private void restore() {
+		if (fLocation == null || !fLocation.isDirectory())
+			return;
+
+		long stamp= getStamp();
+		Map<String, Long> fingerprints= new HashMap<>();
+		Map<String, Map<String, Reference[]>> groups= new HashMap<>();
+		try {
+			File[] files= fLocation.listFiles((dir, name) -> name.endsWith(INDEX_EXTENSION));
+			if (files == null)
+				return;
+			for (File file : files)
+				read(file, fingerprints, groups);
+
+			IJavaProject[] projects= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+			Set<String> names= new HashSet<>();
+			Set<String> changed= new HashSet<>();
+			for (IJavaProject project : projects) {
+				if (!project.isOpen())
+					continue;
+				String name= project.getElementName();
+				names.add(name);
+				Long fingerprint= fingerprints.get(name);
+				if (fingerprint == null || fingerprint.longValue() != computeFingerprint(project))
+					changed.add(name);
+			}
+			if (!names.containsAll(fingerprints.keySet()))
+				return; // references from a removed project may be indexed anywhere
+
+			Set<String> affected= getAffectedGroups(changed);
+			if (affected == null)
+				return;
+			groups.keySet().removeAll(affected);
+		} catch (IOException | CoreException e) {
+			JavaManipulationPlugin.log(e);
+			return;
+		}
+
+		synchronized (this) {
+			if (stamp == fStamp)
+				fGroups.putAll(groups);
+		}
+	}
+
+	private void save() {
+		if (fLocation == null)
+			return;
+
+		long stamp;
+		Map<String, Map<String, Reference[]>> groups= new HashMap<>();
+		synchronized (this) {
+			stamp= fStamp;
+			for (Entry<String, Map<String, Reference[]>> entry : fGroups.entrySet())
+				groups.put(entry.getKey(), new HashMap<>(entry.getValue()));
+		}
+
+		try {
+			clearLocation();
+			if (!fLocation.isDirectory() && !fLocation.mkdirs())
+				throw new IOException("Could not create directory " + fLocation); //$NON-NLS-1$
+
+			Map<String, Long> fingerprints= new HashMap<>();
+			for (IJavaProject project : JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects()) {
+				if (project.isOpen())
+					fingerprints.put(project.getElementName(), Long.valueOf(computeFingerprint(project)));
+			}
+			synchronized (this) {
+				if (stamp != fStamp)
+					return; // the workspace changed while computing the fingerprints
+			}
+
+			int index= 0;
+			for (Entry<String, Long> entry : fingerprints.entrySet()) {
+				Map<String, Reference[]> group= groups.get(entry.getKey());
+				write(new File(fLocation, index++ + INDEX_EXTENSION), entry.getKey(), entry.getValue().longValue(), group != null ? group : Collections.emptyMap());
+			}
+		} catch (IOException | CoreException e) {
+			clearLocation();
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	private void clearLocation() {
+		File[] files= fLocation.listFiles((dir, name) -> name.endsWith(INDEX_EXTENSION));
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+	}
+
+	private static void read(File file, Map<String, Long> fingerprints, Map<String, Map<String, Reference[]>> groups) throws IOException {
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION)
+				return;
+			String name= in.readUTF();
+			long fingerprint= in.readLong();
+			int entryCount= in.readInt();
+			Map<String, Reference[]> group= new HashMap<>(entryCount * 2);
+			for (int i= 0; i < entryCount; i++) {
+				String key= in.readUTF();
+				Reference[] references= new Reference[in.readInt()];
+				for (int j= 0; j < references.length; j++)
+					references[j]= new Reference(in.readUTF(), in.readInt(), in.readInt());
+				group.put(key, references);
+			}
+			fingerprints.put(name, Long.valueOf(fingerprint));
+			groups.put(name, group);
+		}
+	}
+
+	private static void write(File file, String name, long fingerprint, Map<String, Reference[]> group) throws IOException {
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeUTF(name);
+			out.writeLong(fingerprint);
+			out.writeInt(group.size());
+			for (Entry<String, Reference[]> entry : group.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeInt(entry.getValue().length);
+				for (Reference reference : entry.getValue()) {
+					out.writeUTF(reference.handle());
+					out.writeInt(reference.start());
+					out.writeInt(reference.end());
+				}
+			}
+		}
+	}
+
+	/*
+	 * Fingerprint of the resolved classpath and of the modification stamps of all Java files of
+	 * the given project. Modification stamps are preserved across sessions.
+	 */
+	private static long computeFingerprint(IJavaProject project) throws CoreException {
+		CRC32 crc= new CRC32();
+		IWorkspaceRoot root= ResourcesPlugin.getWorkspace().getRoot();
+		for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+			IPath path= entry.getPath();
+			update(crc, path.toString(), entry.getEntryKind());
+			if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+				IResource resource= root.findMember(path);
+				IPath location= resource != null ? resource.getLocation() : path;
+				if (location != null) {
+					File file= location.toFile();
+					update(crc, Long.toString(file.length()), file.lastModified());
+				}
+			}
+		}
+		int[] fileCount= { 0 };
+		project.getProject().accept(proxy -> {
+			if (proxy.getType() != IResource.FILE)
+				return true;
+			if (JavaCore.isJavaLikeFileName(proxy.getName())) {
+				update(crc, proxy.requestFullPath().toString(), proxy.getModificationStamp());
+				fileCount[0]++;
+			}
+			return false;
+		}, IResource.NONE);
+		return (long) fileCount[0] << 32 ^ crc.getValue();
+	}
+
+	private static void update(CRC32 crc, String string, long value) {
+		crc.update(string.getBytes(StandardCharsets.UTF_8));
+		for (int shift= 0; shift < 64; shift+= 8)
+			crc.update((int) (value >>> shift));
+	}
+}
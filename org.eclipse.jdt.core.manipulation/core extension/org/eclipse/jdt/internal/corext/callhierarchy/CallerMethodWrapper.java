@@ -106,6 +106,7 @@ public class CallerMethodWrapper extends MethodWrapper {
 
 			IMember member= getMember();
 			SearchPattern pattern= null;
+			int limitTo= IJavaSearchConstants.REFERENCES;
 			IType type= null;
 			if (member instanceof IType) {
 				type= (IType) member;
@@ -127,8 +128,9 @@ public class CallerMethodWrapper extends MethodWrapper {
 					}
 				} else if (type.getParent() instanceof IMethod) {
 					// good enough for local types (does not find super(..) references in subtype constructors):
+					limitTo= IJavaSearchConstants.CLASS_INSTANCE_CREATION_TYPE_REFERENCE;
 					pattern= SearchPattern.createPattern(type,
-							IJavaSearchConstants.CLASS_INSTANCE_CREATION_TYPE_REFERENCE,
+							limitTo,
 							SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
 				} else {
 					pattern= SearchPattern.createPattern(type.getFullyQualifiedName('.'),
@@ -138,7 +140,6 @@ public class CallerMethodWrapper extends MethodWrapper {
 				}
 			}
 			if (pattern == null) {
-				int limitTo= IJavaSearchConstants.REFERENCES;
 				if (member.getElementType() == IJavaElement.FIELD)
 					limitTo= getFieldSearchMode();
 				pattern= SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
@@ -147,13 +148,30 @@ public class CallerMethodWrapper extends MethodWrapper {
 				return new HashMap<>(0);
 			}
 
-			SearchEngine searchEngine= new SearchEngine();
-			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
 			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
+
+			// results for the workspace scope do not depend on the view's state and are shared across hierarchies
+			CallerIndex index= isWorkspaceScope ? CallerIndex.getDefault() : null;
+			String key= null;
+			long stamp= 0;
+			if (index != null) {
+				key= CallerIndex.getKey(member, limitTo);
+				Map<String, MethodCall> callers= index.getCallers(member, key);
+				if (callers != null) {
+					return callers;
+				}
+				stamp= index.getStamp();
+			}
+
+			SearchEngine searchEngine= new SearchEngine();
+			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor(index != null);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
 					monitor);
+			if (index != null && searchRequestor.getReferences() != null) {
+				index.put(member, key, searchRequestor.getReferences(), stamp);
+			}
 			return searchRequestor.getCallers();
 
 		} catch (CoreException e) {
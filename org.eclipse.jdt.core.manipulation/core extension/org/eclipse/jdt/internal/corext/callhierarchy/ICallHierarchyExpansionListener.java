@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.Map;
+
+/**
+ * Receives the results of {@link CallHierarchyCore#expand(MethodWrapper[], int, int, ICallHierarchyExpansionListener, org.eclipse.core.runtime.IProgressMonitor)}
+ * level by level.
+ */
+public interface ICallHierarchyExpansionListener {
+
+	/**
+	 * Called in the thread that started the expansion when all wrappers of a level have been
+	 * expanded.
+	 *
+	 * @param level the level of the expanded wrappers, the roots are on level 1
+	 * @param calls a map from each expanded wrapper to its children, in the order the wrappers
+	 *            have been reported as children on the previous level
+	 */
+	void levelExpanded(int level, Map<MethodWrapper, MethodWrapper[]> calls);
+}
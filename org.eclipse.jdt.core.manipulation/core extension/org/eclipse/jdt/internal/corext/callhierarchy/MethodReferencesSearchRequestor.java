@@ -14,25 +14,48 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
 class MethodReferencesSearchRequestor extends SearchRequestor {
     private CallSearchResultCollector fSearchResults;
     private boolean fRequireExactMatch = true;
+    private List<CallerIndex.Reference> fReferences;
 
     MethodReferencesSearchRequestor() {
+        this(false);
+    }
+
+    /**
+     * @param recordReferences whether the unfiltered references should be recorded for the
+     *            {@link CallerIndex}
+     */
+    MethodReferencesSearchRequestor(boolean recordReferences) {
         fSearchResults = new CallSearchResultCollector();
+        if (recordReferences) {
+            fReferences = new ArrayList<>();
+        }
     }
 
     public Map<String, MethodCall> getCallers() {
         return fSearchResults.getCallers();
     }
 
+    /**
+     * @return the unfiltered references, or <code>null</code> if they have not been recorded or
+     *         a referencing member cannot be restored from its handle identifier
+     */
+    List<CallerIndex.Reference> getReferences() {
+        return fReferences;
+    }
+
     @Override
 	public void acceptSearchMatch(SearchMatch match) {
         if (fRequireExactMatch && (match.getAccuracy() != SearchMatch.A_ACCURATE)) {
@@ -51,8 +74,21 @@ class MethodReferencesSearchRequestor extends SearchRequestor {
                 case IJavaElement.FIELD:
                 case IJavaElement.INITIALIZER:
                     fSearchResults.addMember(member, member, match.getOffset(), match.getOffset()+match.getLength());
+                    recordReference(member, match.getOffset(), match.getOffset()+match.getLength());
                     break;
             }
         }
     }
+
+    private void recordReference(IMember member, int start, int end) {
+        if (fReferences == null) {
+            return;
+        }
+        String handle = member.getHandleIdentifier();
+        if (member.equals(JavaCore.create(handle))) {
+            fReferences.add(new CallerIndex.Reference(handle, start, end));
+        } else {
+            fReferences = null; // e.g. lambda methods
+        }
+    }
 }
@@ -19,6 +19,7 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -51,6 +52,9 @@ public abstract class MethodWrapper extends PlatformObject {
      * A cache of previously found methods. This cache should be searched
      * before adding a "new" method object reference to the list of elements.
      * This way previously found methods won't be searched again.
+     * The cache is shared by all wrappers of a tree, which may be expanded
+     * concurrently (see CallHierarchyExpander). Entries are only added once
+     * complete.
      */
     private Map<String, Map<String, MethodCall>> fMethodCache;
     private final MethodCall fMethodCall;
@@ -66,7 +70,7 @@ public abstract class MethodWrapper extends PlatformObject {
         Assert.isNotNull(methodCall);
 
         if (parent == null) {
-            setMethodCache(new HashMap<>());
+            setMethodCache(new ConcurrentHashMap<>());
             fLevel = 1;
         } else {
             setMethodCache(parent.getMethodCache());
@@ -166,11 +170,6 @@ public abstract class MethodWrapper extends PlatformObject {
 
     protected abstract String getTaskName();
 
-    private void addCallToCache(MethodCall methodCall) {
-        Map<String, MethodCall> cachedCalls = lookupMethod(this.getMethodCall());
-        cachedCalls.put(methodCall.getKey(), methodCall);
-    }
-
 	/**
 	 * Creates a method wrapper for the child of the receiver.
 	 *
@@ -248,8 +247,6 @@ public abstract class MethodWrapper extends PlatformObject {
 
     private void initCalls() {
         this.fElements = new HashMap<>();
-
-        initCacheForMethod();
     }
 
     /**
@@ -264,23 +261,20 @@ public abstract class MethodWrapper extends PlatformObject {
     private void performSearch(IProgressMonitor progressMonitor) {
         fElements = findChildren(progressMonitor);
 
+        Map<String, MethodCall> cachedCalls = new HashMap<>();
         for (String string : fElements.keySet()) {
             checkCanceled(progressMonitor);
 
             MethodCall methodCall = getMethodCallFromMap(fElements, string);
-            addCallToCache(methodCall);
+            cachedCalls.put(methodCall.getKey(), methodCall);
         }
+        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
     }
 
     private MethodCall getMethodCallFromMap(Map<String, MethodCall> elements, String key) {
         return elements.get(key);
     }
 
-    private void initCacheForMethod() {
-        Map<String, MethodCall> cachedCalls = new HashMap<>();
-        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
-    }
-
     /**
      * Checks with the progress monitor to see whether the creation of the type hierarchy
      * should be canceled. Should be regularly called
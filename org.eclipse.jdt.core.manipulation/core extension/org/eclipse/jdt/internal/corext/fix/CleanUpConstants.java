@@ -2281,6 +2281,21 @@ public class CleanUpConstants {
 
 	public static final String CLEANUP_ON_SAVE_ADDITIONAL_OPTIONS= "cleanup.on_save_use_additional_actions"; //$NON-NLS-1$
 
+	/**
+	 * Restricts the save actions to the regions of the compilation unit which have been changed
+	 * since the last save. Clean ups visit only the AST nodes which overlap a changed region, and
+	 * the changes of other clean ups outside of the changed regions are dropped. The formatter
+	 * still follows {@link #FORMAT_SOURCE_CODE_CHANGES_ONLY}.<br>
+	 * <br>
+	 * Possible values: {TRUE, FALSE}<br>
+	 *
+	 * <br>
+	 *
+	 * @see CleanUpOptions#TRUE
+	 * @see CleanUpOptions#FALSE
+	 */
+	public static final String CLEANUP_ON_SAVE_CHANGED_REGIONS_ONLY= "cleanup.on_save_changed_regions_only"; //$NON-NLS-1$
+
 	/**
 	 * The id of the profile used as a default profile when executing clean up.<br>
 	 * <br>
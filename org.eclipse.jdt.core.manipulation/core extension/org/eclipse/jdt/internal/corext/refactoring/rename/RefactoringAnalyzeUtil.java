@@ -118,9 +118,12 @@ public class RefactoringAnalyzeUtil {
 	}
 
 	public static IProblem[] getIntroducedCompileProblems(CompilationUnit newCUNode, CompilationUnit oldCuNode) {
+		return getIntroducedCompileProblems(getProblems(newCUNode), getProblems(oldCuNode));
+	}
+
+	public static IProblem[] getIntroducedCompileProblems(IProblem[] newProblems, IProblem[] oldCuProblems) {
 		Set<IProblem> subResult= new HashSet<>();
-		Set<IProblem> oldProblems= getOldProblems(oldCuNode);
-		IProblem[] newProblems= ASTNodes.getProblems(newCUNode, ASTNodes.INCLUDE_ALL_PARENTS, ASTNodes.PROBLEMS);
+		Set<IProblem> oldProblems= new HashSet<>(Arrays.asList(oldCuProblems));
 		for (IProblem newProblem : newProblems) {
 			IProblem correspondingOld= findCorrespondingProblem(oldProblems, newProblem);
 			if (correspondingOld == null)
@@ -174,7 +177,7 @@ public class RefactoringAnalyzeUtil {
 		return getSimpleName(node);
 	}
 
-	private static Set<IProblem> getOldProblems(CompilationUnit oldCuNode) {
-		return new HashSet<>(Arrays.asList(ASTNodes.getProblems(oldCuNode, ASTNodes.INCLUDE_ALL_PARENTS, ASTNodes.PROBLEMS)));
+	public static IProblem[] getProblems(CompilationUnit cuNode) {
+		return ASTNodes.getProblems(cuNode, ASTNodes.INCLUDE_ALL_PARENTS, ASTNodes.PROBLEMS);
 	}
 }
@@ -19,13 +19,18 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.core.resources.IResource;
 
@@ -42,6 +47,7 @@ import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.JavaModelException;
@@ -49,6 +55,8 @@ import org.eclipse.jdt.core.SourceRange;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IBinding;
@@ -61,6 +69,7 @@ import org.eclipse.jdt.core.search.FieldDeclarationMatch;
 import org.eclipse.jdt.core.search.MethodDeclarationMatch;
 import org.eclipse.jdt.core.search.SearchMatch;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.SourceRangeFactory;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
@@ -78,68 +87,41 @@ import org.eclipse.jdt.internal.ui.util.Progress;
 
 public class RenameAnalyzeUtil {
 
-	private static class ProblemNodeFinder {
-
-		private ProblemNodeFinder() {
-			//static
-		}
-
-		public static SimpleName[] getProblemNodes(ASTNode methodNode, VariableDeclaration variableNode, TextEdit[] edits, TextChange change) {
-			String key= variableNode.resolveBinding().getKey();
-			NameNodeVisitor visitor= new NameNodeVisitor(edits, change, key);
-			methodNode.accept(visitor);
-			return visitor.getProblemNodes();
-		}
-
-		private static class NameNodeVisitor extends ASTVisitor {
-
-			private Collection<IRegion> fRanges;
-			private Collection<SimpleName> fProblemNodes;
-			private String fKey;
-
-			public NameNodeVisitor(TextEdit[] edits, TextChange change, String key) {
-				Assert.isNotNull(edits);
-				Assert.isNotNull(key);
-
-				fRanges= new HashSet<>(Arrays.asList(RefactoringAnalyzeUtil.getNewRanges(edits, change)));
-				fProblemNodes= new ArrayList<>(0);
-				fKey= key;
-			}
-
-			public SimpleName[] getProblemNodes() {
-				return fProblemNodes.toArray(new SimpleName[fProblemNodes.size()]);
-			}
-
-			//----- visit methods
-
-			@Override
-			public boolean visit(SimpleName node) {
-				VariableDeclaration decl= getVariableDeclaration(node);
-				if (decl == null)
-					return super.visit(node);
-
-				IVariableBinding binding= decl.resolveBinding();
-				if (binding == null)
-					return super.visit(node);
-
-				boolean keysEqual= fKey.equals(binding.getKey());
-				boolean rangeInSet= fRanges.contains(new Region(node.getStartPosition(), node.getLength()));
-
-				if (keysEqual && !rangeInSet)
-					fProblemNodes.add(node);
-
-				if (!keysEqual && rangeInSet)
-					fProblemNodes.add(node);
-
-				/*
-				 * if (!keyEquals && !rangeInSet)
-				 * 		ok, different local variable.
-				 *
-				 * if (keyEquals && rangeInSet)
-				 * 		ok, renamed local variable & has been renamed.
-				 */
+	/**
+	 * A simple name that refers to a variable in the changed compilation unit. Does not hold
+	 * the AST node, so that the comparison with the renamed ranges can run after the AST has
+	 * been released.
+	 *
+	 * @param offset the offset of the name in the changed source
+	 * @param length the length of the name
+	 * @param identifier the identifier of the name
+	 * @param keysEqual whether the name refers to the renamed variable
+	 */
+	private record NameUse(int offset, int length, String identifier, boolean keysEqual) {
+	}
 
-				return super.visit(node);
+	/**
+	 * The state of the analysis of one {@link LocalAnalyzeUnit}.
+	 */
+	private static final class UnitAnalysis {
+
+		private final LocalAnalyzeUnit fUnit;
+		private final String fSource;
+		/** The renamed ranges in the changed source, one array per package. */
+		private final List<IRegion[]> fRanges;
+		private IProblem[] fNewProblems;
+		/**
+		 * The names of the enclosing nodes, one list per package, <code>null</code> if the declaration was not found.
+		 * Both this and the new problems are <code>null</code> until the changed source has been parsed.
+		 */
+		private List<List<NameUse>> fUses;
+
+		public UnitAnalysis(LocalAnalyzeUnit unit) throws CoreException {
+			fUnit= unit;
+			fSource= unit.fChange.getPreviewContent(new NullProgressMonitor());
+			fRanges= new ArrayList<>(unit.fAnalyzePackages.length);
+			for (LocalAnalyzePackage analyzePackage : unit.fAnalyzePackages) {
+				fRanges.add(RefactoringAnalyzeUtil.getNewRanges(analyzePackage.fOccurenceEdits, unit.fChange));
 			}
 		}
 	}
@@ -154,6 +136,36 @@ public class RenameAnalyzeUtil {
 		}
 	}
 
+	/**
+	 * The local variable renames inside one compilation unit, see
+	 * {@link RenameAnalyzeUtil#analyzeLocalRenames(List, boolean, IProgressMonitor)}.
+	 */
+	public static class LocalAnalyzeUnit {
+		private final LocalAnalyzePackage[] fAnalyzePackages;
+		private final TextChange fChange;
+		private final ICompilationUnit fCompilationUnit;
+		private final IProblem[] fOldProblems;
+		private final boolean fCompactConstructor;
+
+		/**
+		 * @param analyzePackages the LocalAnalyzePackages containing the information about the local renames
+		 * @param cuChange the TextChange containing all local variable changes to be applied, must keep its preview edits
+		 * @param oldCUNode the fully (incl. bindings) resolved AST node of the original compilation unit
+		 */
+		public LocalAnalyzeUnit(LocalAnalyzePackage[] analyzePackages, TextChange cuChange, CompilationUnit oldCUNode) {
+			this(analyzePackages, cuChange, oldCUNode, false);
+		}
+
+		private LocalAnalyzeUnit(LocalAnalyzePackage[] analyzePackages, TextChange cuChange, CompilationUnit oldCUNode, boolean isCompactConstructor) {
+			fAnalyzePackages= analyzePackages;
+			fChange= cuChange;
+			fCompilationUnit= (ICompilationUnit) oldCUNode.getJavaElement();
+			// only the problems are needed, the old AST can be released before the analysis runs
+			fOldProblems= RefactoringAnalyzeUtil.getProblems(oldCUNode);
+			fCompactConstructor= isCompactConstructor;
+		}
+	}
+
 	private RenameAnalyzeUtil() {
 		//no instance
 	}
@@ -411,41 +423,184 @@ public class RenameAnalyzeUtil {
 	}
 
 	private static RefactoringStatus analyzeLocalRenames(LocalAnalyzePackage[] analyzePackages, TextChange cuChange, CompilationUnit oldCUNode, boolean isCompactConstructor, boolean recovery) throws CoreException {
+		UnitAnalysis analysis= new UnitAnalysis(new LocalAnalyzeUnit(analyzePackages, cuChange, oldCUNode, isCompactConstructor));
+		CompilationUnit newCUNode= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(analysis.fSource, analysis.fUnit.fCompilationUnit, true, recovery, null);
+		collectNameUses(analysis, newCUNode);
+		return compare(analysis);
+	}
+
+	/**
+	 * This method analyzes the local variable renames of many compilation units. It reports the
+	 * same problems as {@link #analyzeLocalRenames(LocalAnalyzePackage[], TextChange, CompilationUnit, boolean)}
+	 * for each unit, but parses the changed compilation units of a project in one batch.
+	 *
+	 * @param units the local renames of the compilation units, at most one unit per compilation unit
+	 * @param recovery whether statements and bindings recovery should be performed when parsing the changed CUs
+	 * @param pm the progress monitor, can be <code>null</code>
+	 * @return a RefactoringStatus containing errors if compile errors or wrongly renamed nodes are found
+	 * @throws CoreException thrown if there was an error creating the preview content of a change
+	 */
+	public static RefactoringStatus analyzeLocalRenames(List<LocalAnalyzeUnit> units, boolean recovery, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm, units.size() * 2);
+		long start= System.nanoTime();
+		List<UnitAnalysis> analyses= new ArrayList<>(units.size());
+		for (LocalAnalyzeUnit unit : units) {
+			analyses.add(new UnitAnalysis(unit));
+			subMonitor.worked(1);
+		}
+		long previewed= System.nanoTime();
+
+		Map<IJavaProject, List<UnitAnalysis>> analysesByProject= new LinkedHashMap<>();
+		for (UnitAnalysis analysis : analyses) {
+			analysesByProject.computeIfAbsent(analysis.fUnit.fCompilationUnit.getJavaProject(), project -> new ArrayList<>()).add(analysis);
+		}
+		for (Entry<IJavaProject, List<UnitAnalysis>> entry : analysesByProject.entrySet()) {
+			parse(entry.getKey(), entry.getValue(), recovery, subMonitor.split(entry.getValue().size()));
+		}
+		for (UnitAnalysis analysis : analyses) {
+			if (analysis.fNewProblems == null) {
+				// the batch did not deliver the unit, parse it on its own
+				if (subMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				CompilationUnit newCUNode= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(analysis.fSource, analysis.fUnit.fCompilationUnit, true, recovery, null);
+				collectNameUses(analysis, newCUNode);
+			}
+		}
+		long parsed= System.nanoTime();
 
 		RefactoringStatus result= new RefactoringStatus();
-		ICompilationUnit compilationUnit= (ICompilationUnit) oldCUNode.getJavaElement();
+		for (UnitAnalysis analysis : analyses) {
+			result.merge(compare(analysis));
+		}
+		long compared= System.nanoTime();
 
-		String newCuSource= cuChange.getPreviewContent(new NullProgressMonitor());
-		CompilationUnit newCUNode= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(newCuSource, compilationUnit, true, recovery, null);
+		if (JavaManipulationPlugin.DEBUG_RENAME_ANALYSIS) {
+			result.addInfo("Local rename analysis of " + units.size() + " compilation units: preview " + toMillis(previewed - start) //$NON-NLS-1$ //$NON-NLS-2$
+					+ " ms, parse " + toMillis(parsed - previewed) + " ms, compare " + toMillis(compared - parsed) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return result;
+	}
 
-		result.merge(analyzeCompileErrors(newCuSource, newCUNode, oldCUNode));
-		if (result.hasError())
-			return result;
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	private static void parse(IJavaProject project, List<UnitAnalysis> analyses, boolean recovery, IProgressMonitor pm) throws CoreException {
+		// the changed sources see each other, which does not change any resolution since only local variables are renamed
+		WorkingCopyOwner owner= new WorkingCopyOwner() {/* private owner */};
+		Map<ICompilationUnit, UnitAnalysis> analysesByWorkingCopy= new LinkedHashMap<>();
+		try {
+			for (UnitAnalysis analysis : analyses) {
+				ICompilationUnit workingCopy= analysis.fUnit.fCompilationUnit.getPrimary().getWorkingCopy(owner, null);
+				workingCopy.getBuffer().setContents(analysis.fSource);
+				analysesByWorkingCopy.put(workingCopy, analysis);
+			}
 
-		for (LocalAnalyzePackage analyzePackage : analyzePackages) {
+			ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+			parser.setResolveBindings(true);
+			parser.setStatementsRecovery(recovery);
+			parser.setBindingsRecovery(recovery);
+			parser.setProject(project);
+			parser.setWorkingCopyOwner(owner);
+			parser.setCompilerOptions(RefactoringASTParser.getCompilerOptions(analyses.get(0).fUnit.fCompilationUnit));
+			ICompilationUnit[] workingCopies= analysesByWorkingCopy.keySet().toArray(new ICompilationUnit[analysesByWorkingCopy.size()]);
+			parser.createASTs(workingCopies, new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					// the bindings of a batch share one environment, resolve them while it is alive
+					collectNameUses(analysesByWorkingCopy.get(source), ast);
+				}
+			}, pm);
+		} finally {
+			for (ICompilationUnit workingCopy : analysesByWorkingCopy.keySet()) {
+				workingCopy.discardWorkingCopy();
+			}
+		}
+	}
+
+	private static void collectNameUses(UnitAnalysis analysis, CompilationUnit newCUNode) {
+		LocalAnalyzeUnit unit= analysis.fUnit;
+		analysis.fNewProblems= RefactoringAnalyzeUtil.getProblems(newCUNode);
+		analysis.fUses= new ArrayList<>(unit.fAnalyzePackages.length);
+		for (LocalAnalyzePackage analyzePackage : unit.fAnalyzePackages) {
 			ASTNode enclosing;
 			IRegion newRegion;
-			if (!isCompactConstructor) {
-				enclosing= getEnclosingBlockOrMethodOrLambda(analyzePackage.fDeclarationEdit, cuChange, newCUNode);
-				newRegion= RefactoringAnalyzeUtil.getNewTextRange(analyzePackage.fDeclarationEdit, cuChange);
+			if (!unit.fCompactConstructor) {
+				enclosing= getEnclosingBlockOrMethodOrLambda(analyzePackage.fDeclarationEdit, unit.fChange, newCUNode);
+				newRegion= RefactoringAnalyzeUtil.getNewTextRange(analyzePackage.fDeclarationEdit, unit.fChange);
 			} else {
-				enclosing= RefactoringAnalyzeUtil.getRecordDeclarationCompactConstructor(analyzePackage.fDeclarationEdit.getParent(), cuChange, newCUNode);
-				newRegion= RefactoringAnalyzeUtil.getNewTextRange(analyzePackage.fDeclarationEdit.getParent(), cuChange);
+				enclosing= RefactoringAnalyzeUtil.getRecordDeclarationCompactConstructor(analyzePackage.fDeclarationEdit.getParent(), unit.fChange, newCUNode);
+				newRegion= RefactoringAnalyzeUtil.getNewTextRange(analyzePackage.fDeclarationEdit.getParent(), unit.fChange);
 			}
 
 			// get new declaration
 			ASTNode newDeclaration= NodeFinder.perform(newCUNode, newRegion.getOffset(), newRegion.getLength());
-			Assert.isTrue(newDeclaration instanceof Name);
+			VariableDeclaration declaration= newDeclaration instanceof Name ? getVariableDeclaration((Name) newDeclaration) : null;
+			if (enclosing == null || declaration == null) {
+				// reported by the comparison unless the changed source has compile errors
+				analysis.fUses.add(null);
+			} else {
+				analysis.fUses.add(getNameUses(enclosing, declaration));
+			}
+		}
+	}
+
+	private static List<NameUse> getNameUses(ASTNode enclosing, VariableDeclaration variableNode) {
+		String key= variableNode.resolveBinding().getKey();
+		Assert.isNotNull(key);
+		List<NameUse> uses= new ArrayList<>();
+		enclosing.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(SimpleName node) {
+				VariableDeclaration decl= getVariableDeclaration(node);
+				if (decl == null)
+					return super.visit(node);
 
-			VariableDeclaration declaration= getVariableDeclaration((Name) newDeclaration);
-			Assert.isNotNull(declaration);
+				IVariableBinding binding= decl.resolveBinding();
+				if (binding == null)
+					return super.visit(node);
 
-			SimpleName[] problemNodes= ProblemNodeFinder.getProblemNodes(enclosing, declaration, analyzePackage.fOccurenceEdits, cuChange);
-			result.merge(RefactoringAnalyzeUtil.reportProblemNodes(newCuSource, problemNodes));
+				uses.add(new NameUse(node.getStartPosition(), node.getLength(), node.getIdentifier(), key.equals(binding.getKey())));
+				return super.visit(node);
+			}
+		});
+		return uses;
+	}
+
+	private static RefactoringStatus compare(UnitAnalysis analysis) {
+		RefactoringStatus result= new RefactoringStatus();
+		result.merge(analyzeCompileErrors(analysis.fSource, analysis.fNewProblems, analysis.fUnit.fOldProblems));
+		if (result.hasError())
+			return result;
+
+		for (int i= 0; i < analysis.fUses.size(); i++) {
+			List<NameUse> uses= analysis.fUses.get(i);
+			Assert.isNotNull(uses);
+			result.merge(reportProblemUses(analysis.fSource, uses, analysis.fRanges.get(i)));
 		}
 		return result;
 	}
 
+	private static RefactoringStatus reportProblemUses(String newCuSource, List<NameUse> uses, IRegion[] newRanges) {
+		RefactoringStatus result= new RefactoringStatus();
+		Collection<IRegion> ranges= new HashSet<>(Arrays.asList(newRanges));
+		for (NameUse use : uses) {
+			boolean rangeInSet= ranges.contains(new Region(use.offset(), use.length()));
+			/*
+			 * if (!keyEquals && !rangeInSet)
+			 * 		ok, different local variable.
+			 *
+			 * if (keyEquals && rangeInSet)
+			 * 		ok, renamed local variable & has been renamed.
+			 */
+			if (use.keysEqual() != rangeInSet) {
+				RefactoringStatusContext context= new JavaStringStatusContext(newCuSource, new SourceRange(use.offset(), use.length()));
+				result.addError(Messages.format(RefactoringCoreMessages.RefactoringAnalyzeUtil_name_collision, BasicElementLabels.getJavaElementName(use.identifier())), context);
+			}
+		}
+		return result;
+	}
 
 	private static VariableDeclaration getVariableDeclaration(Name node) {
 		IBinding binding= node.resolveBinding();
@@ -468,9 +623,9 @@ public class RenameAnalyzeUtil {
 		return enclosing;
 	}
 
-	private static RefactoringStatus analyzeCompileErrors(String newCuSource, CompilationUnit newCUNode, CompilationUnit oldCUNode) {
+	private static RefactoringStatus analyzeCompileErrors(String newCuSource, IProblem[] newProblems, IProblem[] oldProblems) {
 		RefactoringStatus result= new RefactoringStatus();
-		for (IProblem problem : RefactoringAnalyzeUtil.getIntroducedCompileProblems(newCUNode, oldCUNode)) {
+		for (IProblem problem : RefactoringAnalyzeUtil.getIntroducedCompileProblems(newProblems, oldProblems)) {
 			if (problem.isError())
 				result.addEntry(new RefactoringStatusEntry(RefactoringStatus.ERROR, problem.getMessage(), new JavaStringStatusContext(newCuSource,
 						SourceRangeFactory.create(problem))));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,12 @@ package org.eclipse.jdt.internal.corext.util;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -26,17 +31,25 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Hierarchies are keyed by their focus type and held in a concurrent map, so lookups
+ * do not serialize on a single monitor. Concurrent requests for the same type share one
+ * hierarchy computation. The number of cached hierarchies is bounded, see
+ * {@link #setMaximumSize(int)}; the least recently accessed hierarchy is evicted first.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private volatile ITypeHierarchy fTypeHierarchy;
+		private final IType fFocusType;
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fFocusType= hierarchy.getType();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
@@ -50,15 +63,19 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
+		public IType getFocusType() {
+			return fFocusType;
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= System.nanoTime();
 		}
 
 		public long getLastAccess() {
 			return fLastAccess;
 		}
 
-		public void dispose() {
+		public synchronized void dispose() {
 			if (fTypeHierarchy != null) {
 				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
 				fTypeHierarchy= null;
@@ -67,19 +84,34 @@ public class SuperTypeHierarchyCache {
 
 		@Override
 		public String toString() {
-			return "Super hierarchy of: " + fTypeHierarchy.getType().getElementName(); //$NON-NLS-1$
+			return "Super hierarchy of: " + fFocusType.getElementName(); //$NON-NLS-1$
 		}
 
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	private static final int DEFAULT_CACHE_SIZE= Integer.getInteger("org.eclipse.jdt.ui.superTypeHierarchyCacheSize", 32).intValue(); //$NON-NLS-1$
+
+	private static volatile int fgMaximumSize= Math.max(1, DEFAULT_CACHE_SIZE);
+
+	private static final Map<IType, HierarchyCacheEntry> fgHierarchyCache= new ConcurrentHashMap<>();
+	private static final Map<IType, CompletableFuture<ITypeHierarchy>> fgPendingHierarchies= new ConcurrentHashMap<>();
+	/** Least recently used first, bounded by the same maximum size as the hierarchies. */
+	private static final Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IType, MethodOverrideTester> eldest) {
+			return size() > fgMaximumSize;
+		}
+	};
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	/** Serializes evictions only; lookups and insertions do not take this lock. */
+	private static final Object fgEvictionLock= new Object();
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static final AtomicInteger fgCacheHits= new AtomicInteger();
+	private static final AtomicInteger fgCacheMisses= new AtomicInteger();
+	private static final AtomicInteger fgCacheEvictions= new AtomicInteger();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -131,6 +163,10 @@ public class SuperTypeHierarchyCache {
 	 * requested type. Therefore, queries such as {@link ITypeHierarchy#getAllClasses()}
 	 * or {@link ITypeHierarchy#getRootInterfaces()} may return more types than the same
 	 * queries on a type hierarchy for just the given type.
+	 * <p>
+	 * If another thread is already computing the hierarchy of the same type, this
+	 * method waits for and returns that result instead of computing it again.
+	 * </p>
 	 *
 	 * @param type the focus type
 	 * @param progressMonitor progress monitor
@@ -139,43 +175,95 @@ public class SuperTypeHierarchyCache {
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
 		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
+		if (hierarchy != null) {
+			fgCacheHits.incrementAndGet();
+			return hierarchy;
+		}
+
+		CompletableFuture<ITypeHierarchy> pending= new CompletableFuture<>();
+		CompletableFuture<ITypeHierarchy> existing= fgPendingHierarchies.putIfAbsent(type, pending);
+		if (existing != null) {
+			hierarchy= waitForPendingHierarchy(existing);
+			if (hierarchy != null) {
+				fgCacheHits.incrementAndGet();
+				return hierarchy;
+			}
+			// the other computation failed or was canceled, compute it in this thread
+			fgCacheMisses.incrementAndGet();
 			hierarchy= type.newSupertypeHierarchy(progressMonitor);
 			addTypeHierarchyToCache(hierarchy);
-		} else {
-			fgCacheHits++;
+			return hierarchy;
+		}
+
+		try {
+			fgCacheMisses.incrementAndGet();
+			hierarchy= type.newSupertypeHierarchy(progressMonitor);
+			addTypeHierarchyToCache(hierarchy);
+			pending.complete(hierarchy);
+			return hierarchy;
+		} catch (JavaModelException | RuntimeException e) {
+			pending.completeExceptionally(e);
+			throw e;
+		} finally {
+			fgPendingHierarchies.remove(type, pending);
+		}
+	}
+
+	private static ITypeHierarchy waitForPendingHierarchy(CompletableFuture<ITypeHierarchy> pending) throws JavaModelException {
+		try {
+			return pending.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof JavaModelException) {
+				throw (JavaModelException) e.getCause();
+			}
+			return null;
 		}
-		return hierarchy;
 	}
 
 	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+		HierarchyCacheEntry previous= fgHierarchyCache.put(newEntry.getFocusType(), newEntry);
+		if (previous != null) {
+			removeMethodOverrideTester(previous.getTypeHierarchy());
+			previous.dispose();
+		}
+		if (fgHierarchyCache.size() > fgMaximumSize) {
+			evictEntries(hierarchy);
+		}
+	}
+
+	private static void evictEntries(ITypeHierarchy newHierarchy) {
+		synchronized (fgEvictionLock) {
+			// find obsolete entries or remove entries that were least recently accessed
+			ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>();
+			for (HierarchyCacheEntry entry : fgHierarchyCache.values()) {
+				ITypeHierarchy curr= entry.getTypeHierarchy();
+				if (curr == null || curr == newHierarchy) {
+					continue;
+				}
+				if (!curr.exists() || newHierarchy.contains(curr.getType())) {
+					obsoleteHierarchies.add(entry);
+				}
+			}
+			for (HierarchyCacheEntry obsoleteHierarchy : obsoleteHierarchies) {
+				if (removeHierarchyEntryFromCache(obsoleteHierarchy)) {
+					fgCacheEvictions.incrementAndGet();
+				}
+			}
+			while (fgHierarchyCache.size() > fgMaximumSize) {
 				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
-				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
+				for (HierarchyCacheEntry entry : fgHierarchyCache.values()) {
+					if (entry.getTypeHierarchy() != newHierarchy && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+						oldest= entry;
 					}
 				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
-					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
+				if (oldest == null) {
+					break;
+				}
+				if (removeHierarchyEntryFromCache(oldest)) {
+					fgCacheEvictions.incrementAndGet();
 				}
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
 		}
 	}
 
@@ -191,38 +279,102 @@ public class SuperTypeHierarchyCache {
 
 
 	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
+		HierarchyCacheEntry entry= fgHierarchyCache.get(type);
+		if (entry != null) {
+			ITypeHierarchy hierarchy= getValidHierarchy(entry);
+			if (hierarchy != null) {
+				return hierarchy;
+			}
+		}
+		// the type may be contained in the hierarchy of one of its subtypes
+		for (HierarchyCacheEntry curr : fgHierarchyCache.values()) {
+			ITypeHierarchy hierarchy= getValidHierarchy(curr);
+			if (hierarchy != null && hierarchy.contains(type)) {
+				return hierarchy;
 			}
 		}
 		return null;
 	}
 
-	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
-			entry.dispose();
-			fgHierarchyCache.remove(entry);
+	private static ITypeHierarchy getValidHierarchy(HierarchyCacheEntry entry) {
+		ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+		if (hierarchy == null) {
+			return null;
+		}
+		if (!hierarchy.exists()) {
+			removeHierarchyEntryFromCache(entry);
+			return null;
 		}
+		entry.markAsAccessed();
+		return hierarchy;
+	}
+
+	private static boolean removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
+		boolean removed= fgHierarchyCache.remove(entry.getFocusType(), entry);
+		ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+		if (hierarchy != null) {
+			removeMethodOverrideTester(hierarchy);
+		}
+		entry.dispose();
+		return removed;
+	}
+
+
+	/**
+	 * Sets the maximum number of hierarchies and method override testers kept in the cache.
+	 * Method override testers above the new size are evicted immediately. If the cache
+	 * currently holds more hierarchies, the least recently accessed ones are evicted on the
+	 * next insertion.
+	 * The initial size can be configured with the system property
+	 * <code>org.eclipse.jdt.ui.superTypeHierarchyCacheSize</code>.
+	 *
+	 * @param maximumSize the maximum number of cached hierarchies, must be positive
+	 */
+	public static void setMaximumSize(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("maximum size must be positive: " + maximumSize); //$NON-NLS-1$
+		}
+		fgMaximumSize= maximumSize;
+		synchronized (fgMethodOverrideTesterCache) {
+			for (Iterator<IType> iter= fgMethodOverrideTesterCache.keySet().iterator(); fgMethodOverrideTesterCache.size() > maximumSize && iter.hasNext();) {
+				iter.next();
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns the maximum number of hierarchies kept in the cache.
+	 * @return the maximum cache size
+	 */
+	public static int getMaximumSize() {
+		return fgMaximumSize;
 	}
 
+	/**
+	 * Returns the number of hierarchies currently held in the cache.
+	 * @return the current cache size
+	 */
+	public static int getCacheSize() {
+		return fgHierarchyCache.size();
+	}
+
+	/**
+	 * Returns the number of method override testers currently held in the cache. Used for testing.
+	 * @return the current number of method override testers
+	 */
+	public static int getMethodOverrideTesterCacheSize() {
+		synchronized (fgMethodOverrideTesterCache) {
+			return fgMethodOverrideTesterCache.size();
+		}
+	}
 
 	/**
 	 * Gets the number of times the hierarchy could be taken from the hierarchy.
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +382,24 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of hierarchies that were removed to keep the cache within its bounds.
+	 * @return Returns a int
+	 */
+	public static int getCacheEvictions() {
+		return fgCacheEvictions.get();
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters. Used for testing.
+	 */
+	public static void resetStatistics() {
+		fgCacheHits.set(0);
+		fgCacheMisses.set(0);
+		fgCacheEvictions.set(0);
 	}
 
 	private SuperTypeHierarchyCache() {
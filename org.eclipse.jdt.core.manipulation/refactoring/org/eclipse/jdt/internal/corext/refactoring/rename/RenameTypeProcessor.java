@@ -1295,6 +1295,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		final Set<IMethod> handledTopLevelMethods= new HashSet<>();
 		final Set<Warning> warnings= new HashSet<>();
 		final List<RefactoringProcessor> processors= new ArrayList<>();
+		final List<RenameAnalyzeUtil.LocalAnalyzeUnit> localAnalyzeUnits= new ArrayList<>();
 		fFinalSimilarElementToName= new HashMap<>();
 
 		CompilationUnit currentResolvedCU= null;
@@ -1303,7 +1304,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		int current= 0;
 		final int max= fPreloadedElementToName.size();
 
-		progressMonitor.beginTask("", max * 3); //$NON-NLS-1$
+		progressMonitor.beginTask("", max * 3 + 1); //$NON-NLS-1$
 		progressMonitor.setTaskName(RefactoringCoreMessages.RenameTypeProcessor_checking_similarly_named_declarations_refactoring_conditions);
 
 		for (Entry<IJavaElement, String> entry : fPreloadedElementToName.entrySet()) {
@@ -1325,10 +1326,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 
 			if (!newCU.equals(currentCU)) {
 
-				checkCUCompleteConditions(status, currentResolvedCU, currentCU, processors);
-
-				if (status.hasFatalError())
-					return status;
+				checkCUCompleteConditions(localAnalyzeUnits, currentResolvedCU, currentCU, processors);
 
 				// reset values
 				currentResolvedCU= null;
@@ -1425,7 +1423,11 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		}
 
 		// check last CU
-		checkCUCompleteConditions(status, currentResolvedCU, currentCU, processors);
+		checkCUCompleteConditions(localAnalyzeUnits, currentResolvedCU, currentCU, processors);
+
+		// the local renames of all CUs are analyzed together, parsing the changed CUs in batches
+		if (!localAnalyzeUnits.isEmpty())
+			status.merge(RenameAnalyzeUtil.analyzeLocalRenames(localAnalyzeUnits, false, IntroduceIndirectionRefactoring.noOverrideSubMonitor(progressMonitor, 1)));
 
 		status.merge(addWarnings(warnings));
 
@@ -1433,7 +1435,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		return status;
 	}
 
-	private void checkCUCompleteConditions(final RefactoringStatus status, CompilationUnit currentResolvedCU, ICompilationUnit currentCU, List<RefactoringProcessor> processors) throws CoreException {
+	private void checkCUCompleteConditions(final List<RenameAnalyzeUtil.LocalAnalyzeUnit> localAnalyzeUnits, CompilationUnit currentResolvedCU, ICompilationUnit currentCU, List<RefactoringProcessor> processors) {
 
 		// check local variable conditions
 		List<RefactoringProcessor> locals= getProcessorsOfType(processors, RenameLocalVariableProcessor.class);
@@ -1452,7 +1454,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 				}
 				current++;
 			}
-			status.merge(RenameAnalyzeUtil.analyzeLocalRenames(analyzePackages, textChange, currentResolvedCU, false));
+			localAnalyzeUnits.add(new RenameAnalyzeUtil.LocalAnalyzeUnit(analyzePackages, textChange, currentResolvedCU));
 		}
 
 		/*
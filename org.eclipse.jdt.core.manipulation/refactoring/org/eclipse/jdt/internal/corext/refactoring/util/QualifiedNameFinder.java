@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -141,21 +142,25 @@ public class QualifiedNameFinder {
 			return;
 		}
 
-		ResultCollector collector= new ResultCollector(result, newValue);
-		TextSearchEngine engine= TextSearchEngine.create();
-		Pattern searchPattern= PatternConstructor.createPattern(pattern, true, false);
-
-		engine.search(createScope(filePatterns, root), collector, searchPattern, monitor);
-	}
-
-	private static TextSearchScope createScope(String filePatterns, IProject root) {
+		SubMonitor subMonitor= SubMonitor.convert(monitor, 10);
 		HashSet<IProject> res= new HashSet<>();
 		res.add(root);
 		addReferencingProjects(root, res);
-		IResource[] resArr= res.toArray(new IResource[res.size()]);
+		IProject[] projects= res.toArray(new IProject[res.size()]);
 		Pattern filePattern= getFilePattern(filePatterns);
 
-		return TextSearchScope.newSearchScope(resArr, filePattern, false);
+		// only search the files that contain the name, if the index knows them
+		IResource[] resArr= QualifiedNameIndex.getDefault().getCandidates(projects, pattern, filePattern, subMonitor.split(3));
+		if (resArr == null)
+			resArr= projects;
+		else if (resArr.length == 0)
+			return;
+
+		ResultCollector collector= new ResultCollector(result, newValue);
+		TextSearchEngine engine= TextSearchEngine.create();
+		Pattern searchPattern= PatternConstructor.createPattern(pattern, true, false);
+
+		engine.search(TextSearchScope.newSearchScope(resArr, filePattern, false), collector, searchPattern, subMonitor.split(7));
 	}
 
 	private static Pattern getFilePattern(String filePatterns) {
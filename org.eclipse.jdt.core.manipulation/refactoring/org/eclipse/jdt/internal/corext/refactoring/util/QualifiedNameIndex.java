@@ -0,0 +1,458 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * Index of the qualified-name-like strings in the non-Java files of the workspace, used by
+ * {@link QualifiedNameFinder} to restrict the text search to the files that contain a name.
+ * <p>
+ * For every indexed file the index stores the names that {@link QualifiedNameFinder} could
+ * match: each maximal run of Java identifier parts and dots, and each prefix of such a run that
+ * ends before a dot. Projects are indexed on their first query. Resource deltas only mark files
+ * as dirty without waiting for an indexing query, the dirty files are read again on the next
+ * query of their project.
+ * </p>
+ * <p>
+ * The index reads the files from disk. Files with a dirty text file buffer are always returned as
+ * candidates, since refactorings do not save all dirty buffers before they search.
+ * </p>
+ * <p>
+ * The index is written to the plug-in state location on shutdown. Restored entries are reused
+ * if the modification stamp of their file is unchanged when the project is queried.
+ * </p>
+ */
+public final class QualifiedNameIndex implements IResourceChangeListener {
+
+	/**
+	 * The names found in a file.
+	 *
+	 * @param stamp the modification stamp of the indexed file content
+	 * @param names the sorted names, or <code>null</code> if the file could not be indexed and
+	 *            must always be searched
+	 */
+	private record FileEntry(long stamp, String[] names) {
+	}
+
+	private static final class ProjectEntry {
+		final Map<IFile, FileEntry> fFiles= new HashMap<>();
+		/** Whether the entries have been checked against the files in the project */
+		boolean fValidated;
+	}
+
+	private static final int VERSION= 1;
+
+	private static final String INDEX_FILE= "qualifiednames.index"; //$NON-NLS-1$
+
+	private static final long MAX_FILE_SIZE= 8 * 1024 * 1024;
+
+	/** Files with longer runs are not indexed, such names are no Java names. */
+	private static final int MAX_NAME_LENGTH= 1024;
+
+	private static QualifiedNameIndex fgInstance;
+
+	/** The location of the persisted index, or <code>null</code> if not persisted */
+	private final File fLocation;
+
+	/** Guarded by <code>this</code>. */
+	private final Map<IProject, ProjectEntry> fProjects= new HashMap<>();
+
+	/** The keys of {@link #fProjects}, read by the resource change listener. */
+	private volatile Set<IProject> fIndexedProjects= Set.of();
+
+	/** Files changed since the last query. */
+	private final Set<IFile> fDirty= ConcurrentHashMap.newKeySet();
+
+	/** Projects that must be indexed again. */
+	private final Set<IProject> fStaleProjects= ConcurrentHashMap.newKeySet();
+
+	private QualifiedNameIndex(File location) {
+		fLocation= location;
+	}
+
+	/**
+	 * Returns the shared index. The index is restored from the state location on first access.
+	 *
+	 * @return the shared index
+	 */
+	public static synchronized QualifiedNameIndex getDefault() {
+		if (fgInstance == null) {
+			JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+			File location= plugin != null ? plugin.getStateLocation().append(INDEX_FILE).toFile() : null;
+			fgInstance= new QualifiedNameIndex(location);
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(fgInstance, IResourceChangeEvent.POST_CHANGE);
+			fgInstance.restore();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Persists and disposes the shared index, if it has been created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgInstance);
+			fgInstance.save();
+			fgInstance= null;
+		}
+	}
+
+	/**
+	 * Returns the files in the given projects that may contain the given name where
+	 * {@link QualifiedNameFinder} would update it.
+	 *
+	 * @param projects the projects to search
+	 * @param name the qualified name
+	 * @param fileNamePattern the pattern the file names must match
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the candidate files, or <code>null</code> if the index cannot answer the query and
+	 *         the projects have to be searched
+	 */
+	public IFile[] getCandidates(IProject[] projects, String name, Pattern fileNamePattern, IProgressMonitor monitor) {
+		if (name.isEmpty() || name.indexOf('*') != -1 || name.indexOf('?') != -1)
+			return null; // wildcards are not supported
+
+		SubMonitor subMonitor= SubMonitor.convert(monitor, projects.length);
+		Set<IFile> result= new LinkedHashSet<>();
+		for (IProject project : projects) {
+			Map<IFile, FileEntry> files;
+			try {
+				files= getFiles(project, subMonitor.split(1));
+			} catch (CoreException e) {
+				JavaManipulationPlugin.log(e);
+				return null;
+			}
+			for (Entry<IFile, FileEntry> entry : files.entrySet()) {
+				IFile file= entry.getKey();
+				String[] names= entry.getValue().names();
+				if (fileNamePattern.matcher(file.getName()).matches() && (names == null || Arrays.binarySearch(names, name) >= 0))
+					result.add(file);
+			}
+		}
+		addDirtyFiles(projects, fileNamePattern, result);
+		return result.toArray(new IFile[result.size()]);
+	}
+
+	/*
+	 * The text search reads the documents of dirty buffers, their content is not indexed.
+	 */
+	private static void addDirtyFiles(IProject[] projects, Pattern fileNamePattern, Set<IFile> result) {
+		List<IProject> projectList= Arrays.asList(projects);
+		for (IFileBuffer buffer : FileBuffers.getTextFileBufferManager().getFileBuffers()) {
+			if (!(buffer instanceof ITextFileBuffer) || !buffer.isDirty())
+				continue;
+			IFile file= FileBuffers.getWorkspaceFileAtLocation(buffer.getLocation());
+			if (file != null && projectList.contains(file.getProject()) && fileNamePattern.matcher(file.getName()).matches() && isIndexed(file))
+				result.add(file);
+		}
+	}
+
+	/*
+	 * Returns a snapshot of the up-to-date entries of the given project.
+	 */
+	private synchronized Map<IFile, FileEntry> getFiles(IProject project, IProgressMonitor monitor) throws CoreException {
+		for (IProject stale : fStaleProjects) {
+			fStaleProjects.remove(stale);
+			fProjects.remove(stale);
+		}
+		if (!project.isAccessible()) {
+			fProjects.remove(project);
+			fIndexedProjects= Set.copyOf(fProjects.keySet());
+			return Map.of();
+		}
+		ProjectEntry entry= fProjects.computeIfAbsent(project, p -> new ProjectEntry());
+		fIndexedProjects= Set.copyOf(fProjects.keySet());
+		if (!entry.fValidated) {
+			fDirty.removeIf(file -> project.equals(file.getProject()));
+			validate(project, entry, monitor);
+			entry.fValidated= true;
+		} else {
+			List<IFile> dirty= new ArrayList<>();
+			fDirty.removeIf(file -> project.equals(file.getProject()) && dirty.add(file));
+			SubMonitor subMonitor= SubMonitor.convert(monitor, dirty.size());
+			for (IFile file : dirty) {
+				entry.fFiles.remove(file);
+				if (file.isAccessible() && !file.isDerived(IResource.CHECK_ANCESTORS) && !file.isHidden(IResource.CHECK_ANCESTORS) && !file.isTeamPrivateMember(IResource.CHECK_ANCESTORS)) {
+					FileEntry fileEntry= index(file, file.getModificationStamp());
+					if (fileEntry != null)
+						entry.fFiles.put(file, fileEntry);
+				}
+				subMonitor.split(1);
+			}
+		}
+		return new HashMap<>(entry.fFiles);
+	}
+
+	/*
+	 * Indexes all files of the project, reusing the entries of unchanged files.
+	 */
+	private void validate(IProject project, ProjectEntry entry, IProgressMonitor monitor) throws CoreException {
+		Map<IFile, FileEntry> files= new HashMap<>();
+		IWorkspaceRoot root= ResourcesPlugin.getWorkspace().getRoot();
+		SubMonitor subMonitor= SubMonitor.convert(monitor, 100);
+		project.accept((IResourceProxy proxy) -> {
+			if (subMonitor.isCanceled())
+				throw new OperationCanceledException();
+			if (proxy.isDerived())
+				return false;
+			if (proxy.getType() != IResource.FILE)
+				return true;
+			IFile file= root.getFile(proxy.requestFullPath());
+			long stamp= proxy.getModificationStamp();
+			FileEntry fileEntry= entry.fFiles.get(file);
+			if (fileEntry == null || fileEntry.stamp() != stamp) {
+				fileEntry= index(file, stamp);
+				subMonitor.setWorkRemaining(100).split(1);
+			}
+			if (fileEntry != null)
+				files.put(file, fileEntry);
+			return false;
+		}, IResource.NONE);
+		// replace the entries only when complete, a canceled validation keeps the reusable ones
+		entry.fFiles.clear();
+		entry.fFiles.putAll(files);
+	}
+
+	/*
+	 * Returns null if the file is not searched by QualifiedNameFinder.
+	 */
+	private static FileEntry index(IFile file, long stamp) {
+		if (!isIndexed(file))
+			return null;
+		IPath location= file.getLocation();
+		if (location != null && location.toFile().length() > MAX_FILE_SIZE)
+			return new FileEntry(stamp, null);
+		try (Reader reader= new BufferedReader(new InputStreamReader(file.getContents(true), file.getCharset()))) {
+			return new FileEntry(stamp, collectNames(reader));
+		} catch (CoreException | IOException e) {
+			// files that cannot be indexed are always searched
+			return new FileEntry(stamp, null);
+		}
+	}
+
+	/*
+	 * Same as the files accepted by QualifiedNameFinder, except for the file name patterns.
+	 */
+	private static boolean isIndexed(IFile file) {
+		String name= file.getName();
+		if (JavaCore.isJavaLikeFileName(name) || name.endsWith(".class")) { //$NON-NLS-1$
+			IJavaElement element= JavaCore.create(file);
+			if (element != null && element.exists())
+				return false;
+		}
+		if (!FileBuffers.getTextFileBufferManager().isTextFileLocation(file.getFullPath(), false))
+			return false;
+		String segment= file.getProjectRelativePath().segment(0);
+		if (segment != null && (segment.startsWith(".refactorings") || segment.startsWith(".deprecations"))) //$NON-NLS-1$ //$NON-NLS-2$
+			return false;
+		return true;
+	}
+
+	/**
+	 * Returns the names {@link QualifiedNameFinder} could match in the given content: the
+	 * prefixes of the maximal runs of identifier parts and dots that end at a dot or at the end of
+	 * the run.
+	 *
+	 * @param reader the content
+	 * @return the sorted names, or <code>null</code> if the content contains runs that are too
+	 *         long to be names
+	 * @throws IOException if the content cannot be read
+	 */
+	static String[] collectNames(Reader reader) throws IOException {
+		TreeSet<String> names= new TreeSet<>();
+		StringBuilder run= new StringBuilder();
+		int ch;
+		do {
+			ch= reader.read();
+			if (ch != -1 && (ch == '.' || Character.isJavaIdentifierPart((char) ch))) {
+				if (ch == '.' && run.length() > 0)
+					names.add(run.toString());
+				if (run.length() == MAX_NAME_LENGTH)
+					return null;
+				run.append((char) ch);
+			} else if (run.length() > 0) {
+				names.add(run.toString());
+				run.setLength(0);
+			}
+		} while (ch != -1);
+		return names.toArray(new String[names.size()]);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		Set<IProject> indexedProjects= fIndexedProjects;
+		if (delta == null || indexedProjects.isEmpty())
+			return;
+		try {
+			delta.accept(child -> visit(child, indexedProjects));
+		} catch (CoreException e) {
+			fStaleProjects.addAll(indexedProjects);
+		}
+	}
+
+	private boolean visit(IResourceDelta delta, Set<IProject> indexedProjects) {
+		IResource resource= delta.getResource();
+		switch (resource.getType()) {
+			case IResource.ROOT:
+				return true;
+			case IResource.PROJECT:
+				if (!indexedProjects.contains(resource))
+					return false;
+				if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+					fStaleProjects.add((IProject) resource);
+					return false;
+				}
+				return true;
+			case IResource.FILE:
+				if (resource.getParent().getType() == IResource.PROJECT && ".classpath".equals(resource.getName())) { //$NON-NLS-1$
+					// the Java files that are not on the classpath are indexed
+					fStaleProjects.add(resource.getProject());
+					return false;
+				}
+				if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING | IResourceDelta.DERIVED_CHANGED)) != 0)
+					fDirty.add((IFile) resource);
+				return false;
+			default:
+				if (delta.getKind() == IResourceDelta.CHANGED && (delta.getFlags() & (IResourceDelta.ENCODING | IResourceDelta.DERIVED_CHANGED)) != 0) {
+					// the charset or the derived flag of all contained files may have changed
+					fStaleProjects.add(resource.getProject());
+					return false;
+				}
+				return true;
+		}
+	}
+
+	private void restore() {
+		if (fLocation == null || !fLocation.isFile())
+			return;
+
+		IWorkspaceRoot root= ResourcesPlugin.getWorkspace().getRoot();
+		Map<IProject, ProjectEntry> projects= new HashMap<>();
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fLocation)))) {
+			if (in.readInt() != VERSION)
+				return;
+			int projectCount= in.readInt();
+			for (int i= 0; i < projectCount; i++) {
+				ProjectEntry entry= new ProjectEntry();
+				projects.put(root.getProject(in.readUTF()), entry);
+				int fileCount= in.readInt();
+				for (int j= 0; j < fileCount; j++) {
+					IFile file= root.getFile(IPath.fromPortableString(in.readUTF()));
+					long stamp= in.readLong();
+					int nameCount= in.readInt();
+					String[] names= null;
+					if (nameCount >= 0) {
+						names= new String[nameCount];
+						for (int k= 0; k < nameCount; k++)
+							names[k]= in.readUTF();
+					}
+					entry.fFiles.put(file, new FileEntry(stamp, names));
+				}
+			}
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			return;
+		}
+
+		synchronized (this) {
+			for (Entry<IProject, ProjectEntry> entry : projects.entrySet())
+				fProjects.putIfAbsent(entry.getKey(), entry.getValue());
+			fIndexedProjects= Set.copyOf(fProjects.keySet());
+		}
+	}
+
+	private void save() {
+		if (fLocation == null)
+			return;
+
+		Map<IProject, Map<IFile, FileEntry>> projects= new HashMap<>();
+		synchronized (this) {
+			// entries of dirty files are revalidated by their stamp on the next start
+			for (Entry<IProject, ProjectEntry> entry : fProjects.entrySet()) {
+				if (entry.getKey().isAccessible() && !fStaleProjects.contains(entry.getKey()))
+					projects.put(entry.getKey(), new HashMap<>(entry.getValue().fFiles));
+			}
+		}
+
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fLocation)))) {
+			out.writeInt(VERSION);
+			out.writeInt(projects.size());
+			for (Entry<IProject, Map<IFile, FileEntry>> project : projects.entrySet()) {
+				out.writeUTF(project.getKey().getName());
+				out.writeInt(project.getValue().size());
+				for (Entry<IFile, FileEntry> file : project.getValue().entrySet()) {
+					out.writeUTF(file.getKey().getFullPath().toPortableString());
+					out.writeLong(file.getValue().stamp());
+					String[] names= file.getValue().names();
+					out.writeInt(names != null ? names.length : -1);
+					if (names != null) {
+						for (String name : names)
+							out.writeUTF(name);
+					}
+				}
+			}
+		} catch (IOException e) {
+			fLocation.delete();
+			JavaManipulationPlugin.log(e);
+		}
+	}
+}
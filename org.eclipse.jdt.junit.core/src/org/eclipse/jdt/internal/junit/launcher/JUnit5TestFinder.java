@@ -13,14 +13,35 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.launcher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
@@ -30,6 +51,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IAnnotationBinding;
@@ -39,6 +61,13 @@ import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
@@ -196,6 +225,98 @@ public class JUnit5TestFinder implements ITestFinder {
 		}
 	}
 
+	/**
+	 * Annotations that are matched by name only.
+	 */
+	private static final String[] EXACT_ANNOTATIONS= { Annotation.RUN_WITH.getName(), Annotation.SUITE.getName(), Annotation.TEST_4.getName() };
+
+	/**
+	 * Annotations meta-annotated with <code>@Testable</code> that are always searched, in case the
+	 * search index does not report annotations of library class files.
+	 */
+	private static final String[] KNOWN_TESTABLE_ANNOTATIONS= {
+			JUnitCorePlugin.JUNIT5_TESTABLE_ANNOTATION_NAME,
+			JUnitCorePlugin.JUNIT5_JUPITER_TEST_ANNOTATION_NAME,
+			"org.junit.jupiter.api.TestFactory", //$NON-NLS-1$
+			"org.junit.jupiter.api.TestTemplate", //$NON-NLS-1$
+			"org.junit.jupiter.api.RepeatedTest", //$NON-NLS-1$
+			"org.junit.jupiter.params.ParameterizedTest", //$NON-NLS-1$
+	};
+
+	private static final int SEARCH_MATCH_RULE= SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
+
+	/**
+	 * Progress monitor handed to the verify jobs. It only forwards cancellation.
+	 */
+	private static class CancelOnlyProgressMonitor extends NullProgressMonitor {
+
+		private final AtomicBoolean fCanceled;
+
+		public CancelOnlyProgressMonitor(AtomicBoolean canceled) {
+			fCanceled= canceled;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled.get();
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled.set(canceled);
+		}
+	}
+
+	/**
+	 * Verifies the candidates of one package fragment root.
+	 */
+	private class VerifyJob extends Job {
+
+		private final List<IType> fTypes;
+		private final Set<IType> fTests;
+		private final AtomicBoolean fCanceled;
+		private volatile Throwable fException;
+
+		public VerifyJob(List<IType> types, Set<IType> tests, AtomicBoolean canceled) {
+			super(JUnitMessages.JUnit5TestFinder_searching_description);
+			fTypes= types;
+			fTests= tests;
+			fCanceled= canceled;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				verifyPartition(fTypes, fTests, new CancelOnlyProgressMonitor(fCanceled));
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (CoreException | RuntimeException | Error e) {
+				fException= e;
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		protected void canceling() {
+			fCanceled.set(true);
+		}
+	}
+
+	/**
+	 * The tests found per container. The cache is cleared on every change of the Java model,
+	 * including reconciles of working copies. Results are only added if no change happened
+	 * while they were computed, see {@link #fgGeneration}.
+	 */
+	private static final Map<IJavaElement, Set<IType>> fgResultCache= new ConcurrentHashMap<>();
+
+	/**
+	 * Counts the changes of the Java model, guarded by {@link #fgResultCache}.
+	 */
+	private static int fgGeneration;
+
+	private static IElementChangedListener fgCacheInvalidator;
+
 	@Override
 	public void findTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		if (element == null || result == null) {
@@ -210,27 +331,283 @@ public class JUnit5TestFinder implements ITestFinder {
 			}
 		}
 
-		var subMonitor = SubMonitor.convert(pm, JUnitMessages.JUnit5TestFinder_searching_description, 4);
+		installCacheInvalidator();
+		int generation;
+		synchronized (fgResultCache) {
+			generation= fgGeneration;
+		}
+		Set<IType> cached= fgResultCache.get(element);
+		if (cached != null) {
+			result.addAll(cached);
+			return;
+		}
+
+		var subMonitor = SubMonitor.convert(pm, JUnitMessages.JUnit5TestFinder_searching_description, 6);
 
 		IRegion region= CoreTestSearchEngine.getRegion(element);
 		ITypeHierarchy hierarchy= JavaCore.newTypeHierarchy(region, null, subMonitor.split(1));
-		IType[] allClasses= hierarchy.getAllClasses();
+		Set<IType> found= new HashSet<>();
 
-		// search for all types with references to RunWith and Test and all subclasses
-		for (IType type : allClasses) {
-			if (region.contains(type) && internalIsTest(type, pm)) {
-				addTypeAndSubtypes(type, result, hierarchy);
-			}
+		//JUnit 4.3 can also run JUnit-3.8-style public static Test suite() methods:
+		Set<IType> suiteTypes= new HashSet<>();
+		CoreTestSearchEngine.findSuiteMethods(element, suiteTypes, subMonitor.split(1));
+
+		// search for all types with references to RunWith, Test and the testable annotations,
+		// and verify only those and their subtypes
+		Set<IType> candidates= findCandidates(element.getJavaProject(), hierarchy, subMonitor.split(2));
+		candidates.addAll(suiteTypes);
+		for (IType type : verifyCandidates(candidates, region, subMonitor.split(2))) {
+			addTypeAndSubtypes(type, found, hierarchy);
 		}
 
 		// add all classes implementing JUnit 3.8's Test interface in the region
 		IType testInterface= element.getJavaProject().findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
 		if (testInterface != null) {
-			CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, result);
+			CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, found);
 		}
 
-		//JUnit 4.3 can also run JUnit-3.8-style public static Test suite() methods:
-		CoreTestSearchEngine.findSuiteMethods(element, result, subMonitor.split(1));
+		found.addAll(suiteTypes);
+		synchronized (fgResultCache) {
+			// a change during the search may not be reflected in the result
+			if (generation == fgGeneration) {
+				fgResultCache.put(element, found);
+			}
+		}
+		result.addAll(found);
+	}
+
+	private static synchronized void installCacheInvalidator() {
+		if (fgCacheInvalidator == null) {
+			fgCacheInvalidator= event -> {
+				synchronized (fgResultCache) {
+					fgGeneration++;
+					fgResultCache.clear();
+				}
+			};
+			JavaCore.addElementChangedListener(fgCacheInvalidator, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+	}
+
+	/**
+	 * Returns the types of the hierarchy that may be tests: the types that are annotated or
+	 * declare methods or member types that are annotated with one of the test annotations, and
+	 * all their subtypes, as well as all subtypes of JUnit 3.8's Test interface.
+	 */
+	private static Set<IType> findCandidates(IJavaProject project, ITypeHierarchy hierarchy, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm, 3);
+		Set<String> testable= findMetaAnnotated(project, KNOWN_TESTABLE_ANNOTATIONS, subMonitor.split(1));
+		Set<String> nested= findMetaAnnotated(project, new String[] { JUnitCorePlugin.JUNIT5_JUPITER_NESTED_ANNOTATION_NAME }, subMonitor.split(1));
+
+		List<String> annotations= new ArrayList<>(Arrays.asList(EXACT_ANNOTATIONS));
+		annotations.addAll(testable);
+		annotations.addAll(nested);
+
+		Set<IType> annotated= new HashSet<>();
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(hierarchy.getAllTypes());
+		search(annotations, scope, match -> {
+			Object element= match.getElement();
+			if (element instanceof IMethod) {
+				annotated.add(((IMethod) element).getDeclaringType());
+			} else if (element instanceof IType) {
+				IType type= (IType) element;
+				annotated.add(type);
+				// a @Nested member type makes its enclosing type a test
+				IType declaringType= type.getDeclaringType();
+				if (declaringType != null) {
+					annotated.add(declaringType);
+				}
+			}
+		}, subMonitor.split(1));
+
+		Set<IType> candidates= new HashSet<>();
+		for (IType type : annotated) {
+			candidates.add(type);
+			candidates.addAll(Arrays.asList(hierarchy.getAllSubtypes(type)));
+		}
+		IType testInterface= project.findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
+		if (testInterface != null) {
+			candidates.addAll(Arrays.asList(hierarchy.getAllSubtypes(testInterface)));
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the given annotations and all annotation types that are directly or indirectly
+	 * annotated with one of them.
+	 */
+	private static Set<String> findMetaAnnotated(IJavaProject project, String[] annotations, IProgressMonitor pm) throws CoreException {
+		Set<String> result= new LinkedHashSet<>(Arrays.asList(annotations));
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { project },
+				IJavaSearchScope.SOURCES | IJavaSearchScope.APPLICATION_LIBRARIES | IJavaSearchScope.REFERENCED_PROJECTS);
+		List<String> level= new ArrayList<>(result);
+		SubMonitor subMonitor= SubMonitor.convert(pm, 10);
+		while (!level.isEmpty()) {
+			List<String> next= new ArrayList<>();
+			search(level, scope, match -> {
+				Object element= match.getElement();
+				if (element instanceof IType && ((IType) element).isAnnotation()) {
+					String name= ((IType) element).getFullyQualifiedName('.');
+					if (result.add(name)) {
+						next.add(name);
+					}
+				}
+			}, subMonitor.setWorkRemaining(10).split(1));
+			level= next;
+		}
+		return result;
+	}
+
+	private interface MatchCollector {
+		void accept(SearchMatch match) throws CoreException;
+	}
+
+	private static void search(List<String> annotations, IJavaSearchScope scope, MatchCollector collector, IProgressMonitor pm) throws CoreException {
+		SearchPattern pattern= null;
+		for (String annotation : annotations) {
+			SearchPattern curr= SearchPattern.createPattern(annotation, IJavaSearchConstants.ANNOTATION_TYPE, IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE, SEARCH_MATCH_RULE);
+			pattern= pattern == null ? curr : SearchPattern.createOrPattern(pattern, curr);
+		}
+		if (pattern == null) {
+			return;
+		}
+		SearchRequestor requestor= new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() == SearchMatch.A_ACCURATE && !match.isInsideDocComment()) {
+					collector.accept(match);
+				}
+			}
+		};
+		SearchParticipant[] participants= new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() };
+		new SearchEngine().search(pattern, participants, scope, requestor, pm);
+	}
+
+	/**
+	 * Returns the candidates in the region that are tests. The candidates are partitioned by
+	 * package fragment root. The partitions are checked in parallel by the jobs of one job group,
+	 * each with one parser that resolves all candidate compilation units of its root in a shared
+	 * environment.
+	 */
+	private Set<IType> verifyCandidates(Set<IType> candidates, IRegion region, IProgressMonitor pm) throws CoreException {
+		Map<IPackageFragmentRoot, List<IType>> partitions= new HashMap<>();
+		for (IType type : candidates) {
+			if (region.contains(type) && CoreTestSearchEngine.isAccessibleClass(type, TestKindRegistry.JUNIT5_TEST_KIND_ID)) {
+				IPackageFragmentRoot root= (IPackageFragmentRoot) type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+				partitions.computeIfAbsent(root, r -> new ArrayList<>()).add(type);
+			}
+		}
+
+		Set<IType> tests= ConcurrentHashMap.newKeySet();
+		if (partitions.size() <= 1) {
+			for (List<IType> partition : partitions.values()) {
+				verifyPartition(partition, tests, pm);
+			}
+			return tests;
+		}
+
+		AtomicBoolean canceled= new AtomicBoolean();
+		JobGroup jobGroup= new JobGroup(JUnitMessages.JUnit5TestFinder_searching_description, Runtime.getRuntime().availableProcessors(), 0);
+		List<VerifyJob> jobs= new ArrayList<>(partitions.size());
+		for (List<IType> partition : partitions.values()) {
+			VerifyJob job= new VerifyJob(partition, tests, canceled);
+			job.setJobGroup(jobGroup);
+			jobs.add(job);
+		}
+		try {
+			for (VerifyJob job : jobs) {
+				job.schedule();
+			}
+			while (!jobGroup.join(100, null)) {
+				if (pm != null && pm.isCanceled()) {
+					canceled.set(true);
+				}
+				if (canceled.get()) {
+					break;
+				}
+			}
+		} catch (InterruptedException e) {
+			canceled.set(true);
+			Thread.currentThread().interrupt();
+		} finally {
+			if (canceled.get()) {
+				jobGroup.cancel();
+				joinUninterruptibly(jobGroup);
+			}
+		}
+		for (VerifyJob job : jobs) {
+			Throwable exception= job.fException;
+			if (exception instanceof CoreException) {
+				throw (CoreException) exception;
+			}
+			if (exception instanceof RuntimeException) {
+				throw (RuntimeException) exception;
+			}
+			if (exception instanceof Error) {
+				throw (Error) exception;
+			}
+		}
+		if (canceled.get()) {
+			throw new OperationCanceledException();
+		}
+		return tests;
+	}
+
+	private static void joinUninterruptibly(JobGroup group) {
+		boolean interrupted= false;
+		while (true) {
+			try {
+				group.join(0, null);
+				break;
+			} catch (InterruptedException e) {
+				interrupted= true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void verifyPartition(List<IType> types, Set<IType> tests, IProgressMonitor pm) throws JavaModelException {
+		Map<ICompilationUnit, List<IType>> typesByUnit= new LinkedHashMap<>();
+		for (IType type : types) {
+			if (pm != null && pm.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (CoreTestSearchEngine.hasSuiteMethod(type)) { // since JUnit 4.3.1
+				tests.add(type);
+			} else if (type.getCompilationUnit() != null) {
+				typesByUnit.computeIfAbsent(type.getCompilationUnit(), cu -> new ArrayList<>()).add(type);
+			} else if (internalIsTest(type, null)) {
+				tests.add(type);
+			}
+		}
+		if (typesByUnit.isEmpty()) {
+			return;
+		}
+
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setProject(types.get(0).getJavaProject());
+		parser.setResolveBindings(true);
+		// annotations are part of the declarations, the method bodies are not needed
+		parser.setIgnoreMethodBodies(true);
+		ICompilationUnit[] units= typesByUnit.keySet().toArray(new ICompilationUnit[typesByUnit.size()]);
+		parser.createASTs(units, new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				if (pm != null && pm.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				for (IType type : typesByUnit.get(source)) {
+					ASTNode node= ast.findDeclaringNode(type.getKey());
+					if (node instanceof TypeDeclaration || node instanceof RecordDeclaration) {
+						ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
+						if (binding != null && isTest(binding)) {
+							tests.add(type);
+						}
+					}
+				}
+			}
+		}, null);
 	}
 
 	private void addTypeAndSubtypes(IType type, Set<IType> result, ITypeHierarchy hierarchy) {
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Reads a test run session written by {@link BinaryTestRunSessionWriter} by replaying its records.
+ * <p>
+ * Failure details (trace, expected and actual value) are not read with the tree. The reader
+ * only remembers their position in the file, and the test elements load them on demand.
+ * </p>
+ */
+public class BinaryTestRunSessionReader {
+
+	private final File fFile;
+	private final TestRunSession fTestRunSession;
+	private final List<String> fStringTable;
+	private final FailureTraceStore fFailureStore;
+
+	private DataInputStream fIn;
+	private long fPosition;
+
+	/**
+	 * @param file the file to read
+	 * @param testRunSession the session to read into; its current tree is replaced
+	 */
+	public BinaryTestRunSessionReader(File file, TestRunSession testRunSession) {
+		fFile= file;
+		fTestRunSession= testRunSession;
+		fStringTable= new ArrayList<>();
+		fFailureStore= testRunSession.getSwapFileStore(file);
+	}
+
+	/**
+	 * Replays the records of the file into the session. A file that ends in the middle of a
+	 * record, e.g. because the workbench was killed during a test run, is read up to the last
+	 * complete record.
+	 *
+	 * @throws IOException if the file cannot be read or is not in the binary session format
+	 */
+	public void read() throws IOException {
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fFile), 64 * 1024))) {
+			fIn= in;
+			fPosition= 0;
+			if (readInt() != IBinarySessionFormat.MAGIC)
+				throw new IOException("Not a test run session file: " + fFile); //$NON-NLS-1$
+			int version= readInt();
+			if (version != IBinarySessionFormat.VERSION)
+				throw new IOException("Unsupported test run session file version " + version + ": " + fFile); //$NON-NLS-1$ //$NON-NLS-2$
+
+			fTestRunSession.reset();
+			TestRoot testRoot= fTestRunSession.getTestRoot();
+			while (true) {
+				int recordType= in.read();
+				if (recordType == -1)
+					break;
+				fPosition++;
+				try {
+					int length= readInt();
+					long end= fPosition + length;
+					readRecord(recordType, testRoot);
+					skipTo(end);
+				} catch (EOFException e) {
+					break; // incomplete last record
+				}
+			}
+		} finally {
+			fIn= null;
+		}
+	}
+
+	private void readRecord(int recordType, TestRoot testRoot) throws IOException {
+		switch (recordType) {
+		case IBinarySessionFormat.RECORD_SESSION:
+			readString(); // name
+			readString(); // project
+			String includeTags= readString();
+			if (includeTags != null && !includeTags.isBlank())
+				fTestRunSession.setIncludeTags(includeTags);
+			String excludeTags= readString();
+			if (excludeTags != null && !excludeTags.isBlank())
+				fTestRunSession.setExcludeTags(excludeTags);
+			break;
+		case IBinarySessionFormat.RECORD_ADDED:
+			readAdded(testRoot);
+			break;
+		case IBinarySessionFormat.RECORD_RESULT:
+			readResult();
+			break;
+		case IBinarySessionFormat.RECORD_COUNTS:
+			fTestRunSession.fTotalCount= readInt();
+			fTestRunSession.fStartedCount= readInt();
+			fTestRunSession.fFailureCount= readInt();
+			fTestRunSession.fErrorCount= readInt();
+			fTestRunSession.fIgnoredCount= readInt();
+			fTestRunSession.fAssumptionFailureCount= readInt();
+			break;
+		default:
+			// unknown record from a newer version, skipped by the caller
+			break;
+		}
+	}
+
+	private void readAdded(TestRoot testRoot) throws IOException {
+		String id= readString();
+		String parentId= readString();
+		int kind= readByte();
+		String testName= readTestName();
+		String displayName= readString();
+		int parameterTypesCount= readInt();
+		String[] parameterTypes= null;
+		if (parameterTypesCount >= 0) {
+			parameterTypes= new String[parameterTypesCount];
+			for (int i= 0; i < parameterTypesCount; i++) {
+				parameterTypes[i]= readInternedString();
+			}
+		}
+		String uniqueId= readString();
+
+		TestSuiteElement parent= testRoot;
+		if (parentId != null) {
+			TestElement parentElement= fTestRunSession.getTestElement(parentId);
+			if (parentElement instanceof TestSuiteElement)
+				parent= (TestSuiteElement) parentElement;
+		}
+		fTestRunSession.createTestElement(parent, id, testName, kind == IBinarySessionFormat.KIND_SUITE, 0,
+				kind == IBinarySessionFormat.KIND_DYNAMIC_TEST_CASE, displayName, parameterTypes, uniqueId);
+	}
+
+	private void readResult() throws IOException {
+		String id= readString();
+		Status status= toStatus(readByte());
+		int flags= readByte();
+		double time= readDouble();
+
+		TestElement testElement= fTestRunSession.getTestElement(id);
+		if (testElement == null)
+			return;
+
+		FailureDetails failure= null;
+		if ((flags & IBinarySessionFormat.FLAG_HAS_FAILURE) != 0) {
+			failure= new FailureDetails(fFailureStore, fPosition);
+		}
+		testElement.restoreResult(status, failure);
+		testElement.setElapsedTimeInSeconds(time);
+		if (testElement instanceof TestCaseElement)
+			((TestCaseElement) testElement).setIgnored((flags & IBinarySessionFormat.FLAG_IGNORED) != 0);
+		testElement.setAssumptionFailed((flags & IBinarySessionFormat.FLAG_ASSUMPTION_FAILED) != 0);
+	}
+
+	private static Status toStatus(int code) {
+		if (code == Status.OK.getOldCode())
+			return Status.OK;
+		if (code == Status.ERROR.getOldCode())
+			return Status.ERROR;
+		if (code == Status.FAILURE.getOldCode())
+			return Status.FAILURE;
+		if (code == Status.RUNNING.getOldCode())
+			return Status.RUNNING;
+		if (code == Status.RUNNING_ERROR.getOldCode())
+			return Status.RUNNING_ERROR;
+		if (code == Status.RUNNING_FAILURE.getOldCode())
+			return Status.RUNNING_FAILURE;
+		return Status.NOT_RUN;
+	}
+
+	private String readTestName() throws IOException {
+		int form= readByte();
+		String name= readString();
+		if (form == IBinarySessionFormat.NAME_METHOD_AND_CLASS) {
+			return name + '(' + readInternedString() + ')';
+		}
+		return name;
+	}
+
+	private String readInternedString() throws IOException {
+		int index= readInt();
+		if (index == IBinarySessionFormat.STRING_NULL)
+			return null;
+		if (index == IBinarySessionFormat.STRING_NEW) {
+			String string= readString();
+			fStringTable.add(string);
+			return string;
+		}
+		if (index < 0 || index >= fStringTable.size())
+			throw new IOException("Invalid string reference " + index + ": " + fFile); //$NON-NLS-1$ //$NON-NLS-2$
+		return fStringTable.get(index);
+	}
+
+	private int readByte() throws IOException {
+		int value= fIn.readUnsignedByte();
+		fPosition++;
+		return value;
+	}
+
+	private int readInt() throws IOException {
+		int value= fIn.readInt();
+		fPosition+= 4;
+		return value;
+	}
+
+	private double readDouble() throws IOException {
+		double value= fIn.readDouble();
+		fPosition+= 8;
+		return value;
+	}
+
+	private String readString() throws IOException {
+		int length= readInt();
+		if (length < 0)
+			return null;
+		byte[] bytes= new byte[length];
+		fIn.readFully(bytes);
+		fPosition+= length;
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private void skipTo(long position) throws IOException {
+		while (fPosition < position) {
+			int skipped= fIn.skipBytes((int) Math.min(Integer.MAX_VALUE, position - fPosition));
+			if (skipped <= 0)
+				throw new EOFException();
+			fPosition+= skipped;
+		}
+	}
+}
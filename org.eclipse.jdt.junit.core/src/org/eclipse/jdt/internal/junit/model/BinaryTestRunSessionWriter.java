@@ -0,0 +1,424 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Writes a test run session in the binary swap format described in {@link IBinarySessionFormat}.
+ * <p>
+ * While a test run executes, the writer is registered as {@link ITestSessionListener} and
+ * appends a record for every added element and every finished test, so that swapping out a
+ * finished session does not need to serialize the whole tree again. Sessions that were not
+ * recorded this way are written in one go with {@link #writeSnapshot(TestRunSession, File)}.
+ * </p>
+ */
+public class BinaryTestRunSessionWriter implements ITestSessionListener {
+
+	private final TestRunSession fTestRunSession;
+	private final Map<String, Integer> fStringTable;
+	private final ByteArrayOutputStream fRecordBytes;
+	private final DataOutputStream fRecord;
+
+	/**
+	 * Test elements that changed after their last result record was written.
+	 */
+	private final Set<TestElement> fDirtyElements;
+
+	private File fFile;
+	private DataOutputStream fOut;
+	private boolean fFailed;
+	private boolean fComplete;
+
+	/**
+	 * @param testRunSession the test run session to record
+	 */
+	public BinaryTestRunSessionWriter(TestRunSession testRunSession) {
+		Assert.isNotNull(testRunSession);
+		fTestRunSession= testRunSession;
+		fStringTable= new HashMap<>();
+		fRecordBytes= new ByteArrayOutputStream(256);
+		fRecord= new DataOutputStream(fRecordBytes);
+		fDirtyElements= new LinkedHashSet<>();
+	}
+
+	/**
+	 * Writes the complete given session to the given file. The file must not be the file that
+	 * failure details of the session are loaded from, see {@link TestRunSession#swapOut()}.
+	 * An incompletely written file is deleted.
+	 *
+	 * @param testRunSession the session to write
+	 * @param file the destination
+	 * @throws IOException if writing failed
+	 */
+	public static void writeSnapshot(TestRunSession testRunSession, File file) throws IOException {
+		BinaryTestRunSessionWriter writer= new BinaryTestRunSessionWriter(testRunSession);
+		boolean written= false;
+		try {
+			writer.open(file);
+			TestRoot testRoot= testRunSession.getTestRoot();
+			for (TestElement child : testRoot.getChildElements()) {
+				writer.writeAdded(child, true);
+			}
+			for (TestElement child : testRoot.getChildElements()) {
+				writer.writeResults(child, true);
+			}
+			writer.writeCounts();
+			writer.close();
+			written= true;
+		} finally {
+			writer.closeQuietly();
+			if (!written)
+				file.delete();
+		}
+	}
+
+	/**
+	 * Completes the recording of a session.
+	 *
+	 * @return <code>true</code> iff the file written while the session was running
+	 *         contains the complete session
+	 */
+	public synchronized boolean finish() {
+		closeQuietly();
+		return fComplete && !fFailed && fDirtyElements.isEmpty();
+	}
+
+	/**
+	 * Stops recording and discards what was written so far.
+	 */
+	public synchronized void discard() {
+		closeQuietly();
+		fFailed= true;
+		if (fFile != null) {
+			fFile.delete();
+		}
+	}
+
+	private void open(File file) throws IOException {
+		fFile= file;
+		fOut= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+		fOut.writeInt(IBinarySessionFormat.MAGIC);
+		fOut.writeInt(IBinarySessionFormat.VERSION);
+
+		writeString(fRecord, fTestRunSession.getTestRunName());
+		IJavaProject project= fTestRunSession.getLaunchedProject();
+		writeString(fRecord, project != null ? project.getElementName() : null);
+		writeString(fRecord, fTestRunSession.getIncludeTags());
+		writeString(fRecord, fTestRunSession.getExcludeTags());
+		endRecord(IBinarySessionFormat.RECORD_SESSION);
+	}
+
+	private void close() throws IOException {
+		if (fOut != null) {
+			OutputStream out= fOut;
+			fOut= null;
+			out.close();
+		}
+	}
+
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (IOException e) {
+			fFailed= true;
+			JUnitCorePlugin.log(e);
+		}
+	}
+
+	private void writeAdded(TestElement testElement, boolean includeChildren) throws IOException {
+		writeString(fRecord, testElement.getId());
+		TestSuiteElement parent= testElement.getParent();
+		writeString(fRecord, parent instanceof TestRoot ? null : parent.getId());
+
+		byte kind;
+		if (testElement instanceof TestSuiteElement) {
+			kind= IBinarySessionFormat.KIND_SUITE;
+		} else if (((TestCaseElement) testElement).isDynamicTest()) {
+			kind= IBinarySessionFormat.KIND_DYNAMIC_TEST_CASE;
+		} else {
+			kind= IBinarySessionFormat.KIND_TEST_CASE;
+		}
+		fRecord.writeByte(kind);
+		writeTestName(testElement.getTestName());
+		writeString(fRecord, testElement.getDisplayName());
+		String[] parameterTypes= testElement.getParameterTypes();
+		if (parameterTypes == null) {
+			fRecord.writeInt(-1);
+		} else {
+			fRecord.writeInt(parameterTypes.length);
+			for (String parameterType : parameterTypes) {
+				writeInternedString(parameterType);
+			}
+		}
+		writeString(fRecord, testElement.getUniqueId());
+		endRecord(IBinarySessionFormat.RECORD_ADDED);
+
+		if (includeChildren && testElement instanceof TestSuiteElement) {
+			for (TestElement child : ((TestSuiteElement) testElement).getChildElements()) {
+				writeAdded(child, true);
+			}
+		}
+	}
+
+	/**
+	 * Writes the results of the given element and its children. Children are written
+	 * first, like they finish in a test run, so that the cumulated suite status is
+	 * computed the same way when the records are replayed.
+	 *
+	 * @param testElement the element
+	 * @param includeTestCases <code>false</code> to only write the results of suites
+	 * @throws IOException if writing failed
+	 */
+	private void writeResults(TestElement testElement, boolean includeTestCases) throws IOException {
+		if (testElement instanceof TestSuiteElement) {
+			TestSuiteElement testSuiteElement= (TestSuiteElement) testElement;
+			for (TestElement child : testSuiteElement.getChildElements()) {
+				writeResults(child, includeTestCases);
+			}
+			writeResult(testSuiteElement, testSuiteElement.getSuiteStatus());
+		} else if (includeTestCases) {
+			writeResult(testElement, testElement.getStatus());
+		}
+	}
+
+	private void writeResult(TestElement testElement, Status status) throws IOException {
+		writeString(fRecord, testElement.getId());
+		fRecord.writeByte(status.getOldCode());
+
+		String[] failureDetails= testElement.getOwnFailureDetails();
+		String trace= failureDetails[0];
+		String expected= failureDetails[1];
+		String actual= failureDetails[2];
+		boolean hasFailure= trace != null || expected != null || actual != null;
+
+		int flags= 0;
+		if (testElement instanceof TestCaseElement && ((TestCaseElement) testElement).isIgnored())
+			flags|= IBinarySessionFormat.FLAG_IGNORED;
+		if (testElement.isOwnAssumptionFailure())
+			flags|= IBinarySessionFormat.FLAG_ASSUMPTION_FAILED;
+		if (hasFailure)
+			flags|= IBinarySessionFormat.FLAG_HAS_FAILURE;
+		fRecord.writeByte(flags);
+		fRecord.writeDouble(testElement.getElapsedTimeInSeconds());
+
+		if (hasFailure) {
+			// must stay last, readers may skip it
+			writeString(fRecord, trace);
+			writeString(fRecord, expected);
+			writeString(fRecord, actual);
+		}
+		endRecord(IBinarySessionFormat.RECORD_RESULT);
+	}
+
+	private void writeCounts() throws IOException {
+		fRecord.writeInt(fTestRunSession.getTotalCount());
+		fRecord.writeInt(fTestRunSession.getStartedCount());
+		fRecord.writeInt(fTestRunSession.getFailureCount());
+		fRecord.writeInt(fTestRunSession.getErrorCount());
+		fRecord.writeInt(fTestRunSession.getIgnoredCount());
+		fRecord.writeInt(fTestRunSession.getAssumptionFailureCount());
+		endRecord(IBinarySessionFormat.RECORD_COUNTS);
+	}
+
+	private void endRecord(byte recordType) throws IOException {
+		fRecord.flush();
+		fOut.writeByte(recordType);
+		fOut.writeInt(fRecordBytes.size());
+		fRecordBytes.writeTo(fOut);
+		fRecordBytes.reset();
+	}
+
+	private void writeTestName(String testName) throws IOException {
+		int index= testName.lastIndexOf('(');
+		if (index > 0 && testName.endsWith(")")) { //$NON-NLS-1$
+			fRecord.writeByte(IBinarySessionFormat.NAME_METHOD_AND_CLASS);
+			writeString(fRecord, testName.substring(0, index));
+			writeInternedString(testName.substring(index + 1, testName.length() - 1));
+		} else {
+			fRecord.writeByte(IBinarySessionFormat.NAME_PLAIN);
+			writeString(fRecord, testName);
+		}
+	}
+
+	private void writeInternedString(String string) throws IOException {
+		if (string == null) {
+			fRecord.writeInt(IBinarySessionFormat.STRING_NULL);
+			return;
+		}
+		Integer index= fStringTable.get(string);
+		if (index != null) {
+			fRecord.writeInt(index.intValue());
+		} else {
+			fStringTable.put(string, Integer.valueOf(fStringTable.size()));
+			fRecord.writeInt(IBinarySessionFormat.STRING_NEW);
+			writeString(fRecord, string);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+		} else {
+			byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private void handleError(IOException e) {
+		if (!fFailed) {
+			fFailed= true;
+			JUnitCorePlugin.log(e);
+		}
+		closeQuietly();
+	}
+
+	private boolean isRecording() {
+		return fOut != null && !fFailed;
+	}
+
+	// ITestSessionListener:
+
+	@Override
+	public synchronized void sessionStarted() {
+		if (fOut != null || fFailed)
+			return;
+		try {
+			open(fTestRunSession.getSwapFile());
+		} catch (IOException | IllegalStateException e) {
+			fFailed= true;
+			JUnitCorePlugin.log(e);
+		}
+	}
+
+	@Override
+	public synchronized void testAdded(TestElement testElement) {
+		if (!isRecording())
+			return;
+		try {
+			// children are reported separately
+			writeAdded(testElement, false);
+		} catch (IOException e) {
+			handleError(e);
+		}
+	}
+
+	@Override
+	public void runningBegins() {
+		// not recorded
+	}
+
+	@Override
+	public void testStarted(TestCaseElement testCaseElement) {
+		// not recorded, the element is recorded when it ends
+	}
+
+	@Override
+	public synchronized void testEnded(TestCaseElement testCaseElement) {
+		if (!isRecording())
+			return;
+		try {
+			writeResult(testCaseElement, testCaseElement.getStatus());
+			fDirtyElements.remove(testCaseElement);
+		} catch (IOException e) {
+			handleError(e);
+		}
+	}
+
+	@Override
+	public synchronized void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+		// written when the test ends, or with the suites when the session ends
+		fDirtyElements.add(testElement);
+	}
+
+	@Override
+	public synchronized void testReran(TestCaseElement testCaseElement, Status status, String trace, String expectedResult, String actualResult) {
+		if (!isRecording()) {
+			// session was already completed: the file is outdated
+			fComplete= false;
+			fDirtyElements.add(testCaseElement);
+			return;
+		}
+		try {
+			writeResult(testCaseElement, testCaseElement.getStatus());
+		} catch (IOException e) {
+			handleError(e);
+		}
+	}
+
+	@Override
+	public synchronized void sessionEnded(long elapsedTime) {
+		complete();
+	}
+
+	@Override
+	public synchronized void sessionStopped(long elapsedTime) {
+		complete();
+	}
+
+	@Override
+	public synchronized void sessionTerminated() {
+		complete();
+	}
+
+	private void complete() {
+		if (!isRecording())
+			return;
+		try {
+			for (TestElement testElement : fDirtyElements) {
+				if (testElement instanceof TestCaseElement) {
+					writeResult(testElement, testElement.getStatus());
+				}
+			}
+			fDirtyElements.clear();
+			// don't use getTestRoot(), the session may be waiting for this writer in swapOut()
+			TestRoot testRoot= fTestRunSession.getLoadedTestRoot();
+			if (testRoot != null) {
+				for (TestElement child : testRoot.getChildElements()) {
+					writeResults(child, false);
+				}
+			}
+			writeCounts();
+			close();
+			fComplete= true;
+		} catch (IOException e) {
+			handleError(e);
+		}
+	}
+
+	@Override
+	public boolean acceptsSwapToDisk() {
+		return true;
+	}
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * The failure details of a test element: trace, expected and actual value. The details
+ * are either kept in memory or loaded on demand from a {@link FailureTraceStore}. Loaded
+ * details are cached until memory runs low.
+ */
+final class FailureDetails {
+
+	private final FailureTraceStore fStore;
+	private final long fOffset;
+	private final String[] fDetails;
+
+	private volatile SoftReference<String[]> fLoaded;
+
+	FailureDetails(FailureTraceStore store, long offset) {
+		fStore= store;
+		fOffset= offset;
+		fDetails= null;
+	}
+
+	FailureDetails(String trace, String expected, String actual) {
+		fStore= null;
+		fOffset= -1;
+		fDetails= new String[] { trace, expected, actual };
+	}
+
+	/**
+	 * @return trace, expected and actual value; the array elements may be <code>null</code>.
+	 *         The array is shared and must not be modified.
+	 */
+	String[] get() {
+		if (fStore == null)
+			return fDetails;
+		SoftReference<String[]> loaded= fLoaded;
+		String[] details= loaded != null ? loaded.get() : null;
+		if (details == null) {
+			details= fStore.load(fOffset);
+			fLoaded= new SoftReference<>(details);
+		}
+		return details;
+	}
+
+	/**
+	 * @return details that are kept in memory and no longer depend on a store
+	 */
+	FailureDetails detach() {
+		if (fStore == null)
+			return this;
+		String[] details= get();
+		return new FailureDetails(details[0], details[1], details[2]);
+	}
+}
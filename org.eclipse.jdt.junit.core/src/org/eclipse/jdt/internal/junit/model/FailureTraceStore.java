@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * A file that holds failure details (trace, expected and actual value) of test elements,
+ * so that they do not have to be kept in memory. The details are written as three strings
+ * in the encoding of {@link IBinarySessionFormat}, which allows to read the failure details
+ * of a swap file with a read-only store.
+ * <p>
+ * The store keeps one handle to the file open while it is used. {@link #close()} releases it,
+ * the next access opens the file again.
+ * </p>
+ */
+final class FailureTraceStore {
+
+	private final File fFile;
+	private final boolean fWritable;
+
+	/**
+	 * The open file, or <code>null</code>.
+	 */
+	private RandomAccessFile fAccess;
+	private boolean fCreated;
+	private boolean fFailed;
+	private boolean fDisposed;
+
+	private FailureTraceStore(File file, boolean writable) {
+		fFile= file;
+		fWritable= writable;
+	}
+
+	/**
+	 * Creates a store that appends failure details to the given file. The file is
+	 * truncated when the first details are stored and deleted on {@link #dispose()}.
+	 *
+	 * @param file the file
+	 * @return the store
+	 */
+	static FailureTraceStore createWritable(File file) {
+		return new FailureTraceStore(file, true);
+	}
+
+	/**
+	 * Creates a store that reads failure details from an existing file.
+	 *
+	 * @param file the file
+	 * @return the store
+	 */
+	static FailureTraceStore createReadOnly(File file) {
+		return new FailureTraceStore(file, false);
+	}
+
+	/**
+	 * Appends the given failure details to the file.
+	 *
+	 * @param trace the trace, can be <code>null</code>
+	 * @param expected the expected value, can be <code>null</code>
+	 * @param actual the actual value, can be <code>null</code>
+	 * @return a reference to the stored details, or <code>null</code> if they could not
+	 *         be stored
+	 */
+	synchronized FailureDetails store(String trace, String expected, String actual) {
+		if (!fWritable || fFailed || fDisposed)
+			return null;
+		try {
+			RandomAccessFile access= getAccess();
+			ByteArrayOutputStream bytes= new ByteArrayOutputStream(trace != null ? trace.length() + 64 : 64);
+			DataOutputStream out= new DataOutputStream(bytes);
+			writeString(out, trace);
+			writeString(out, expected);
+			writeString(out, actual);
+			long offset= access.length();
+			access.seek(offset);
+			access.write(bytes.toByteArray());
+			return new FailureDetails(this, offset);
+		} catch (IOException e) {
+			fFailed= true;
+			JUnitCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * @param offset the offset of the failure details in the file
+	 * @return trace, expected and actual value; the array elements may be <code>null</code>
+	 */
+	synchronized String[] load(long offset) {
+		if (fDisposed)
+			return new String[3];
+		try {
+			RandomAccessFile access= getAccess();
+			access.seek(offset);
+			return readFailureDetails(access);
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			return new String[3];
+		}
+	}
+
+	private RandomAccessFile getAccess() throws IOException {
+		if (fAccess == null) {
+			if (fWritable) {
+				fAccess= new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+				if (!fCreated) {
+					fAccess.setLength(0);
+					fCreated= true;
+				}
+			} else {
+				fAccess= new RandomAccessFile(fFile, "r"); //$NON-NLS-1$
+			}
+		}
+		return fAccess;
+	}
+
+	/**
+	 * Releases the open file. The stored details stay available.
+	 */
+	synchronized void close() {
+		if (fAccess != null) {
+			try {
+				fAccess.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			fAccess= null;
+		}
+	}
+
+	/**
+	 * Closes the store. A writable store also deletes its file. Details that are loaded
+	 * afterwards are empty, so the store must only be disposed when no test element
+	 * refers to it anymore.
+	 */
+	synchronized void dispose() {
+		close();
+		fDisposed= true;
+		if (fWritable) {
+			fFile.delete();
+		}
+	}
+
+	private static String[] readFailureDetails(DataInput in) throws IOException {
+		return new String[] { readString(in), readString(in), readString(in) };
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		int length= in.readInt();
+		if (length < 0)
+			return null;
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+		} else {
+			byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+}
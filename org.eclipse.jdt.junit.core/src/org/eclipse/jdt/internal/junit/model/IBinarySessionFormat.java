@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+/**
+ * Constants of the binary format used to swap test run sessions to disk.
+ * <p>
+ * A file starts with {@link #MAGIC} and {@link #VERSION}, followed by records. Each record
+ * consists of a record type byte, the payload length as int and the payload. Records are
+ * appended while a test run executes and replayed in order when the session is read back.
+ * </p>
+ * <p>
+ * Strings are written as byte length (<code>-1</code> for <code>null</code>) followed by
+ * the UTF-8 bytes. Strings that repeat across elements (class names, parameter types) are
+ * written once and then referenced by their index in a string table; see
+ * {@link #STRING_NULL} and {@link #STRING_NEW}. Failure details are never put in the string
+ * table, so that readers can skip them and load them on demand.
+ * </p>
+ *
+ * @see BinaryTestRunSessionWriter
+ * @see BinaryTestRunSessionReader
+ */
+public interface IBinarySessionFormat {
+
+	/**
+	 * "JUTR"
+	 */
+	int MAGIC= 0x4A555452;
+	int VERSION= 1;
+
+	String FILE_EXTENSION= ".bin"; //$NON-NLS-1$
+
+	/**
+	 * Session name, project name, include tags, exclude tags.
+	 */
+	byte RECORD_SESSION= 1;
+	/**
+	 * Element id, parent id, kind, test name, display name, parameter types, unique id.
+	 */
+	byte RECORD_ADDED= 2;
+	/**
+	 * Element id, status, flags, elapsed time, failure details.
+	 */
+	byte RECORD_RESULT= 3;
+	/**
+	 * Total, started, failure, error, ignored and assumption failure counts.
+	 */
+	byte RECORD_COUNTS= 4;
+
+	byte KIND_SUITE= 0;
+	byte KIND_TEST_CASE= 1;
+	byte KIND_DYNAMIC_TEST_CASE= 2;
+
+	/**
+	 * Test name stored as is.
+	 */
+	byte NAME_PLAIN= 0;
+	/**
+	 * Test name of the form <code>method(class)</code>, stored as method name and interned class name.
+	 */
+	byte NAME_METHOD_AND_CLASS= 1;
+
+	byte FLAG_IGNORED= 1;
+	byte FLAG_ASSUMPTION_FAILED= 2;
+	byte FLAG_HAS_FAILURE= 4;
+
+	int STRING_NULL= -1;
+	int STRING_NEW= -2;
+}
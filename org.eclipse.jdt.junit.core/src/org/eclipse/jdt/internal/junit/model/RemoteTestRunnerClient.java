@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -25,6 +30,7 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
@@ -255,6 +261,15 @@ public class RemoteTestRunnerClient {
 	 */
 	private int fFailureKind;
 
+	/**
+	 * The strings sent in the batched protocol, indexed by their string table index
+	 */
+	private final ArrayList<String> fStrings= new ArrayList<>();
+	/**
+	 * Test ids received in the batched protocol, indexed by the int test id
+	 */
+	private final ArrayList<String> fTestIds= new ArrayList<>();
+
 	private boolean fDebug= false;
 
 	/**
@@ -275,11 +290,16 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				InputStream input= new BufferedInputStream(fSocket.getInputStream(), 64 * 1024);
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
-					receiveMessage(message);
+				if (isBatchedProtocol(input)) {
+					readFrames(new DataInputStream(input));
+				} else {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+					String message;
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -387,6 +407,104 @@ public class RemoteTestRunnerClient {
 	    fCurrentState= fCurrentState.readMessage(message);
 	}
 
+	/**
+	 * Checks whether the runner accepted the batched protocol. Runners that use
+	 * the line protocol never start the stream with the first byte of
+	 * {@link MessageIds#BATCHED_PROTOCOL_MAGIC}.
+	 *
+	 * @param input the stream from the runner, must support mark
+	 * @return <code>true</code> if the stream uses the batched protocol
+	 * @throws IOException if reading fails
+	 */
+	private static boolean isBatchedProtocol(InputStream input) throws IOException {
+		input.mark(1);
+		int first= input.read();
+		input.reset();
+		return first == (MessageIds.BATCHED_PROTOCOL_MAGIC >>> 24);
+	}
+
+	private void readFrames(DataInputStream input) throws IOException {
+		if (input.readInt() != MessageIds.BATCHED_PROTOCOL_MAGIC)
+			throw new IOException("Invalid protocol header"); //$NON-NLS-1$
+		int version= input.readInt();
+		if (fDebug)
+			System.out.println("batched protocol version " + version); //$NON-NLS-1$
+		if (version != MessageIds.PROTOCOL_VERSION_BATCHED) {
+			// the frames of an unknown version cannot be read, the runner must only answer with a version the client offered
+			JUnitCorePlugin.log(new IOException("Unsupported protocol version " + version)); //$NON-NLS-1$
+			notifyTestRunTerminated();
+			return;
+		}
+		fLastLineDelimiter= readString(input);
+		while (fSocket != null) {
+			int length;
+			try {
+				length= input.readInt();
+			} catch (EOFException e) {
+				break;
+			}
+			byte[] frame= new byte[length];
+			input.readFully(frame);
+			receiveFrame(new DataInputStream(new ByteArrayInputStream(frame)));
+		}
+	}
+
+	private void receiveFrame(DataInputStream frame) throws IOException {
+		int count= frame.readInt();
+		for (int i= 0; i < count; i++) {
+			byte event= frame.readByte();
+			switch (event) {
+			case MessageIds.EVENT_MESSAGE:
+				receiveMessage(readString(frame));
+				break;
+			case MessageIds.EVENT_TEST_START:
+				notifyTestStarted(getTestId(frame.readInt()), readStringReference(frame));
+				break;
+			case MessageIds.EVENT_TEST_END:
+				notifyTestEnded(getTestId(frame.readInt()), readStringReference(frame));
+				break;
+			case MessageIds.EVENT_TEST_ERROR:
+				fFailedTestId= getTestId(frame.readInt());
+				fFailedTest= readStringReference(frame);
+				fFailureKind= ITestRunListener2.STATUS_ERROR;
+				break;
+			case MessageIds.EVENT_TEST_FAILED:
+				fFailedTestId= getTestId(frame.readInt());
+				fFailedTest= readStringReference(frame);
+				fFailureKind= ITestRunListener2.STATUS_FAILURE;
+				break;
+			default:
+				throw new IOException("Unknown event " + event); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private String getTestId(int id) {
+		while (fTestIds.size() <= id)
+			fTestIds.add(null);
+		String testId= fTestIds.get(id);
+		if (testId == null) {
+			testId= Integer.toString(id);
+			fTestIds.set(id, testId);
+		}
+		return testId;
+	}
+
+	private String readStringReference(DataInputStream input) throws IOException {
+		int index= input.readInt();
+		if (index != MessageIds.STRING_NEW)
+			return fStrings.get(index);
+		String s= readString(input);
+		fStrings.add(s);
+		return s;
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes= new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
 	private void scanOldReranMessage(String arg) {
 		// OLD V1 format
 		// format: className" "testName" "status
@@ -535,6 +653,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestEnded(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testEnded(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestStarted(final String test) {
 		if (JUnitCorePlugin.isStopped())
 			return;
@@ -549,6 +680,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestStarted(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testStarted(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestRunStarted(final int count) {
 		if (JUnitCorePlugin.isStopped())
 			return;
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Shares equal strings and string arrays between the test elements of a session.
+ * Test cases repeat the same class names, and parameterized and dynamic tests repeat
+ * the same display names and parameter types for every invocation.
+ */
+final class StringPool {
+
+	private final HashMap<String, String> fStrings= new HashMap<>();
+	private final HashMap<List<String>, String[]> fArrays= new HashMap<>();
+
+	/**
+	 * @param string the string, can be <code>null</code>
+	 * @return the shared instance of the string
+	 */
+	synchronized String intern(String string) {
+		if (string == null)
+			return null;
+		String shared= fStrings.putIfAbsent(string, string);
+		return shared != null ? shared : string;
+	}
+
+	/**
+	 * @param strings the array, can be <code>null</code>; must not be modified afterwards
+	 * @return the shared instance of an equal array
+	 */
+	synchronized String[] intern(String[] strings) {
+		if (strings == null)
+			return null;
+		for (int i= 0; i < strings.length; i++) {
+			strings[i]= intern(strings[i]);
+		}
+		String[] shared= fArrays.putIfAbsent(Arrays.asList(strings), strings);
+		return shared != null ? shared : strings;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -170,6 +170,11 @@ public abstract class TestElement implements ITestElement {
 	private final String fId;
 	private String fTestName;
 
+	/**
+	 * The class name extracted from the test name, or <code>null</code> if not computed yet.
+	 */
+	private String fClassName;
+
 	/**
 	 * The display name of the test element, can be <code>null</code>. In that case, use
 	 * {@link TestElement#fTestName fTestName}.
@@ -190,9 +195,12 @@ public abstract class TestElement implements ITestElement {
 	private String fUniqueId;
 
 	private Status fStatus;
-	private String fTrace;
-	private String fExpected;
-	private String fActual;
+
+	/**
+	 * Trace, expected and actual value, or <code>null</code> if there are none. The details
+	 * are usually kept in the {@link FailureTraceStore} of the session and loaded on demand.
+	 */
+	private FailureDetails fFailure;
 
 	private boolean fAssumptionFailed;
 
@@ -261,9 +269,10 @@ public abstract class TestElement implements ITestElement {
 	@Override
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
-		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+		if (testResult == Result.ERROR || testResult == Result.FAILURE || testResult == Result.IGNORED) {
+			String[] failureDetails= getOwnFailureDetails();
+			if (testResult != Result.IGNORED || failureDetails[0] != null)
+				return new FailureTrace(failureDetails[0], failureDetails[1], failureDetails[2]);
 		}
 		return null;
 	}
@@ -285,6 +294,7 @@ public abstract class TestElement implements ITestElement {
 
 	public void setName(String name) {
 		fTestName= name;
+		fClassName= null;
 	}
 
 	public void setStatus(Status status) {
@@ -304,35 +314,90 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
-		if (trace != null && fTrace != null) {
+		String[] failureDetails= getOwnFailureDetails();
+		if (trace != null && failureDetails[0] != null) {
 			//don't overwrite first trace if same test run logs multiple errors
-			fTrace= fTrace + trace;
+			fFailure= createFailureDetails(failureDetails[0] + trace, failureDetails[1], failureDetails[2]);
 		} else {
-			fTrace= trace;
-			fExpected= expected;
-			fActual= actual;
+			fFailure= createFailureDetails(trace, expected, actual);
 		}
 		setStatus(status);
 	}
 
+	/**
+	 * Restores the result of this element from a swap file.
+	 *
+	 * @param status the status
+	 * @param failure the failure details to load on demand, or <code>null</code> if
+	 *            there are none
+	 */
+	void restoreResult(Status status, FailureDetails failure) {
+		fFailure= failure;
+		setStatus(status);
+	}
+
+	private FailureDetails createFailureDetails(String trace, String expected, String actual) {
+		if (trace == null && expected == null && actual == null)
+			return null;
+		ITestRunSession session= getRoot().getTestRunSession();
+		if (session instanceof TestRunSession) {
+			FailureDetails stored= ((TestRunSession) session).storeFailureDetails(trace, expected, actual);
+			if (stored != null)
+				return stored;
+		}
+		return new FailureDetails(trace, expected, actual);
+	}
+
+	/**
+	 * Returns the failure details of this element itself. Unlike {@link #getTrace()},
+	 * {@link #getExpected()} and {@link #getActual()}, this never delegates to a child.
+	 *
+	 * @return trace, expected and actual value; the array elements may be <code>null</code>.
+	 *         The array is shared and must not be modified.
+	 */
+	String[] getOwnFailureDetails() {
+		FailureDetails failure= fFailure;
+		if (failure == null)
+			return new String[3];
+		return failure.get();
+	}
+
+	/**
+	 * Keeps the failure details of this element in memory, so that they stay available
+	 * when the failure trace stores of the session are disposed.
+	 */
+	void detachFailureDetails() {
+		FailureDetails failure= fFailure;
+		if (failure != null)
+			fFailure= failure.detach();
+	}
+
+	/**
+	 * @return whether an assumption of this element itself failed, never delegates to a child
+	 */
+	boolean isOwnAssumptionFailure() {
+		return fAssumptionFailed;
+	}
+
 	public Status getStatus() {
 		return fStatus;
 	}
 
 	public String getTrace() {
-		return fTrace;
+		return getOwnFailureDetails()[0];
 	}
 
 	public String getExpected() {
-		return fExpected;
+		return getOwnFailureDetails()[1];
 	}
 
 	public String getActual() {
-		return fActual;
+		return getOwnFailureDetails()[2];
 	}
 
 	public boolean isComparisonFailure() {
-		return fExpected != null && fActual != null;
+		String[] failureDetails= getOwnFailureDetails();
+		return failureDetails[1] != null && failureDetails[2] != null;
 	}
 
 	/**
@@ -341,7 +406,21 @@ public abstract class TestElement implements ITestElement {
 	 * @see org.eclipse.jdt.internal.junit.runner.MessageIds#TEST_IDENTIFIER_MESSAGE_FORMAT
 	 */
 	public String getClassName() {
-		return extractClassName(getTestName());
+		String className= fClassName;
+		if (className == null) {
+			className= extractClassName(getTestName());
+			fClassName= className;
+		}
+		return className;
+	}
+
+	/**
+	 * Shares the class name of this element with the other elements of the session.
+	 *
+	 * @param stringPool the string pool of the session
+	 */
+	void internClassName(StringPool stringPool) {
+		fClassName= stringPool.intern(extractClassName(getTestName()));
 	}
 
 	private static String extractClassName(String testNameString) {
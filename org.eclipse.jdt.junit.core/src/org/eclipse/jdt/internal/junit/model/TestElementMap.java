@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Maps test ids to test elements.
+ * <p>
+ * The test runners number their tests sequentially, so ids of the form of a
+ * non-negative int are kept in an array indexed by the id. Other ids, e.g. the
+ * test names used as ids by old runners, are kept in a hash map. The array only
+ * grows while it stays dense, ids that would leave most of it empty are kept in
+ * the hash map as well.
+ * </p>
+ */
+final class TestElementMap {
+
+	private static final int MAX_INDEXED_ID= 1 << 24;
+
+	private static final int INITIAL_LENGTH= 64;
+
+	private TestElement[] fElements= new TestElement[INITIAL_LENGTH];
+	private HashMap<String, TestElement> fOtherElements;
+
+	/** The number of distinct ids of the indexed form, in the array or in the hash map */
+	private int fIndexedIds;
+
+	TestElement get(String id) {
+		int index= toIndex(id);
+		if (index >= 0 && index < fElements.length && fElements[index] != null)
+			return fElements[index];
+		return fOtherElements != null ? fOtherElements.get(id) : null;
+	}
+
+	void put(String id, TestElement testElement) {
+		int index= toIndex(id);
+		if (index >= fElements.length) {
+			int length= Math.max(index + 1, fElements.length * 2);
+			if (length <= 2 * (fIndexedIds + 1) + INITIAL_LENGTH)
+				fElements= Arrays.copyOf(fElements, length);
+		}
+		if (index >= 0 && index < fElements.length) {
+			if (fElements[index] == null && (fOtherElements == null || fOtherElements.remove(id) == null))
+				fIndexedIds++;
+			fElements[index]= testElement;
+		} else {
+			if (fOtherElements == null)
+				fOtherElements= new HashMap<>();
+			if (fOtherElements.put(id, testElement) == null && index >= 0)
+				fIndexedIds++;
+		}
+	}
+
+	/**
+	 * @param id the test id
+	 * @return the array index for the id, or <code>-1</code> if the id is not the
+	 *         canonical decimal form of an int in the indexed range
+	 */
+	private static int toIndex(String id) {
+		int length= id.length();
+		if (length == 0 || length > 8 || (length > 1 && id.charAt(0) == '0'))
+			return -1;
+		int index= 0;
+		for (int i= 0; i < length; i++) {
+			char c= id.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			index= index * 10 + c - '0';
+		}
+		return index < MAX_INDEXED_ID ? index : -1;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@
 package org.eclipse.jdt.internal.junit.model;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -23,6 +24,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.junit.model.ITestElement;
 import org.eclipse.jdt.junit.model.ITestElementContainer;
@@ -73,6 +75,22 @@ public class TestRunSession implements ITestRunSession {
 
 	private final ListenerList<ITestSessionListener> fSessionListeners;
 
+	/**
+	 * Records the session to the swap file while it runs, or <code>null</code>.
+	 */
+	private BinaryTestRunSessionWriter fSwapWriter;
+
+	/**
+	 * <code>true</code> iff the swap file contains the current state of the model.
+	 */
+	private boolean fSwapFileValid;
+
+	/**
+	 * Generation of the swap file. A snapshot of the session is written to a new generation,
+	 * because test elements may still load their failure details from the previous one.
+	 */
+	private int fSwapFileGeneration;
+
 	/**
 	 * The model root, or <code>null</code> if swapped to disk.
 	 */
@@ -86,7 +104,25 @@ public class TestRunSession implements ITestRunSession {
 	/**
 	 * Map from testId to testElement.
 	 */
-	private HashMap<String, TestElement> fIdToTest;
+	private TestElementMap fIdToTest;
+
+	/**
+	 * Shares suite names, class names, display names and parameter types between test elements.
+	 */
+	private final StringPool fStringPool= new StringPool();
+
+	/**
+	 * Holds the failure details of the test elements, or <code>null</code> if none have been
+	 * stored yet.
+	 */
+	private FailureTraceStore fFailureTraceStore;
+
+	/**
+	 * The read-only failure trace stores of the swap files that were read, by file. Test
+	 * elements that were dropped on swap out may still load their failure details from
+	 * them, so they are only disposed with the swap files.
+	 */
+	private final Map<File, FailureTraceStore> fSwapFileStores= new HashMap<>();
 
 	/**
 	 * The TestSuites for which additional children are expected.
@@ -102,6 +138,8 @@ public class TestRunSession implements ITestRunSession {
 
 	private static final String EMPTY_STRING= ""; //$NON-NLS-1$
 
+	private static final String FAILURE_TRACE_FILE_EXTENSION= ".traces"; //$NON-NLS-1$
+
 	/**
 	 * Tags included in this test run.
 	 */
@@ -167,7 +205,7 @@ public class TestRunSession implements ITestRunSession {
 		fTestRunnerKind= ITestKind.NULL; //TODO
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestElementMap();
 
 		fTestRunnerClient= null;
 
@@ -191,7 +229,7 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestElementMap();
 
 		fTestRunnerClient= new RemoteTestRunnerClient();
 		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
@@ -226,6 +264,8 @@ public class TestRunSession implements ITestRunSession {
 
 		fSessionListeners= new ListenerList<>();
 		addTestSessionListener(new TestRunListenerAdapter(this));
+		fSwapWriter= new BinaryTestRunSessionWriter(this);
+		addTestSessionListener(fSwapWriter);
 	}
 
 	void reset() {
@@ -238,7 +278,8 @@ public class TestRunSession implements ITestRunSession {
 
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestElementMap();
+		fSwapFileValid= false;
 	}
 
 	@Override
@@ -287,6 +328,14 @@ public class TestRunSession implements ITestRunSession {
 		return fTestRoot;
 	}
 
+	/**
+	 * @return the model root, or <code>null</code> if swapped to disk; unlike
+	 *         {@link #getTestRoot()}, this neither swaps in nor locks the session
+	 */
+	TestRoot getLoadedTestRoot() {
+		return fTestRoot;
+	}
+
 	/*
 	 * @see org.eclipse.jdt.junit.model.ITestRunSession#getJavaProject()
 	 */
@@ -368,18 +417,28 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		try {
-			File swapFile= getSwapFile();
-
-			JUnitModel.exportTestRunSession(this, swapFile);
+			// the swap file is either still valid from the last swapIn() or was recorded while the session ran
+			boolean recorded= fSwapWriter != null && fSwapWriter.finish();
+			if (!fSwapFileValid && !recorded) {
+				int generation= getSwapFile().exists() ? fSwapFileGeneration + 1 : fSwapFileGeneration;
+				BinaryTestRunSessionWriter.writeSnapshot(this, getSwapFile(generation));
+				fSwapFileGeneration= generation;
+			}
+			if (fSwapWriter != null) {
+				removeTestSessionListener(fSwapWriter);
+				fSwapWriter= null;
+			}
+			fSwapFileValid= true;
+			closeFailureTraceStores();
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
-			fIdToTest= new HashMap<>();
+			fIdToTest= new TestElementMap();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
 
-		} catch (IllegalStateException | CoreException e) {
+		} catch (IllegalStateException | IOException e) {
 			JUnitCorePlugin.log(e);
 		}
 	}
@@ -389,17 +448,91 @@ public class TestRunSession implements ITestRunSession {
 	}
 
 
-	public void removeSwapFile() {
-		File swapFile= getSwapFile();
-		if (swapFile.exists())
-			swapFile.delete();
+	public synchronized void removeSwapFile() {
+		if (fSwapWriter != null) {
+			fSwapWriter.discard();
+		}
+		fSwapFileValid= false;
+		if (fTestRoot != null) {
+			// the session may still be shown
+			detachFailureDetails(fTestRoot);
+		}
+		disposeFailureTraceStores();
+		for (int generation= 0; generation <= fSwapFileGeneration; generation++) {
+			File swapFile= getSwapFile(generation);
+			if (swapFile.exists())
+				swapFile.delete();
+		}
+	}
+
+	/**
+	 * Stores the given failure details outside of the test element.
+	 *
+	 * @param trace the trace, can be <code>null</code>
+	 * @param expected the expected value, can be <code>null</code>
+	 * @param actual the actual value, can be <code>null</code>
+	 * @return the stored details, or <code>null</code> if they could not be stored
+	 */
+	synchronized FailureDetails storeFailureDetails(String trace, String expected, String actual) {
+		if (fFailureTraceStore == null) {
+			try {
+				File swapFile= getSwapFile();
+				fFailureTraceStore= FailureTraceStore.createWritable(new File(swapFile.getParentFile(), swapFile.getName() + FAILURE_TRACE_FILE_EXTENSION));
+			} catch (IllegalStateException e) {
+				return null;
+			}
+		}
+		return fFailureTraceStore.store(trace, expected, actual);
+	}
+
+	/**
+	 * Returns the store to load failure details of the given swap file from.
+	 *
+	 * @param swapFile the swap file
+	 * @return the store
+	 */
+	synchronized FailureTraceStore getSwapFileStore(File swapFile) {
+		return fSwapFileStores.computeIfAbsent(swapFile, FailureTraceStore::createReadOnly);
+	}
+
+	private void closeFailureTraceStores() {
+		if (fFailureTraceStore != null) {
+			fFailureTraceStore.close();
+		}
+		for (FailureTraceStore store : fSwapFileStores.values()) {
+			store.close();
+		}
+	}
+
+	private void disposeFailureTraceStores() {
+		if (fFailureTraceStore != null) {
+			fFailureTraceStore.dispose();
+			fFailureTraceStore= null;
+		}
+		for (FailureTraceStore store : fSwapFileStores.values()) {
+			store.dispose();
+		}
+		fSwapFileStores.clear();
+	}
+
+	private static void detachFailureDetails(TestElement testElement) {
+		testElement.detachFailureDetails();
+		if (testElement instanceof TestSuiteElement) {
+			for (TestElement child : ((TestSuiteElement) testElement).getChildElements()) {
+				detachFailureDetails(child);
+			}
+		}
+	}
+
+	File getSwapFile() throws IllegalStateException {
+		return getSwapFile(fSwapFileGeneration);
 	}
 
-	private File getSwapFile() throws IllegalStateException {
+	private File getSwapFile(int generation) throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
-		return new File(historyDir, swapFileName);
+		String swapFileName= generation == 0 ? isoTime : isoTime + '-' + generation;
+		return new File(historyDir, swapFileName + IBinarySessionFormat.FILE_EXTENSION);
 	}
 
 
@@ -408,8 +541,9 @@ public class TestRunSession implements ITestRunSession {
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
-		} catch (IllegalStateException | CoreException e) {
+			new BinaryTestRunSessionReader(getSwapFile(), this).read();
+			fSwapFileValid= true;
+		} catch (IllegalStateException | IOException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
 			fTestResult= null;
@@ -568,8 +702,10 @@ public class TestRunSession implements ITestRunSession {
 		if (parameterTypes != null && parameterTypes.length > 1) {
 			parameterTypes= Arrays.stream(parameterTypes).map(String::trim).toArray(String[]::new);
 		}
+		displayName= fStringPool.intern(displayName);
+		parameterTypes= fStringPool.intern(parameterTypes);
 		if (isSuite) {
-			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
+			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, fStringPool.intern(testName), testCount, displayName, parameterTypes, uniqueId);
 			testElement= testSuiteElement;
 			if (testCount > 0) {
 				fIncompleteTestSuites.add(new IncompleteTestSuite(testSuiteElement, testCount));
@@ -578,6 +714,8 @@ public class TestRunSession implements ITestRunSession {
 			}
 		} else {
 			testElement= new TestCaseElement(parent, id, testName, displayName, isDynamicTest, parameterTypes, uniqueId);
+			// the name of a test case is mostly unique, only its class name is shared
+			testElement.internClassName(fStringPool);
 		}
 		fIdToTest.put(id, testElement);
 		return testElement;
@@ -779,6 +917,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
+			fSwapFileValid= false;
 			TestElement testElement= getTestElement(testId);
 			if (testElement == null) {
 				testElement= createUnrootedTestElement(testId, testName);
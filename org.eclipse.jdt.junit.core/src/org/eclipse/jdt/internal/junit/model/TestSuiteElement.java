@@ -59,6 +59,13 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 		return new ITestElement[0];
 	}
 
+	/**
+	 * @return all children, including a single dynamic test that is filtered out by {@link #getChildren()}
+	 */
+	TestElement[] getChildElements() {
+		return fChildren.toArray(new TestElement[fChildren.size()]);
+	}
+
 	public void addChild(TestElement child) {
 		fChildren.add(child);
 	}
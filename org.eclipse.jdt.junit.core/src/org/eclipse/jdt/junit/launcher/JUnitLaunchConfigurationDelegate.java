@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -71,6 +71,7 @@ import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.JUnitRuntimeClasspathEntry;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 import org.eclipse.jdt.internal.junit.util.IJUnitStatusConstants;
 
@@ -435,6 +436,10 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.add("-port"); //$NON-NLS-1$
 		programArguments.add(String.valueOf(fPort));
 
+		// runtimes that do not know the batched protocol ignore the argument and use the line protocol
+		programArguments.add("-protocolVersion"); //$NON-NLS-1$
+		programArguments.add(String.valueOf(MessageIds.PROTOCOL_VERSION_BATCHED));
+
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A message sender for the batched protocol (see
+ * {@link MessageIds#PROTOCOL_VERSION_BATCHED}).
+ * <p>
+ * Messages are encoded into an in-memory frame. A frame is handed to a writer
+ * thread once it is large enough, once its oldest event is older than the
+ * maximum latency, or when a run level message (end, stop, rerun) is sent.
+ * Test threads therefore never block on the socket.
+ * </p>
+ * <p>
+ * Test start, end, error and failure messages are sent with the int test id
+ * from the {@link TestIdMap}. Test names are sent only once and referenced by
+ * their index in a string table afterwards.
+ * </p>
+ */
+public class BatchedMessageSender implements MessageSender {
+
+	/**
+	 * Maximum size of a frame in bytes before it is sent.
+	 */
+	private static final int MAX_FRAME_SIZE= 32 * 1024;
+
+	/**
+	 * Maximum time in milliseconds an event waits in a frame before it is sent.
+	 */
+	private static final long MAX_LATENCY= 50;
+
+	private static final int FRAME_HEADER_SIZE= 8;
+
+	private static final byte[] CLOSE= new byte[0];
+
+	private final DataOutputStream fOutput;
+
+	private final LinkedBlockingQueue<byte[]> fFrames= new LinkedBlockingQueue<>();
+
+	private final HashMap<String, Integer> fStrings= new HashMap<>();
+
+	private final Thread fWriterThread;
+
+	private ByteArrayOutputStream fFrameBytes;
+
+	private DataOutputStream fFrame;
+
+	private int fEventCount;
+
+	private long fFirstEventTime;
+
+	private boolean fClosed;
+
+	private volatile IOException fWriteError;
+
+	/**
+	 * Reads frames from the queue and writes them to the stream.
+	 */
+	private class WriterThread extends Thread {
+		public WriterThread() {
+			super("BatchedMessageWriter"); //$NON-NLS-1$
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					byte[] frame= fFrames.poll(MAX_LATENCY, TimeUnit.MILLISECONDS);
+					if (frame == null)
+						frame= takeExpiredFrame();
+					if (frame == CLOSE)
+						break;
+					if (frame != null) {
+						fOutput.write(frame);
+						if (fFrames.isEmpty())
+							fOutput.flush();
+					}
+				}
+				fOutput.flush();
+			} catch (IOException e) {
+				fWriteError= e;
+			} catch (InterruptedException e) {
+				// stop writing
+			}
+		}
+	}
+
+	/**
+	 * Creates a sender and writes the protocol header.
+	 *
+	 * @param output the stream to write to
+	 * @throws IOException if the header cannot be written
+	 */
+	public BatchedMessageSender(OutputStream output) throws IOException {
+		fOutput= new DataOutputStream(output);
+		fOutput.writeInt(MessageIds.BATCHED_PROTOCOL_MAGIC);
+		fOutput.writeInt(MessageIds.PROTOCOL_VERSION_BATCHED);
+		writeString(fOutput, System.lineSeparator());
+		fOutput.flush();
+		newFrame();
+		fWriterThread= new WriterThread();
+		fWriterThread.start();
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		if (fClosed)
+			return;
+		try {
+			startEvent(MessageIds.EVENT_MESSAGE);
+			writeString(fFrame, String.valueOf(msg));
+			endEvent(isRunLevelMessage(msg));
+		} catch (IOException e) {
+			// cannot happen for a ByteArrayOutputStream
+		}
+	}
+
+	/**
+	 * Sends a test start, end, error or failure message.
+	 *
+	 * @param status one of {@link MessageIds#TEST_START}, {@link MessageIds#TEST_END},
+	 *            {@link MessageIds#TEST_ERROR} and {@link MessageIds#TEST_FAILED}
+	 * @param testId the id of the test
+	 * @param testName the escaped name of the test
+	 */
+	public synchronized void sendTestMessage(String status, int testId, String testName) {
+		byte event= getEvent(status);
+		if (event == MessageIds.EVENT_MESSAGE) {
+			sendMessage(status + testId + ',' + testName);
+			return;
+		}
+		if (fClosed)
+			return;
+		try {
+			startEvent(event);
+			fFrame.writeInt(testId);
+			writeStringReference(testName);
+			endEvent(false);
+		} catch (IOException e) {
+			// cannot happen for a ByteArrayOutputStream
+		}
+	}
+
+	/**
+	 * Does not send the pending messages immediately. They are sent when the
+	 * frame is full, or at the latest after the maximum latency.
+	 */
+	@Override
+	public void flush() {
+		// batched
+	}
+
+	/**
+	 * Sends the pending messages and waits until they are written.
+	 */
+	public void close() {
+		synchronized (this) {
+			if (fClosed)
+				return;
+			fClosed= true;
+			if (fEventCount > 0)
+				fFrames.add(takeFrame());
+			fFrames.add(CLOSE);
+		}
+		try {
+			fWriterThread.join();
+		} catch (InterruptedException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * @return the error that stopped the writer thread, or <code>null</code>
+	 */
+	public IOException getWriteError() {
+		return fWriteError;
+	}
+
+	private void startEvent(byte event) throws IOException {
+		if (fEventCount == 0)
+			fFirstEventTime= System.currentTimeMillis();
+		fFrame.writeByte(event);
+	}
+
+	private void endEvent(boolean sendNow) {
+		fEventCount++;
+		if (sendNow || fFrameBytes.size() >= MAX_FRAME_SIZE)
+			fFrames.add(takeFrame());
+	}
+
+	private synchronized byte[] takeExpiredFrame() {
+		if (fEventCount == 0 || System.currentTimeMillis() - fFirstEventTime < MAX_LATENCY)
+			return null;
+		return takeFrame();
+	}
+
+	private byte[] takeFrame() {
+		byte[] frame= fFrameBytes.toByteArray();
+		int length= frame.length - 4;
+		frame[0]= (byte) (length >>> 24);
+		frame[1]= (byte) (length >>> 16);
+		frame[2]= (byte) (length >>> 8);
+		frame[3]= (byte) length;
+		frame[4]= (byte) (fEventCount >>> 24);
+		frame[5]= (byte) (fEventCount >>> 16);
+		frame[6]= (byte) (fEventCount >>> 8);
+		frame[7]= (byte) fEventCount;
+		newFrame();
+		return frame;
+	}
+
+	private void newFrame() {
+		fFrameBytes= new ByteArrayOutputStream(1024);
+		fFrame= new DataOutputStream(fFrameBytes);
+		fFrameBytes.write(new byte[FRAME_HEADER_SIZE], 0, FRAME_HEADER_SIZE);
+		fEventCount= 0;
+	}
+
+	private void writeStringReference(String s) throws IOException {
+		Integer index= fStrings.get(s);
+		if (index != null) {
+			fFrame.writeInt(index.intValue());
+		} else {
+			fStrings.put(s, Integer.valueOf(fStrings.size()));
+			fFrame.writeInt(MessageIds.STRING_NEW);
+			writeString(fFrame, s);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte getEvent(String status) {
+		if (MessageIds.TEST_START.equals(status))
+			return MessageIds.EVENT_TEST_START;
+		if (MessageIds.TEST_END.equals(status))
+			return MessageIds.EVENT_TEST_END;
+		if (MessageIds.TEST_ERROR.equals(status))
+			return MessageIds.EVENT_TEST_ERROR;
+		if (MessageIds.TEST_FAILED.equals(status))
+			return MessageIds.EVENT_TEST_FAILED;
+		return MessageIds.EVENT_MESSAGE;
+	}
+
+	private static boolean isRunLevelMessage(String msg) {
+		return msg != null && (msg.startsWith(MessageIds.TEST_RUN_END)
+				|| msg.startsWith(MessageIds.TEST_STOPPED)
+				|| msg.startsWith(MessageIds.TEST_RERAN));
+	}
+}
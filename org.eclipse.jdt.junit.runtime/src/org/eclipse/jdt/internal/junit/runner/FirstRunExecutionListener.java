@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -64,6 +64,10 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 	}
 
 	private void sendMessage(ITestIdentifier test, String status) {
+		if (fSender instanceof BatchedMessageSender) {
+			((BatchedMessageSender) fSender).sendTestMessage(status, fIds.getIntTestId(test), RemoteTestRunner.escapeText(test.getName()));
+			return;
+		}
 		fSender.sendMessage(status + getTestId(test) + ',' + RemoteTestRunner.escapeText(test.getName()));
 	}
 
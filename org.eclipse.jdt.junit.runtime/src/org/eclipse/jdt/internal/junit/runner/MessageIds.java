@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -149,6 +149,56 @@ public class MessageIds {
 	 */
 	public static final String ASSUMPTION_FAILED_TEST_PREFIX= "@AssumptionFailure: "; //$NON-NLS-1$
 
+	/**
+	 * Version of the line based protocol. Every message is sent as a single
+	 * line of text.
+	 */
+	public static final int PROTOCOL_VERSION_LINE= 2;
+
+	/**
+	 * Version of the batched protocol. The client offers it with the
+	 * <code>-protocolVersion</code> argument. A runner that accepts it starts the
+	 * stream with {@link #BATCHED_PROTOCOL_MAGIC}, the version and its line
+	 * delimiter, followed by frames of the form
+	 * <code>[int length][int eventCount][events]</code>.
+	 * See {@link BatchedMessageSender}.
+	 */
+	public static final int PROTOCOL_VERSION_BATCHED= 3;
+
+	/**
+	 * Magic number that starts a stream in the batched protocol. The first byte
+	 * never starts a message of the line protocol.
+	 */
+	public static final int BATCHED_PROTOCOL_MAGIC= 0xCA4A5554;
+
+	/**
+	 * Batched event carrying a message of the line protocol:
+	 * EVENT_MESSAGE + string
+	 */
+	public static final byte EVENT_MESSAGE= 0;
+	/**
+	 * Batched event for {@link #TEST_START}: EVENT_TEST_START + testId + name
+	 */
+	public static final byte EVENT_TEST_START= 1;
+	/**
+	 * Batched event for {@link #TEST_END}: EVENT_TEST_END + testId + name
+	 */
+	public static final byte EVENT_TEST_END= 2;
+	/**
+	 * Batched event for {@link #TEST_ERROR}: EVENT_TEST_ERROR + testId + name
+	 */
+	public static final byte EVENT_TEST_ERROR= 3;
+	/**
+	 * Batched event for {@link #TEST_FAILED}: EVENT_TEST_FAILED + testId + name
+	 */
+	public static final byte EVENT_TEST_FAILED= 4;
+
+	/**
+	 * Reference to a string that has not been sent before. The index is
+	 * followed by the string, which is added to the string table.
+	 */
+	public static final int STRING_NEW= -1;
+
 	private MessageIds() {
 	}
 }
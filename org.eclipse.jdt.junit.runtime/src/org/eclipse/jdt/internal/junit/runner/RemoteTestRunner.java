@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.runner;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -136,6 +137,16 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private boolean fConsoleMode = false;
 
+	/**
+	 * The highest protocol version supported by the client (argument -protocolVersion)
+	 */
+	private int fProtocolVersion= MessageIds.PROTOCOL_VERSION_LINE;
+
+	/**
+	 * Sender for the batched protocol, or <code>null</code> if the line protocol is used
+	 */
+	private BatchedMessageSender fBatchedSender;
+
 	/**
 	 * Reader thread that processes messages from the client.
 	 */
@@ -201,6 +212,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -protocolVersion: the highest protocol version supported by the client
      * </pre>
      */
 	public static void main(String[] args) {
@@ -293,6 +305,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 				fHost= args[i+1];
 				i++;
 			}
+			else if("-protocolversion".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				fProtocolVersion= Integer.parseInt(args[i+1]);
+				i++;
+			}
 			else if("-rerun".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fRerunTest= args[i+1];
 				i++;
@@ -648,11 +664,16 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
-				try {
-				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), "UTF-8")), false/*true*/); //$NON-NLS-1$
-	            } catch (UnsupportedEncodingException e1) {
-	                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
-	            }
+				if (fProtocolVersion >= MessageIds.PROTOCOL_VERSION_BATCHED && fSender == this) {
+					fBatchedSender= new BatchedMessageSender(new BufferedOutputStream(fClientSocket.getOutputStream(), 64 * 1024));
+					setMessageSender(fBatchedSender);
+				} else {
+					try {
+					    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), "UTF-8")), false/*true*/); //$NON-NLS-1$
+		            } catch (UnsupportedEncodingException e1) {
+		                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
+		            }
+				}
 				try {
 				    fReader= new BufferedReader(new InputStreamReader(fClientSocket.getInputStream(), "UTF-8")); //$NON-NLS-1$
                 } catch (UnsupportedEncodingException e1) {
@@ -677,6 +698,13 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fBatchedSender != null) {
+			fBatchedSender.close();
+			if (fDebugMode && fBatchedSender.getWriteError() != null)
+				fBatchedSender.getWriteError().printStackTrace();
+			setMessageSender(this);
+			fBatchedSender= null;
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
@@ -750,7 +778,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void flush() {
-	    fWriter.flush();
+		if (fWriter != null)
+			fWriter.flush();
 	}
 
 	public void runTests(TestExecution execution) {
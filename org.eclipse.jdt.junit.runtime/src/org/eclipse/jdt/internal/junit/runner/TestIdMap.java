@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,16 +19,24 @@ package org.eclipse.jdt.internal.junit.runner;
 import java.util.HashMap;
 
 public class TestIdMap {
-	private HashMap<ITestIdentifier, String> fIdMap= new HashMap<>();
+	private HashMap<ITestIdentifier, Integer> fIdMap= new HashMap<>();
 
 	private int fNextId= 1;
 
 	public String getTestId(ITestIdentifier identifier) {
-		Object id= fIdMap.get(identifier);
+		return Integer.toString(getIntTestId(identifier));
+	}
+
+	/**
+	 * @param identifier the test identifier
+	 * @return the id of the test, a new id is assigned on first access
+	 */
+	public int getIntTestId(ITestIdentifier identifier) {
+		Integer id= fIdMap.get(identifier);
 		if (id != null)
-			return (String) id;
-		String newId= Integer.toString(fNextId++);
-		fIdMap.put(identifier, newId);
+			return id.intValue();
+		int newId= fNextId++;
+		fIdMap.put(identifier, Integer.valueOf(newId));
 		return newId;
 	}
 
@@ -774,17 +774,11 @@ public class TestRunnerViewPart extends ViewPart {
 					JavaCore.addElementChangedListener(fDirtyListener);
 				}
 				warnOfContentChange();
+				// When test session ended, apply user sorting criterion
+				setSortingCriterion(fSortingCriterion);
 			});
 			stopUpdateJobs();
 			logMessageIfNoTests();
-
-			// When test session ended, apply user sorting criterion
-			getDisplay().asyncExec(new Runnable() {
-				@Override
-				public void run() {
-					setSortingCriterion(fSortingCriterion);
-				}
-			});
 		}
 
 		@Override
@@ -21,13 +21,20 @@
 package org.eclipse.jdt.internal.junit.ui;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.junit.model.ITestElement;
@@ -217,13 +224,19 @@ public class TestViewer {
 
 	private TestRunSession fTestRunSession;
 
-	private boolean fTreeNeedsRefresh;
-	private boolean fTableNeedsRefresh;
-	private HashSet<TestElement> fNeedUpdate;
-	private TestCaseElement fAutoScrollTarget;
+	/*
+	 * The register* methods are called from the thread that reads the test run. They only
+	 * queue the changes without locking, and processChangesInUI() applies all changes
+	 * queued since the last call to the viewers at once.
+	 */
+	private volatile boolean fTreeNeedsRefresh;
+	private volatile boolean fTableNeedsRefresh;
+	private final Queue<TestElement> fNeedUpdate= new ConcurrentLinkedQueue<>();
+	private final Queue<TestElement> fAdded= new ConcurrentLinkedQueue<>();
+	private volatile TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
-	private HashSet<TestSuiteElement> fAutoExpand;
+	private final Set<TestSuiteElement> fAutoExpand= ConcurrentHashMap.newKeySet();
 
 
 	public TestViewer(Composite parent, Clipboard clipboard, TestRunnerViewPart runner) {
@@ -250,7 +263,8 @@ public class TestViewer {
 		fTreeLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
 		fTreeViewer.setLabelProvider(new ColoringLabelProvider(fTreeLabelProvider));
 
-		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE);
+		// the flat layout lists every test case, only create the items that become visible
+		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTableViewer.setUseHashlookup(true);
 		fTableContentProvider= new TestSessionTableContentProvider();
 		fTableViewer.setContentProvider(fTableContentProvider);
@@ -693,6 +707,12 @@ public class TestViewer {
 
 		testRoot= fTestRunSession.getTestRoot();
 
+		// added tests reach the tree also when only the table is refreshed
+		List<TestElement> added= drain(fAdded);
+		if (! added.isEmpty()) {
+			addElementsInUI(added);
+		}
+
 		StructuredViewer viewer= getActiveViewer();
 		if (getActiveViewerNeedsRefresh()) {
 			clearUpdateAndExpansion();
@@ -700,11 +720,7 @@ public class TestViewer {
 			viewer.setInput(testRoot);
 
 		} else {
-			Object[] toUpdate;
-			synchronized (this) {
-				toUpdate= fNeedUpdate.toArray();
-				fNeedUpdate.clear();
-			}
+			Object[] toUpdate= new LinkedHashSet<>(drain(fNeedUpdate)).toArray();
 			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
 				if (fTreeHasFilter)
 					for (Object element : toUpdate)
@@ -732,6 +748,50 @@ public class TestViewer {
 		autoScrollInUI();
 	}
 
+	private static List<TestElement> drain(Queue<TestElement> queue) {
+		List<TestElement> elements= new ArrayList<>();
+		TestElement element;
+		while ((element= queue.poll()) != null) {
+			elements.add(element);
+		}
+		return elements;
+	}
+
+	/**
+	 * Adds the tests added to the session since the last update to the tree with one call per
+	 * parent, so the tree is not rebuilt while a large session reports its tests. The flat
+	 * layout is virtual and is cheap to refresh.
+	 *
+	 * @param added the added tests, parents before their children
+	 */
+	private void addElementsInUI(List<TestElement> added) {
+		fTableNeedsRefresh= true;
+		if (fTreeNeedsRefresh) {
+			return;
+		}
+		if (fTreeHasFilter) {
+			// whether the filter shows an added test depends on its status, refresh the tree
+			fTreeNeedsRefresh= true;
+			return;
+		}
+		Map<TestSuiteElement, List<TestElement>> addedByParent= new LinkedHashMap<>();
+		for (TestElement element : added) {
+			TestSuiteElement parent= element.getParent();
+			if (parent != null && fTreeViewer.testFindItem(element) == null) {
+				addedByParent.computeIfAbsent(parent, p -> new ArrayList<>()).add(element);
+			}
+		}
+		Control control= fTreeViewer.getControl();
+		control.setRedraw(false);
+		try {
+			for (Map.Entry<TestSuiteElement, List<TestElement>> entry : addedByParent.entrySet()) {
+				fTreeViewer.add(entry.getKey(), entry.getValue().toArray());
+			}
+		} finally {
+			control.setRedraw(true);
+		}
+	}
+
 	private void updateElementInTree(final TestElement testElement) {
 		if (isShown(testElement)) {
 			updateShownElementInTree(testElement);
@@ -800,12 +860,10 @@ public class TestViewer {
 			return;
 		}
 
-		synchronized (this) {
-			for (TestSuiteElement suite : fAutoExpand) {
-				fTreeViewer.setExpandedState(suite, true);
-			}
-			clearAutoExpand();
+		for (TestSuiteElement suite : fAutoExpand) {
+			fTreeViewer.setExpandedState(suite, true);
 		}
+		clearAutoExpand();
 
 		TestCaseElement current= fAutoScrollTarget;
 		fAutoScrollTarget= null;
@@ -926,29 +984,28 @@ public class TestViewer {
 	public synchronized void registerViewersRefresh() {
 		fTreeNeedsRefresh= true;
 		fTableNeedsRefresh= true;
+		fAdded.clear();
 		clearUpdateAndExpansion();
 	}
 
 	private void clearUpdateAndExpansion() {
-		fNeedUpdate= new LinkedHashSet<>();
+		fNeedUpdate.clear();
 		fAutoClose= new LinkedList<>();
-		fAutoExpand= new HashSet<>();
+		fAutoExpand.clear();
 	}
 
 	/**
 	 * @param testElement the added test
 	 */
-	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
-		fTableNeedsRefresh= true;
+	public void registerTestAdded(TestElement testElement) {
+		fAdded.add(testElement);
 	}
 
-	public synchronized void registerViewerUpdate(final TestElement testElement) {
+	public void registerViewerUpdate(final TestElement testElement) {
 		fNeedUpdate.add(testElement);
 	}
 
-	private synchronized void clearAutoExpand() {
+	private void clearAutoExpand() {
 		fAutoExpand.clear();
 	}
 
@@ -956,7 +1013,7 @@ public class TestViewer {
 		fAutoScrollTarget= testCaseElement;
 	}
 
-	public synchronized void registerFailedForAutoScroll(TestElement testElement) {
+	public void registerFailedForAutoScroll(TestElement testElement) {
 		TestSuiteElement parent= (TestSuiteElement) fTreeContentProvider.getParent(testElement);
 		if (parent != null)
 			fAutoExpand.add(parent);
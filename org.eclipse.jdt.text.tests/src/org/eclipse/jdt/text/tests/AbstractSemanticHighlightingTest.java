@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -151,6 +151,18 @@ public class AbstractSemanticHighlightingTest {
 		EditorTestHelper.runEventQueue(100);
 	}
 
+	protected void replaceAndReconcile(Position position, String text) throws BadLocationException {
+		fSourceViewer.getDocument().replace(position.getOffset(), position.getLength(), text);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+	}
+
+	protected void forceReconcile() {
+		EditorTestHelper.forceReconcile(fSourceViewer);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+	}
+
 	private void enableSemanticHighlighting(String preferenceKey) {
 		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
 		store.setValue(getEnabledPreferenceKey(preferenceKey), true);
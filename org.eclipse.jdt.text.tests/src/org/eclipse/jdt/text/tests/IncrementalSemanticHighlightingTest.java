@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+
+/**
+ * Tests that reconciling the semantic highlighting after an edit gives the same positions as
+ * reconciling the whole compilation unit.
+ */
+public class IncrementalSemanticHighlightingTest extends AbstractSemanticHighlightingTest {
+	@Rule
+	public SemanticHighlightingTestSetup shts= new SemanticHighlightingTestSetup("/SHTest/src/SHTest.java");
+
+	@Override
+	@Before
+	public void before() throws Exception {
+		super.before();
+		setUpSemanticHighlighting(SemanticHighlightings.FIELD);
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE_DECLARATION);
+	}
+
+	private void assertEqualToFullReconcile() throws Exception {
+		Position[] actual= getSemanticHighlightingPositions();
+		forceReconcile();
+		assertEqualPositions(getSemanticHighlightingPositions(), actual);
+	}
+
+	private static boolean contains(Position[] positions, Position position) {
+		for (Position current : positions) {
+			if (current.getOffset() == position.getOffset() && current.getLength() == position.getLength())
+				return true;
+		}
+		return false;
+	}
+
+	@Test
+	public void editInsideMethodBody() throws Exception {
+		replaceAndReconcile(createPosition(9, 2, 0), "int other= field;\n\t\t");
+		Position[] positions= getSemanticHighlightingPositions();
+		assertTrue(contains(positions, createPosition(9, 6, 5)));
+		assertTrue(contains(positions, createPosition(9, 13, 5)));
+		assertEqualToFullReconcile();
+	}
+
+	@Test
+	public void editFieldDeclaration() throws Exception {
+		replaceAndReconcile(createPosition(3, 5, 5), "renamed");
+		assertEqualToFullReconcile();
+	}
+
+	@Test
+	public void editChangingMembers() throws Exception {
+		replaceAndReconcile(createPosition(9, 2, 0), "}\n\tvoid inserted() {\n\t\tint other= field;\n\t\t");
+		assertEqualToFullReconcile();
+	}
+
+	@Test
+	public void editInsideLambdaBody() throws Exception {
+		replaceAndReconcile(createPosition(9, 2, 0), "Runnable r= () -> {\n\t\t};\n\t\t");
+		replaceAndReconcile(createPosition(10, 2, 0), "\tint inLambda= field;\n\t\t");
+		assertEqualToFullReconcile();
+	}
+}
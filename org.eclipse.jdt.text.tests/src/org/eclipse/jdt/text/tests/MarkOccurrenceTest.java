@@ -19,7 +19,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -60,11 +62,20 @@ import org.eclipse.ui.texteditor.AnnotationPreference;
 
 import org.eclipse.ui.editors.text.EditorsUI;
 
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesIndex;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.viewsupport.ISelectionListenerWithAST;
 import org.eclipse.jdt.internal.ui.viewsupport.SelectionListenerWithASTManager;
@@ -177,6 +188,46 @@ public class MarkOccurrenceTest {
 
 		assertOccurrences(8);
 		assertOccurrencesInWidget();
+		assertTrue(fEditor.getOccurrencesUpdateTime() > 0);
+	}
+
+	@Test
+	public void markOccurrencesFromIndex() {
+		ITypeRoot typeRoot= EditorUtility.getEditorInputJavaElement(fEditor, false);
+		assertNotNull(typeRoot);
+		CompilationUnit astRoot= SharedASTProviderCore.getAST(typeRoot, SharedASTProviderCore.WAIT_YES, null);
+		assertNotNull(astRoot);
+
+		List<SimpleName> names= new ArrayList<>();
+		astRoot.accept(new ASTVisitor(true) {
+			@Override
+			public boolean visit(SimpleName node) {
+				names.add(node);
+				return true;
+			}
+		});
+		assertTrue(names.size() > 100);
+
+		OccurrencesIndex index= OccurrencesIndex.create(astRoot);
+		for (SimpleName name : names) {
+			OccurrencesFinder searching= new OccurrencesFinder();
+			OccurrencesFinder indexed= new OccurrencesFinder(index);
+			String status= searching.initialize(astRoot, name);
+			assertEquals(status, indexed.initialize(astRoot, name));
+			if (status == null) {
+				assertEquals(name.getIdentifier(), asString(searching.getOccurrences()), asString(indexed.getOccurrences()));
+			}
+		}
+	}
+
+	private static String asString(OccurrenceLocation[] locations) {
+		if (locations == null)
+			return "null";
+		StringBuilder buf= new StringBuilder();
+		for (OccurrenceLocation location : locations) {
+			buf.append(location).append(" flags=").append(location.getFlags()).append('\n');
+		}
+		return buf.toString();
 	}
 
 	@Test
@@ -148,6 +148,46 @@ public class ChainCompletionTest {
 		assertEquals("getBar().getBaz() - 2 elements", proposals.get(0).getDisplayString());
 	}
 
+	@Test
+	public void testNewMemberAfterPreviousSearch() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Foo {\n" +
+				"  public Bar getBar() {\n" +
+				"    return new Bar();\n" +
+				"  }\n" +
+				"  \n" +
+				"  public class Bar {\n" +
+				"    Baz getBaz () {\n" +
+				"      return new Baz();\n" +
+				"    }\n" +
+				"  }\n" +
+				"  \n" +
+				"  public class Baz {\n" +
+				"  }\n" +
+				"\n" +
+				"  public static void mainMethod () {\n" +
+				"    Foo f = new Foo();\n" +
+				"    Baz b = f.$\n" +
+				"  }\n" +
+				"\n" +
+				"}");
+
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		List<ICompletionProposal> proposals= computeCompletionProposals(cu, completionIndex);
+		assertEquals(1, proposals.size());
+
+		// the members of Bar are cached across searches until its structure changes
+		cu.getType("Foo").getType("Bar").createMethod("Baz getOtherBaz() {\n      return new Baz();\n    }\n", null, true, null);
+		completionIndex= cu.getSource().indexOf("f.\n") + 2;
+
+		proposals= computeCompletionProposals(cu, completionIndex);
+		assertEquals(2, proposals.size());
+		assertProposalsExist(Arrays.asList("getBar().getBaz() - 2 elements", "getBar().getOtherBaz() - 2 elements"), proposals);
+	}
+
 	@Test
 	public void testPrimitiveCompletion() throws Exception {
 		StringBuffer buf= new StringBuffer();
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.AbstractSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.RankedWordProposal;
+
+public class CompiledSpellDictionaryTest {
+
+	private class CompiledDictionary extends AbstractSpellDictionary {
+
+		@Override
+		public void addWord(String word) {
+			hashWord(word);
+		}
+
+		@Override
+		protected URL getURL() throws MalformedURLException {
+			return fWordList.toURI().toURL();
+		}
+
+		@Override
+		protected File getCompiledDictionaryFile() {
+			return fCompiledFile;
+		}
+
+		@Override
+		protected String getEncoding() {
+			return "UTF-8"; //$NON-NLS-1$
+		}
+	}
+
+	@Rule
+	public TemporaryFolder fFolder= new TemporaryFolder();
+
+	private File fWordList;
+
+	private File fCompiledFile;
+
+	@Before
+	public void setUp() throws IOException {
+		fWordList= fFolder.newFile("words.dictionary"); //$NON-NLS-1$
+		fCompiledFile= new File(fFolder.getRoot(), "compiled/words.dictionary.bin"); //$NON-NLS-1$
+		writeWordList("truck", "trick", "lorry", "lastwagen", "\u00FCber"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	private void writeWordList(String... words) throws IOException {
+		Files.write(fWordList.toPath(), String.join("\n", words).getBytes("UTF-8")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static boolean contains(Set<RankedWordProposal> proposals, String word) {
+		for (RankedWordProposal proposal : proposals) {
+			if (proposal.getText().equals(word))
+				return true;
+		}
+		return false;
+	}
+
+	@Test
+	public void testCompiledOnFirstUse() {
+		CompiledDictionary dictionary= new CompiledDictionary();
+		assertFalse(fCompiledFile.exists());
+
+		assertTrue(dictionary.isCorrect("truck")); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("Lorry")); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("\u00FCber")); //$NON-NLS-1$
+		assertFalse(dictionary.isCorrect("truk")); //$NON-NLS-1$
+		assertTrue(fCompiledFile.isFile());
+	}
+
+	@Test
+	public void testReusesCompiledImage() {
+		new CompiledDictionary().isCorrect("truck"); //$NON-NLS-1$
+		long modified= fCompiledFile.lastModified();
+
+		CompiledDictionary dictionary= new CompiledDictionary();
+		assertTrue(dictionary.isCorrect("lastwagen")); //$NON-NLS-1$
+		assertFalse(dictionary.isCorrect("lastw\u00E4gen")); //$NON-NLS-1$
+		assertTrue(dictionary.isLoaded());
+		assertEquals(modified, fCompiledFile.lastModified());
+
+		Set<RankedWordProposal> proposals= dictionary.getProposals("truk", false); //$NON-NLS-1$
+		assertTrue(contains(proposals, "truck")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRecompilesChangedWordList() throws IOException {
+		assertFalse(new CompiledDictionary().isCorrect("camion")); //$NON-NLS-1$
+
+		writeWordList("truck", "camion"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		CompiledDictionary dictionary= new CompiledDictionary();
+		assertTrue(dictionary.isCorrect("camion")); //$NON-NLS-1$
+		assertFalse(dictionary.isCorrect("lorry")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testAddedWordsOverlayImage() {
+		CompiledDictionary dictionary= new CompiledDictionary();
+		assertFalse(dictionary.isCorrect("trucker")); //$NON-NLS-1$
+
+		dictionary.addWord("trucker"); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("trucker")); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("truck")); //$NON-NLS-1$
+
+		dictionary.unload();
+		assertFalse(dictionary.isCorrect("trucker")); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("truck")); //$NON-NLS-1$
+	}
+}
@@ -37,6 +37,7 @@ import org.junit.runners.Suite;
 	ExtractTempTests1d7.class,
 	ExtractTempTests1d8.class,
 	RenameTempTests.class,
+	RenameAnalyzeUtilTests.class,
 	ExtractConstantTests.class,
 	PromoteTempToFieldTests.class,
 	PromoteTempToFieldTests1d8.class,
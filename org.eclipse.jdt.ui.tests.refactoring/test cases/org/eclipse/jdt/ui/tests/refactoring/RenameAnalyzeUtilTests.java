@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
+import org.eclipse.jdt.internal.corext.refactoring.rename.RenameAnalyzeUtil;
+import org.eclipse.jdt.internal.corext.refactoring.rename.RenameAnalyzeUtil.LocalAnalyzePackage;
+import org.eclipse.jdt.internal.corext.refactoring.rename.RenameAnalyzeUtil.LocalAnalyzeUnit;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests the batched analysis of local variable renames in
+ * {@link RenameAnalyzeUtil#analyzeLocalRenames(List, boolean, org.eclipse.core.runtime.IProgressMonitor)}.
+ */
+public class RenameAnalyzeUtilTests extends GenericRefactoringTest {
+
+	private IJavaProject fProject2;
+	private IPackageFragment fPackageR;
+
+	public RenameAnalyzeUtilTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		fProject2= JavaProjectHelper.createJavaProject("TestProject2", "bin");
+		JavaProjectHelper.addRTJar(fProject2);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject2, "src");
+		fPackageR= root.createPackageFragment("r", true, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject2);
+	}
+
+	private static class Rename {
+		final LocalAnalyzePackage[] fPackages;
+		final CompilationUnitChange fChange;
+		final CompilationUnit fOldCUNode;
+
+		Rename(LocalAnalyzePackage[] packages, CompilationUnitChange change, CompilationUnit oldCUNode) {
+			fPackages= packages;
+			fChange= change;
+			fOldCUNode= oldCUNode;
+		}
+
+		LocalAnalyzeUnit toUnit() {
+			return new LocalAnalyzeUnit(fPackages, fChange, fOldCUNode);
+		}
+
+		RefactoringStatus analyze() throws Exception {
+			return RenameAnalyzeUtil.analyzeLocalRenames(fPackages, fChange, fOldCUNode, false);
+		}
+	}
+
+	/**
+	 * Renames all occurrences of the local variable <code>foo</code> to <code>bar</code>, the
+	 * first occurrence is the declaration.
+	 */
+	private static Rename renameFoo(IPackageFragment pack, String name, String source) throws Exception {
+		ICompilationUnit cu= createCU(pack, name + ".java", source);
+		CompilationUnit oldCUNode= new RefactoringASTParser(AST.getJLSLatest()).parse(cu, true);
+
+		CompilationUnitChange change= new CompilationUnitChange(name, cu);
+		change.setEdit(new MultiTextEdit());
+		change.setKeepPreviewEdits(true);
+		List<TextEdit> edits= new ArrayList<>();
+		for (int offset= source.indexOf("foo"); offset != -1; offset= source.indexOf("foo", offset + 1)) {
+			TextEdit edit= new ReplaceEdit(offset, 3, "bar");
+			TextChangeCompatibility.addTextEdit(change, "", edit);
+			edits.add(edit);
+		}
+		LocalAnalyzePackage analyzePackage= new LocalAnalyzePackage(edits.get(0), edits.toArray(new TextEdit[edits.size()]));
+		return new Rename(new LocalAnalyzePackage[] { analyzePackage }, change, oldCUNode);
+	}
+
+	private static List<String> getMessages(RefactoringStatus status) {
+		List<String> messages= new ArrayList<>();
+		for (RefactoringStatusEntry entry : status.getEntries()) {
+			messages.add(entry.getSeverity() + " " + entry.getMessage());
+		}
+		return messages;
+	}
+
+	@Test
+	public void testUnitsOfTwoProjects() throws Exception {
+		List<Rename> renames= new ArrayList<>();
+		renames.add(renameFoo(getPackageP(), "A",
+				"package p;\n"
+				+ "class A {\n"
+				+ "    void m() {\n"
+				+ "        int foo= 1;\n"
+				+ "        foo++;\n"
+				+ "    }\n"
+				+ "}\n"));
+		// duplicate local variable
+		renames.add(renameFoo(getPackageP(), "B",
+				"package p;\n"
+				+ "class B {\n"
+				+ "    void m() {\n"
+				+ "        int foo= 1;\n"
+				+ "        int bar= 2;\n"
+				+ "        foo= bar;\n"
+				+ "    }\n"
+				+ "}\n"));
+		renames.add(renameFoo(fPackageR, "C",
+				"package r;\n"
+				+ "class C {\n"
+				+ "    void m() {\n"
+				+ "        int foo= 1;\n"
+				+ "        System.out.println(foo);\n"
+				+ "    }\n"
+				+ "}\n"));
+		// the local variable shadows the field
+		renames.add(renameFoo(fPackageR, "D",
+				"package r;\n"
+				+ "class D {\n"
+				+ "    int bar;\n"
+				+ "    void m() {\n"
+				+ "        int foo= 1;\n"
+				+ "        bar= foo;\n"
+				+ "    }\n"
+				+ "}\n"));
+
+		List<LocalAnalyzeUnit> units= new ArrayList<>();
+		RefactoringStatus expected= new RefactoringStatus();
+		for (Rename rename : renames) {
+			units.add(rename.toUnit());
+			expected.merge(rename.analyze());
+		}
+		assertTrue(renames.get(0).analyze().isOK());
+		assertTrue(renames.get(1).analyze().hasError());
+		assertTrue(renames.get(2).analyze().isOK());
+		assertTrue(renames.get(3).analyze().hasError());
+
+		RefactoringStatus status= RenameAnalyzeUtil.analyzeLocalRenames(units, false, new NullProgressMonitor());
+		assertEquals(getMessages(expected), getMessages(status));
+		assertFalse(status.isOK());
+	}
+}
@@ -24,7 +24,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -37,6 +39,11 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
 import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
@@ -62,6 +69,9 @@ import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatur
 import org.eclipse.jdt.internal.corext.refactoring.rename.RenameTypeProcessor;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RenamingNameSuggestor;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.INameUpdating;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameFinder;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameIndex;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameSearchResult;
 
 import org.eclipse.jdt.ui.tests.refactoring.infra.DebugUtils;
 import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
@@ -1383,6 +1393,59 @@ public class RenameTypeTests extends GenericRefactoringTest {
 		helperQualifiedName("Transient", "TransientEquipment", "mapping.hbm.xml", "*.xml");
 	}
 
+	@Test
+	public void testQualifiedNameIndex() throws Exception {
+		IProject project= getPackageP().getJavaProject().getProject();
+		IFile file= project.getFile("beans.xml");
+		file.create(new ByteArrayInputStream("<bean class=\"p.A$Inner\"/>".getBytes()), true, null);
+		try {
+			IProject[] projects= { project };
+			Pattern xmlFiles= Pattern.compile(".*\\.xml");
+			assertTrue(isCandidate(file, projects, "p.A$Inner", xmlFiles));
+			assertTrue(isCandidate(file, projects, "p", xmlFiles));
+			assertFalse(isCandidate(file, projects, "p.A", xmlFiles));
+			assertFalse(isCandidate(file, projects, "p.A$Inner", Pattern.compile(".*\\.properties")));
+
+			file.setContents(new ByteArrayInputStream("<bean class=\"q.B\"/>".getBytes()), true, false, null);
+			assertFalse(isCandidate(file, projects, "p.A$Inner", xmlFiles));
+			assertTrue(isCandidate(file, projects, "q.B", xmlFiles));
+		} finally {
+			file.delete(true, null);
+		}
+	}
+
+	@Test
+	public void testQualifiedNameIndexDirtyBuffer() throws Exception {
+		IProject project= getPackageP().getJavaProject().getProject();
+		IFile file= project.getFile("beans.xml");
+		file.create(new ByteArrayInputStream("<bean class=\"q.B\"/>".getBytes()), true, null);
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connect(file.getFullPath(), LocationKind.IFILE, null);
+		try {
+			IProject[] projects= { project };
+			Pattern xmlFiles= Pattern.compile(".*\\.xml");
+			assertFalse(isCandidate(file, projects, "p.Foo", xmlFiles));
+
+			// edit the file without saving it
+			ITextFileBuffer buffer= manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+			buffer.getDocument().set("<bean class=\"p.Foo\"/>");
+			assertTrue(buffer.isDirty());
+			assertTrue(isCandidate(file, projects, "p.Foo", xmlFiles));
+			assertFalse(isCandidate(file, projects, "p.Foo", Pattern.compile(".*\\.properties")));
+
+			QualifiedNameSearchResult result= new QualifiedNameSearchResult();
+			QualifiedNameFinder.process(result, "p.Foo", "p.Bar", "*.xml", project, null);
+			assertEquals(Arrays.asList(file), Arrays.asList(result.getAllFiles()));
+		} finally {
+			manager.disconnect(file.getFullPath(), LocationKind.IFILE, null);
+			file.delete(true, null);
+		}
+	}
+
+	private static boolean isCandidate(IFile file, IProject[] projects, String name, Pattern fileNamePattern) {
+		return Arrays.asList(QualifiedNameIndex.getDefault().getCandidates(projects, name, fileNamePattern, null)).contains(file);
+	}
+
 	private void helperQualifiedName(String oldName, String newName, String textFileName, String filePatterns) throws Exception {
 		ICompilationUnit cu= createCUfromTestFile(getPackageP(), oldName);
 		IType classA= getType(cu, oldName);
@@ -18,6 +18,7 @@ import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.junit.Assert;
 import org.junit.FixMethodOrder;
@@ -86,6 +87,7 @@ import org.eclipse.jdt.internal.ui.fix.JoinCleanUp;
 import org.eclipse.jdt.internal.ui.fix.LazyLogicalCleanUp;
 import org.eclipse.jdt.internal.ui.fix.MapCloningCleanUp;
 import org.eclipse.jdt.internal.ui.fix.MergeConditionalBlocksCleanUp;
+import org.eclipse.jdt.internal.ui.fix.NumberSuffixCleanUp;
 import org.eclipse.jdt.internal.ui.fix.OneIfRatherThanDuplicateBlocksThatFallThroughCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.PlainReplacementCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.PrimitiveComparisonCleanUpCore;
@@ -99,6 +101,7 @@ import org.eclipse.jdt.internal.ui.fix.SortMembersCleanUp;
 import org.eclipse.jdt.internal.ui.fix.StandardComparisonCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.StringCleanUp;
 import org.eclipse.jdt.internal.ui.fix.SwitchExpressionsCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.UnboxingCleanUp;
 import org.eclipse.jdt.internal.ui.fix.UnloopedWhileCleanUp;
 import org.eclipse.jdt.internal.ui.fix.UnnecessaryCodeCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.UnusedCodeCleanUpCore;
@@ -139,6 +142,35 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 	@Rule
 	public MyTestSetup stup= new MyTestSetup();
 
+	/**
+	 * The clean ups enabled by {@link #doScaledCleanUp(int)} with their options, in the order they
+	 * are enabled. Clean ups that share one traversal of each compilation unit alternate with clean
+	 * ups that traverse each compilation unit on their own.
+	 */
+	private static final List<Map.Entry<String, Supplier<ICleanUp>>> SCALED_CLEAN_UPS= List.of(
+			Map.entry(CleanUpConstants.USE_AUTOBOXING, AutoboxingCleanUp::new),
+			Map.entry(CleanUpConstants.DOUBLE_NEGATION, DoubleNegationCleanUp::new),
+			Map.entry(CleanUpConstants.USE_UNBOXING, UnboxingCleanUp::new),
+			Map.entry(CleanUpConstants.ELSE_IF, ElseIfCleanUp::new),
+			Map.entry(CleanUpConstants.NUMBER_SUFFIX, NumberSuffixCleanUp::new),
+			Map.entry(CleanUpConstants.REDUCE_INDENTATION, ReduceIndentationCleanUp::new),
+			Map.entry(CleanUpConstants.PREFER_BOOLEAN_LITERAL, BooleanLiteralCleanUp::new),
+			Map.entry(CleanUpConstants.RAISE_EMBEDDED_IF, EmbeddedIfCleanUp::new),
+			Map.entry(CleanUpConstants.JOIN, JoinCleanUp::new),
+			Map.entry(CleanUpConstants.USE_LAZY_LOGICAL_OPERATOR, LazyLogicalCleanUp::new),
+			Map.entry(CleanUpConstants.MAP_CLONING, MapCloningCleanUp::new),
+			Map.entry(CleanUpConstants.COLLECTION_CLONING, CollectionCloningCleanUp::new),
+			Map.entry(CleanUpConstants.PLAIN_REPLACEMENT, PlainReplacementCleanUpCore::new),
+			Map.entry(CleanUpConstants.ARRAYS_FILL, ArraysFillCleanUp::new),
+			Map.entry(CleanUpConstants.PRIMITIVE_COMPARISON, PrimitiveComparisonCleanUpCore::new),
+			Map.entry(CleanUpConstants.VALUEOF_RATHER_THAN_INSTANTIATION, ValueOfRatherThanInstantiationCleanUpCore::new));
+
+	/** Time spent in the measured runs of the last clean up */
+	private long fMeasuredNanos;
+
+	/** Number of measured runs of the last clean up */
+	private int fMeasuredRuns;
+
 	private void addAllCUs(CleanUpRefactoring cleanUp, IJavaElement[] children) throws JavaModelException {
 		for (IJavaElement element : children) {
 			if (element instanceof ICompilationUnit) {
@@ -1014,8 +1046,87 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		doCleanUp(cleanUpRefactoring);
 	}
 
+	@Test
+	public void testFusedCleanUps() throws Exception {
+		CleanUpRefactoring cleanUpRefactoring= new CleanUpRefactoring();
+		addAllCUs(cleanUpRefactoring, MyTestSetup.fJProject1.getChildren());
+
+		Map<String, String> node= getNullSettings();
+
+		node.put(CleanUpConstants.USE_AUTOBOXING, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.USE_UNBOXING, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.NUMBER_SUFFIX, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.PREFER_BOOLEAN_LITERAL, CleanUpOptions.TRUE);
+
+		storeSettings(node);
+
+		// the clean ups share one traversal of each compilation unit, compare with the single clean up tests
+		cleanUpRefactoring.addCleanUp(new AutoboxingCleanUp());
+		cleanUpRefactoring.addCleanUp(new UnboxingCleanUp());
+		cleanUpRefactoring.addCleanUp(new NumberSuffixCleanUp());
+		cleanUpRefactoring.addCleanUp(new BooleanLiteralCleanUp());
+
+		doCleanUp(cleanUpRefactoring);
+	}
+
+	@Test
+	public void testScaledCleanUps01() throws Exception {
+		doScaledCleanUp(1);
+	}
+
+	@Test
+	public void testScaledCleanUps02() throws Exception {
+		doScaledCleanUp(2);
+	}
+
+	@Test
+	public void testScaledCleanUps04() throws Exception {
+		doScaledCleanUp(4);
+	}
+
+	@Test
+	public void testScaledCleanUps08() throws Exception {
+		doScaledCleanUp(8);
+	}
+
+	@Test
+	public void testScaledCleanUps16() throws Exception {
+		doScaledCleanUp(16);
+	}
+
+	/**
+	 * Measures the time per compilation unit with the first <code>count</code> clean ups of
+	 * {@link #SCALED_CLEAN_UPS} enabled. Comparing the results for different counts shows how the
+	 * time grows with the number of enabled clean ups.
+	 *
+	 * @param count the number of enabled clean ups
+	 * @throws Exception if the clean up fails
+	 */
+	private void doScaledCleanUp(int count) throws Exception {
+		CleanUpRefactoring cleanUpRefactoring= new CleanUpRefactoring();
+		addAllCUs(cleanUpRefactoring, MyTestSetup.fJProject1.getChildren());
+
+		Map<String, String> node= getNullSettings();
+		for (Map.Entry<String, Supplier<ICleanUp>> cleanUp : SCALED_CLEAN_UPS.subList(0, count)) {
+			node.put(cleanUp.getKey(), CleanUpOptions.TRUE);
+		}
+
+		storeSettings(node);
+
+		for (Map.Entry<String, Supplier<ICleanUp>> cleanUp : SCALED_CLEAN_UPS.subList(0, count)) {
+			cleanUpRefactoring.addCleanUp(cleanUp.getValue().get());
+		}
+
+		doCleanUp(cleanUpRefactoring);
+
+		long nanosPerUnit= fMeasuredNanos / fMeasuredRuns / cleanUpRefactoring.getCleanUpTargetsSize();
+		System.out.println(getClass().getSimpleName() + ": " + count + " clean ups, " + nanosPerUnit / 1000 + " \u00B5s per compilation unit");
+	}
+
 	private void doCleanUp(CleanUpRefactoring refactoring) throws CoreException {
 		refactoring.setUseOptionsFromProfile(true);
+		fMeasuredNanos= 0;
+		fMeasuredRuns= 0;
 
 		performRefactoring(refactoring, false, IStatus.WARNING, true);
 		performRefactoring(refactoring, false, IStatus.WARNING, true);
@@ -1039,11 +1150,15 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		// into the heap consumption
 		RefactoringCore.getUndoManager().flush();
 		System.gc();
+		long start= System.nanoTime();
 		if (measure)
 			startMeasuring();
 		ResourcesPlugin.getWorkspace().run(operation, null);
-		if (measure)
+		if (measure) {
 			stopMeasuring();
+			fMeasuredNanos+= System.nanoTime() - start;
+			fMeasuredRuns++;
+		}
 		Assert.assertTrue(operation.getConditionStatus().getSeverity() <= maxSeverity);
 		Assert.assertTrue(operation.getValidationStatus().isOK());
 		if (checkUndo) {
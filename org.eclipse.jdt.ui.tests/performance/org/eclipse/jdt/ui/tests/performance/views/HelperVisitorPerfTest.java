@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.internal.common.HelperVisitor;
+import org.eclipse.jdt.internal.common.ReferenceHolder;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+/**
+ * Compares the traversal of ASTs with a {@link HelperVisitor} to the traversal with an equivalent
+ * {@link ASTVisitor}.
+ */
+public class HelperVisitorPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int TRAVERSALS= 20;
+
+	private static class MyTestSetup extends ExternalResource {
+		public static final String SRC_CONTAINER= "src";
+
+		public static IJavaProject fJProject1;
+
+		@Override
+		public void before() throws Throwable {
+			fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+			assertNotNull("rt not found", JavaProjectHelper.addRTJar(fJProject1));
+			File junitSrcArchive= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.JUNIT_SRC_381);
+			JavaProjectHelper.addSourceContainerWithImport(fJProject1, SRC_CONTAINER, junitSrcArchive, JavaProjectHelper.JUNIT_SRC_ENCODING);
+		}
+
+		@Override
+		public void after() {
+			try {
+				if (fJProject1 != null && fJProject1.exists()) {
+					JavaProjectHelper.delete(fJProject1);
+				}
+			} catch (CoreException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Rule
+	public MyTestSetup stup= new MyTestSetup();
+
+	private interface Traversal {
+		int countInvocations(CompilationUnit root);
+	}
+
+	private void addAllCUs(IJavaElement[] children, List<ICompilationUnit> result) throws JavaModelException {
+		for (IJavaElement element : children) {
+			if (element instanceof ICompilationUnit) {
+				result.add((ICompilationUnit) element);
+			} else if (element instanceof IPackageFragmentRoot) {
+				addAllCUs(((IPackageFragmentRoot) element).getChildren(), result);
+			} else if (element instanceof IPackageFragment) {
+				addAllCUs(((IPackageFragment) element).getChildren(), result);
+			}
+		}
+	}
+
+	private List<CompilationUnit> createASTs() throws JavaModelException {
+		List<ICompilationUnit> cus= new ArrayList<>();
+		addAllCUs(MyTestSetup.fJProject1.getChildren(), cus);
+		List<CompilationUnit> result= new ArrayList<>();
+		for (ICompilationUnit cu : cus) {
+			result.add(SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, new NullProgressMonitor()));
+		}
+		return result;
+	}
+
+	private static int countWithHelperVisitor(CompilationUnit root) {
+		ReferenceHolder<String, Integer> holder= new ReferenceHolder<>();
+		HelperVisitor<ReferenceHolder<String, Integer>, String, Integer> hv= new HelperVisitor<>(new HashSet<>(), holder);
+		hv.addMethodInvocation((node, h) -> {
+			h.merge("count", 1, Integer::sum);
+			return true;
+		});
+		hv.build(root);
+		return holder.getOrDefault("count", 0);
+	}
+
+	private static int countWithASTVisitor(CompilationUnit root) {
+		int[] count= new int[1];
+		root.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(MethodInvocation node) {
+				count[0]++;
+				return true;
+			}
+		});
+		return count[0];
+	}
+
+	@Test
+	public void testHelperVisitor() throws Exception {
+		List<CompilationUnit> roots= createASTs();
+		measure(Performance.getDefault().getNullPerformanceMeter(), roots, HelperVisitorPerfTest::countWithHelperVisitor, 2);
+		measure(fPerformanceMeter, roots, HelperVisitorPerfTest::countWithHelperVisitor, 10);
+
+		commitMeasurements();
+		Performance.getDefault().assertPerformance(fPerformanceMeter);
+	}
+
+	@Test
+	public void testASTVisitor() throws Exception {
+		List<CompilationUnit> roots= createASTs();
+		measure(Performance.getDefault().getNullPerformanceMeter(), roots, HelperVisitorPerfTest::countWithASTVisitor, 2);
+		measure(fPerformanceMeter, roots, HelperVisitorPerfTest::countWithASTVisitor, 10);
+
+		commitMeasurements();
+		Performance.getDefault().assertPerformance(fPerformanceMeter);
+	}
+
+	@Test
+	public void testSameResult() throws Exception {
+		for (CompilationUnit root : createASTs()) {
+			assertEquals(countWithASTVisitor(root), countWithHelperVisitor(root));
+		}
+	}
+
+	private void measure(PerformanceMeter performanceMeter, List<CompilationUnit> roots, Traversal traversal, int runs) throws Exception {
+		for (int j= 0; j < runs; j++) {
+			joinBackgroudActivities();
+
+			performanceMeter.start();
+			for (int i= 0; i < TRAVERSALS; i++) {
+				for (CompilationUnit root : roots) {
+					traversal.countInvocations(root);
+				}
+			}
+			performanceMeter.stop();
+		}
+	}
+}
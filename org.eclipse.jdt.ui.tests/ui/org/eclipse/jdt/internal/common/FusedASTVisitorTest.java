@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+public class FusedASTVisitorTest {
+
+	private static CompilationUnit result;
+
+	/**
+	 * Records all calls, skips the children of method declarations in <code>preVisit2</code> and
+	 * the children of blocks in <code>visit</code> if asked to.
+	 */
+	private static class TracingVisitor extends ASTVisitor {
+
+		final List<String> fTrace= new ArrayList<>();
+
+		private final boolean fSkipMethods;
+
+		private final boolean fPruneBlocks;
+
+		TracingVisitor(boolean skipMethods, boolean pruneBlocks) {
+			fSkipMethods= skipMethods;
+			fPruneBlocks= pruneBlocks;
+		}
+
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			fTrace.add("pre " + node.getNodeType());
+			return !(fSkipMethods && node instanceof MethodDeclaration);
+		}
+
+		@Override
+		public void postVisit(ASTNode node) {
+			fTrace.add("post " + node.getNodeType());
+		}
+
+		@Override
+		public boolean visit(Block node) {
+			fTrace.add("visit block");
+			return !fPruneBlocks;
+		}
+
+		@Override
+		public void endVisit(Block node) {
+			fTrace.add("end block");
+		}
+
+		@Override
+		public boolean visit(SimpleName node) {
+			fTrace.add("visit " + node.getIdentifier());
+			return true;
+		}
+
+		@Override
+		public void endVisit(SimpleName node) {
+			fTrace.add("end " + node.getIdentifier());
+		}
+	}
+
+	@BeforeAll
+	public static void init() {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		String code= "package test;\n"
+				+ "public class E {\n"
+				+ "	int f;\n"
+				+ "	public void foo(int i) {\n"
+				+ "		if (i > 0) {\n"
+				+ "			System.out.println(i);\n"
+				+ "		}\n"
+				+ "		bar();\n"
+				+ "	}\n"
+				+ "	void bar() {\n"
+				+ "	}\n"
+				+ "}";
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setEnvironment(new String[] {}, new String[] {}, null, true);
+		parser.setResolveBindings(true);
+		Map<String, String> options= JavaCore.getOptions();
+		JavaCore.setComplianceOptions(JavaCore.VERSION_11, options);
+		parser.setCompilerOptions(options);
+		parser.setUnitName("E");
+		parser.setSource(code.toCharArray());
+		result= (CompilationUnit) parser.createAST(null);
+	}
+
+	private static List<String> traceAlone(boolean skipMethods, boolean pruneBlocks) {
+		TracingVisitor visitor= new TracingVisitor(skipMethods, pruneBlocks);
+		result.accept(visitor);
+		return visitor.fTrace;
+	}
+
+	@Test
+	public void sameCallsAsSeparateTraversals() {
+		TracingVisitor all= new TracingVisitor(false, false);
+		TracingVisitor skipping= new TracingVisitor(true, false);
+		TracingVisitor pruning= new TracingVisitor(false, true);
+		TracingVisitor both= new TracingVisitor(true, true);
+
+		result.accept(new FusedASTVisitor(Arrays.asList(all, skipping, pruning, both)));
+
+		assertEquals(traceAlone(false, false), all.fTrace);
+		assertEquals(traceAlone(true, false), skipping.fTrace);
+		assertEquals(traceAlone(false, true), pruning.fTrace);
+		assertEquals(traceAlone(true, true), both.fTrace);
+	}
+
+	@Test
+	public void subtreeSkippedWithoutInterestedVisitor() {
+		List<String> visited= new ArrayList<>();
+		FusedASTVisitor fused= new FusedASTVisitor(Arrays.asList(new TracingVisitor(true, false), new TracingVisitor(true, true))) {
+			@Override
+			public boolean preVisit2(ASTNode node) {
+				visited.add(node.getClass().getSimpleName());
+				return super.preVisit2(node);
+			}
+		};
+		result.accept(fused);
+
+		// no visitor is interested in the children of the method declarations
+		assertEquals(Arrays.asList("CompilationUnit", "PackageDeclaration", "SimpleName", "TypeDeclaration", "Modifier", "SimpleName", "FieldDeclaration",
+				"PrimitiveType", "VariableDeclarationFragment", "SimpleName", "MethodDeclaration", "MethodDeclaration"), visited);
+	}
+
+	@Test
+	public void helperVisitorsInOneTraversal() {
+		ReferenceHolder<String, Integer> invocations= new ReferenceHolder<>();
+		HelperVisitor<ReferenceHolder<String, Integer>, String, Integer> invocationVisitor= new HelperVisitor<>(new HashSet<>(), invocations);
+		invocationVisitor.addMethodInvocation((node, holder) -> {
+			holder.merge(node.getName().getIdentifier(), 1, Integer::sum);
+			return true;
+		});
+
+		ReferenceHolder<String, Integer> methods= new ReferenceHolder<>();
+		HelperVisitor<ReferenceHolder<String, Integer>, String, Integer> methodVisitor= new HelperVisitor<>(new HashSet<>(), methods);
+		methodVisitor.addMethodDeclaration((node, holder) -> {
+			holder.put(node.getName().getIdentifier(), node.parameters().size());
+			return false;
+		});
+
+		result.accept(new FusedASTVisitor(Arrays.asList(invocationVisitor.createASTVisitor(false), methodVisitor.createASTVisitor(false))));
+
+		assertEquals(Map.of("println", 1, "bar", 1), invocations);
+		assertEquals(Map.of("foo", 1, "bar", 0), methods);
+	}
+
+	@Test
+	public void endVisitOfPrunedNode() {
+		List<String> trace= new ArrayList<>();
+		ASTVisitor pruning= new ASTVisitor() {
+			@Override
+			public boolean visit(MethodInvocation node) {
+				trace.add("visit " + node.getName());
+				return false;
+			}
+
+			@Override
+			public void endVisit(MethodInvocation node) {
+				trace.add("end " + node.getName());
+			}
+
+			@Override
+			public boolean visit(SimpleName node) {
+				trace.add("name " + node.getIdentifier());
+				return true;
+			}
+		};
+
+		result.accept(new FusedASTVisitor(Arrays.asList(pruning, new TracingVisitor(false, false))));
+
+		assertEquals(Arrays.asList("name test", "name E", "name f", "name foo", "name i", "name i", "visit println", "end println", "visit bar", "end bar", "name bar"), trace);
+	}
+}
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.common;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -617,6 +620,33 @@ public class VisitorTest {
 		hv.build(result2);
 	}
 
+	@Test
+	public void modifyTest3() {
+		Set<ASTNode> nodesprocessed = null;
+		List<String> invocations = new ArrayList<>();
+		HelperVisitor<ReferenceHolder<String,NodeFound>,String,NodeFound> hv = new HelperVisitor<>(nodesprocessed, new ReferenceHolder<>());
+		hv.addMethodInvocation((node, holder) -> {
+			invocations.add(node.getName().getIdentifier());
+			holder.getHelperVisitor().removeVisitor(VisitorEnum.MethodInvocation);
+			return true;
+		});
+		hv.build(result);
+		assertEquals(List.of("add"), invocations);
+	}
+
+	@Test
+	public void namesInQualifiedNames() {
+		Set<ASTNode> nodesprocessed = null;
+		Set<String> names = new HashSet<>();
+		HelperVisitor<ReferenceHolder<String,NodeFound>,String,NodeFound> hv = new HelperVisitor<>(nodesprocessed, new ReferenceHolder<>());
+		hv.addSimpleName((node, holder) -> {
+			names.add(node.getIdentifier());
+			return true;
+		});
+		hv.build(result);
+		assertTrue(names.containsAll(List.of("System", "out", "err", "println", "coll", "var")));
+	}
+
 	Collection<String> getUsedVariableNames(ASTNode node) {
 		CompilationUnit root= (CompilationUnit) node.getRoot();
 		Collection<String> res= (new ScopeAnalyzer(root)).getUsedVariableNames(node.getStartPosition(), node.getLength());
@@ -115,6 +115,10 @@ public class AbstractTestRunSessionSerializationTests {
 			// due to lingering TestRunnerViewPart$TestSessionListeners
 			serializationResult.fTestRunSession.swapOut();
 			assertEqualSessions(serializationResult.fTestRunSession, imported);
+
+			// round trip through the binary swap format
+			imported.swapOut();
+			assertEqualSessions(serializationResult.fTestRunSession, imported);
 		} finally {
 			if (resultFile.exists())
 				try {
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.launcher.JUnit5TestFinder;
+
+/**
+ * Tests that the results cached by {@link JUnit5TestFinder} are dropped when the Java model changes.
+ */
+public class JUnit5TestFinderCacheTest {
+
+	private IJavaProject fProject;
+	private IPackageFragmentRoot fRoot;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		IClasspathEntry cpe= JavaCore.newContainerEntry(JUnitCore.JUNIT5_CONTAINER_PATH);
+		JavaProjectHelper.addToClasspath(fProject, cpe);
+		JavaProjectHelper.set18CompilerOptions(fProject);
+
+		fRoot= JavaProjectHelper.addSourceContainer(fProject, "src");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private static String createTestClass(String name) {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("\n");
+		buf.append("public class " + name + " {\n");
+		buf.append("    @Test\n");
+		buf.append("    void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		return buf.toString();
+	}
+
+	private static Set<String> findTests(IJavaElement container) throws Exception {
+		Set<IType> found= new HashSet<>();
+		new JUnit5TestFinder().findTestsInContainer(container, found, null);
+		Set<String> names= new HashSet<>();
+		for (IType type : found) {
+			names.add(type.getFullyQualifiedName('.'));
+		}
+		return names;
+	}
+
+	@Test
+	public void testAddedAfterSearchIsFound() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		p.createCompilationUnit("Test1.java", createTestClass("Test1"), true, null);
+
+		assertEquals(Set.of("p.Test1"), findTests(p));
+		assertEquals(Set.of("p.Test1"), findTests(fProject));
+
+		p.createCompilationUnit("Test2.java", createTestClass("Test2"), true, null);
+
+		assertEquals(Set.of("p.Test1", "p.Test2"), findTests(p));
+		assertEquals(Set.of("p.Test1", "p.Test2"), findTests(fProject));
+	}
+}
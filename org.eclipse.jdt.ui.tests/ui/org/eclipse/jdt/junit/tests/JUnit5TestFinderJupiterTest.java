@@ -131,6 +131,19 @@ public class JUnit5TestFinderJupiterTest {
 		assertThat(foundTestTypes).hasSize(scenario.testTypesCount());
 	}
 
+	@Test
+	public void testFindTestsInContainerTwice() throws Exception {
+		IType type= findTypeWithName(scenario.testClass());
+		Set<IType> foundTestTypes= new HashSet<>();
+		Set<IType> foundAgainTestTypes= new HashSet<>();
+
+		JUnit5TestFinder objectUnderTest= new JUnit5TestFinder();
+		objectUnderTest.findTestsInContainer(type, foundTestTypes, null);
+		objectUnderTest.findTestsInContainer(type, foundAgainTestTypes, null);
+
+		assertThat(foundAgainTestTypes).isEqualTo(foundTestTypes);
+	}
+
 
 	private IType findTypeWithName(String name) throws JavaModelException {
 		for (IType type : compilationUnit.getAllTypes()) {
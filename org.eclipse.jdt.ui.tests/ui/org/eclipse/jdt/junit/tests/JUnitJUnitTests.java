@@ -37,13 +37,17 @@ TestRunFilteredParameterizedRunnerTest4.class,
 
 TestRunSessionSerializationTests3.class,
 TestRunSessionSerializationTests4.class,
+TestRunSessionSwapTests.class,
+RemoteTestRunnerClientTest.class,
 
 JUnit3TestFinderTest.class,
 JUnitTestFinderTest.class,
 JUnit4TestFinderTest16.class,
 JUnit5TestFinderJupiterTest.class,
+JUnit5TestFinderCacheTest.class,
 
-TestSorting.class
+TestSorting.class,
+TestViewerTest.class
 //LegacyTestRunListenerTest.class
 })
 public class JUnitJUnitTests {
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BatchedMessageSender;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+/**
+ * Tests that {@link RemoteTestRunnerClient} reads the batched protocol written by
+ * {@link BatchedMessageSender} and the line protocol.
+ */
+public class RemoteTestRunnerClientTest {
+
+	private static final int TIMEOUT= 10 * 1000;
+
+	private static class RecordingListener implements ITestRunListener2 {
+		final List<String> fEvents= new ArrayList<>();
+		final CountDownLatch fDone= new CountDownLatch(1);
+
+		private synchronized void record(String event) {
+			fEvents.add(event);
+		}
+
+		synchronized List<String> getEvents() {
+			return new ArrayList<>(fEvents);
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			record("started " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			record("ended " + elapsedTime);
+			fDone.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			record("stopped " + elapsedTime);
+			fDone.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			record("testStarted " + testId + " " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			record("testEnded " + testId + " " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			record("terminated");
+			fDone.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			record("tree " + description);
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			record("testFailed " + status + " " + testId + " " + testName + " " + trace.trim());
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			record("testReran " + testId);
+		}
+	}
+
+	private RemoteTestRunnerClient fClient;
+	private RecordingListener fListener;
+	private Socket fSocket;
+
+	@Before
+	public void setUp() throws Exception {
+		int port;
+		try (ServerSocket socket= new ServerSocket(0)) {
+			port= socket.getLocalPort();
+		}
+		fClient= new RemoteTestRunnerClient();
+		fListener= new RecordingListener();
+		fClient.startListening(new ITestRunListener2[] { fListener }, port);
+		fSocket= connect(port);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fSocket.close();
+		fClient.stopWaiting();
+	}
+
+	private static Socket connect(int port) throws Exception {
+		long end= System.currentTimeMillis() + TIMEOUT;
+		while (true) {
+			try {
+				return new Socket("localhost", port);
+			} catch (ConnectException e) {
+				if (System.currentTimeMillis() > end)
+					throw e;
+				Thread.sleep(20);
+			}
+		}
+	}
+
+	private List<String> awaitEvents() throws Exception {
+		assertTrue("run did not end", fListener.fDone.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		return fListener.getEvents();
+	}
+
+	@Test
+	public void batchedProtocol() throws Exception {
+		BatchedMessageSender sender= new BatchedMessageSender(new BufferedOutputStream(fSocket.getOutputStream()));
+		sender.sendMessage(MessageIds.TEST_RUN_START + "2 v2");
+		sender.sendTestMessage(MessageIds.TEST_START, 1, "testA(p.CTest)");
+		sender.sendTestMessage(MessageIds.TEST_END, 1, "testA(p.CTest)");
+		sender.sendTestMessage(MessageIds.TEST_START, 2, "testB(p.CTest)");
+		sender.sendTestMessage(MessageIds.TEST_FAILED, 2, "testB(p.CTest)");
+		sender.sendMessage(MessageIds.TRACE_START);
+		sender.sendMessage("java.lang.AssertionError");
+		sender.sendMessage(MessageIds.TRACE_END);
+		sender.sendTestMessage(MessageIds.TEST_END, 2, "testB(p.CTest)");
+		sender.sendMessage(MessageIds.TEST_RUN_END + "100");
+		sender.close();
+
+		List<String> expected= List.of(
+				"started 2",
+				"testStarted 1 testA(p.CTest)",
+				"testEnded 1 testA(p.CTest)",
+				"testStarted 2 testB(p.CTest)",
+				"testFailed " + ITestRunListener2.STATUS_FAILURE + " 2 testB(p.CTest) java.lang.AssertionError",
+				"testEnded 2 testB(p.CTest)",
+				"ended 100");
+		assertEquals(expected, awaitEvents());
+	}
+
+	@Test
+	public void manyFramesAndSharedNames() throws Exception {
+		// more than one frame of events, the names are sent once and then taken from the string table
+		int count= 5000;
+		BatchedMessageSender sender= new BatchedMessageSender(new BufferedOutputStream(fSocket.getOutputStream()));
+		sender.sendMessage(MessageIds.TEST_RUN_START + count + " v2");
+		for (int i= 0; i < count; i++) {
+			String name= "test" + (i % 10) + "(p.CTest)";
+			sender.sendTestMessage(MessageIds.TEST_START, i, name);
+			sender.sendTestMessage(MessageIds.TEST_END, i, name);
+		}
+		sender.sendMessage(MessageIds.TEST_RUN_END + "100");
+		sender.close();
+
+		List<String> events= awaitEvents();
+		assertEquals(2 * count + 2, events.size());
+		for (int i= 0; i < count; i++) {
+			String name= "test" + (i % 10) + "(p.CTest)";
+			assertEquals("testStarted " + i + " " + name, events.get(1 + 2 * i));
+			assertEquals("testEnded " + i + " " + name, events.get(2 + 2 * i));
+		}
+		assertEquals("ended 100", events.get(events.size() - 1));
+	}
+
+	@Test
+	public void lineProtocol() throws Exception {
+		OutputStream out= fSocket.getOutputStream();
+		String messages= MessageIds.TEST_RUN_START + "1 v2\n"
+				+ MessageIds.TEST_START + "1,testA(p.CTest)\n"
+				+ MessageIds.TEST_END + "1,testA(p.CTest)\n"
+				+ MessageIds.TEST_RUN_END + "100\n";
+		out.write(messages.getBytes(StandardCharsets.UTF_8));
+		out.flush();
+
+		List<String> expected= List.of(
+				"started 1",
+				"testStarted 1 testA(p.CTest)",
+				"testEnded 1 testA(p.CTest)",
+				"ended 100");
+		assertEquals(expected, awaitEvents());
+	}
+
+	@Test
+	public void unknownProtocolVersion() throws Exception {
+		DataOutputStream out= new DataOutputStream(fSocket.getOutputStream());
+		out.writeInt(MessageIds.BATCHED_PROTOCOL_MAGIC);
+		out.writeInt(MessageIds.PROTOCOL_VERSION_BATCHED + 1);
+		out.flush();
+
+		assertEquals(List.of("terminated"), awaitEvents());
+	}
+
+	@Test
+	public void lineProtocolVersionInBatchedHeader() throws Exception {
+		DataOutputStream out= new DataOutputStream(fSocket.getOutputStream());
+		out.writeInt(MessageIds.BATCHED_PROTOCOL_MAGIC);
+		out.writeInt(MessageIds.PROTOCOL_VERSION_LINE);
+		out.flush();
+
+		assertEquals(List.of("terminated"), awaitEvents());
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.BinaryTestRunSessionReader;
+import org.eclipse.jdt.internal.junit.model.BinaryTestRunSessionWriter;
+import org.eclipse.jdt.internal.junit.model.IBinarySessionFormat;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+/**
+ * Tests swapping a {@link TestRunSession} to disk and loading failure details back.
+ */
+public class TestRunSessionSwapTests {
+
+	private static final String TRACE= "junit.framework.AssertionFailedError: expected:<1> but was:<2>\n\tat p.CTest.testA(CTest.java:10)\n";
+
+	private File fFile;
+	private final List<TestRunSession> fSessions= new ArrayList<>();
+
+	@Before
+	public void setUp() throws Exception {
+		fFile= File.createTempFile("session", IBinarySessionFormat.FILE_EXTENSION);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (TestRunSession session : fSessions) {
+			session.removeSwapFile();
+		}
+		fFile.delete();
+	}
+
+	private TestRunSession createSession() {
+		TestRunSession session= new TestRunSession("session", null);
+		fSessions.add(session);
+		TestElement testA= session.createTestElement(session.getTestRoot(), "1", "testA(p.CTest)", false, 0, false, null, null, null);
+		testA.setStatus(Status.FAILURE, TRACE, "1", "2");
+		TestElement testB= session.createTestElement(session.getTestRoot(), "2", "testB(p.CTest)", false, 0, false, null, null, null);
+		testB.setStatus(Status.OK);
+		return session;
+	}
+
+	private static void assertFailureDetails(TestElement testElement) {
+		assertEquals(TRACE, testElement.getTrace());
+		assertEquals("1", testElement.getExpected());
+		assertEquals("2", testElement.getActual());
+		assertTrue(testElement.isComparisonFailure());
+	}
+
+	@Test
+	public void snapshotThenReadTrace() throws Exception {
+		TestRunSession session= createSession();
+		BinaryTestRunSessionWriter.writeSnapshot(session, fFile);
+
+		TestRunSession restored= new TestRunSession("restored", null);
+		fSessions.add(restored);
+		new BinaryTestRunSessionReader(fFile, restored).read();
+		assertFailureDetails(restored.getTestElement("1"));
+		assertNull(restored.getTestElement("2").getTrace());
+
+		// a snapshot of the restored session reads the details from the first file
+		File secondFile= new File(fFile.getParentFile(), fFile.getName() + ".2");
+		try {
+			BinaryTestRunSessionWriter.writeSnapshot(restored, secondFile);
+			TestRunSession restoredTwice= new TestRunSession("restored twice", null);
+			fSessions.add(restoredTwice);
+			new BinaryTestRunSessionReader(secondFile, restoredTwice).read();
+			assertFailureDetails(restoredTwice.getTestElement("1"));
+			assertFailureDetails(restored.getTestElement("1"));
+			restoredTwice.removeSwapFile();
+		} finally {
+			secondFile.delete();
+		}
+	}
+
+	@Test
+	public void swapOutKeepsFailureDetailsOfHeldElements() throws Exception {
+		TestRunSession session= createSession();
+		TestElement held= session.getTestElement("1");
+		session.swapOut();
+		assertFailureDetails(held);
+	}
+
+	@Test
+	public void reloadAfterSwapOut() throws Exception {
+		TestRunSession session= createSession();
+		for (int i= 0; i < 2; i++) {
+			session.swapOut();
+			session.getTestRoot(); // swaps in
+			TestElement reloaded= session.getTestElement("1");
+			assertFailureDetails(reloaded);
+			// loaded details are cached
+			assertSame(reloaded.getTrace(), reloaded.getTrace());
+			assertNull(session.getTestElement("2").getTrace());
+		}
+	}
+
+	@Test
+	public void removeSwapFileKeepsFailureDetailsOfLoadedElements() throws Exception {
+		TestRunSession session= createSession();
+		session.swapOut();
+		session.getTestRoot(); // swaps in
+		TestElement loaded= session.getTestElement("1");
+		session.removeSwapFile();
+		assertFailureDetails(loaded);
+	}
+
+	@Test
+	public void classNamesAreShared() throws Exception {
+		TestRunSession session= createSession();
+		assertEquals("p.CTest", session.getTestElement("1").getClassName());
+		assertSame(session.getTestElement("1").getClassName(), session.getTestElement("2").getClassName());
+	}
+}
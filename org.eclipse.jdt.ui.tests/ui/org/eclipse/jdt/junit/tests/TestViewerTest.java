@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.viewers.TreeViewer;
+
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.ui.JUnitPlugin;
+import org.eclipse.jdt.internal.junit.ui.TestRunnerViewPart;
+import org.eclipse.jdt.internal.junit.ui.TestViewer;
+
+/**
+ * Tests that tests added to a running session reach the tree of the {@link TestViewer}.
+ */
+public class TestViewerTest {
+
+	private static final String TRACE= "junit.framework.AssertionFailedError\n\tat p.CTest.testA(CTest.java:10)\n";
+
+	private TestRunnerViewPart fTestRunnerViewPart;
+	private TestViewer fTestViewer;
+	private TestRunSession fSession;
+
+	@Before
+	public void setUp() throws Exception {
+		fTestRunnerViewPart= (TestRunnerViewPart) JUnitPlugin.getActivePage().showView(TestRunnerViewPart.NAME);
+		fTestRunnerViewPart.setLayoutMode(TestRunnerViewPart.LAYOUT_HIERARCHICAL);
+		fTestViewer= fTestRunnerViewPart.getTestViewer();
+		fSession= new TestRunSession("session", null);
+		fTestViewer.registerActiveSession(fSession);
+		fTestViewer.processChangesInUI();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fTestViewer.setShowFailuresOrIgnoredOnly(false, false, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
+		fTestViewer.registerActiveSession(fTestRunnerViewPart.getTestRunSession());
+		fTestRunnerViewPart.setLayoutMode(TestRunnerViewPart.LAYOUT_HIERARCHICAL);
+	}
+
+	private TestElement addTest(String id, String name) {
+		TestElement testElement= fSession.createTestElement(fSession.getTestRoot(), id, name, false, 1, false, null, null, null);
+		fTestViewer.registerTestAdded(testElement);
+		return testElement;
+	}
+
+	private void updateTest(TestElement testElement, Status status) {
+		if (status.isErrorOrFailure()) {
+			testElement.setStatus(status, TRACE, null, null);
+		} else {
+			testElement.setStatus(status);
+		}
+		fTestViewer.registerViewerUpdate(testElement);
+	}
+
+	private TreeViewer getTreeViewer() {
+		return (TreeViewer) fTestViewer.getActiveViewer();
+	}
+
+	@Test
+	public void addAndUpdateWithoutFilter() throws Exception {
+		TestElement testA= addTest("1", "testA(p.CTest)");
+		fTestViewer.processChangesInUI();
+		assertNotNull(getTreeViewer().testFindItem(testA));
+
+		updateTest(testA, Status.OK);
+		TestElement testB= addTest("2", "testB(p.CTest)");
+		updateTest(testB, Status.FAILURE);
+		fTestViewer.processChangesInUI();
+		assertNotNull(getTreeViewer().testFindItem(testA));
+		assertNotNull(getTreeViewer().testFindItem(testB));
+		assertEquals(2, getTreeViewer().getTree().getItemCount());
+	}
+
+	@Test
+	public void addAndUpdateWithFilter() throws Exception {
+		fTestViewer.setShowFailuresOrIgnoredOnly(true, false, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
+
+		TestElement testA= addTest("1", "testA(p.CTest)");
+		updateTest(testA, Status.OK);
+		TestElement testB= addTest("2", "testB(p.CTest)");
+		updateTest(testB, Status.FAILURE);
+		fTestViewer.processChangesInUI();
+		assertNull(getTreeViewer().testFindItem(testA));
+		assertNotNull(getTreeViewer().testFindItem(testB));
+
+		// a failing test added without a separate update
+		TestElement testC= fSession.createTestElement(fSession.getTestRoot(), "3", "testC(p.CTest)", false, 1, false, null, null, null);
+		testC.setStatus(Status.FAILURE, TRACE, null, null);
+		fTestViewer.registerTestAdded(testC);
+		fTestViewer.processChangesInUI();
+		assertNotNull(getTreeViewer().testFindItem(testC));
+		assertEquals(2, getTreeViewer().getTree().getItemCount());
+
+		fTestViewer.setShowFailuresOrIgnoredOnly(false, false, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
+		assertNotNull(getTreeViewer().testFindItem(testA));
+		assertEquals(3, getTreeViewer().getTree().getItemCount());
+	}
+}
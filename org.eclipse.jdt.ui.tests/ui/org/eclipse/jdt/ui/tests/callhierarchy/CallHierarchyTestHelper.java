@@ -613,10 +613,18 @@ public class CallHierarchyTestHelper {
         return thirdLevelMethodWrapper;
     }
 
+    public IJavaProject getJavaProject1() {
+        return fJavaProject1;
+    }
+
     public IJavaProject getJavaProject2() {
         return fJavaProject2;
     }
 
+    public IJavaProject getJavaProject3() {
+        return fJavaProject3;
+    }
+
     public IPackageFragment getPackage1() {
         return fPack1;
     }
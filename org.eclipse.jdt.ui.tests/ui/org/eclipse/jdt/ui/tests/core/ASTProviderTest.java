@@ -15,6 +15,11 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
 
 import org.junit.After;
 import org.junit.Before;
@@ -28,6 +33,8 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 
+import org.eclipse.core.resources.IFile;
+
 import org.eclipse.text.edits.ReplaceEdit;
 
 import org.eclipse.ltk.core.refactoring.Change;
@@ -44,6 +51,8 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.core.manipulation.RecentASTCache;
+
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -141,6 +150,46 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testRecentASTOfInactiveElement() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", "package test1;\npublic class E1 {\n}\n", false, null);
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", "package test1;\npublic class E2 {\n}\n", false, null);
+
+		CompilationUnit ast= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null);
+		assertNotNull(ast);
+		long parses= RecentASTCache.getDefault().getStatistics().parses();
+		assertSame(ast, SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+		assertSame(ast, SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null));
+		assertEquals(parses, RecentASTCache.getDefault().getStatistics().parses());
+
+		// a change of the source invalidates the AST
+		cu1.getBuffer().append("class F1 {\n}\n");
+		CompilationUnit changed= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null);
+		assertNotSame(ast, changed);
+		assertEquals(2, changed.types().size());
+		cu1.getBuffer().save(null, true);
+
+		// a structural change of another unit may change the bindings
+		cu2.createType("class F2 {\n}\n", null, true, null);
+		assertNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+	}
+
+	@Test
+	public void testRecentASTAfterExternalChange() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", "package test1;\npublic class E1 {\n}\n", false, null);
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", "package test1;\npublic class E2 {\n}\n", false, null);
+
+		assertNotNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null));
+		assertNotNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+
+		// a change of the file is not fine-grained, even if it only changes a comment
+		IFile file= (IFile) cu2.getResource();
+		file.setContents(new ByteArrayInputStream("package test1;\n// changed\npublic class E2 {\n}\n".getBytes()), true, false, null);
+		assertNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.After;
 import org.junit.Before;
@@ -30,9 +31,14 @@ import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
@@ -96,6 +102,111 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedSecondLevelMethods, wrapper2.getCalls(new NullProgressMonitor()));
     }
 
+	@Test
+	public void callersAfterChangeInRequiringProject() throws Exception {
+        helper.createSimpleClasses();
+
+        // a third project that requires the project of A, but not the project of B
+        IJavaProject project3= helper.getJavaProject3();
+        JavaProjectHelper.addRTJar9(project3);
+        JavaProjectHelper.addRequiredProject(project3, helper.getJavaProject1());
+        IPackageFragment pack3= JavaProjectHelper.addSourceContainer(project3, "src").createPackageFragment("pack3", true, null);
+        IType type3= pack3.createCompilationUnit("C.java", "package pack3;\npublic class C {\n}\n", true, null).getType("C");
+
+        IMethod method= helper.getMethod1();
+
+        Collection<IMember> expectedMethods= new ArrayList<>();
+        expectedMethods.add(helper.getMethod2());
+        expectedMethods.add(helper.getMethod3());
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        IMethod method5= helper.getType2().createMethod("public void method5() { method1(); }\n", null, true, null);
+        expectedMethods.add(method5);
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        IMethod method6= type3.createMethod("public void method6() { new pack1.A().method1(); }\n", null, true, null);
+        expectedMethods.add(method6);
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        method5.delete(true, null);
+        expectedMethods.remove(method5);
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        method6.delete(true, null);
+        expectedMethods.remove(method6);
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+    }
+
+	@Test
+	public void callersInUnsavedWorkingCopy() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+
+        Collection<IMember> expectedMethods= new ArrayList<>();
+        expectedMethods.add(helper.getMethod2());
+        expectedMethods.add(helper.getMethod3());
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        // a call added to a member body in an editor is found before the editor is saved
+        ICompilationUnit cu= helper.getType2().getCompilationUnit();
+        cu.becomeWorkingCopy(null);
+        try {
+            String source= cu.getBuffer().getContents();
+            cu.getBuffer().setContents(source.replace("method4() { method3(); }", "method4() { method3(); method1(); }"));
+            cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+            expectedMethods.add(helper.getMethod4());
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+        } finally {
+            cu.discardWorkingCopy();
+        }
+
+        expectedMethods.remove(helper.getMethod4());
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+    }
+
+	@Test
+	public void expandCallers() throws Exception {
+        helper.createSimpleClasses();
+
+        MethodWrapper root= getSingleCallerRoot(helper.getMethod1());
+        List<Map<MethodWrapper, MethodWrapper[]>> levels= new ArrayList<>();
+        CallHierarchy.getDefault().expand(new MethodWrapper[] { root }, 3, 100, (level, calls) -> {
+            assertEquals(levels.size() + 1, level);
+            levels.add(calls);
+        }, new NullProgressMonitor());
+
+        assertEquals(3, levels.size());
+        assertEquals(1, levels.get(0).size());
+        MethodWrapper[] callsTo1= levels.get(0).get(root);
+        helper.assertCalls(Arrays.<IMember> asList(helper.getMethod2(), helper.getMethod3()), callsTo1);
+
+        Map<MethodWrapper, MethodWrapper[]> secondLevel= levels.get(1);
+        assertEquals(2, secondLevel.size());
+        helper.assertCalls(Arrays.<IMember> asList(helper.getMethod3()), secondLevel.get(helper.findMethodWrapper(helper.getMethod2(), callsTo1)));
+        helper.assertCalls(Arrays.<IMember> asList(helper.getMethod4()), secondLevel.get(helper.findMethodWrapper(helper.getMethod3(), callsTo1)));
+
+        Map<MethodWrapper, MethodWrapper[]> thirdLevel= levels.get(2);
+        assertEquals(2, thirdLevel.size());
+        int callCount= 0;
+        for (MethodWrapper[] calls : thirdLevel.values())
+            callCount+= calls.length;
+        assertEquals(1, callCount);
+    }
+
+	@Test
+	public void expandCallersWithNodeBudget() throws Exception {
+        helper.createSimpleClasses();
+
+        MethodWrapper root= getSingleCallerRoot(helper.getMethod1());
+        List<Map<MethodWrapper, MethodWrapper[]>> levels= new ArrayList<>();
+        CallHierarchy.getDefault().expand(new MethodWrapper[] { root }, 3, 2, (level, calls) -> levels.add(calls), new NullProgressMonitor());
+
+        assertEquals(1, levels.size());
+        assertEquals(1, levels.get(0).get(root).length);
+    }
+
 	@Test
 	public void callersNoResults() throws Exception {
         helper.createSimpleClasses();
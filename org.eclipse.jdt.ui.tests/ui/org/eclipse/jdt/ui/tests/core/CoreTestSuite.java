@@ -49,6 +49,7 @@ NameProposerTest.class,
 OverrideTest.class,
 PartialASTTest.class,
 ScopeAnalyzerTest.class,
+SuperTypeHierarchyCacheTest.class,
 TemplateStoreTest.class,
 TypeHierarchyTest.class,
 TypeHierarchyViewPartTest.class,
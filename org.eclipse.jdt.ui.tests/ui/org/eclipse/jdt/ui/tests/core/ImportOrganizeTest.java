@@ -15,11 +15,16 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -30,6 +35,7 @@ import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
 import org.eclipse.jdt.testplugin.TestOptions;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 
@@ -37,6 +43,8 @@ import org.eclipse.core.resources.ProjectScope;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
 import org.eclipse.jdt.core.IClasspathAttribute;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IImportDeclaration;
@@ -45,11 +53,15 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
+import org.eclipse.jdt.core.manipulation.MultiOrganizeImportsOperation;
 import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation;
 import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation.IChooseImportQuery;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 
+import org.eclipse.jdt.internal.corext.fix.OrganizeImportsRefactoring;
+
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -3713,6 +3725,140 @@ public class ImportOrganizeTest extends CoreTests {
 		assertEqualString(cu1.getSource(), buf1.toString());
 	}
 
+	@Test
+	public void testMultipleUnits() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+
+		for (String packName : new String[] { "a", "b" }) {
+			IPackageFragment pack= sourceFolder.createPackageFragment(packName, false, null);
+			pack.createCompilationUnit("Shared.java", "package " + packName + ";\npublic class Shared {\n}\n", false, null);
+			pack.createCompilationUnit("Other.java", "package " + packName + ";\npublic class Other {\n}\n", false, null);
+		}
+		IPackageFragment pack3= sourceFolder.createPackageFragment("c", false, null);
+		pack3.createCompilationUnit("Unique.java", "package c;\npublic class Unique {\n}\n", false, null);
+
+		IPackageFragment pack4= sourceFolder.createPackageFragment("test", false, null);
+		StringBuilder buf1= new StringBuilder();
+		buf1.append("package test;\n");
+		buf1.append("public class U1 {\n");
+		buf1.append("    Shared s;\n");
+		buf1.append("    Unique u;\n");
+		buf1.append("}\n");
+		ICompilationUnit cu1= pack4.createCompilationUnit("U1.java", buf1.toString(), false, null);
+
+		StringBuilder buf2= new StringBuilder();
+		buf2.append("package test;\n");
+		buf2.append("public class U2 {\n");
+		buf2.append("    Other o;\n");
+		buf2.append("    Unique u;\n");
+		buf2.append("}\n");
+		ICompilationUnit cu2= pack4.createCompilationUnit("U2.java", buf2.toString(), false, null);
+
+		StringBuilder buf3= new StringBuilder();
+		buf3.append("package test;\n");
+		buf3.append("public class U3 {\n");
+		buf3.append("    Unique u\n");
+		buf3.append("}\n");
+		ICompilationUnit cu3= pack4.createCompilationUnit("U3.java", buf3.toString(), false, null);
+
+		List<String> queried= new ArrayList<>();
+		IChooseImportQuery query= (openChoices, ranges) -> {
+			assertEquals(1, openChoices.length);
+			assertEquals(2, openChoices[0].length);
+			queried.add(openChoices[0][0].getSimpleTypeName());
+			for (TypeNameMatch match : openChoices[0]) {
+				if ("b".equals(match.getPackageName())) {
+					return new TypeNameMatch[] { match };
+				}
+			}
+			return null;
+		};
+
+		setOrganizeImportSettings(new String[0], 99, 99, fJProject1);
+		MultiOrganizeImportsOperation op= new MultiOrganizeImportsOperation(new ICompilationUnit[] { cu2, cu1, cu3 }, false, true, false, query);
+		op.run(null);
+
+		assertEquals(Arrays.asList("Other", "Shared"), queried);
+		assertImports(cu1, new String[] { "b.Shared", "c.Unique" });
+		assertImports(cu2, new String[] { "b.Other", "c.Unique" });
+		assertImports(cu3, new String[0]);
+
+		IProblem[] parseErrors= op.getParseErrors();
+		assertNull(parseErrors[0]);
+		assertNull(parseErrors[1]);
+		assertNotNull(parseErrors[2]);
+		assertEquals(4, op.getNumberOfImportsAdded());
+
+		boolean[] openChoices= op.getUnitsWithOpenChoices();
+		assertTrue(openChoices[0]);
+		assertTrue(openChoices[1]);
+		assertFalse(openChoices[2]);
+	}
+
+	@Test
+	public void testMultipleUnitsTwoProjects() throws Exception {
+		IJavaProject project2= JavaProjectHelper.createJavaProject("TestProject2", "bin");
+		try {
+			assertNotNull("rt not found", JavaProjectHelper.addRTJar(project2));
+			IPackageFragmentRoot sourceFolder2= JavaProjectHelper.addSourceContainer(project2, "src");
+			sourceFolder2.createPackageFragment("d", false, null).createCompilationUnit("Other.java", "package d;\npublic class Other {\n}\n", false, null);
+
+			IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+			sourceFolder.createPackageFragment("c", false, null).createCompilationUnit("Unique.java", "package c;\npublic class Unique {\n}\n", false, null);
+
+			IPackageFragment pack1= sourceFolder.createPackageFragment("test", false, null);
+			IPackageFragment pack2= sourceFolder2.createPackageFragment("test", false, null);
+			ICompilationUnit cu1= pack1.createCompilationUnit("U1.java", "package test;\npublic class U1 {\n    Unique u;\n}\n", false, null);
+			ICompilationUnit cu2= pack2.createCompilationUnit("U2.java", "package test;\npublic class U2 {\n    Other o;\n}\n", false, null);
+			ICompilationUnit cu3= pack1.createCompilationUnit("U3.java", "package test;\npublic class U3 {\n    Unique u;\n    Other o;\n}\n", false, null);
+
+			setOrganizeImportSettings(new String[0], 99, 99, fJProject1);
+			setOrganizeImportSettings(new String[0], 99, 99, project2);
+			MultiOrganizeImportsOperation op= new MultiOrganizeImportsOperation(new ICompilationUnit[] { cu1, cu2, cu3 }, false, true, false, null);
+			op.run(null);
+
+			assertImports(cu1, new String[] { "c.Unique" });
+			assertImports(cu2, new String[] { "d.Other" });
+			// the types of the other project are not visible
+			assertImports(cu3, new String[] { "c.Unique" });
+
+			IProblem[] parseErrors= op.getParseErrors();
+			assertNull(parseErrors[0]);
+			assertNull(parseErrors[1]);
+			assertNull(parseErrors[2]);
+			assertEquals(3, op.getNumberOfImportsAdded());
+		} finally {
+			JavaProjectHelper.delete(project2);
+		}
+	}
+
+	@Test
+	public void testMultipleUnitsRefactoring() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+
+		for (String packName : new String[] { "a", "b" }) {
+			IPackageFragment pack= sourceFolder.createPackageFragment(packName, false, null);
+			pack.createCompilationUnit("Shared.java", "package " + packName + ";\npublic class Shared {\n}\n", false, null);
+		}
+		IPackageFragment pack3= sourceFolder.createPackageFragment("c", false, null);
+		pack3.createCompilationUnit("Unique.java", "package c;\npublic class Unique {\n}\n", false, null);
+
+		IPackageFragment pack4= sourceFolder.createPackageFragment("test", false, null);
+		ICompilationUnit cu1= pack4.createCompilationUnit("U1.java", "package test;\npublic class U1 {\n    Unique u;\n}\n", false, null);
+		ICompilationUnit cu2= pack4.createCompilationUnit("U2.java", "package test;\npublic class U2 {\n    Shared s;\n    Unique u;\n}\n", false, null);
+
+		setOrganizeImportSettings(new String[0], 99, 99, fJProject1);
+		OrganizeImportsRefactoring refactoring= new OrganizeImportsRefactoring(new ICompilationUnit[] { cu1, cu2 }, "Organize Imports");
+		RefactoringStatus status= refactoring.checkAllConditions(new NullProgressMonitor());
+		assertEquals(status.toString(), RefactoringStatus.INFO, status.getSeverity());
+		assertEquals(1, status.getEntries().length);
+
+		refactoring.createChange(null).perform(new NullProgressMonitor());
+		assertImports(cu1, new String[] { "c.Unique" });
+		// no choice is made between a.Shared and b.Shared
+		assertImports(cu2, new String[] { "c.Unique" });
+	}
+
 	protected OrganizeImportsOperation createOperation(ICompilationUnit cu, String[] order, int threshold, boolean ignoreLowerCaseNames, boolean save, boolean allowSyntaxErrors, IChooseImportQuery chooseImportQuery) {
 		setOrganizeImportSettings(order, threshold, threshold, cu.getJavaProject());
 		return new OrganizeImportsOperation(cu, null, ignoreLowerCaseNames, save, allowSyntaxErrors, chooseImportQuery);
@@ -15,10 +15,15 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.fail;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.Collator;
 import java.util.Arrays;
 import java.util.Comparator;
 
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -28,6 +33,8 @@ import org.eclipse.jdt.internal.corext.util.History;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 public class SelectionHistoryTest {
 	@Rule
 	public ProjectTestSetup pts= new ProjectTestSetup();
@@ -124,6 +131,29 @@ public class SelectionHistoryTest {
 
 	}
 
+	private static final class StoredHistory extends History<String, String> {
+
+		public StoredHistory() {
+			super("SelectionHistoryTest.xml");
+			load();
+		}
+		@Override
+		protected void setAttributes(Object object, Element element) {
+			element.setAttribute("name", (String) object);
+		}
+		@Override
+		protected String createFromElement(Element type) {return type.getAttribute("name");}
+		@Override
+		protected String getKey(String object) {return object;}
+
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.log").toFile().toPath());
+		Files.deleteIfExists(JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.xml").toFile().toPath());
+	}
+
 	@Test
 	public void organizeImportHistory01() throws Exception {
 		History<String, String> history= new TestHistory();
@@ -190,4 +220,50 @@ public class SelectionHistoryTest {
 		Arrays.sort(strings, comparator);
 		assertEquals(strings, expected);
 	}
+
+	@Test
+	public void storedHistory() throws Exception {
+		History<String, String> history= new StoredHistory();
+		history.accessed("a");
+		history.accessed("b");
+		history.accessed("c");
+		history.save();
+
+		// appended to the log
+		history.remove("b");
+		history.accessed("a");
+		history.save();
+
+		History<String, String> loaded= new StoredHistory();
+		Assert.assertEquals(-1, loaded.getPosition("b"));
+		Assert.assertEquals(0, loaded.getPosition("c"));
+		Assert.assertEquals(1, loaded.getPosition("a"));
+
+		// the log is rewritten once it has grown too long
+		for (int i= 0; i < 1000; i++) {
+			loaded.accessed("e" + i);
+			loaded.save();
+		}
+		History<String, String> rewritten= new StoredHistory();
+		Assert.assertEquals(-1, rewritten.getPosition("a"));
+		Assert.assertEquals(59, rewritten.getPosition("e999"));
+		Assert.assertEquals(0, rewritten.getPosition("e940"));
+	}
+
+	@Test
+	public void migratedHistory() throws Exception {
+		Path xmlFile= JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.xml").toFile().toPath();
+		Files.writeString(xmlFile, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<histroyRootNode><infoNode name=\"a\"/><infoNode name=\"b\"/></histroyRootNode>\n", StandardCharsets.UTF_8);
+
+		History<String, String> history= new StoredHistory();
+		Assert.assertEquals(0, history.getPosition("a"));
+		Assert.assertEquals(1, history.getPosition("b"));
+		history.save();
+		Assert.assertFalse(Files.exists(xmlFile));
+
+		History<String, String> loaded= new StoredHistory();
+		Assert.assertEquals(0, loaded.getPosition("a"));
+		Assert.assertEquals(1, loaded.getPosition("b"));
+	}
 }
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class SuperTypeHierarchyCacheTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+	private IPackageFragment fPack;
+	private int fMaximumSize;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack= root.createPackageFragment("pack", true, null);
+		fMaximumSize= SuperTypeHierarchyCache.getMaximumSize();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SuperTypeHierarchyCache.setMaximumSize(fMaximumSize);
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	private IType createType(String name, String superClass) throws Exception {
+		String source= "package pack;\npublic class " + name + (superClass != null ? " extends " + superClass : "") + " {\n}\n";
+		return fPack.createCompilationUnit(name + ".java", source, true, null).getType(name);
+	}
+
+	@Test
+	public void hitsAndMisses() throws Exception {
+		IType a= createType("A", null);
+		IType b= createType("B", "A");
+
+		SuperTypeHierarchyCache.resetStatistics();
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertEquals(1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(0, SuperTypeHierarchyCache.getCacheHits());
+
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(b));
+		// the super type is answered from the hierarchy of its subtype
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(a));
+		assertEquals(1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(2, SuperTypeHierarchyCache.getCacheHits());
+		assertTrue(SuperTypeHierarchyCache.hasInCache(a));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsed() throws Exception {
+		IType c1= createType("C1", null);
+		IType c2= createType("C2", null);
+		IType c3= createType("C3", null);
+
+		SuperTypeHierarchyCache.setMaximumSize(2);
+		SuperTypeHierarchyCache.getTypeHierarchy(c1);
+		SuperTypeHierarchyCache.getTypeHierarchy(c2);
+		assertEquals(2, SuperTypeHierarchyCache.getCacheSize());
+
+		SuperTypeHierarchyCache.resetStatistics();
+		SuperTypeHierarchyCache.getTypeHierarchy(c1); // C2 is now the least recently used
+		SuperTypeHierarchyCache.getTypeHierarchy(c3);
+
+		assertEquals(1, SuperTypeHierarchyCache.getCacheHits());
+		assertEquals(1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(1, SuperTypeHierarchyCache.getCacheEvictions());
+		assertEquals(2, SuperTypeHierarchyCache.getCacheSize());
+		assertTrue(SuperTypeHierarchyCache.hasInCache(c1));
+		assertFalse(SuperTypeHierarchyCache.hasInCache(c2));
+		assertTrue(SuperTypeHierarchyCache.hasInCache(c3));
+	}
+
+	@Test
+	public void methodOverrideTestersFollowMaximumSize() throws Exception {
+		IType c1= createType("C1", null);
+		IType c2= createType("C2", null);
+		IType c3= createType("C3", null);
+
+		SuperTypeHierarchyCache.setMaximumSize(3);
+		MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(c1);
+		assertSame(tester, SuperTypeHierarchyCache.getMethodOverrideTester(c1));
+		SuperTypeHierarchyCache.getMethodOverrideTester(c2);
+		SuperTypeHierarchyCache.getMethodOverrideTester(c3);
+		assertTrue(SuperTypeHierarchyCache.getMethodOverrideTesterCacheSize() <= 3);
+
+		SuperTypeHierarchyCache.setMaximumSize(1);
+		assertTrue(SuperTypeHierarchyCache.getMethodOverrideTesterCacheSize() <= 1);
+
+		SuperTypeHierarchyCache.getMethodOverrideTester(c1);
+		SuperTypeHierarchyCache.getMethodOverrideTester(c2);
+		assertEquals(1, SuperTypeHierarchyCache.getMethodOverrideTesterCacheSize());
+	}
+}
@@ -15,6 +15,9 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -28,6 +31,7 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.ui.IEditorPart;
 
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
@@ -41,6 +45,8 @@ import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyService;
 
 public class TypeHierarchyTest {
 	@Rule
@@ -268,4 +274,100 @@ public class TypeHierarchyTest {
 		assertEquals("Should contain 3 types, contains: " + allTypes.length, 3, allTypes.length);
 		assertEquals("Update count should be 1, is: " + updateCount[0], 1, updateCount[0]);
 	}
+
+	@Test
+	public void sharedHierarchy() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		ICompilationUnit cu1= pack1.getCompilationUnit("A.java");
+		IType type1= cu1.createType("public class A {\n}\n", null, true, null);
+		ICompilationUnit cu2= pack1.getCompilationUnit("B.java");
+		cu2.createType("public class B extends A {\n}\n", null, true, null);
+
+		TypeHierarchyLifeCycle lifeCycle1= new TypeHierarchyLifeCycle(false);
+		TypeHierarchyLifeCycle lifeCycle2= new TypeHierarchyLifeCycle(false);
+		TypeHierarchyLifeCycle superTypesLifeCycle= new TypeHierarchyLifeCycle(true);
+		TypeHierarchyService service= TypeHierarchyService.getDefault();
+		try {
+			lifeCycle1.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			lifeCycle2.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			superTypesLifeCycle.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+
+			ITypeHierarchy hierarchy= lifeCycle1.getHierarchy();
+			assertSame(hierarchy, lifeCycle2.getHierarchy());
+			assertNotSame(hierarchy, superTypesLifeCycle.getHierarchy());
+			assertEquals(2, service.getReferenceCount(hierarchy));
+			assertEquals(1, hierarchy.getSubclasses(type1).length);
+
+			cu2.getBuffer().setContents("package pack1;\npublic class B {\n}\n");
+			cu2.save(null, true);
+			JavaProjectHelper.emptyDisplayLoop();
+
+			lifeCycle2.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			ITypeHierarchy refreshed= lifeCycle2.getHierarchy();
+			assertNotSame(hierarchy, refreshed);
+			assertEquals(0, refreshed.getSubclasses(type1).length);
+			// the hierarchy held by the other client is not modified
+			assertSame(hierarchy, lifeCycle1.getHierarchy());
+			assertEquals(1, hierarchy.getSubclasses(type1).length);
+			assertEquals(2, service.getReferenceCount(refreshed));
+
+			lifeCycle1.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			assertSame(refreshed, lifeCycle1.getHierarchy());
+			assertEquals(2, service.getReferenceCount(refreshed));
+			assertEquals(-1, service.getReferenceCount(hierarchy));
+
+			lifeCycle1.freeHierarchy();
+			assertNull(lifeCycle1.getHierarchy());
+			assertEquals(1, service.getReferenceCount(refreshed));
+		} finally {
+			lifeCycle1.freeHierarchy();
+			lifeCycle2.freeHierarchy();
+			superTypesLifeCycle.freeHierarchy();
+		}
+	}
+
+	@Test
+	public void forcedRefresh() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		ICompilationUnit cu1= pack1.getCompilationUnit("A.java");
+		IType type1= cu1.createType("public class A {\n}\n", null, true, null);
+		ICompilationUnit cu2= pack1.getCompilationUnit("B.java");
+		cu2.createType("public class B extends A {\n}\n", null, true, null);
+
+		TypeHierarchyLifeCycle lifeCycle1= new TypeHierarchyLifeCycle(false);
+		TypeHierarchyLifeCycle lifeCycle2= new TypeHierarchyLifeCycle(false);
+		TypeHierarchyService service= TypeHierarchyService.getDefault();
+		try {
+			lifeCycle1.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			lifeCycle2.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			ITypeHierarchy hierarchy= lifeCycle1.getHierarchy();
+
+			// without a change the shared hierarchy is kept
+			lifeCycle1.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			assertSame(hierarchy, lifeCycle1.getHierarchy());
+
+			// an explicit refresh computes it again
+			lifeCycle1.forceRefresh();
+			lifeCycle1.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			ITypeHierarchy refreshed= lifeCycle1.getHierarchy();
+			assertNotSame(hierarchy, refreshed);
+			assertEquals(1, refreshed.getSubclasses(type1).length);
+			assertSame(hierarchy, lifeCycle2.getHierarchy());
+			assertEquals(2, service.getReferenceCount(refreshed));
+
+			// the next refresh is not forced again
+			lifeCycle1.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			assertSame(refreshed, lifeCycle1.getHierarchy());
+			lifeCycle2.doHierarchyRefresh(new IJavaElement[] { type1 }, null);
+			assertSame(refreshed, lifeCycle2.getHierarchy());
+			assertEquals(2, service.getReferenceCount(refreshed));
+		} finally {
+			lifeCycle1.freeHierarchy();
+			lifeCycle2.freeHierarchy();
+		}
+	}
 }
@@ -32,7 +32,9 @@ import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
 import org.eclipse.jdt.testplugin.StringAsserts;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
@@ -49,6 +51,7 @@ import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -132,6 +135,48 @@ public class TypeInfoTest {
 
 	}
 
+	@Test
+	public void testTypeNameIndex() throws Exception {
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack= root.createPackageFragment("com.oti", true, null);
+		pack.getCompilationUnit("VIndexed.java").createType("public class VIndexed {\n static class VIndexedInner {\n}\n}\n", null, true, null);
+
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { fJProject1 });
+		TypeInfoFilter filter= new TypeInfoFilter("VIndex", scope, IJavaSearchConstants.TYPE, null);
+		assertEquals("VIndex", filter.getNamePrefix());
+		List<TypeNameMatch> result= findInIndex(filter);
+		findTypeRef(result, "com.oti.VIndexed");
+		findTypeRef(result, "com.oti.VIndexed.VIndexedInner");
+		assertEquals(2, result.size());
+
+		filter= new TypeInfoFilter("VII", scope, IJavaSearchConstants.TYPE, null);
+		assertEquals("V", filter.getNamePrefix());
+		result= findInIndex(filter);
+		findTypeRef(result, "com.oti.VIndexed.VIndexedInner");
+
+		// the index is updated from deltas
+		ICompilationUnit cu= pack.getCompilationUnit("VIndexedToo.java");
+		cu.createType("public class VIndexedToo {\n}\n", null, true, null);
+		filter= new TypeInfoFilter("VIndex", scope, IJavaSearchConstants.TYPE, null);
+		result= findInIndex(filter);
+		findTypeRef(result, "com.oti.VIndexedToo");
+		assertEquals(3, result.size());
+
+		cu.delete(true, null);
+		assertEquals(2, findInIndex(filter).size());
+	}
+
+	private static List<TypeNameMatch> findInIndex(TypeInfoFilter filter) throws Exception {
+		TypeNameIndex index= TypeNameIndex.getInstance();
+		List<TypeNameMatch> result= index.findMatches(filter, new NullProgressMonitor());
+		for (int i= 0; result == null && i < 10; i++) {
+			Job.getJobManager().join(TypeNameIndex.FAMILY, null);
+			result= index.findMatches(filter, new NullProgressMonitor());
+		}
+		assertNotNull("index not built", result);
+		return result;
+	}
+
 	private void assertResolve(TypeNameMatch ref) {
 		IType resolvedType= ref.getType();
 		assertNotNull("Could not be resolved: " + ref.toString(), resolvedType);
@@ -29,6 +29,7 @@ import static org.junit.Assert.fail;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.util.Enumeration;
 import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -260,6 +261,14 @@ public class FatJarExportTests {
 			}
 			assertEquals("loader is a class file", 0xCAFEBABE, magic); //$NON-NLS-1$
 			assertEquals("loader compiled with JDK 1.8", "52.0", majorVersion + "." + minorVersion); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+			// libraries are copied as they are, their entries are compressed already
+			Enumeration<? extends ZipEntry> entries= generatedArchive.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry= entries.nextElement();
+				if (entry.getName().endsWith(".jar")) //$NON-NLS-1$
+					assertEquals(entry.getName(), ZipEntry.STORED, entry.getMethod());
+			}
 		}
 
 		MultiStatus status= new MultiStatus(JavaUI.ID_PLUGIN, 0, "", null); //$NON-NLS-1$
@@ -13,15 +13,25 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.jarexport;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.ZipEntry;
@@ -41,6 +51,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ui.IWorkbenchWindow;
@@ -58,6 +69,7 @@ import org.eclipse.jdt.ui.jarpackager.IJarExportRunnable;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.jarpackager.IncrementalJarWriter;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
 public class PlainJarExportTests {
@@ -160,6 +172,115 @@ public class PlainJarExportTests {
 		assertEquals(expected.toString(), entries.toString());
 	}
 
+	@Test
+	public void exportIncremental() throws Exception {
+		JarPackageData data= createJarPackageData();
+
+		data.setElements(new Object[] { fCU });
+		data.setExportClassFiles(true);
+		data.setIncremental(true);
+
+		List<String> expected= Arrays.asList("META-INF/MANIFEST.MF\n", "org/eclipse/jdt/ui/test/Main$1.class\n", "org/eclipse/jdt/ui/test/Main$MainInner.class\n", "org/eclipse/jdt/ui/test/Main.class\n");
+		ArrayList<String> entries;
+		try (ZipFile jar= createArchive(data)) {
+			entries= getSortedEntries(jar);
+		}
+		assertEquals(expected.toString(), entries.toString());
+		assertTrue("index not written", data.getJarLocation().addFileExtension("index").toFile().exists()); //$NON-NLS-1$
+		Map<String, byte[]> first= getRawEntries(data);
+
+		// nothing changed, all entries are copied as they are
+		try (ZipFile jar= createArchive(data)) {
+			entries= getSortedEntries(jar);
+			ZipEntry main= jar.getEntry("org/eclipse/jdt/ui/test/Main.class");
+			try (InputStream in= jar.getInputStream(main)) {
+				assertEquals(main.getSize(), in.readAllBytes().length);
+			}
+		}
+		assertEquals(expected.toString(), entries.toString());
+		Map<String, byte[]> second= getRawEntries(data);
+		assertEquals(first.keySet(), second.keySet());
+		for (String name : first.keySet()) {
+			assertArrayEquals(name, first.get(name), second.get(name));
+		}
+
+		// only the class file of the changed method is written again
+		IFile file= (IFile) fCU.getResource();
+		String source= fCU.getSource().replace("}.hashCode();", "}.toString();");
+		file.setContents(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), true, false, null);
+		try (ZipFile jar= createArchive(data)) {
+			entries= getSortedEntries(jar);
+			ZipEntry main= jar.getEntry("org/eclipse/jdt/ui/test/Main.class");
+			try (InputStream in= jar.getInputStream(main)) {
+				assertEquals(main.getSize(), in.readAllBytes().length);
+			}
+		}
+		assertEquals(expected.toString(), entries.toString());
+		Map<String, byte[]> third= getRawEntries(data);
+		assertFalse(Arrays.equals(second.get("org/eclipse/jdt/ui/test/Main.class"), third.get("org/eclipse/jdt/ui/test/Main.class")));
+		assertArrayEquals(second.get("org/eclipse/jdt/ui/test/Main$MainInner.class"), third.get("org/eclipse/jdt/ui/test/Main$MainInner.class"));
+	}
+
+	@Test
+	public void incrementalWriterCounts() throws Exception {
+		JarPackageData data= createJarPackageData();
+		data.setElements(new Object[] { fCU });
+		data.setIncremental(true);
+
+		IFile unchanged= fProject.getProject().getFile("unchanged.txt");
+		unchanged.create(new ByteArrayInputStream("unchanged".getBytes(StandardCharsets.UTF_8)), true, null);
+		IFile changed= fProject.getProject().getFile("changed.txt");
+		changed.create(new ByteArrayInputStream("before".getBytes(StandardCharsets.UTF_8)), true, null);
+
+		IncrementalJarWriter writer= writeIncremental(data, unchanged, changed);
+		assertEquals(0, writer.getReusedCount());
+		int written= writer.getWrittenCount();
+		Map<String, byte[]> first= getRawEntries(data);
+
+		changed.setContents(new ByteArrayInputStream("after".getBytes(StandardCharsets.UTF_8)), true, false, null);
+		writer= writeIncremental(data, unchanged, changed);
+		assertEquals(1, writer.getWrittenCount());
+		assertEquals(written - 1, writer.getReusedCount());
+		assertTrue(writer.getReusedCount() > 0);
+
+		Map<String, byte[]> second= getRawEntries(data);
+		assertArrayEquals(first.get("unchanged.txt"), second.get("unchanged.txt"));
+		try (ZipFile jar= JarPackagerUtil.createZipFile(data.getJarLocation())) {
+			try (InputStream in= jar.getInputStream(jar.getEntry("changed.txt"))) {
+				assertEquals("after", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	private static IncrementalJarWriter writeIncremental(JarPackageData data, IFile... files) throws CoreException {
+		IncrementalJarWriter writer= new IncrementalJarWriter(data, null);
+		for (IFile file : files) {
+			writer.write(file, file.getProjectRelativePath());
+		}
+		writer.close();
+		return writer;
+	}
+
+	/*
+	 * Returns the local header and data of each entry, as they are stored in the archive.
+	 */
+	private static Map<String, byte[]> getRawEntries(JarPackageData data) throws IOException {
+		byte[] bytes= Files.readAllBytes(data.getAbsoluteJarLocation().toFile().toPath());
+		ByteBuffer buffer= ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		Map<String, byte[]> result= new HashMap<>();
+		int offset= 0;
+		while (buffer.getInt(offset) == 0x04034b50) {
+			int compressedSize= buffer.getInt(offset + 18);
+			int nameLength= Short.toUnsignedInt(buffer.getShort(offset + 26));
+			int extraLength= Short.toUnsignedInt(buffer.getShort(offset + 28));
+			String name= new String(bytes, offset + 30, nameLength, StandardCharsets.UTF_8);
+			int length= 30 + nameLength + extraLength + compressedSize;
+			result.put(name, Arrays.copyOfRange(bytes, offset, offset + length));
+			offset+= length;
+		}
+		return result;
+	}
+
 	private JarPackageData createJarPackageData() {
 		JarPackageData data= new JarPackageData();
 		data.setJarLocation(ResourcesPlugin.getWorkspace().getRoot().getLocation().append(getName() + ".jar"));
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.text.edits.InsertEdit;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+/**
+ * Tests the parallel mode of {@link CleanUpRefactoring}, see {@link CleanUpRefactoring#setParallelism(int)}.
+ */
+public class CleanUpParallelTest extends CleanUpTestCase {
+
+	private static final int UNIT_COUNT= 20;
+
+	@Rule
+	public ProjectTestSetup projectSetup= new ProjectTestSetup();
+
+	@Override
+	protected IJavaProject getProject() {
+		return projectSetup.getProject();
+	}
+
+	@Override
+	protected IClasspathEntry[] getDefaultClasspath() throws CoreException {
+		return projectSetup.getDefaultClasspath();
+	}
+
+	/**
+	 * Adds a comment to the start of each compilation unit.
+	 */
+	private static class CommentCleanUp implements ICleanUp {
+
+		private final String fFailingUnit;
+		private final IProgressMonitor fMonitorToCancel;
+		private final AtomicInteger fFixCount= new AtomicInteger();
+
+		public CommentCleanUp(String failingUnit, IProgressMonitor monitorToCancel) {
+			fFailingUnit= failingUnit;
+			fMonitorToCancel= monitorToCancel;
+		}
+
+		@Override
+		public void setOptions(CleanUpOptions options) {
+		}
+
+		@Override
+		public String[] getStepDescriptions() {
+			return new String[0];
+		}
+
+		@Override
+		public CleanUpRequirements getRequirements() {
+			return new CleanUpRequirements(true, false, false, null);
+		}
+
+		@Override
+		public RefactoringStatus checkPreConditions(IJavaProject project, ICompilationUnit[] compilationUnits, IProgressMonitor monitor) throws CoreException {
+			return new RefactoringStatus();
+		}
+
+		@Override
+		public ICleanUpFix createFix(CleanUpContext context) throws CoreException {
+			fFixCount.incrementAndGet();
+			final ICompilationUnit unit= context.getCompilationUnit();
+			if (unit.getElementName().equals(fFailingUnit))
+				throw new CoreException(new Status(IStatus.ERROR, "org.eclipse.jdt.ui.tests", "failed in " + fFailingUnit));
+			if (fMonitorToCancel != null)
+				fMonitorToCancel.setCanceled(true);
+			return new ICleanUpFix() {
+				@Override
+				public CompilationUnitChange createChange(IProgressMonitor progressMonitor) throws CoreException {
+					CompilationUnitChange change= new CompilationUnitChange("comment", unit);
+					change.setEdit(new InsertEdit(0, "// " + unit.getElementName() + "\n"));
+					return change;
+				}
+			};
+		}
+
+		@Override
+		public RefactoringStatus checkPostConditions(IProgressMonitor monitor) throws CoreException {
+			return new RefactoringStatus();
+		}
+
+		public int getFixCount() {
+			return fFixCount.get();
+		}
+	}
+
+	private ICompilationUnit[] createUnits() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit[] result= new ICompilationUnit[UNIT_COUNT];
+		// names are added in reverse order so that the order of the result is not the name order
+		for (int i= 0; i < UNIT_COUNT; i++) {
+			String name= "E" + (UNIT_COUNT - i);
+			result[i]= pack1.createCompilationUnit(name + ".java", "package test1;\npublic class " + name + " {\n}\n", false, null);
+		}
+		return result;
+	}
+
+	private static CleanUpRefactoring createRefactoring(ICompilationUnit[] units, ICleanUp cleanUp) {
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setParallelism(3);
+		for (ICompilationUnit unit : units) {
+			ref.addCompilationUnit(unit);
+		}
+		ref.addCleanUp(cleanUp);
+		return ref;
+	}
+
+	@Test
+	public void testResultOrder() throws Exception {
+		ICompilationUnit[] units= createUnits();
+		CommentCleanUp cleanUp= new CommentCleanUp(null, null);
+		CleanUpRefactoring ref= createRefactoring(units, cleanUp);
+
+		RefactoringStatus status= ref.checkAllConditions(new NullProgressMonitor());
+		assertTrue(status.toString(), status.isOK());
+
+		Change[] changes= ((CompositeChange) ref.createChange(null)).getChildren();
+		assertEquals(UNIT_COUNT, changes.length);
+		for (int i= 0; i < UNIT_COUNT; i++) {
+			assertEquals(units[i], changes[i].getModifiedElement());
+			String preview= ((CompilationUnitChange) changes[i]).getPreviewContent(null);
+			assertTrue(preview, preview.startsWith("// " + units[i].getElementName() + "\n"));
+		}
+		assertEquals(UNIT_COUNT, cleanUp.getFixCount());
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		ICompilationUnit[] units= createUnits();
+		IProgressMonitor monitor= new NullProgressMonitor();
+		CommentCleanUp cleanUp= new CommentCleanUp(null, monitor);
+		CleanUpRefactoring ref= createRefactoring(units, cleanUp);
+
+		try {
+			ref.checkAllConditions(monitor);
+			fail("clean up not canceled");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		assertTrue("all units processed: " + cleanUp.getFixCount(), cleanUp.getFixCount() < UNIT_COUNT);
+	}
+
+	@Test
+	public void testExceptionInCleanUp() throws Exception {
+		ICompilationUnit[] units= createUnits();
+		CommentCleanUp cleanUp= new CommentCleanUp("E7.java", null);
+		CleanUpRefactoring ref= createRefactoring(units, cleanUp);
+
+		try {
+			ref.checkAllConditions(new NullProgressMonitor());
+			fail("exception not propagated");
+		} catch (CoreException e) {
+			assertEquals("failed in E7.java", e.getStatus().getMessage());
+		}
+	}
+}
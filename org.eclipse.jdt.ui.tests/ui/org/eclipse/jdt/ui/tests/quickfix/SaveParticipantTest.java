@@ -1199,4 +1199,154 @@ public class SaveParticipantTest extends CleanUpTestCase {
 		// Then
 		assertEquals(expected1, cu1.getBuffer().getContents());
 	}
+
+	@Test
+	public void testChangedRegionsOnly() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(Integer i) {\n" //
+				+ "        int j = i.intValue();\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public void bar(Integer i) {\n" //
+				+ "        int j = i.intValue();\n" //
+				+ "    }\n" //
+				+ "}\n"; //
+
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(Integer i) {\n" //
+				+ "        int j = i.intValue();\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public void bar(Integer i) {\n" //
+				+ "        int k = i.intValue();\n" //
+				+ "    }\n" //
+				+ "}\n"; //
+
+		String expected1= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(Integer i) {\n" //
+				+ "        int j = i.intValue();\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public void bar(Integer i) {\n" //
+				+ "        int k = i;\n" //
+				+ "    }\n" //
+				+ "}\n"; //
+
+		enable(CleanUpConstants.USE_UNBOXING);
+		enable(CleanUpConstants.CLEANUP_ON_SAVE_CHANGED_REGIONS_ONLY);
+
+		// When
+		editCUInEditor(cu1, fileOnEditor);
+
+		// Then
+		assertEquals(expected1, cu1.getBuffer().getContents());
+	}
+
+	@Test
+	public void testChangedRegionsOnlyFormatAll() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s= (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s    = (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		String expected1= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(Object o) {\n" //
+				+ "        String s = (String) o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE);
+		enable(CleanUpConstants.CLEANUP_ON_SAVE_CHANGED_REGIONS_ONLY);
+
+		// When
+		editCUInEditor(cu1, fileOnEditor);
+
+		// Then
+		assertEquals(expected1, cu1.getBuffer().getContents());
+	}
+
+	@Test
+	public void testChangedRegionsOnlyWithoutFixCollector() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(boolean b) {\n" //
+				+ "        if (b)\n" //
+				+ "            System.out.println(b);\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public void bar(boolean b) {\n" //
+				+ "        if (b)\n" //
+				+ "            System.out.println(b);\n" //
+				+ "    }\n" //
+				+ "}\n"; //
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(boolean b) {\n" //
+				+ "        if (b)\n" //
+				+ "            System.out.println(b);\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public void bar(boolean b) {\n" //
+				+ "        if (b)\n" //
+				+ "            System.out.println(!b);\n" //
+				+ "    }\n" //
+				+ "}\n"; //
+
+		String expected1= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(boolean b) {\n" //
+				+ "        if (b)\n" //
+				+ "            System.out.println(b);\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public void bar(boolean b) {\n" //
+				+ "        if (b) {\n" //
+				+ "            System.out.println(!b);\n" //
+				+ "        }\n" //
+				+ "    }\n" //
+				+ "}\n"; //
+
+		enable(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS);
+		enable(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS_ALWAYS);
+		enable(CleanUpConstants.CLEANUP_ON_SAVE_CHANGED_REGIONS_ONLY);
+
+		// When
+		editCUInEditor(cu1, fileOnEditor);
+
+		// Then
+		assertEquals(expected1, cu1.getBuffer().getContents());
+	}
 }
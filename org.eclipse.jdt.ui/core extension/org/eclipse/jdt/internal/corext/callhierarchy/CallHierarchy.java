@@ -20,6 +20,8 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 import java.util.Collection;
 import java.util.List;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.preference.IPreferenceStore;
 
 import org.eclipse.jdt.core.IJavaElement;
@@ -98,6 +100,10 @@ public class CallHierarchy {
         return fgCallHierarchyCore.getCalleeRoots(members);
     }
 
+    public void expand(MethodWrapper[] roots, int maxDepth, int maxNodes, ICallHierarchyExpansionListener listener, IProgressMonitor monitor) {
+        fgCallHierarchyCore.expand(roots, maxDepth, maxNodes, listener, monitor);
+    }
+
     public static CallLocation getCallLocation(Object element) {
         return CallHierarchyCore.getCallLocation(element);
     }
@@ -87,10 +87,12 @@ import org.eclipse.ltk.ui.refactoring.RefactoringUI;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
+import org.eclipse.jdt.internal.core.manipulation.RecentASTCache;
 import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring.CleanUpChange;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.util.Messages;
@@ -311,7 +313,11 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 
 	@Override
 	public boolean needsChangedRegions(ICompilationUnit unit) throws CoreException {
-		ICleanUp[] cleanUps= getCleanUps(unit.getJavaProject().getProject());
+		IProject project= unit.getJavaProject().getProject();
+		if (isRestrictedToChangedRegions(project))
+			return true;
+
+		ICleanUp[] cleanUps= getCleanUps(project);
 		return requiresChangedRegions(cleanUps);
 	}
 
@@ -327,6 +333,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 				return;
 
 			ICleanUp[] cleanUps= getCleanUps(unit.getJavaProject().getProject());
+			boolean restrictToChangedRegions= changedRegions != null && isRestrictedToChangedRegions(unit.getJavaProject().getProject());
 
 			long oldFileValue= unit.getResource().getModificationStamp();
 			long oldDocValue= getDocumentStamp((IFile)unit.getResource(), Progress.subMonitor(monitor, 2));
@@ -378,7 +385,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
     				if (changedRegions == null) {
     					context= new CleanUpContext(unit, ast);
     				} else {
-    					context= new MultiLineCleanUpContext(unit, ast, changedRegions);
+    					context= new MultiLineCleanUpContext(unit, ast, changedRegions, restrictToChangedRegions);
     				}
 
     				ArrayList<ICleanUp> undoneCleanUps= new ArrayList<>();
@@ -402,7 +409,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
     					PerformChangeOperation performChangeOperation= new PerformChangeOperation(change);
     					performChangeOperation.setSchedulingRule(unit.getSchedulingRule());
 
-    					if (changedRegions != null && changedRegions.length > 0 && requiresChangedRegions(cleanUps)) {
+    					if (changedRegions != null && changedRegions.length > 0 && (restrictToChangedRegions || requiresChangedRegions(cleanUps))) {
 							changedRegions= performWithChangedRegionUpdate(performChangeOperation, changedRegions, unit, Progress.subMonitor(monitor, 5));
 						} else {
 							performChangeOperation.run(Progress.subMonitor(monitor, 5));
@@ -433,15 +440,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 
 	private static ICleanUp[] getCleanUps(IProject project) throws CoreException {
 		ICleanUp[] cleanUps;
-		Map<String, String> settings= CleanUpPreferenceUtil.loadSaveParticipantOptions(new ProjectScope(project));
-		if (settings == null) {
-			IEclipsePreferences contextNode= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
-			String id= contextNode.get(CleanUpConstants.CLEANUP_ON_SAVE_PROFILE, null);
-			if (id == null) {
-				id= DefaultScope.INSTANCE.getNode(JavaUI.ID_PLUGIN).get(CleanUpConstants.CLEANUP_ON_SAVE_PROFILE, CleanUpConstants.DEFAULT_SAVE_PARTICIPANT_PROFILE);
-			}
-			throw new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, Messages.format(FixMessages.CleanUpPostSaveListener_unknown_profile_error_message, id)));
-		}
+		Map<String, String> settings= loadSettings(project);
 
 		if (CleanUpOptions.TRUE.equals(settings.get(CleanUpConstants.CLEANUP_ON_SAVE_ADDITIONAL_OPTIONS))) {
 			cleanUps= getCleanUps(settings, null);
@@ -459,6 +458,23 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		return cleanUps;
 	}
 
+	private static boolean isRestrictedToChangedRegions(IProject project) throws CoreException {
+		return CleanUpOptions.TRUE.equals(loadSettings(project).get(CleanUpConstants.CLEANUP_ON_SAVE_CHANGED_REGIONS_ONLY));
+	}
+
+	private static Map<String, String> loadSettings(IProject project) throws CoreException {
+		Map<String, String> settings= CleanUpPreferenceUtil.loadSaveParticipantOptions(new ProjectScope(project));
+		if (settings == null) {
+			IEclipsePreferences contextNode= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+			String id= contextNode.get(CleanUpConstants.CLEANUP_ON_SAVE_PROFILE, null);
+			if (id == null) {
+				id= DefaultScope.INSTANCE.getNode(JavaUI.ID_PLUGIN).get(CleanUpConstants.CLEANUP_ON_SAVE_PROFILE, CleanUpConstants.DEFAULT_SAVE_PARTICIPANT_PROFILE);
+			}
+			throw new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, Messages.format(FixMessages.CleanUpPostSaveListener_unknown_profile_error_message, id)));
+		}
+		return settings;
+	}
+
 	private static ICleanUp[] getCleanUps(Map<String, String> settings, Set<String> ids) {
 		ICleanUp[] result= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps(ids);
 
@@ -579,11 +595,13 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		return false;
 	}
 
-	private CompilationUnit createAst(ICompilationUnit unit, Map<String, String> cleanUpOptions, IProgressMonitor monitor) {
+	private CompilationUnit createAst(ICompilationUnit unit, Map<String, String> cleanUpOptions, IProgressMonitor monitor) throws JavaModelException {
 		IJavaProject project= unit.getJavaProject();
 		if (compatibleOptions(project, cleanUpOptions)) {
+			// the editor of the saved unit is usually the active one, reuse the AST of its last
+			// reconcile if the unit has not been changed since, but don't wait for a reconcile
 			CompilationUnit ast= SharedASTProviderCore.getAST(unit, SharedASTProviderCore.WAIT_NO, monitor);
-			if (ast != null)
+			if (ast != null && RecentASTCache.getDefault().isCurrent(unit, ast))
 				return ast;
 		}
 
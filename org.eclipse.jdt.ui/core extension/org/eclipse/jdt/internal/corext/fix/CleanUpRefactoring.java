@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,37 +13,58 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.swt.widgets.Display;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.resources.ResourcesPlugin;
 
+import org.eclipse.text.edits.CopySourceEdit;
+import org.eclipse.text.edits.CopyTargetEdit;
 import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MoveSourceEdit;
+import org.eclipse.text.edits.MoveTargetEdit;
+import org.eclipse.text.edits.MultiTextEdit;
 import org.eclipse.text.edits.TextEdit;
 import org.eclipse.text.edits.TextEditGroup;
+import org.eclipse.text.edits.TextEditVisitor;
 import org.eclipse.text.edits.UndoEdit;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 
 import org.eclipse.ltk.core.refactoring.CategorizedTextEditGroup;
 import org.eclipse.ltk.core.refactoring.Change;
@@ -64,11 +85,13 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.common.FusedASTVisitor;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
@@ -87,7 +110,11 @@ import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.AbstractMultiFix;
+import org.eclipse.jdt.internal.ui.fix.AbstractMultiFix.FixCollector;
+import org.eclipse.jdt.internal.ui.fix.CodeFormatCleanUp;
 import org.eclipse.jdt.internal.ui.fix.IMultiFix.MultiFixContext;
+import org.eclipse.jdt.internal.ui.fix.IMultiLineCleanUp.MultiLineCleanUpContext;
 import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
 import org.eclipse.jdt.internal.ui.refactoring.IScheduledRefactoring;
 import org.eclipse.jdt.ui.text.java.IProblemLocation;
@@ -247,25 +274,34 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private static class CleanUpASTRequestor extends ASTRequestor {
 
-		private final List<ParseListElement> fUndoneElements;
+		protected final List<ParseListElement> fUndoneElements;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
 		private final CleanUpRefactoringProgressMonitor fMonitor;
 
 		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
+			this(createParseElementMap(parseList), solutions, monitor);
+		}
+
+		protected CleanUpASTRequestor(Hashtable<ICompilationUnit, ParseListElement> parseElementMap, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
 			fSolutions= solutions;
 			fMonitor= monitor;
 			fUndoneElements= new ArrayList<>();
-			fCompilationUnitParseElementMap= new Hashtable<>(parseList.size());
+			fCompilationUnitParseElementMap= parseElementMap;
+		}
+
+		public static Hashtable<ICompilationUnit, ParseListElement> createParseElementMap(List<ParseListElement> parseList) {
+			Hashtable<ICompilationUnit, ParseListElement> result= new Hashtable<>(parseList.size());
 			for (ParseListElement element : parseList) {
-				fCompilationUnitParseElementMap.put(element.getTarget().getCompilationUnit(), element);
+				result.put(element.getTarget().getCompilationUnit(), element);
 			}
+			return result;
 		}
 
 		@Override
 		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
 
-			fMonitor.subTask(fMonitor.getSubTaskMessage(source));
+			unitStarted(source);
 
 			ICompilationUnit primary= (ICompilationUnit)source.getPrimaryElement();
 			ParseListElement element= fCompilationUnitParseElementMap.get(primary);
@@ -281,9 +317,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 			if (rejectedCleanUps.length > 0) {
 				fUndoneElements.add(new ParseListElement(target, rejectedCleanUps));
-				fMonitor.reset();
+				unitRejected(source);
 			} else {
-				fMonitor.flush();
+				unitCompleted(source);
 			}
 		}
 
@@ -291,6 +327,18 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			acceptAST(source, null);
 		}
 
+		protected void unitStarted(ICompilationUnit source) {
+			fMonitor.subTask(fMonitor.getSubTaskMessage(source));
+		}
+
+		protected void unitRejected(ICompilationUnit source) {
+			fMonitor.reset();
+		}
+
+		protected void unitCompleted(ICompilationUnit source) {
+			fMonitor.flush();
+		}
+
 		public List<ParseListElement> getUndoneElements() {
 			return fUndoneElements;
 		}
@@ -314,12 +362,155 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private void integrateSolution(CleanUpChange solution, ICompilationUnit source) {
 			ICompilationUnit primary= source.getPrimary();
 
-			List<CleanUpChange> changes= fSolutions.get(primary);
-			if (changes == null) {
-				changes= new ArrayList<>();
-				fSolutions.put(primary, changes);
+			synchronized (fSolutions) {
+				List<CleanUpChange> changes= fSolutions.get(primary);
+				if (changes == null) {
+					changes= new ArrayList<>();
+					fSolutions.put(primary, changes);
+				}
+				changes.add(solution);
+			}
+		}
+	}
+
+	/**
+	 * Requestor used by the workers of a parallel clean up. Progress is not reported
+	 * directly, the processed compilation units are queued and reported by the thread
+	 * that owns the progress monitor.
+	 */
+	private static class ConcurrentCleanUpASTRequestor extends CleanUpASTRequestor {
+
+		private final LinkedBlockingQueue<ICompilationUnit> fCompletedUnits;
+		private final AtomicBoolean fCanceled;
+
+		public ConcurrentCleanUpASTRequestor(Hashtable<ICompilationUnit, ParseListElement> parseElementMap, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, LinkedBlockingQueue<ICompilationUnit> completedUnits, AtomicBoolean canceled) {
+			super(parseElementMap, solutions, null);
+			fCompletedUnits= completedUnits;
+			fCanceled= canceled;
+		}
+
+		@Override
+		protected void unitStarted(ICompilationUnit source) {
+			if (fCanceled.get())
+				throw new OperationCanceledException();
+		}
+
+		@Override
+		protected void unitRejected(ICompilationUnit source) {
+			// the unit is processed again in the next iteration
+		}
+
+		@Override
+		protected void unitCompleted(ICompilationUnit source) {
+			fCompletedUnits.add(source);
+		}
+	}
+
+	/**
+	 * Parses and cleans up one chunk of the compilation units of a parallel clean up. Exceptions
+	 * are not reported by the job, they are kept and rethrown by the thread that owns the refactoring.
+	 */
+	private static class CleanUpJob extends Job {
+
+		private final ASTBatchParser fParser;
+		private final ICompilationUnit[] fUnits;
+		private final ConcurrentCleanUpASTRequestor fRequestor;
+		private final AtomicBoolean fCanceled;
+		private volatile Throwable fException;
+
+		public CleanUpJob(ASTBatchParser parser, ICompilationUnit[] units, ConcurrentCleanUpASTRequestor requestor, AtomicBoolean canceled) {
+			super(FixMessages.CleanUpRefactoring_Refactoring_name);
+			fParser= parser;
+			fUnits= units;
+			fRequestor= requestor;
+			fCanceled= canceled;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				fParser.createASTs(fUnits, new String[0], fRequestor, new CancelOnlyProgressMonitor(fCanceled));
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (RuntimeException | Error e) {
+				fException= e;
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		protected void canceling() {
+			fCanceled.set(true);
+		}
+
+		public Throwable getException() {
+			return fException;
+		}
+	}
+
+	/**
+	 * Progress monitor handed to the parsers of a parallel clean up. It only forwards
+	 * cancellation, progress is reported through {@link ConcurrentCleanUpASTRequestor}.
+	 */
+	private static class CancelOnlyProgressMonitor extends NullProgressMonitor {
+
+		private final AtomicBoolean fCanceled;
+
+		public CancelOnlyProgressMonitor(AtomicBoolean canceled) {
+			fCanceled= canceled;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled.get();
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled.set(canceled);
+		}
+	}
+
+	/**
+	 * Runs several visitors in a single traversal, but only for the nodes which overlap one of the
+	 * given regions. Since a node contains its children, the whole subtree of any other node is
+	 * skipped. The visitors are not called at all for a skipped node, neither
+	 * <code>preVisit2</code> nor <code>postVisit</code>.
+	 */
+	private static final class RegionVisitor extends FusedASTVisitor {
+
+		private final IRegion[] fRegions;
+
+		/** The node outside of the regions whose subtree is skipped, or <code>null</code> */
+		private ASTNode fOutside;
+
+		public RegionVisitor(List<? extends FixCollector> visitors, IRegion[] regions) {
+			super(visitors);
+			fRegions= regions;
+		}
+
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			if (!overlapsRegion(node)) {
+				fOutside= node;
+				return false;
+			}
+			return super.preVisit2(node);
+		}
+
+		@Override
+		public void postVisit(ASTNode node) {
+			if (node == fOutside) {
+				fOutside= null;
+				return;
 			}
-			changes.add(solution);
+			super.postVisit(node);
+		}
+
+		private boolean overlapsRegion(ASTNode node) {
+			int start= node.getStartPosition();
+			return CleanUpRefactoring.overlapsRegion(start, start + node.getLength(), fRegions);
 		}
 	}
 
@@ -329,16 +520,19 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
 		private final Map<String, String> fCleanUpOptions;
+		private final Map<ICompilationUnit, Integer> fTargetOrder; // map from primary to position in targets
 		private final int fSize;
 		private int fIndex;
 
 		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
+			fTargetOrder= new HashMap<>(targets.length);
 
 			fParseList= new ArrayList<>(targets.length);
 			for (CleanUpTarget target : targets) {
 				fParseList.add(new ParseListElement(target, cleanUps));
+				fTargetOrder.putIfAbsent(target.getCompilationUnit(), Integer.valueOf(fTargetOrder.size()));
 			}
 
 			fCleanUpOptions= new Hashtable<>();
@@ -382,24 +576,17 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
 				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
+				List<ParseListElement> undoneElements= new ArrayList<>();
 				if (parseList.size() > 0) {
-					ASTBatchParser parser= new ASTBatchParser() {
-						@Override
-						protected ASTParser createParser(IJavaProject project) {
-							ASTParser result= createCleanUpASTParser();
-							result.setProject(project);
-
-							Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
-							options.putAll(fCleanUpOptions);
-							result.setCompilerOptions(options);
-							return result;
+					if (fRunInParallel && parseList.size() > 1) {
+						undoneElements.addAll(parseInParallel(parseList, cuMonitor));
+					} else {
+						try {
+							ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
+							createBatchParser().createASTs(units, new String[0], requestor, cuMonitor);
+						} catch (FixCalculationException e) {
+							throw e.getException();
 						}
-					};
-					try {
-						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
-					} catch (FixCalculationException e) {
-						throw e.getException();
 					}
 				}
 
@@ -412,12 +599,146 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 						throw new OperationCanceledException();
 				}
 
-				fParseList= requestor.getUndoneElements();
+				undoneElements.addAll(requestor.getUndoneElements());
+				if (fRunInParallel) {
+					// workers finish in arbitrary order, process the next iteration in target order
+					Collections.sort(undoneElements, Comparator.comparingInt(element -> getTargetIndex(element.getTarget().getCompilationUnit())));
+				}
+				fParseList= undoneElements;
 				fIndex= cuMonitor.getIndex();
 			} finally {
 			}
 		}
 
+		private ASTBatchParser createBatchParser() {
+			return new ASTBatchParser() {
+				@Override
+				protected ASTParser createParser(IJavaProject project) {
+					ASTParser result= createCleanUpASTParser();
+					result.setProject(project);
+
+					Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
+					options.putAll(fCleanUpOptions);
+					result.setCompilerOptions(options);
+					return result;
+				}
+			};
+		}
+
+		/**
+		 * Partitions the given units into chunks which are parsed and cleaned up concurrently by
+		 * the jobs of one job group, at most {@link CleanUpRefactoring#getParallelism()} at a time.
+		 * Each chunk is parsed by its own batch parser. Progress and cancellation are handled in
+		 * the calling thread.
+		 *
+		 * @param parseList the units to parse
+		 * @param cuMonitor the monitor to report progress to
+		 * @return the elements that have clean ups left for the next iteration
+		 * @throws CoreException if a clean up fails
+		 */
+		private List<ParseListElement> parseInParallel(List<ICompilationUnit> parseList, CleanUpRefactoringProgressMonitor cuMonitor) throws CoreException {
+			int chunkCount= Math.min(parseList.size(), 2 * fParallelism);
+			int chunkSize= (parseList.size() + chunkCount - 1) / chunkCount;
+
+			// shared by all requestors, which only read it
+			Hashtable<ICompilationUnit, ParseListElement> parseElementMap= CleanUpASTRequestor.createParseElementMap(fParseList);
+			AtomicBoolean canceled= new AtomicBoolean();
+			LinkedBlockingQueue<ICompilationUnit> completedUnits= new LinkedBlockingQueue<>();
+			JobGroup group= new JobGroup(FixMessages.CleanUpRefactoring_Refactoring_name, fParallelism, 0);
+			List<CleanUpJob> jobs= new ArrayList<>();
+
+			cuMonitor.beginTask("", parseList.size()); //$NON-NLS-1$
+			try {
+				for (int start= 0; start < parseList.size(); start+= chunkSize) {
+					List<ICompilationUnit> chunk= parseList.subList(start, Math.min(start + chunkSize, parseList.size()));
+					ICompilationUnit[] units= chunk.toArray(new ICompilationUnit[chunk.size()]);
+					ConcurrentCleanUpASTRequestor requestor= new ConcurrentCleanUpASTRequestor(parseElementMap, fSolutions, completedUnits, canceled);
+					CleanUpJob job= new CleanUpJob(createBatchParser(), units, requestor, canceled);
+					job.setJobGroup(group);
+					jobs.add(job);
+				}
+				for (CleanUpJob job : jobs) {
+					job.schedule();
+				}
+
+				while (!canceled.get() && !allDone(jobs)) {
+					ICompilationUnit unit= completedUnits.poll(100, TimeUnit.MILLISECONDS);
+					if (unit != null)
+						reportCompleted(unit, cuMonitor);
+					if (cuMonitor.isCanceled())
+						canceled.set(true);
+				}
+				ICompilationUnit unit;
+				while ((unit= completedUnits.poll()) != null) {
+					reportCompleted(unit, cuMonitor);
+				}
+
+				for (CleanUpJob job : jobs) {
+					Throwable exception= job.getException();
+					if (exception != null) {
+						canceled.set(true);
+						if (exception instanceof FixCalculationException)
+							throw ((FixCalculationException) exception).getException();
+						if (exception instanceof RuntimeException)
+							throw (RuntimeException) exception;
+						throw (Error) exception;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				canceled.set(true);
+				throw new OperationCanceledException();
+			} finally {
+				canceled.compareAndSet(false, cuMonitor.isCanceled());
+				if (canceled.get()) {
+					group.cancel();
+					// the jobs must not touch the solutions or working copies once this method returns
+					joinUninterruptibly(group);
+				}
+			}
+			if (canceled.get())
+				throw new OperationCanceledException();
+
+			List<ParseListElement> result= new ArrayList<>();
+			for (CleanUpJob job : jobs) {
+				result.addAll(job.fRequestor.getUndoneElements());
+			}
+			return result;
+		}
+
+		private boolean allDone(List<CleanUpJob> jobs) {
+			for (CleanUpJob job : jobs) {
+				if (job.getResult() == null)
+					return false;
+			}
+			return true;
+		}
+
+		private void joinUninterruptibly(JobGroup group) {
+			boolean interrupted= false;
+			while (true) {
+				try {
+					group.join(0, null);
+					break;
+				} catch (InterruptedException e) {
+					interrupted= true;
+				}
+			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+
+		private void reportCompleted(ICompilationUnit unit, CleanUpRefactoringProgressMonitor cuMonitor) {
+			cuMonitor.subTask(cuMonitor.getSubTaskMessage(unit));
+			cuMonitor.internalWorked(1);
+			cuMonitor.flush();
+		}
+
+		private int getTargetIndex(ICompilationUnit unit) {
+			Integer index= fTargetOrder.get(unit.getPrimary());
+			return index != null ? index.intValue() : Integer.MAX_VALUE;
+		}
+
 		public void dispose() {
 			for (ICompilationUnit cu : fWorkingCopies.values()) {
 				try {
@@ -441,8 +762,12 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		public Change[] getResult() {
 
 			Change[] result= new Change[fSolutions.size()];
+			List<Entry<ICompilationUnit, List<CleanUpChange>>> entries= new ArrayList<>(fSolutions.entrySet());
+			if (fRunInParallel) {
+				Collections.sort(entries, Comparator.comparingInt(entry -> getTargetIndex(entry.getKey())));
+			}
 			int i=0;
-			for (Entry<ICompilationUnit, List<CleanUpChange>> entry : fSolutions.entrySet()) {
+			for (Entry<ICompilationUnit, List<CleanUpChange>> entry : entries) {
 				List<CleanUpChange> changes= entry.getValue();
 				ICompilationUnit unit= entry.getKey();
 
@@ -502,6 +827,23 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	/** The name of the performance event used to trace the time taken by each clean up. */
+	private static final String PERFORMANCE_EVENT= JavaPlugin.getPluginId() + "/perf/cleanup/cleanups"; //$NON-NLS-1$
+
+	/**
+	 * If <code>true</code>, the execution time of each clean up is measured and forwarded to
+	 * core's {@link PerformanceStats} service. The collectors of the clean ups then traverse the
+	 * AST one after the other, so that each traversal is attributed to its clean up.
+	 */
+	private static final boolean MEASURE_PERFORMANCE= PerformanceStats.isEnabled(PERFORMANCE_EVENT);
+
+	/**
+	 * Default number of worker threads, can be set with the system property
+	 * <code>org.eclipse.jdt.ui.cleanUpParallelism</code>. <code>1</code> means
+	 * that all changes are computed in the calling thread.
+	 */
+	private static final int DEFAULT_PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.cleanUpParallelism", 1).intValue()); //$NON-NLS-1$
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -510,6 +852,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	private int fParallelism;
+	private boolean fRunInParallel;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -519,12 +864,32 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fParallelism= DEFAULT_PARALLELISM;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the number of worker threads used to compute the changes. With more than
+	 * one worker, the targets of a project are partitioned and their changes are computed
+	 * concurrently. The resulting changes are merged in the order in which the targets
+	 * were added. All clean ups must support concurrent calls to
+	 * {@link ICleanUp#createFix(CleanUpContext)} to run in parallel.
+	 *
+	 * @param parallelism the number of worker threads, <code>1</code> to compute all
+	 *            changes in the calling thread
+	 */
+	public void setParallelism(int parallelism) {
+		Assert.isLegal(parallelism > 0);
+		fParallelism= parallelism;
+	}
+
+	public int getParallelism() {
+		return fParallelism;
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -625,6 +990,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 		ICleanUp[] cleanUps= getCleanUps();
 		pm.beginTask("", cuCount * 2 * fCleanUps.size() + 4 * cleanUps.length); //$NON-NLS-1$
+		fRunInParallel= fParallelism > 1 && cuCount > 1;
 		try {
 			DynamicValidationStateChange change= new DynamicValidationStateChange(getName());
 			change.setSchedulingRule(getSchedulingRule());
@@ -654,6 +1020,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			findFilesToBeModified(change, files);
 			result.merge(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), pm));
 		} finally {
+			fRunInParallel= false;
 			pm.done();
 		}
 
@@ -743,7 +1110,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		return result;
 	}
 
-	private static String getChangeName(ICompilationUnit compilationUnit) {
+	static String getChangeName(ICompilationUnit compilationUnit) {
 		StringBuffer buf= new StringBuffer();
 		JavaElementLabels.getCompilationUnitLabel(compilationUnit, JavaElementLabels.ALL_DEFAULT, buf);
 		buf.append(JavaElementLabels.CONCAT_STRING);
@@ -759,21 +1126,33 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		if (cleanUps.length == 0)
 			return null;
 
+		FixCollector[] collectors= createCollectors(context, cleanUps);
+		if (!MEASURE_PERFORMANCE)
+			collectFixes(context, collectors);
+		IRegion[] regions= getRestrictedRegions(context);
+
 		CleanUpChange solution= null;
 		int i= 0;
 		do {
 			ICleanUp cleanUp= cleanUps[i];
 			ICleanUpFix fix;
-			if (slowCleanUps != null) {
-				long timeBefore= System.currentTimeMillis();
-				fix= cleanUp.createFix(context);
-				if (System.currentTimeMillis() - timeBefore > SLOW_CLEAN_UP_THRESHOLD)
-					slowCleanUps.add(cleanUp);
-			} else {
-				fix= cleanUp.createFix(context);
+			long timeBefore= System.currentTimeMillis();
+			PerformanceStats stats= startMeter(context, cleanUp);
+			try {
+				if (MEASURE_PERFORMANCE)
+					collectFixes(context, new FixCollector[] { collectors[i] });
+				fix= createFix(context, cleanUp, collectors[i]);
+			} finally {
+				if (stats != null)
+					stats.endRun();
 			}
-			if (fix != null) {
-				CompilationUnitChange current= fix.createChange(null);
+			if (slowCleanUps != null && System.currentTimeMillis() - timeBefore > SLOW_CLEAN_UP_THRESHOLD)
+				slowCleanUps.add(cleanUp);
+			CompilationUnitChange current= fix != null ? fix.createChange(null) : null;
+			// the code format clean up decides on its own whether to format the edited lines only
+			if (current != null && regions != null && !(cleanUp instanceof CodeFormatCleanUp))
+				current= restrictToRegions(current, regions);
+			if (current != null) {
 				TextEdit currentEdit= current.getEdit();
 
 				if (solution != null) {
@@ -804,6 +1183,204 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		return solution;
 	}
 
+	/**
+	 * Creates the {@link AbstractMultiFix#createFixCollector(CompilationUnit) collectors} of the
+	 * clean ups which are applied to the AST of the given context.
+	 *
+	 * @param context the context of the clean ups
+	 * @param cleanUps the clean ups to apply
+	 * @return the collector for each clean up, <code>null</code> for clean ups that have to visit
+	 *         the AST on their own
+	 * @throws CoreException if a collector can not be created
+	 */
+	private static FixCollector[] createCollectors(CleanUpContext context, ICleanUp[] cleanUps) throws CoreException {
+		FixCollector[] result= new FixCollector[cleanUps.length];
+		CompilationUnit ast= context.getAST();
+		if (ast == null || context instanceof MultiFixContext)
+			return result;
+
+		for (int i= 0; i < cleanUps.length && (i == 0 || !cleanUps[i].getRequirements().requiresFreshAST()); i++) {
+			if (cleanUps[i] instanceof AbstractMultiFix multiFix)
+				result[i]= multiFix.createFixCollector(ast);
+		}
+		return result;
+	}
+
+	/**
+	 * Runs the given collectors in a single traversal of the AST of the given context. If the
+	 * context is {@link MultiLineCleanUpContext#isRestrictedToRegions() restricted} to some regions,
+	 * only the nodes overlapping these regions are visited.
+	 *
+	 * @param context the context of the clean ups
+	 * @param collectors the collectors, may contain <code>null</code> elements
+	 */
+	private static void collectFixes(CleanUpContext context, FixCollector[] collectors) {
+		List<FixCollector> visitors= new ArrayList<>();
+		for (FixCollector collector : collectors) {
+			if (collector != null)
+				visitors.add(collector);
+		}
+		if (visitors.isEmpty())
+			return;
+
+		CompilationUnit ast= context.getAST();
+		IRegion[] regions= getRestrictedRegions(context);
+		if (regions != null) {
+			ast.accept(new RegionVisitor(visitors, regions));
+		} else if (visitors.size() == 1) {
+			ast.accept(visitors.get(0));
+		} else {
+			ast.accept(new FusedASTVisitor(visitors));
+		}
+	}
+
+	/**
+	 * Returns the regions to which all clean ups of the given context are
+	 * {@link MultiLineCleanUpContext#isRestrictedToRegions() restricted}.
+	 *
+	 * @param context the context of the clean ups
+	 * @return the regions, or <code>null</code> if the clean ups are not restricted
+	 */
+	private static IRegion[] getRestrictedRegions(CleanUpContext context) {
+		if (context instanceof MultiLineCleanUpContext multiLineContext && multiLineContext.isRestrictedToRegions())
+			return multiLineContext.getRegions();
+		return null;
+	}
+
+	/**
+	 * Removes the edit groups of the given change which lie outside of the given regions together
+	 * with their edits, for the clean ups which do not visit only the nodes in the regions. A group
+	 * is kept as a whole if one of its edits overlaps a region, and a move or copy is removed
+	 * together with its source and its target, so that a fix is never applied partially. Edits
+	 * which belong to no group, like the added imports, are kept. If a removed edit cannot be
+	 * separated from a kept one, the change is not restricted.
+	 *
+	 * @param change the change of a clean up
+	 * @param regions the regions to restrict the change to
+	 * @return the restricted change, or <code>null</code> if no edit is left
+	 */
+	private static CompilationUnitChange restrictToRegions(CompilationUnitChange change, IRegion[] regions) {
+		TextEdit root= change.getEdit();
+		if (root == null)
+			return change;
+
+		List<TextEditGroup> keptGroups= new ArrayList<>();
+		Set<TextEdit> kept= Collections.newSetFromMap(new IdentityHashMap<>());
+		Set<TextEdit> removed= Collections.newSetFromMap(new IdentityHashMap<>());
+		for (TextEditBasedChangeGroup changeGroup : change.getChangeGroups()) {
+			TextEditGroup group= changeGroup.getTextEditGroup();
+			TextEdit[] edits= group.getTextEdits();
+			boolean keep= edits.length == 0;
+			for (TextEdit edit : edits) {
+				if (overlapsRegion(edit.getOffset(), edit.getExclusiveEnd(), regions))
+					keep= true;
+			}
+			if (keep) {
+				keptGroups.add(group);
+				kept.addAll(Arrays.asList(edits));
+			} else {
+				removed.addAll(Arrays.asList(edits));
+			}
+		}
+		// an edit can belong to several groups
+		removed.removeAll(kept);
+		if (removed.isEmpty())
+			return change;
+
+		ArrayDeque<TextEdit> queue= new ArrayDeque<>(removed);
+		TextEditVisitor linkedEdits= new TextEditVisitor() {
+			@Override
+			public boolean visit(MoveSourceEdit edit) {
+				add(edit.getTargetEdit());
+				return true;
+			}
+
+			@Override
+			public boolean visit(MoveTargetEdit edit) {
+				add(edit.getSourceEdit());
+				return true;
+			}
+
+			@Override
+			public boolean visit(CopySourceEdit edit) {
+				add(edit.getTargetEdit());
+				return true;
+			}
+
+			@Override
+			public boolean visit(CopyTargetEdit edit) {
+				add(edit.getSourceEdit());
+				return true;
+			}
+
+			private void add(TextEdit edit) {
+				if (edit != null && removed.add(edit))
+					queue.add(edit);
+			}
+		};
+		while (!queue.isEmpty()) {
+			queue.removeFirst().accept(linkedEdits);
+		}
+
+		for (TextEdit edit : removed) {
+			if (edit == root || containedIn(edit, kept))
+				return change;
+		}
+		for (TextEdit edit : kept) {
+			if (containedIn(edit, removed))
+				return change;
+		}
+
+		for (TextEdit edit : removed) {
+			TextEdit parent= edit.getParent();
+			if (parent != null)
+				parent.removeChild(edit);
+		}
+		if (root instanceof MultiTextEdit && !root.hasChildren())
+			return null;
+
+		CompilationUnitChange result= new CompilationUnitChange(change.getName(), change.getCompilationUnit());
+		result.setEdit(root);
+		for (TextEditGroup group : keptGroups) {
+			result.addTextEditGroup(group);
+		}
+		return result;
+	}
+
+	/*
+	 * Tells whether the edit or one of its parents is in the given set.
+	 */
+	private static boolean containedIn(TextEdit edit, Set<TextEdit> edits) {
+		for (TextEdit curr= edit; curr != null; curr= curr.getParent()) {
+			if (edits.contains(curr))
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean overlapsRegion(int start, int end, IRegion[] regions) {
+		for (IRegion region : regions) {
+			if (region.getOffset() <= end && start <= region.getOffset() + region.getLength())
+				return true;
+		}
+		return false;
+	}
+
+	private static PerformanceStats startMeter(CleanUpContext context, ICleanUp cleanUp) {
+		if (!MEASURE_PERFORMANCE)
+			return null;
+
+		PerformanceStats stats= PerformanceStats.getStats(PERFORMANCE_EVENT, cleanUp);
+		stats.startRun(context.getCompilationUnit().getElementName());
+		return stats;
+	}
+
+	private static ICleanUpFix createFix(CleanUpContext context, ICleanUp cleanUp, FixCollector collector) throws CoreException {
+		if (collector != null)
+			return collector.createFix();
+		return cleanUp.createFix(context);
+	}
+
 	private static void copyChangeGroups(CompilationUnitChange target, CompilationUnitChange source) {
 		for (TextEditBasedChangeGroup changeGroup : source.getChangeGroups()) {
 			TextEditGroup textEditGroup= changeGroup.getTextEditGroup();
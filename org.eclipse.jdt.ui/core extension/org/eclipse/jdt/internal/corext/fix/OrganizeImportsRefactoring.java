@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.Refactoring;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.manipulation.MultiOrganizeImportsOperation;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.codemanipulation.CodeGenerationSettings;
+import org.eclipse.jdt.internal.corext.refactoring.Checks;
+import org.eclipse.jdt.internal.corext.refactoring.changes.DynamicValidationStateChange;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+import org.eclipse.jdt.internal.ui.actions.ActionMessages;
+import org.eclipse.jdt.internal.ui.preferences.JavaPreferencesSettings;
+import org.eclipse.jdt.internal.ui.refactoring.IScheduledRefactoring;
+
+/**
+ * Organizes the imports of many compilation units with one {@link MultiOrganizeImportsOperation}
+ * per project. Like the organize imports clean up, no choice is made between several candidate
+ * types, and units with such references or with parse errors are reported.
+ */
+public class OrganizeImportsRefactoring extends Refactoring implements IScheduledRefactoring {
+
+	private final ICompilationUnit[] fCompilationUnits;
+	private final String fName;
+	private Change fChange;
+
+	public OrganizeImportsRefactoring(ICompilationUnit[] units, String name) {
+		fCompilationUnits= units;
+		fName= name;
+	}
+
+	@Override
+	public String getName() {
+		return fName;
+	}
+
+	@Override
+	public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+		return new RefactoringStatus();
+	}
+
+	@Override
+	public RefactoringStatus checkFinalConditions(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+		Map<IJavaProject, List<ICompilationUnit>> projects= new LinkedHashMap<>();
+		for (ICompilationUnit unit : fCompilationUnits) {
+			projects.computeIfAbsent(unit.getJavaProject(), key -> new ArrayList<>()).add(unit);
+		}
+
+		SubMonitor subMonitor= SubMonitor.convert(pm, getName(), fCompilationUnits.length + 1);
+		RefactoringStatus result= new RefactoringStatus();
+		DynamicValidationStateChange change= new DynamicValidationStateChange(getName());
+		change.setSchedulingRule(getSchedulingRule());
+		List<IFile> files= new ArrayList<>();
+		for (Entry<IJavaProject, List<ICompilationUnit>> entry : projects.entrySet()) {
+			ICompilationUnit[] units= entry.getValue().toArray(new ICompilationUnit[entry.getValue().size()]);
+			CodeGenerationSettings settings= JavaPreferencesSettings.getCodeGenerationSettings(entry.getKey());
+			MultiOrganizeImportsOperation op= new MultiOrganizeImportsOperation(units, settings.importIgnoreLowercase, false, false, (openChoices, ranges) -> new TypeNameMatch[0]);
+			TextEdit[] edits= op.createTextEdits(subMonitor.split(units.length));
+			IProblem[] parseErrors= op.getParseErrors();
+			boolean[] openChoices= op.getUnitsWithOpenChoices();
+			for (int i= 0; i < units.length; i++) {
+				String location= BasicElementLabels.getPathLabel(units[i].getPath(), false);
+				if (parseErrors[i] != null) {
+					result.addInfo(Messages.format(ActionMessages.OrganizeImportsAction_multi_error_parse, location));
+					continue;
+				}
+				if (openChoices[i]) {
+					result.addInfo(Messages.format(ActionMessages.OrganizeImportsAction_multi_error_unresolvable, location));
+				}
+
+				TextEdit edit= edits[i];
+				if (edit == null || (edit instanceof MultiTextEdit && edit.getChildrenSize() == 0))
+					continue;
+
+				CompilationUnitChange unitChange= new CompilationUnitChange(CleanUpRefactoring.getChangeName(units[i]), units[i]);
+				unitChange.setEdit(edit);
+				unitChange.addTextEditGroup(new TextEditGroup(FixMessages.ImportsFix_OrganizeImports_Description, edit));
+				unitChange.setSaveMode(TextFileChange.KEEP_SAVE_STATE);
+				change.add(unitChange);
+				files.add((IFile) units[i].getResource());
+			}
+		}
+		fChange= change;
+
+		result.merge(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), subMonitor.split(1)));
+		return result;
+	}
+
+	@Override
+	public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+		return fChange;
+	}
+
+	@Override
+	public ISchedulingRule getSchedulingRule() {
+		return ResourcesPlugin.getWorkspace().getRoot();
+	}
+}
@@ -13,35 +13,40 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Hashtable;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
+import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -62,7 +67,13 @@ import org.eclipse.jdt.internal.ui.util.XmlProcessorFactoryJdtUi;
  * MAX_HISTORY_SIZE. If the list exceeds this size the eldest element is removed
  * from the list. An element can be added/renewed with a call to <code>accessed(Object)</code>.
  *
- * The history can be stored to/loaded from an xml file.
+ * The history is stored in a binary log. Changes are appended to the log on <code>save()</code>,
+ * the log is rewritten with the current entries once it has grown too long. A history stored
+ * to an xml file by previous versions is read if there is no log yet.
+ * <p>
+ * Queries for positions do not lock the history, they read a snapshot that is replaced on each
+ * change.
+ * </p>
  *
  * @param <K> key type
  * @param <V> value type
@@ -73,16 +84,37 @@ public abstract class History<K, V> {
 	private static final String DEFAULT_INFO_NODE_NAME= "infoNode"; //$NON-NLS-1$
 	private static final int MAX_HISTORY_SIZE= 60;
 
+	private static final String LOG_FILE_EXTENSION= ".log"; //$NON-NLS-1$
+	private static final int LOG_MAGIC= 0x4A484953;
+	private static final int LOG_VERSION= 1;
+	private static final byte RECORD_ACCESSED= 1;
+	private static final byte RECORD_REMOVED= 2;
+
+	/** Number of records after which the log is rewritten with the current entries */
+	private static final int MAX_LOG_RECORDS= 4 * MAX_HISTORY_SIZE;
+
 	private static JavaUIException createException(Throwable t, String message) {
 		return new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, message, t));
 	}
 
+	private record Record(byte kind, Object value) {
+	}
+
 	private final Map<K, V> fHistory;
-	private final Hashtable<K, Integer> fPositions;
+	private volatile Map<K, Integer> fPositions;
+	private volatile List<V> fValues;
 	private final String fFileName;
 	private final String fRootNodeName;
 	private final String fInfoNodeName;
 
+	/** Changes not yet appended to the log */
+	private final List<Record> fPendingRecords= new ArrayList<>();
+	/** Number of records in the log or -1 if the log has to be rewritten */
+	private int fLogRecords= -1;
+	/** Serializes writes of the log, acquired before the lock of the history */
+	private final Object fSaveLock= new Object();
+	private Document fEntryDocument;
+
 	public History(String fileName, String rootNodeName, String infoNodeName) {
 		fHistory= new LinkedHashMap<>(80, 0.75f, true) {
 			private static final long serialVersionUID= 1L;
@@ -94,7 +126,8 @@ public abstract class History<K, V> {
 		fFileName= fileName;
 		fRootNodeName= rootNodeName;
 		fInfoNodeName= infoNodeName;
-		fPositions= new Hashtable<>(MAX_HISTORY_SIZE);
+		fPositions= Collections.emptyMap();
+		fValues= Collections.emptyList();
 	}
 
 	public History(String fileName) {
@@ -103,29 +136,34 @@ public abstract class History<K, V> {
 
 	public synchronized void accessed(V object) {
 		fHistory.put(getKey(object), object);
+		fPendingRecords.add(new Record(RECORD_ACCESSED, object));
 		rebuildPositions();
 	}
 
-	public synchronized boolean contains(V object) {
-		return fHistory.containsKey(getKey(object));
+	public boolean contains(V object) {
+		return fPositions.containsKey(getKey(object));
 	}
 
-	public synchronized boolean containsKey(K key) {
-		return fHistory.containsKey(key);
+	public boolean containsKey(K key) {
+		return fPositions.containsKey(key);
 	}
 
-	public synchronized boolean isEmpty() {
-		return fHistory.isEmpty();
+	public boolean isEmpty() {
+		return fPositions.isEmpty();
 	}
 
 	public synchronized Object remove(V object) {
 		Object removed= fHistory.remove(getKey(object));
+		if (removed != null)
+			fPendingRecords.add(new Record(RECORD_REMOVED, removed));
 		rebuildPositions();
 		return removed;
 	}
 
 	public synchronized Object removeKey(Object key) {
 		Object removed= fHistory.remove(key);
+		if (removed != null)
+			fPendingRecords.add(new Record(RECORD_REMOVED, removed));
 		rebuildPositions();
 		return removed;
 	}
@@ -139,14 +177,16 @@ public abstract class History<K, V> {
 	 * @param key The key of the object to inspect
 	 * @return value in [0.0, 1.0] the lower the older the element
 	 */
-	public synchronized float getNormalizedPosition(K key) {
-		if (!containsKey(key))
+	public float getNormalizedPosition(K key) {
+		Map<K, Integer> positions= fPositions;
+		Integer position= positions.get(key);
+		if (position == null)
 			return 0.0f;
 
-		int pos= fPositions.get(key).intValue() + 1;
+		int pos= position.intValue() + 1;
 
-		//containsKey(key) implies fHistory.size()>0
-		return (float)pos / (float)fHistory.size();
+		//position != null implies positions.size()>0
+		return (float)pos / (float)positions.size();
 	}
 
 	/**
@@ -157,16 +197,29 @@ public abstract class History<K, V> {
 	 * @param key The key of the object to inspect
 	 * @return value between 0 and MAX_HISTORY_SIZE - 1, or -1
 	 */
-	public synchronized int getPosition(K key) {
-		if (!containsKey(key))
+	public int getPosition(K key) {
+		Integer position= fPositions.get(key);
+		if (position == null)
 			return -1;
 
-		return fPositions.get(key);
+		return position.intValue();
 	}
 
 	public synchronized void load() {
-		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
-		File file= stateLocation.toFile();
+		IPath stateLocation= JavaPlugin.getDefault().getStateLocation();
+		File logFile= stateLocation.append(getLogFileName()).toFile();
+		if (logFile.exists()) {
+			try {
+				loadLog(logFile);
+			} catch (IOException | CoreException e) {
+				fLogRecords= -1;
+				JavaPlugin.log(e);
+			}
+			rebuildPositions();
+			return;
+		}
+
+		File file= stateLocation.append(fFileName).toFile();
 		if (file.exists()) {
 			try (InputStreamReader reader= new InputStreamReader(new FileInputStream(file), "utf-8")) {//$NON-NLS-1$
 				load(new InputSource(reader));
@@ -176,15 +229,46 @@ public abstract class History<K, V> {
 		}
 	}
 
-	public synchronized void save() {
-		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
-		File file= stateLocation.toFile();
-		try (OutputStream out= new FileOutputStream(file)) {
-			save(out);
-		} catch (IOException | CoreException | TransformerFactoryConfigurationError e) {
-			// The XML library can be misconficgured (e.g. via
-			// -Djava.endorsed.dirs=C:\notExisting\xerces-2_7_1)
-			JavaPlugin.log(e);
+	/**
+	 * Appends the changes since the last save to the log. Rewrites the log if it has grown too
+	 * long or could not be read.
+	 */
+	public void save() {
+		synchronized (fSaveLock) {
+			File file= JavaPlugin.getDefault().getStateLocation().append(getLogFileName()).toFile();
+			boolean logExists= file.exists();
+			byte[] data;
+			boolean rewrite;
+			synchronized (this) {
+				rewrite= !logExists || fLogRecords < 0 || fLogRecords + fPendingRecords.size() > MAX_LOG_RECORDS;
+				if (!rewrite && fPendingRecords.isEmpty())
+					return;
+				try {
+					data= rewrite ? encodeEntries() : encodePendingRecords();
+				} catch (IOException | CoreException e) {
+					JavaPlugin.log(e);
+					return;
+				}
+				fLogRecords= rewrite ? fHistory.size() : fLogRecords + fPendingRecords.size();
+				fPendingRecords.clear();
+			}
+
+			try {
+				if (rewrite) {
+					writeLog(file, data);
+					// the history has been migrated from the xml file of previous versions
+					Files.deleteIfExists(JavaPlugin.getDefault().getStateLocation().append(fFileName).toFile().toPath());
+				} else {
+					try (OutputStream out= new FileOutputStream(file, true)) {
+						out.write(data);
+					}
+				}
+			} catch (IOException e) {
+				synchronized (this) {
+					fLogRecords= -1;
+				}
+				JavaPlugin.log(e);
+			}
 		}
 	}
 
@@ -192,8 +276,14 @@ public abstract class History<K, V> {
 		return fHistory.keySet();
 	}
 
+	/**
+	 * Returns the entries from the oldest to the newest. The returned collection is a snapshot and
+	 * does not change with the history, it can be accessed without holding the lock of the history.
+	 *
+	 * @return the entries
+	 */
 	protected Collection<V> getValues() {
-		return fHistory.values();
+		return fValues;
 	}
 
 	/**
@@ -221,12 +311,120 @@ public abstract class History<K, V> {
 	protected abstract K getKey(V object);
 
 	private void rebuildPositions() {
-		fPositions.clear();
+		Map<K, Integer> positions= new HashMap<>();
+		List<V> values= new ArrayList<>(fHistory.size());
 		int pos=0;
 		for (V element : fHistory.values()) {
-			fPositions.put(getKey(element), pos);
+			positions.put(getKey(element), pos);
+			values.add(element);
 			pos++;
 		}
+		fPositions= Collections.unmodifiableMap(positions);
+		fValues= Collections.unmodifiableList(values);
+	}
+
+	private String getLogFileName() {
+		String name= fFileName;
+		if (name.endsWith(".xml")) //$NON-NLS-1$
+			name= name.substring(0, name.length() - 4);
+		return name + LOG_FILE_EXTENSION;
+	}
+
+	private void loadLog(File file) throws IOException, CoreException {
+		fLogRecords= -1;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != LOG_MAGIC || in.readInt() != LOG_VERSION)
+				return;
+
+			int records= 0;
+			int kind;
+			while ((kind= in.read()) != -1) {
+				if (kind != RECORD_ACCESSED && kind != RECORD_REMOVED)
+					return;
+				V object= readEntry(in);
+				records++;
+				if (object == null)
+					continue;
+				if (kind == RECORD_ACCESSED) {
+					fHistory.put(getKey(object), object);
+				} else {
+					fHistory.remove(getKey(object));
+				}
+			}
+			fLogRecords= records;
+		} catch (EOFException e) {
+			// the last append has been interrupted, the log is rewritten on the next save
+		}
+	}
+
+	private static void writeLog(File file, byte[] data) throws IOException {
+		File temp= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (OutputStream out= new BufferedOutputStream(new FileOutputStream(temp))) {
+				out.write(data);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	private byte[] encodeEntries() throws IOException, CoreException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		DataOutputStream out= new DataOutputStream(bytes);
+		out.writeInt(LOG_MAGIC);
+		out.writeInt(LOG_VERSION);
+		for (V object : fHistory.values()) {
+			out.writeByte(RECORD_ACCESSED);
+			writeEntry(object, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	private byte[] encodePendingRecords() throws IOException, CoreException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		DataOutputStream out= new DataOutputStream(bytes);
+		for (Record record : fPendingRecords) {
+			out.writeByte(record.kind());
+			writeEntry(record.value(), out);
+		}
+		return bytes.toByteArray();
+	}
+
+	/*
+	 * An entry is stored as the attributes of the element created by setAttributes(Object, Element).
+	 */
+	private void writeEntry(Object object, DataOutputStream out) throws IOException, CoreException {
+		Element element= getEntryDocument().createElement(fInfoNodeName);
+		setAttributes(object, element);
+		NamedNodeMap attributes= element.getAttributes();
+		out.writeShort(attributes.getLength());
+		for (int i= 0; i < attributes.getLength(); i++) {
+			Attr attribute= (Attr) attributes.item(i);
+			out.writeUTF(attribute.getName());
+			out.writeUTF(attribute.getValue());
+		}
+	}
+
+	private V readEntry(DataInputStream in) throws IOException, CoreException {
+		Element element= getEntryDocument().createElement(fInfoNodeName);
+		int count= in.readUnsignedShort();
+		for (int i= 0; i < count; i++) {
+			String name= in.readUTF();
+			element.setAttribute(name, in.readUTF());
+		}
+		return createFromElement(element);
+	}
+
+	private Document getEntryDocument() throws CoreException {
+		if (fEntryDocument == null) {
+			try {
+				fEntryDocument= XmlProcessorFactoryJdtUi.createDocumentBuilderFactoryWithErrorOnDOCTYPE().newDocumentBuilder().newDocument();
+			} catch (ParserConfigurationException e) {
+				throw createException(e, Messages.format(CorextMessages.History_error_serialize, BasicElementLabels.getResourceName(fFileName)));
+			}
+		}
+		return fEntryDocument;
 	}
 
 	private void load(InputSource inputSource) throws CoreException {
@@ -260,34 +458,4 @@ public abstract class History<K, V> {
 		rebuildPositions();
 	}
 
-	private void save(OutputStream stream) throws CoreException {
-		try {
-			DocumentBuilderFactory factory= XmlProcessorFactoryJdtUi.createDocumentBuilderFactoryWithErrorOnDOCTYPE();
-			DocumentBuilder builder= factory.newDocumentBuilder();
-			Document document= builder.newDocument();
-
-			Element rootElement = document.createElement(fRootNodeName);
-			document.appendChild(rootElement);
-
-			Iterator<V> values= getValues().iterator();
-			while (values.hasNext()) {
-				Object object= values.next();
-				Element element= document.createElement(fInfoNodeName);
-				setAttributes(object, element);
-				rootElement.appendChild(element);
-			}
-
-			Transformer transformer= XmlProcessorFactoryJdtUi.createTransformerFactoryWithErrorOnDOCTYPE().newTransformer();
-			transformer.setOutputProperty(OutputKeys.METHOD, "xml"); //$NON-NLS-1$
-			transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8"); //$NON-NLS-1$
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes"); //$NON-NLS-1$
-			DOMSource source = new DOMSource(document);
-			StreamResult result = new StreamResult(stream);
-
-			transformer.transform(source, result);
-		} catch (TransformerException | ParserConfigurationException e) {
-			throw createException(e, Messages.format(CorextMessages.History_error_serialize, BasicElementLabels.getResourceName(fFileName)));
-		}
-	}
-
 }
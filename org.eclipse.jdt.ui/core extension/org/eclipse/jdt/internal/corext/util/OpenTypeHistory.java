@@ -17,9 +17,11 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.w3c.dom.Element;
 
@@ -28,10 +30,7 @@ import org.eclipse.core.filesystem.IFileInfo;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IResource;
 
@@ -62,20 +61,20 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private static class TypeHistoryDeltaListener implements IElementChangedListener {
 		@Override
 		public void elementChanged(ElementChangedEvent event) {
-			if (processDelta(event.getDelta())) {
-				OpenTypeHistory.getInstance().markAsInconsistent();
+			List<IJavaElement> changed= new ArrayList<>();
+			processDelta(event.getDelta(), changed);
+			if (!changed.isEmpty()) {
+				OpenTypeHistory.getInstance().markAsInconsistent(changed);
 			}
 		}
 
 		/**
-		 * Computes whether the history needs a consistency check or not.
+		 * Collects the elements whose types need a consistency check.
 		 *
 		 * @param delta the Java element delta
-		 *
-		 * @return <code>true</code> if consistency must be checked
-		 *  <code>false</code> otherwise.
+		 * @param result the collected elements
 		 */
-		private boolean processDelta(IJavaElementDelta delta) {
+		private void processDelta(IJavaElementDelta delta, List<IJavaElement> result) {
 			IJavaElement elem= delta.getElement();
 
 			boolean isChanged= delta.getKind() == IJavaElementDelta.CHANGED;
@@ -85,44 +84,55 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 				case IJavaElement.JAVA_PROJECT:
 					if (isRemoved || (isChanged &&
 							(delta.getFlags() & IJavaElementDelta.F_CLOSED) != 0)) {
-						return true;
+						result.add(elem);
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, result);
+					return;
 				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
 					if (isRemoved || (isChanged && (
 							(delta.getFlags() & IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED) != 0 ||
 							(delta.getFlags() & IJavaElementDelta.F_REMOVED_FROM_CLASSPATH) != 0))) {
-						return true;
+						result.add(elem);
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, result);
+					return;
 				case IJavaElement.TYPE:
 					if (isChanged && (delta.getFlags() & IJavaElementDelta.F_MODIFIERS) != 0) {
-						return true;
+						result.add(elem);
+						return;
 					}
 					if (isRemoved) {
-						return true;
+						result.add(elem);
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, result);
+					return;
 				case IJavaElement.JAVA_MODEL:
 				case IJavaElement.PACKAGE_FRAGMENT:
 				case IJavaElement.CLASS_FILE:
 					if (isRemoved) {
-						return true;
+						result.add(elem);
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, result);
+					return;
 				case IJavaElement.COMPILATION_UNIT:
 					// Not the primary compilation unit. Ignore it
 					if (!JavaModelUtil.isPrimary((ICompilationUnit) elem)) {
-						return false;
+						return;
 					}
 
 					if (isRemoved || (isChanged && isUnknownStructuralChange(delta.getFlags()))) {
-						return true;
+						result.add(elem);
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, result);
+					return;
 				default:
 					// fields, methods, imports ect
-					return false;
+					return;
 			}
 		}
 
@@ -138,40 +148,21 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		}
 		*/
 
-		private boolean processChildrenDelta(IJavaElementDelta delta) {
+		private void processChildrenDelta(IJavaElementDelta delta, List<IJavaElement> result) {
 			for (IJavaElementDelta child : delta.getAffectedChildren()) {
-				if (processDelta(child)) {
-					return true;
-				}
+				processDelta(child, result);
 			}
-			return false;
-		}
-	}
-
-	private static class UpdateJob extends Job {
-		public static final String FAMILY= UpdateJob.class.getName();
-		public UpdateJob() {
-			super(CorextMessages.TypeInfoHistory_consistency_check);
-		}
-		@Override
-		protected IStatus run(IProgressMonitor monitor) {
-			OpenTypeHistory history= OpenTypeHistory.getInstance();
-			history.internalCheckConsistency(monitor);
-			return Status.OK_STATUS;
-		}
-		@Override
-		public boolean belongsTo(Object family) {
-			return FAMILY.equals(family);
 		}
 	}
 
-	// Needs to be volatile since accesses aren't synchronized.
-	private volatile boolean fNeedsConsistencyCheck;
+	// Types checked since the last change of their container, guarded by the lock of the history
+	private final Set<TypeNameMatch> fVerified;
+	// Number of calls to markAsInconsistent, guarded by the lock of the history
+	private int fInconsistentCount;
 	// Map of cached time stamps
-	private Map<TypeNameMatch, Long> fTimestampMapping;
+	private final Map<TypeNameMatch, Long> fTimestampMapping;
 
 	private final IElementChangedListener fDeltaListener;
-	private final UpdateJob fUpdateJob;
 
 	private static final String FILENAME= "OpenTypeHistory.xml"; //$NON-NLS-1$
 	private static final String NODE_ROOT= "typeInfoHistroy"; //$NON-NLS-1$
@@ -196,50 +187,80 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 
 	private OpenTypeHistory() {
 		super(FILENAME, NODE_ROOT, NODE_TYPE_INFO);
-		fTimestampMapping= new HashMap<>();
-		fNeedsConsistencyCheck= true;
+		fTimestampMapping= new ConcurrentHashMap<>();
+		fVerified= new HashSet<>();
 		load();
+		// the log may contain types that have been removed since
+		fTimestampMapping.keySet().retainAll(getValues());
 		fDeltaListener= new TypeHistoryDeltaListener();
 		JavaCore.addElementChangedListener(fDeltaListener);
-		fUpdateJob= new UpdateJob();
-		// It is not necessary anymore that the update job has a rule since
-		// markAsInconsistent isn't synchronized anymore. See bugs
-		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=128399 and
-		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=135278
-		// for details.
-		fUpdateJob.setPriority(Job.SHORT);
 	}
 
-	public void markAsInconsistent() {
-		fNeedsConsistencyCheck= true;
-		// cancel the old job. If no job is running this is a NOOP.
-		fUpdateJob.cancel();
-		fUpdateJob.schedule();
+	/**
+	 * Marks all types for a consistency check on their next use.
+	 */
+	public synchronized void markAsInconsistent() {
+		fInconsistentCount++;
+		fVerified.clear();
 	}
 
-	public boolean needConsistencyCheck() {
-		return fNeedsConsistencyCheck;
+	/**
+	 * Marks the types that are contained in one of the given elements for a consistency check on
+	 * their next use.
+	 *
+	 * @param elements the changed elements
+	 */
+	public synchronized void markAsInconsistent(Collection<IJavaElement> elements) {
+		fInconsistentCount++;
+		fVerified.removeIf(type -> isContainedInAny(type.getType(), elements));
 	}
 
+	private static boolean isContainedInAny(IJavaElement element, Collection<IJavaElement> containers) {
+		for (IJavaElement current= element; current != null; current= current.getParent()) {
+			if (containers.contains(current))
+				return true;
+		}
+		return false;
+	}
+
+	public synchronized boolean needConsistencyCheck() {
+		for (TypeNameMatch type : getValues()) {
+			if (!fVerified.contains(type))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Checks the types that have not been checked since the last change of their container. A type
+	 * whose container has the time stamp of the last check is not accessed.
+	 *
+	 * @param monitor the progress monitor
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
 	public void checkConsistency(IProgressMonitor monitor) throws OperationCanceledException {
-		if (!fNeedsConsistencyCheck)
-			return;
-		if (fUpdateJob.getState() == Job.RUNNING) {
-			try {
-				Job.getJobManager().join(UpdateJob.FAMILY, monitor);
-			} catch (OperationCanceledException | InterruptedException e) {
-				// Ignore and do the consistency check without
-				// waiting for the update job.
+		List<TypeNameMatch> typesToCheck= new ArrayList<>();
+		synchronized (this) {
+			for (TypeNameMatch type : getValues()) {
+				if (!fVerified.contains(type))
+					typesToCheck.add(type);
 			}
 		}
-		if (!fNeedsConsistencyCheck)
+		if (typesToCheck.isEmpty())
 			return;
-		internalCheckConsistency(monitor);
-	}
 
-	@Override
-	public synchronized boolean contains(TypeNameMatch type) {
-		return super.contains(type);
+		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
+		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
+		try {
+			for (TypeNameMatch type : typesToCheck) {
+				checkConsistency(type);
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				monitor.worked(1);
+			}
+		} finally {
+			monitor.done();
+		}
 	}
 
 	@Override
@@ -255,17 +276,19 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	@Override
 	public synchronized TypeNameMatch remove(TypeNameMatch info) {
 		fTimestampMapping.remove(info);
+		fVerified.remove(info);
 		return (TypeNameMatch)super.remove(info);
 	}
 
 	public synchronized void replace(TypeNameMatch old, TypeNameMatch newMatch) {
 		fTimestampMapping.remove(old);
+		fVerified.remove(old);
 		fTimestampMapping.put(newMatch, getContainerTimestamp(newMatch));
 		super.remove(old);
 		super.accessed(newMatch);
 	}
 
-	public synchronized TypeNameMatch[] getTypeInfos() {
+	public TypeNameMatch[] getTypeInfos() {
 		Collection<TypeNameMatch> values= getValues();
 		int size= values.size();
 		TypeNameMatch[] result= new TypeNameMatch[size];
@@ -277,7 +300,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		return result;
 	}
 
-	public synchronized TypeNameMatch[] getFilteredTypeInfos(TypeInfoFilter filter) {
+	public TypeNameMatch[] getFilteredTypeInfos(TypeInfoFilter filter) {
 		List<TypeNameMatch> result= new ArrayList<>();
 		for (TypeNameMatch type : getValues()) {
 			if ((filter == null || filter.matchesHistoryElement(type)) && !TypeFilter.isFiltered(type.getFullyQualifiedName()))
@@ -293,40 +316,49 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		return object;
 	}
 
-	private synchronized void internalCheckConsistency(IProgressMonitor monitor) throws OperationCanceledException {
-		// Setting fNeedsConsistencyCheck is necessary here since
-		// markAsInconsistent isn't synchronized.
-		fNeedsConsistencyCheck= true;
-		List<TypeNameMatch> typesToCheck= new ArrayList<>(getKeys());
-		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
-		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
-		for (TypeNameMatch type : typesToCheck) {
-			long currentTimestamp= getContainerTimestamp(type);
-			Long lastTested= fTimestampMapping.get(type);
-			if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
-				continue;
-			try {
-				IType jType= type.getType();
-				if (jType == null || !jType.exists()) {
-					remove(type);
+	/*
+	 * Accesses the type only if its container has changed since the last check. Updates the
+	 * history under its lock only if the type no longer exists or its modifiers have changed.
+	 * A type is not marked as verified if it has been marked as inconsistent during the check.
+	 */
+	private void checkConsistency(TypeNameMatch type) {
+		int inconsistentCount;
+		synchronized (this) {
+			inconsistentCount= fInconsistentCount;
+		}
+		long currentTimestamp= getContainerTimestamp(type);
+		Long lastTested= fTimestampMapping.get(type);
+		if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type)) {
+			markAsVerified(type, inconsistentCount);
+			return;
+		}
+		try {
+			IType jType= type.getType();
+			if (jType == null || !jType.exists()) {
+				remove(type);
+			} else {
+				// copy over the modifiers since they may have changed
+				int modifiers= jType.getFlags();
+				if (modifiers != type.getModifiers()) {
+					TypeNameMatch newMatch= SearchEngine.createTypeNameMatch(jType, modifiers);
+					replace(type, newMatch);
+					markAsVerified(newMatch, inconsistentCount);
 				} else {
-					// copy over the modifiers since they may have changed
-					int modifiers= jType.getFlags();
-					if (modifiers != type.getModifiers()) {
-						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
-					} else {
-						fTimestampMapping.put(type, currentTimestamp);
+					synchronized (this) {
+						if (contains(type))
+							fTimestampMapping.put(type, currentTimestamp);
 					}
+					markAsVerified(type, inconsistentCount);
 				}
-			} catch (JavaModelException e) {
-				remove(type);
 			}
-			if (monitor.isCanceled())
-				throw new OperationCanceledException();
-			monitor.worked(1);
+		} catch (JavaModelException e) {
+			remove(type);
 		}
-		monitor.done();
-		fNeedsConsistencyCheck= false;
+	}
+
+	private synchronized void markAsVerified(TypeNameMatch type, int inconsistentCount) {
+		if (inconsistentCount == fInconsistentCount && contains(type))
+			fVerified.add(type);
 	}
 
 	private long getContainerTimestamp(TypeNameMatch match) {
@@ -226,6 +226,33 @@ public class TypeInfoFilter {
 		return fNameMatcher.getPattern();
 	}
 
+	/**
+	 * Returns a prefix of the simple names of all types matched by this filter. The prefix is
+	 * compared ignoring case.
+	 *
+	 * @return the prefix, may be empty
+	 */
+	public String getNamePrefix() {
+		if (fText.length() == 0)
+			return ""; //$NON-NLS-1$
+		String pattern= fNameMatcher.getPattern();
+		switch (fNameMatcher.getMatchKind()) {
+			case SearchPattern.R_CAMELCASE_MATCH:
+			case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH:
+				// the first character of a camel case pattern has to match
+				return pattern.substring(0, Math.min(1, pattern.length()));
+			case SearchPattern.R_PATTERN_MATCH:
+				for (int i= 0; i < pattern.length(); i++) {
+					char ch= pattern.charAt(i);
+					if (ch == '*' || ch == '?')
+						return pattern.substring(0, i);
+				}
+				return pattern;
+			default:
+				return pattern;
+		}
+	}
+
 	public int getSearchFlags() {
 		return fNameMatcher.getMatchKind();
 	}
@@ -0,0 +1,405 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import org.eclipse.jdt.internal.corext.CorextMessages;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * In-memory index of all types of the workspace, sorted by simple name. The index is built once in
+ * a background job and updated from Java element deltas: a change of compilation units, class files
+ * or packages updates the types of the changed elements, a change of the classpath rebuilds the
+ * index.
+ * <p>
+ * A query only walks the types whose simple name starts with the prefix of the name pattern, see
+ * {@link TypeInfoFilter#getNamePrefix()}.
+ * </p>
+ */
+public final class TypeNameIndex {
+
+	public static final String FAMILY= TypeNameIndex.class.getName();
+
+	/**
+	 * The types of the index and their simple names in lower case, both sorted by name.
+	 */
+	private record Snapshot(String[] names, TypeNameMatch[] types) {
+	}
+
+	private class DeltaListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			List<IJavaElement> changed= new ArrayList<>();
+			if (processDelta(event.getDelta(), changed)) {
+				markForRebuild();
+			} else if (!changed.isEmpty()) {
+				markAsChanged(changed);
+			}
+		}
+
+		/**
+		 * Collects the elements whose types have to be updated.
+		 *
+		 * @param delta the Java element delta
+		 * @param result the changed elements
+		 * @return <code>true</code> if the index has to be rebuilt
+		 */
+		private boolean processDelta(IJavaElementDelta delta, List<IJavaElement> result) {
+			IJavaElement elem= delta.getElement();
+			boolean isChanged= delta.getKind() == IJavaElementDelta.CHANGED;
+			int flags= delta.getFlags();
+
+			switch (elem.getElementType()) {
+				case IJavaElement.JAVA_MODEL:
+					return processChildrenDelta(delta, result);
+				case IJavaElement.JAVA_PROJECT:
+					if (!isChanged || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+							| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+						return true;
+					}
+					return processChildrenDelta(delta, result);
+				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+					// archives and libraries may be shared by several projects
+					if (!isChanged || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+							| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+						return true;
+					}
+					return processChildrenDelta(delta, result);
+				case IJavaElement.PACKAGE_FRAGMENT:
+					if (!isChanged) {
+						result.add(elem);
+						return false;
+					}
+					return processChildrenDelta(delta, result);
+				case IJavaElement.CLASS_FILE:
+					if (!isChanged || (flags & IJavaElementDelta.F_CONTENT) != 0) {
+						result.add(elem);
+					}
+					return false;
+				case IJavaElement.COMPILATION_UNIT:
+					if (!JavaModelUtil.isPrimary((ICompilationUnit) elem)) {
+						return false;
+					}
+					if (!isChanged || isUnknownStructuralChange(flags) || hasTypeDelta(delta)) {
+						result.add(elem);
+					}
+					return false;
+				default:
+					return false;
+			}
+		}
+
+		private boolean isUnknownStructuralChange(int flags) {
+			if ((flags & IJavaElementDelta.F_CONTENT) == 0)
+				return false;
+			return (flags & IJavaElementDelta.F_FINE_GRAINED) == 0;
+		}
+
+		private boolean hasTypeDelta(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (child.getElement().getElementType() == IJavaElement.TYPE) {
+					if (child.getKind() != IJavaElementDelta.CHANGED || (child.getFlags() & IJavaElementDelta.F_MODIFIERS) != 0)
+						return true;
+					if (hasTypeDelta(child))
+						return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean processChildrenDelta(IJavaElementDelta delta, List<IJavaElement> result) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (processDelta(child, result))
+					return true;
+			}
+			return false;
+		}
+	}
+
+	private class BuildJob extends Job {
+
+		public BuildJob() {
+			super(CorextMessages.TypeNameIndex_build);
+			setSystem(true);
+			setPriority(Job.LONG);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			synchronized (TypeNameIndex.this) {
+				fNeedsRebuild= false;
+				fChangedElements.clear();
+			}
+			List<TypeNameMatch> types= new ArrayList<>();
+			try {
+				collectTypes(SearchEngine.createWorkspaceScope(), types, monitor);
+			} catch (JavaModelException e) {
+				markForRebuild();
+				JavaPlugin.log(e);
+				return Status.OK_STATUS;
+			} catch (OperationCanceledException e) {
+				markForRebuild();
+				return Status.CANCEL_STATUS;
+			}
+			Snapshot snapshot= createSnapshot(types);
+			synchronized (TypeNameIndex.this) {
+				if (!fNeedsRebuild)
+					fSnapshot= snapshot;
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return FAMILY.equals(family);
+		}
+	}
+
+	private static TypeNameIndex fgInstance;
+
+	private final IElementChangedListener fDeltaListener;
+
+	private final BuildJob fBuildJob;
+
+	private volatile Snapshot fSnapshot;
+
+	private boolean fNeedsRebuild= true;
+
+	private final Set<IJavaElement> fChangedElements= new HashSet<>();
+
+	/** Serializes the updates of the snapshot, acquired before the lock of the index */
+	private final Object fUpdateLock= new Object();
+
+	public static synchronized TypeNameIndex getInstance() {
+		if (fgInstance == null)
+			fgInstance= new TypeNameIndex();
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		JavaCore.removeElementChangedListener(fgInstance.fDeltaListener);
+		fgInstance.fBuildJob.cancel();
+		fgInstance= null;
+	}
+
+	private TypeNameIndex() {
+		fDeltaListener= new DeltaListener();
+		JavaCore.addElementChangedListener(fDeltaListener);
+		fBuildJob= new BuildJob();
+	}
+
+	/**
+	 * Returns the types matched by the given filter, excluding the types filtered by the
+	 * preferences. If the index is not available yet, its build is started in the background.
+	 *
+	 * @param filter the filter
+	 * @param monitor the progress monitor
+	 * @return the matching types in the order of their simple names or <code>null</code> if the
+	 *         index is not available yet
+	 * @throws JavaModelException if the types of changed elements cannot be searched
+	 */
+	public List<TypeNameMatch> findMatches(TypeInfoFilter filter, IProgressMonitor monitor) throws JavaModelException {
+		Snapshot snapshot= getSnapshot(monitor);
+		if (snapshot == null)
+			return null;
+
+		String prefix= filter.getNamePrefix().toLowerCase(Locale.ENGLISH);
+		int index= findFirst(snapshot.names(), prefix);
+		List<TypeNameMatch> result= new ArrayList<>();
+		for (int i= index; i < snapshot.names().length && snapshot.names()[i].startsWith(prefix); i++) {
+			if (((i - index) & 0x3ff) == 0 && monitor.isCanceled())
+				throw new OperationCanceledException();
+			TypeNameMatch type= snapshot.types()[i];
+			if (!TypeFilter.isFiltered(type) && filter.matchesHistoryElement(type))
+				result.add(type);
+		}
+		return result;
+	}
+
+	/*
+	 * The types of the changed elements are searched without holding the lock of the index, so
+	 * that the delta listener is not blocked while the search waits for the indexer. The updated
+	 * snapshot is only installed if the index has not been rebuilt in the meantime, otherwise the
+	 * changed elements are updated again on the next query.
+	 */
+	private Snapshot getSnapshot(IProgressMonitor monitor) throws JavaModelException {
+		synchronized (fUpdateLock) {
+			Snapshot snapshot;
+			IJavaElement[] changed;
+			synchronized (this) {
+				if (fNeedsRebuild || fSnapshot == null) {
+					if (fBuildJob.getState() == Job.NONE)
+						fBuildJob.schedule();
+					return null;
+				}
+				snapshot= fSnapshot;
+				if (fChangedElements.isEmpty())
+					return snapshot;
+				changed= fChangedElements.toArray(new IJavaElement[fChangedElements.size()]);
+				fChangedElements.clear();
+			}
+
+			Snapshot updated= null;
+			try {
+				updated= update(snapshot, changed, monitor);
+			} finally {
+				synchronized (this) {
+					if (updated != null && !fNeedsRebuild && fSnapshot == snapshot) {
+						fSnapshot= updated;
+					} else {
+						markAsChanged(Arrays.asList(changed));
+					}
+				}
+			}
+			return updated;
+		}
+	}
+
+	private synchronized void markForRebuild() {
+		fNeedsRebuild= true;
+		fChangedElements.clear();
+	}
+
+	private synchronized void markAsChanged(Collection<IJavaElement> elements) {
+		if (!fNeedsRebuild)
+			fChangedElements.addAll(elements);
+	}
+
+	/*
+	 * Replaces the types contained in the changed elements by the ones found in the elements that
+	 * still exist. Merges the new types into the sorted snapshot.
+	 */
+	private static Snapshot update(Snapshot snapshot, IJavaElement[] changed, IProgressMonitor monitor) throws JavaModelException {
+		List<IJavaElement> existing= new ArrayList<>();
+		for (IJavaElement element : changed) {
+			if (element.exists())
+				existing.add(element);
+		}
+		List<TypeNameMatch> added= new ArrayList<>();
+		if (!existing.isEmpty()) {
+			IJavaSearchScope scope= SearchEngine.createJavaSearchScope(existing.toArray(new IJavaElement[existing.size()]));
+			collectTypes(scope, added, monitor);
+		}
+		Snapshot addedSnapshot= createSnapshot(added);
+
+		Set<IJavaElement> changedSet= new HashSet<>(Arrays.asList(changed));
+		String[] names= snapshot.names();
+		TypeNameMatch[] types= snapshot.types();
+		List<String> resultNames= new ArrayList<>(names.length + added.size());
+		List<TypeNameMatch> resultTypes= new ArrayList<>(names.length + added.size());
+		int j= 0;
+		for (int i= 0; i < names.length; i++) {
+			if (isContainedInAny(types[i].getType(), changedSet))
+				continue;
+			while (j < addedSnapshot.names().length && addedSnapshot.names()[j].compareTo(names[i]) < 0) {
+				resultNames.add(addedSnapshot.names()[j]);
+				resultTypes.add(addedSnapshot.types()[j]);
+				j++;
+			}
+			resultNames.add(names[i]);
+			resultTypes.add(types[i]);
+		}
+		for (; j < addedSnapshot.names().length; j++) {
+			resultNames.add(addedSnapshot.names()[j]);
+			resultTypes.add(addedSnapshot.types()[j]);
+		}
+		return new Snapshot(resultNames.toArray(new String[resultNames.size()]), resultTypes.toArray(new TypeNameMatch[resultTypes.size()]));
+	}
+
+	private static boolean isContainedInAny(IJavaElement element, Set<IJavaElement> containers) {
+		for (IJavaElement current= element; current != null; current= current.getParent()) {
+			if (containers.contains(current))
+				return true;
+		}
+		return false;
+	}
+
+	private static void collectTypes(IJavaSearchScope scope, List<TypeNameMatch> result, IProgressMonitor monitor) throws JavaModelException {
+		TypeNameMatchRequestor requestor= new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				result.add(match);
+			}
+		};
+		new SearchEngine((WorkingCopyOwner) null).searchAllTypeNames(null, SearchPattern.R_EXACT_MATCH, null, SearchPattern.R_EXACT_MATCH,
+				IJavaSearchConstants.TYPE, scope, requestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+	}
+
+	private static Snapshot createSnapshot(List<TypeNameMatch> types) {
+		String[] names= new String[types.size()];
+		Integer[] order= new Integer[names.length];
+		for (int i= 0; i < names.length; i++) {
+			names[i]= types.get(i).getSimpleTypeName().toLowerCase(Locale.ENGLISH);
+			order[i]= Integer.valueOf(i);
+		}
+		Arrays.sort(order, (a, b) -> names[a.intValue()].compareTo(names[b.intValue()]));
+
+		String[] sortedNames= new String[names.length];
+		TypeNameMatch[] sortedTypes= new TypeNameMatch[names.length];
+		for (int i= 0; i < order.length; i++) {
+			sortedNames[i]= names[order[i].intValue()];
+			sortedTypes[i]= types.get(order[i].intValue());
+		}
+		return new Snapshot(sortedNames, sortedTypes);
+	}
+
+	/*
+	 * Returns the index of the first name that is not smaller than the prefix.
+	 */
+	private static int findFirst(String[] names, String prefix) {
+		int low= 0;
+		int high= names.length;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (names[mid].compareTo(prefix) < 0) {
+				low= mid + 1;
+			} else {
+				high= mid;
+			}
+		}
+		return low;
+	}
+}
@@ -104,6 +104,7 @@ import org.eclipse.jdt.internal.corext.template.java.SWTContextType;
 import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
 import org.eclipse.jdt.internal.corext.util.QualifiedTypeNameHistory;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.ui.IContextMenuConstants;
 import org.eclipse.jdt.ui.JavaUI;
@@ -448,7 +449,8 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	}
 
 	/* package */ static void initializeAfterLoad(IProgressMonitor monitor) {
-		OpenTypeHistory.getInstance().checkConsistency(monitor);
+		// loads the history, its types are checked on first use
+		OpenTypeHistory.getInstance();
 	}
 
 	/*
@@ -539,6 +541,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 			// must add here to guarantee that it is the first in the listener list
 
 			OpenTypeHistory.shutdown();
+			TypeNameIndex.shutdown();
 		} finally {
 			super.stop(context);
 		}
@@ -13,22 +13,30 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.actions;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Hashtable;
 import java.util.Map;
 
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jface.dialogs.ProgressMonitorDialog;
+
 import org.eclipse.ui.IWorkbenchSite;
 import org.eclipse.ui.PlatformUI;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.OrganizeImportsRefactoring;
 
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
 import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.refactoring.IRefactoringSaveModes;
 
 import org.eclipse.jdt.internal.ui.IJavaHelpContextIds;
 import org.eclipse.jdt.internal.ui.fix.ImportsCleanUp;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.refactoring.RefactoringExecutionHelper;
 
 public class MultiOrganizeImportAction extends CleanUpAction {
 
@@ -63,6 +71,25 @@ public class MultiOrganizeImportAction extends CleanUpAction {
 		};
 	}
 
+	/*
+	 * Several units are organized with one type name search per project instead of one search
+	 * per unit, see MultiOrganizeImportsOperation.
+	 */
+	@Override
+	protected void performRefactoring(ICompilationUnit[] units, ICleanUp[] cleanUps) throws InvocationTargetException {
+		if (units.length == 1) {
+			super.performRefactoring(units, cleanUps);
+			return;
+		}
+
+		OrganizeImportsRefactoring refactoring= new OrganizeImportsRefactoring(units, getActionName());
+		RefactoringExecutionHelper helper= new RefactoringExecutionHelper(refactoring, IStatus.INFO, IRefactoringSaveModes.SAVE_REFACTORING, getShell(), new ProgressMonitorDialog(getShell()));
+		try {
+			helper.perform(true, true, true);
+		} catch (InterruptedException e) {
+		}
+	}
+
 	@Override
 	protected String getActionName() {
 		return ActionMessages.OrganizeImportsAction_error_title;
@@ -96,6 +96,7 @@ import org.eclipse.jdt.internal.corext.util.Strings;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoRequestorAdapter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.IVMInstallType;
@@ -469,10 +470,25 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 	@Override
 	protected void fillContentProvider(AbstractContentProvider provider, ItemsFilter itemsFilter, IProgressMonitor progressMonitor) throws CoreException {
 		TypeItemsFilter typeSearchFilter= (TypeItemsFilter) itemsFilter;
+		progressMonitor.setTaskName(JavaUIMessages.FilteredTypesSelectionDialog_searchJob_taskName);
+
+		// walk the type name index if it is available, it is built on first use
+		List<TypeNameMatch> indexed= TypeNameIndex.getInstance().findMatches(typeSearchFilter.fTypeInfoFilter, progressMonitor);
+		if (indexed != null) {
+			typeSearchFilter.setMatchEverythingMode(true);
+			try {
+				for (TypeNameMatch match : indexed) {
+					provider.add(match, typeSearchFilter);
+				}
+			} finally {
+				typeSearchFilter.setMatchEverythingMode(false);
+			}
+			return;
+		}
+
 		TypeSearchRequestor requestor= new TypeSearchRequestor(provider, typeSearchFilter);
 		SearchEngine engine= new SearchEngine((WorkingCopyOwner) null);
 		String packPattern= typeSearchFilter.getPackagePattern();
-		progressMonitor.setTaskName(JavaUIMessages.FilteredTypesSelectionDialog_searchJob_taskName);
 
 		/*
 		 * Setting the filter into match everything mode avoids filtering twice
@@ -1152,6 +1168,12 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			if (result != 0)
 				return result;
 
+			// of types with the same name, the most recently opened comes first
+			OpenTypeHistory history= OpenTypeHistory.getInstance();
+			result= Integer.compare(history.getPosition(rightInfo), history.getPosition(leftInfo));
+			if (result != 0)
+				return result;
+
 			result= compareDeprecation(leftInfo.getModifiers(), rightInfo.getModifiers());
 			if (result != 0)
 				return result;
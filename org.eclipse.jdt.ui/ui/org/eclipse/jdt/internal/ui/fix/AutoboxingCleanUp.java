@@ -26,7 +26,6 @@ import org.eclipse.text.edits.TextEditGroup;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CastExpression;
 import org.eclipse.jdt.core.dom.ClassInstanceCreation;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -99,13 +98,18 @@ public class AutoboxingCleanUp extends AbstractMultiFix {
 
 	@Override
 	protected ICleanUpFix createFix(CompilationUnit unit) throws CoreException {
+		return collectFix(unit);
+	}
+
+	@Override
+	public FixCollector createFixCollector(final CompilationUnit unit) throws CoreException {
 		if (!isEnabled(CleanUpConstants.USE_AUTOBOXING) || !JavaModelUtil.is50OrHigher(unit.getJavaElement().getJavaProject())) {
 			return null;
 		}
 
-		final List<CompilationUnitRewriteOperation> rewriteOperations= new ArrayList<>();
+		return new FixCollector() {
+			private final List<CompilationUnitRewriteOperation> rewriteOperations= new ArrayList<>();
 
-		unit.accept(new ASTVisitor() {
 			@Override
 			public boolean visit(MethodInvocation visited) {
 				if ((ASTNodes.usesGivenSignature(visited, Boolean.class.getCanonicalName(), VALUE_OF_METHOD, boolean.class.getSimpleName())
@@ -179,14 +183,17 @@ public class AutoboxingCleanUp extends AbstractMultiFix {
 
 				return ASTNodes.hasConflictingMethodOrConstructor(visited.getParent(), binding, argumentTypes);
 			}
-		});
 
-		if (rewriteOperations.isEmpty()) {
-			return null;
-		}
+			@Override
+			public ICleanUpFix createFix() throws CoreException {
+				if (rewriteOperations.isEmpty()) {
+					return null;
+				}
 
-		return new CompilationUnitRewriteOperationsFix(MultiFixMessages.AutoboxingCleanup_description, unit,
-				rewriteOperations.toArray(new CompilationUnitRewriteOperation[rewriteOperations.size()]));
+				return new CompilationUnitRewriteOperationsFix(MultiFixMessages.AutoboxingCleanup_description, unit,
+						rewriteOperations.toArray(new CompilationUnitRewriteOperation[rewriteOperations.size()]));
+			}
+		};
 	}
 
 	@Override
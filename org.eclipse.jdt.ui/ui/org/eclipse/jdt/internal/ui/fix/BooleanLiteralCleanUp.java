@@ -25,7 +25,6 @@ import org.eclipse.text.edits.TextEditGroup;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.BooleanLiteral;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ITypeBinding;
@@ -83,13 +82,18 @@ public class BooleanLiteralCleanUp extends AbstractMultiFix implements ICleanUpF
 
 	@Override
 	protected ICleanUpFix createFix(CompilationUnit unit) throws CoreException {
+		return collectFix(unit);
+	}
+
+	@Override
+	public FixCollector createFixCollector(final CompilationUnit unit) throws CoreException {
 		if (!isEnabled(CleanUpConstants.PREFER_BOOLEAN_LITERAL) || !JavaModelUtil.is50OrHigher(unit.getJavaElement().getJavaProject())) {
 			return null;
 		}
 
-		final List<CompilationUnitRewriteOperation> rewriteOperations= new ArrayList<>();
+		return new FixCollector() {
+			private final List<CompilationUnitRewriteOperation> rewriteOperations= new ArrayList<>();
 
-		unit.accept(new ASTVisitor() {
 			@Override
 			public boolean visit(final QualifiedName node) {
 				ITypeBinding typeBinding= ASTNodes.getTargetType(node);
@@ -108,14 +112,17 @@ public class BooleanLiteralCleanUp extends AbstractMultiFix implements ICleanUpF
 
 				return true;
 			}
-		});
 
-		if (rewriteOperations.isEmpty()) {
-			return null;
-		}
+			@Override
+			public ICleanUpFix createFix() throws CoreException {
+				if (rewriteOperations.isEmpty()) {
+					return null;
+				}
 
-		return new CompilationUnitRewriteOperationsFix(MultiFixMessages.BooleanLiteralCleanup_description, unit,
-				rewriteOperations.toArray(new CompilationUnitRewriteOperation[0]));
+				return new CompilationUnitRewriteOperationsFix(MultiFixMessages.BooleanLiteralCleanup_description, unit,
+						rewriteOperations.toArray(new CompilationUnitRewriteOperation[0]));
+			}
+		};
 	}
 
 	@Override
@@ -84,6 +84,7 @@ public class CleanUpSaveParticipantPreferenceConfiguration extends AbstractSaveP
 	private Button fAdditionalActionButton;
 	private Button fConfigureButton;
 	private Button fFormatAllButton;
+	private Button fChangedRegionsOnlyButton;
 
 	private Composite fCleanUpOptionsComposite;
 	private ControlEnableState fControlEnableState;
@@ -180,6 +181,16 @@ public class CleanUpSaveParticipantPreferenceConfiguration extends AbstractSaveP
 				changeSettingsValue(CleanUpConstants.CLEANUP_ON_SAVE_ADDITIONAL_OPTIONS, fAdditionalActionButton.getSelection());
 			}
 		});
+
+		fChangedRegionsOnlyButton= new Button(fCleanUpOptionsComposite, SWT.CHECK);
+		fChangedRegionsOnlyButton.setText(SaveParticipantMessages.CleanUpSaveParticipantPreferenceConfiguration_ChangedRegionsOnly_Checkbox);
+		fChangedRegionsOnlyButton.setLayoutData(new GridData(SWT.FILL, SWT.TOP, true, false));
+		fChangedRegionsOnlyButton.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				changeSettingsValue(CleanUpConstants.CLEANUP_ON_SAVE_CHANGED_REGIONS_ONLY, fChangedRegionsOnlyButton.getSelection());
+			}
+		});
 	}
 
 	private Composite createAdvancedComposite(final Composite parent) {
@@ -329,6 +340,8 @@ public class CleanUpSaveParticipantPreferenceConfiguration extends AbstractSaveP
 		fSelectedActionsText.setEnabled(additionalEnabled);
 		fConfigureButton.setEnabled(additionalEnabled);
 
+		fChangedRegionsOnlyButton.setSelection(CleanUpOptions.TRUE.equals(fSettings.get(CleanUpConstants.CLEANUP_ON_SAVE_CHANGED_REGIONS_ONLY)));
+
 		Map<String, String> settings= new HashMap<>(fSettings);
 		settings.put(CleanUpConstants.FORMAT_SOURCE_CODE, CleanUpOptions.FALSE);
 		settings.put(CleanUpConstants.ORGANIZE_IMPORTS, CleanUpOptions.FALSE);
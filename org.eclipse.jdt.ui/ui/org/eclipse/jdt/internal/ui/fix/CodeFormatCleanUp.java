@@ -56,8 +56,10 @@ public class CodeFormatCleanUp extends AbstractCleanUp {
 
 		try {
 			IRegion[] regions;
-			if (context instanceof MultiLineCleanUpContext) {
-				regions= ((MultiLineCleanUpContext)context).getRegions();
+			// restricting all save actions to the edited regions keeps the choice to format all lines
+			if (context instanceof MultiLineCleanUpContext multiLineContext
+					&& (!multiLineContext.isRestrictedToRegions() || isEnabled(CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY))) {
+				regions= multiLineContext.getRegions();
 			} else {
 				regions= null;
 			}
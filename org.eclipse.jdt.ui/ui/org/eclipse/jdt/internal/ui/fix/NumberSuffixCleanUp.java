@@ -25,7 +25,6 @@ import org.eclipse.text.edits.TextEditGroup;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.NumberLiteral;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
@@ -86,13 +85,18 @@ public class NumberSuffixCleanUp extends AbstractMultiFix {
 
 	@Override
 	protected ICleanUpFix createFix(CompilationUnit unit) throws CoreException {
+		return collectFix(unit);
+	}
+
+	@Override
+	public FixCollector createFixCollector(final CompilationUnit unit) throws CoreException {
 		if (!isEnabled(CleanUpConstants.NUMBER_SUFFIX)) {
 			return null;
 		}
 
-		final List<CompilationUnitRewriteOperation> rewriteOperations= new ArrayList<>();
+		return new FixCollector() {
+			private final List<CompilationUnitRewriteOperation> rewriteOperations= new ArrayList<>();
 
-		unit.accept(new ASTVisitor() {
 			@Override
 			public boolean visit(NumberLiteral node) {
 				final String token= node.getToken();
@@ -104,14 +108,17 @@ public class NumberSuffixCleanUp extends AbstractMultiFix {
 
 				return true;
 			}
-		});
 
-		if (rewriteOperations.isEmpty()) {
-			return null;
-		}
+			@Override
+			public ICleanUpFix createFix() throws CoreException {
+				if (rewriteOperations.isEmpty()) {
+					return null;
+				}
 
-		return new CompilationUnitRewriteOperationsFix(MultiFixMessages.CodeStyleCleanUp_numberSuffix_description, unit,
-				rewriteOperations.toArray(new CompilationUnitRewriteOperation[rewriteOperations.size()]));
+				return new CompilationUnitRewriteOperationsFix(MultiFixMessages.CodeStyleCleanUp_numberSuffix_description, unit,
+						rewriteOperations.toArray(new CompilationUnitRewriteOperation[rewriteOperations.size()]));
+			}
+		};
 	}
 
 	@Override
@@ -23,6 +23,7 @@ public class SaveParticipantMessages extends NLS {
 	public static String CleanUpSaveParticipantConfigurationModifyDialog_XofYSelected_Label;
 
 	public static String CleanUpSaveParticipantPreferenceConfiguration_AdditionalActions_Checkbox;
+	public static String CleanUpSaveParticipantPreferenceConfiguration_ChangedRegionsOnly_Checkbox;
 	public static String CleanUpSaveParticipantPreferenceConfiguration_CleanUpActionsTopNodeName_Checkbox;
 	public static String CleanUpSaveParticipantPreferenceConfiguration_CleanUpSaveParticipantConfiguration_Title;
 	public static String CleanUpSaveParticipantPreferenceConfiguration_Configure_Button;
@@ -0,0 +1,515 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.jarpackager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+import org.eclipse.jdt.ui.jarpackager.JarPackageData;
+
+/**
+ * Creates a JAR file that reuses the entries of the previous export whose content did not change.
+ * <p>
+ * An index next to the JAR records the path, size, content hash and position of each entry. An
+ * entry whose content has the same hash as in the index is copied from the previous archive as it
+ * is, without being compressed again. The index is only used if the JAR still has the size and
+ * time stamp it had when the index was written, otherwise all entries are written.
+ * </p>
+ * <p>
+ * The archive is written to a temporary file next to the JAR and replaces it on {@link #close()}.
+ * Archives with more than 65535 entries or larger than 4 GB are not supported.
+ * </p>
+ */
+public class IncrementalJarWriter {
+
+	private static final String INDEX_EXTENSION= ".index"; //$NON-NLS-1$
+	private static final String TEMP_EXTENSION= ".tmp"; //$NON-NLS-1$
+	private static final int INDEX_MAGIC= 0x4A494458;
+	private static final int INDEX_VERSION= 1;
+	private static final String HASH_ALGORITHM= "SHA-256"; //$NON-NLS-1$
+	private static final int HASH_LENGTH= 32;
+
+	private static final int LOCAL_HEADER_SIGNATURE= 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE= 0x02014b50;
+	private static final int END_SIGNATURE= 0x06054b50;
+	private static final int LOCAL_HEADER_SIZE= 30;
+	private static final int COMPRESSED_SIZE_OFFSET= 18;
+	private static final int FLAG_UTF8= 0x800;
+	private static final int MAX_ENTRIES= 0xFFFF;
+	private static final long MAX_OFFSET= 0xFFFFFFFFL;
+
+	private static final int BUFFER_SIZE= 8192;
+
+	/**
+	 * An entry of the archive, as recorded in the index.
+	 */
+	private record Entry(String path, int method, int dosTime, int crc, long compressedSize, long size, byte[] hash, long offset) {
+	}
+
+	private interface Content {
+		InputStream open() throws IOException, CoreException;
+	}
+
+	private final JarPackageData fJarPackage;
+	private final Path fJarFile;
+	private final Path fIndexFile;
+	private final Path fTempFile;
+
+	private Map<String, Entry> fPreviousEntries= Collections.emptyMap();
+	private FileChannel fPreviousArchive;
+
+	private FileChannel fChannel;
+	private OutputStream fOutput;
+	private long fPosition;
+	private final Map<String, Entry> fEntries= new LinkedHashMap<>();
+	private final Set<String> fDirectories= new HashSet<>();
+	private final Deflater fDeflater= new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+	private final byte[] fBuffer= new byte[BUFFER_SIZE];
+
+	private int fReusedCount;
+	private int fWrittenCount;
+
+	/**
+	 * Creates an instance which is used to create a JAR based
+	 * on the given JarPackage.
+	 *
+	 * @param jarPackage		the JAR specification
+	 * @param parent			the shell used to display question dialogs,
+	 *				 			or <code>null</code> if "false/no/cancel" is the answer
+	 * 							and no dialog should be shown
+	 * @throws	CoreException	to signal any other unusual termination.
+	 */
+	public IncrementalJarWriter(JarPackageData jarPackage, Shell parent) throws CoreException {
+		Assert.isNotNull(jarPackage, "The JAR specification is null"); //$NON-NLS-1$
+		fJarPackage= jarPackage;
+		Assert.isTrue(fJarPackage.isValid(), "The JAR package specification is invalid"); //$NON-NLS-1$
+		if (!JarPackagerUtil.canCreateJar(fJarPackage, parent))
+			throw new OperationCanceledException("Cannot create JAR with path: " + fJarPackage.getAbsoluteJarLocation()); //$NON-NLS-1$
+
+		fJarFile= fJarPackage.getAbsoluteJarLocation().toFile().toPath();
+		fIndexFile= fJarFile.resolveSibling(fJarFile.getFileName() + INDEX_EXTENSION);
+		fTempFile= fJarFile.resolveSibling(fJarFile.getFileName() + TEMP_EXTENSION);
+		try {
+			readIndex();
+			fChannel= FileChannel.open(fTempFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			fOutput= new BufferedOutputStream(Channels.newOutputStream(fChannel), BUFFER_SIZE);
+			if (fJarPackage.usesManifest() && fJarPackage.areGeneratedFilesExported()) {
+				Manifest manifest= fJarPackage.getManifestProvider().create(fJarPackage);
+				ByteArrayOutputStream manifestBytes= new ByteArrayOutputStream();
+				manifest.write(manifestBytes);
+				addEntry(JarFile.MANIFEST_NAME, System.currentTimeMillis(), () -> new ByteArrayInputStream(manifestBytes.toByteArray()));
+			}
+		} catch (IOException exception) {
+			discard();
+			throw JarPackagerUtil.createCoreException(exception.getLocalizedMessage(), exception);
+		}
+	}
+
+	/**
+	 * Writes the passed resource to the current archive.
+	 *
+	 * @param resource
+	 *            the file to be written
+	 * @param destinationPath
+	 *            the path for the file inside the archive
+	 * @throws CoreException
+	 *             to signal any other unusual termination. This can also be
+	 *             used to return information in the status object.
+	 */
+	public void write(IFile resource, IPath destinationPath) throws CoreException {
+		try {
+			if (fJarPackage.areDirectoryEntriesIncluded())
+				addDirectories(resource, destinationPath);
+			addEntry(destinationPath.toString().replace(File.separatorChar, '/'), getLastModified(resource), () -> resource.getContents(false));
+		} catch (IOException ex) {
+			// Ensure full path is visible
+			String message= null;
+			if (ex.getLocalizedMessage() != null)
+				message= Messages.format(JarPackagerMessages.JarWriter_writeProblemWithMessage, new Object[] {BasicElementLabels.getPathLabel(resource.getFullPath(), false), ex.getLocalizedMessage()});
+			else
+				message= Messages.format(JarPackagerMessages.JarWriter_writeProblem, BasicElementLabels.getPathLabel(resource.getFullPath(), false));
+			throw JarPackagerUtil.createCoreException(message, ex);
+		}
+	}
+
+	/**
+	 * Writes the central directory, replaces the JAR with the new archive and updates the index.
+	 *
+	 * @throws CoreException
+	 *             to signal any other unusual termination. This can also be
+	 *             used to return information in the status object.
+	 */
+	public void close() throws CoreException {
+		if (fOutput == null)
+			return;
+		try {
+			writeCentralDirectory();
+			fOutput.close();
+			fOutput= null;
+			closePreviousArchive();
+			try {
+				Files.move(fTempFile, fJarFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(fTempFile, fJarFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+			writeIndex();
+			JarPackagerUtil.refreshJarLocation(fJarPackage.getAbsoluteJarLocation());
+		} catch (IOException ex) {
+			discard();
+			throw JarPackagerUtil.createCoreException(ex.getLocalizedMessage(), ex);
+		} finally {
+			fDeflater.end();
+		}
+	}
+
+	/**
+	 * @return the number of entries that were copied from the previous archive
+	 */
+	public int getReusedCount() {
+		return fReusedCount;
+	}
+
+	/**
+	 * @return the number of entries that were written from their content
+	 */
+	public int getWrittenCount() {
+		return fWrittenCount;
+	}
+
+	private void addDirectories(IResource resource, IPath destinationPath) throws IOException, CoreException {
+		String path= destinationPath.toString().replace(File.separatorChar, '/');
+		int lastSlash= path.lastIndexOf('/');
+		List<String> directories= new ArrayList<>(2);
+		while (lastSlash != -1) {
+			path= path.substring(0, lastSlash + 1);
+			if (!fDirectories.add(path))
+				break;
+			directories.add(path);
+			lastSlash= path.lastIndexOf('/', lastSlash - 1);
+		}
+
+		IContainer parent= resource.getParent();
+		long timeStamp= getLastModified(parent);
+		for (int i= directories.size() - 1; i >= 0; --i) {
+			addEntry(directories.get(i), timeStamp, InputStream::nullInputStream);
+		}
+	}
+
+	private static long getLastModified(IResource resource) throws CoreException {
+		URI location= resource.getLocationURI();
+		if (location != null) {
+			IFileInfo info= EFS.getStore(location).fetchInfo();
+			if (info.exists())
+				return info.getLastModified();
+		}
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * Hashes the content and either copies the entry from the previous archive if the content did
+	 * not change, or writes it.
+	 */
+	private void addEntry(String path, long time, Content content) throws IOException, CoreException {
+		if (fEntries.containsKey(path))
+			throw new ZipException("duplicate entry: " + path); //$NON-NLS-1$
+
+		MessageDigest digest= createDigest();
+		CRC32 crc= new CRC32();
+		long size= 0;
+		try (InputStream in= content.open()) {
+			int read;
+			while ((read= in.read(fBuffer)) != -1) {
+				digest.update(fBuffer, 0, read);
+				crc.update(fBuffer, 0, read);
+				size+= read;
+			}
+		}
+		byte[] hash= digest.digest();
+		int method= fJarPackage.isCompressed() && !path.endsWith("/") ? ZipEntry.DEFLATED : ZipEntry.STORED; //$NON-NLS-1$
+
+		Entry previous= fPreviousEntries.get(path);
+		Entry entry;
+		if (previous != null && previous.method() == method && previous.size() == size && Arrays.equals(previous.hash(), hash)) {
+			entry= new Entry(path, method, previous.dosTime(), previous.crc(), previous.compressedSize(), size, hash, fPosition);
+			copyFromPreviousArchive(previous);
+			fReusedCount++;
+		} else {
+			entry= new Entry(path, method, toDosTime(time), (int) crc.getValue(), method == ZipEntry.STORED ? size : 0, size, hash, fPosition);
+			entry= writeEntry(entry, content);
+			fWrittenCount++;
+		}
+		fEntries.put(path, entry);
+	}
+
+	private void copyFromPreviousArchive(Entry previous) throws IOException {
+		long length= LOCAL_HEADER_SIZE + previous.path().getBytes(StandardCharsets.UTF_8).length + previous.compressedSize();
+		fOutput.flush();
+		long copied= 0;
+		while (copied < length) {
+			long transferred= fPreviousArchive.transferTo(previous.offset() + copied, length - copied, fChannel);
+			if (transferred <= 0)
+				throw new ZipException("Truncated entry in previous archive: " + previous.path()); //$NON-NLS-1$
+			copied+= transferred;
+		}
+		fPosition+= length;
+	}
+
+	private Entry writeEntry(Entry entry, Content content) throws IOException, CoreException {
+		byte[] name= entry.path().getBytes(StandardCharsets.UTF_8);
+		writeInt(LOCAL_HEADER_SIGNATURE);
+		writeShort(getVersionNeeded(entry.method()));
+		writeShort(FLAG_UTF8);
+		writeShort(entry.method());
+		writeInt(entry.dosTime());
+		writeInt(entry.crc());
+		writeInt(entry.compressedSize());
+		writeInt(entry.size());
+		writeShort(name.length);
+		writeShort(0);
+		fOutput.write(name);
+
+		long compressedSize;
+		try (InputStream in= content.open()) {
+			if (entry.method() == ZipEntry.STORED) {
+				compressedSize= in.transferTo(fOutput);
+			} else {
+				fDeflater.reset();
+				@SuppressWarnings("resource") // closing would close the archive
+				DeflaterOutputStream deflaterStream= new DeflaterOutputStream(fOutput, fDeflater, BUFFER_SIZE);
+				in.transferTo(deflaterStream);
+				deflaterStream.finish();
+				compressedSize= fDeflater.getBytesWritten();
+			}
+		}
+		if (compressedSize != entry.compressedSize()) {
+			// the compressed size is only known after writing the data
+			fOutput.flush();
+			ByteBuffer buffer= ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt((int) compressedSize).flip();
+			fChannel.write(buffer, entry.offset() + COMPRESSED_SIZE_OFFSET);
+		}
+		fPosition+= LOCAL_HEADER_SIZE + name.length + compressedSize;
+		return new Entry(entry.path(), entry.method(), entry.dosTime(), entry.crc(), compressedSize, entry.size(), entry.hash(), entry.offset());
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		if (fEntries.size() > MAX_ENTRIES)
+			throw new ZipException("Too many entries for an incremental export: " + fEntries.size()); //$NON-NLS-1$
+		long directoryOffset= fPosition;
+		for (Entry entry : fEntries.values()) {
+			byte[] name= entry.path().getBytes(StandardCharsets.UTF_8);
+			writeInt(CENTRAL_HEADER_SIGNATURE);
+			writeShort(20);
+			writeShort(getVersionNeeded(entry.method()));
+			writeShort(FLAG_UTF8);
+			writeShort(entry.method());
+			writeInt(entry.dosTime());
+			writeInt(entry.crc());
+			writeInt(entry.compressedSize());
+			writeInt(entry.size());
+			writeShort(name.length);
+			writeShort(0); // extra field length
+			writeShort(0); // comment length
+			writeShort(0); // disk number
+			writeShort(0); // internal attributes
+			writeInt(0); // external attributes
+			writeInt(entry.offset());
+			fOutput.write(name);
+			fPosition+= 46 + name.length;
+		}
+		if (fPosition > MAX_OFFSET)
+			throw new ZipException("Archive too large for an incremental export"); //$NON-NLS-1$
+
+		String comment= fJarPackage.getComment();
+		byte[] commentBytes= comment != null ? comment.getBytes(StandardCharsets.UTF_8) : new byte[0];
+		writeInt(END_SIGNATURE);
+		writeShort(0);
+		writeShort(0);
+		writeShort(fEntries.size());
+		writeShort(fEntries.size());
+		writeInt(fPosition - directoryOffset);
+		writeInt(directoryOffset);
+		writeShort(commentBytes.length);
+		fOutput.write(commentBytes);
+	}
+
+	private void readIndex() {
+		if (!Files.isRegularFile(fIndexFile) || !Files.isRegularFile(fJarFile))
+			return;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(Files.newInputStream(fIndexFile)))) {
+			if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION)
+				return;
+			long jarSize= in.readLong();
+			long jarTime= in.readLong();
+			if (jarSize != Files.size(fJarFile) || jarTime != Files.getLastModifiedTime(fJarFile).toMillis())
+				return; // the JAR has been changed by someone else
+			int count= in.readInt();
+			Map<String, Entry> entries= new HashMap<>(count * 2);
+			for (int i= 0; i < count; i++) {
+				String path= in.readUTF();
+				int method= in.readShort();
+				int dosTime= in.readInt();
+				int crc= in.readInt();
+				long compressedSize= in.readLong();
+				long size= in.readLong();
+				byte[] hash= new byte[HASH_LENGTH];
+				in.readFully(hash);
+				long offset= in.readLong();
+				entries.put(path, new Entry(path, method, dosTime, crc, compressedSize, size, hash, offset));
+			}
+			fPreviousArchive= FileChannel.open(fJarFile, StandardOpenOption.READ);
+			fPreviousEntries= entries;
+		} catch (IOException e) {
+			// the index is only an optimization, write all entries
+			fPreviousEntries= Collections.emptyMap();
+		}
+	}
+
+	private void writeIndex() throws IOException {
+		Path tempIndex= fIndexFile.resolveSibling(fIndexFile.getFileName() + TEMP_EXTENSION);
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempIndex)))) {
+			out.writeInt(INDEX_MAGIC);
+			out.writeInt(INDEX_VERSION);
+			out.writeLong(Files.size(fJarFile));
+			out.writeLong(Files.getLastModifiedTime(fJarFile).toMillis());
+			out.writeInt(fEntries.size());
+			for (Entry entry : fEntries.values()) {
+				out.writeUTF(entry.path());
+				out.writeShort(entry.method());
+				out.writeInt(entry.dosTime());
+				out.writeInt(entry.crc());
+				out.writeLong(entry.compressedSize());
+				out.writeLong(entry.size());
+				out.write(entry.hash());
+				out.writeLong(entry.offset());
+			}
+		}
+		Files.move(tempIndex, fIndexFile, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Closes all files and deletes the temporary archive. The JAR and its index are left as they
+	 * were before the export.
+	 */
+	private void discard() {
+		try {
+			if (fOutput != null)
+				fOutput.close();
+			else if (fChannel != null)
+				fChannel.close();
+			fOutput= null;
+			closePreviousArchive();
+			Files.deleteIfExists(fTempFile);
+		} catch (IOException e) {
+			// the export already failed
+		} finally {
+			fDeflater.end();
+		}
+	}
+
+	private void closePreviousArchive() throws IOException {
+		if (fPreviousArchive != null) {
+			fPreviousArchive.close();
+			fPreviousArchive= null;
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int getVersionNeeded(int method) {
+		return method == ZipEntry.DEFLATED ? 20 : 10;
+	}
+
+	private static int toDosTime(long time) {
+		LocalDateTime date= LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year= date.getYear();
+		if (year < 1980)
+			return (1 << 21) | (1 << 16); // 1980-01-01, the earliest DOS date
+		return (year - 1980) << 25 | date.getMonthValue() << 21 | date.getDayOfMonth() << 16
+				| date.getHour() << 11 | date.getMinute() << 5 | date.getSecond() >> 1;
+	}
+
+	private void writeShort(int value) throws IOException {
+		fOutput.write(value & 0xFF);
+		fOutput.write((value >>> 8) & 0xFF);
+	}
+
+	private void writeInt(long value) throws IOException {
+		writeShort((int) (value & 0xFFFF));
+		writeShort((int) ((value >>> 16) & 0xFFFF));
+	}
+}
@@ -171,6 +171,7 @@ public class JarPackageReader extends Object implements IJarDescriptionReader {
 			jarPackage.setBuildIfNeeded(getBooleanAttribute(element, "buildIfNeeded", jarPackage.isBuildingIfNeeded())); //$NON-NLS-1$
 			jarPackage.setIncludeDirectoryEntries(getBooleanAttribute(element, "includeDirectoryEntries", false)); //$NON-NLS-1$
 			jarPackage.setRefactoringAware(getBooleanAttribute(element, "storeRefactorings", false)); //$NON-NLS-1$
+			jarPackage.setIncremental(getBooleanAttribute(element, "incremental", false)); //$NON-NLS-1$
 		}
 	}
 
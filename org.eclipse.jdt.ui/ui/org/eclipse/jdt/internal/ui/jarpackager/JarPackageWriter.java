@@ -151,6 +151,7 @@ public class JarPackageWriter extends Object implements IJarDescriptionWriter {
 		options.setAttribute("buildIfNeeded", "" + jarPackage.isBuildingIfNeeded()); //$NON-NLS-2$ //$NON-NLS-1$
 		options.setAttribute("includeDirectoryEntries", "" + jarPackage.areDirectoryEntriesIncluded());  //$NON-NLS-1$//$NON-NLS-2$
 		options.setAttribute("storeRefactorings", "" + jarPackage.isRefactoringAware());  //$NON-NLS-1$//$NON-NLS-2$
+		options.setAttribute("incremental", "" + jarPackage.isIncremental());  //$NON-NLS-1$//$NON-NLS-2$
 	}
 
 	private void xmlWriteRefactoring(JarPackageData jarPackage, Document document, Element xmlJarDesc) throws DOMException {
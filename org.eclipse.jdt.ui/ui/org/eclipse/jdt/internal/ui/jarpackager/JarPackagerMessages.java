@@ -29,6 +29,8 @@ public final class JarPackagerMessages extends NLS {
 
 	public static String CreateJarActionDelegate_jarExportError_title;
 
+	public static String IncrementalJarWriter_entriesReused;
+
 	public static String JarFileExportOperation_canNotExportExternalClassFolder_warning;
 
 	public static String JarFileExportOperation_cantGetRootKind;
@@ -305,6 +307,8 @@ public final class JarPackagerMessages extends NLS {
 
 	public static String JarPackageWizardPage_includeDirectoryEntries_text;
 
+	public static String JarPackageWizardPage_incremental_text;
+
 	public static String JarPackageWizardPage_info_relativeExportDestination;
 
 	public static String JarPackageWizardPage_no_refactorings_selected;
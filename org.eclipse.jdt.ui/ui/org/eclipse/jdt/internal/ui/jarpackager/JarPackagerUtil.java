@@ -18,12 +18,15 @@ package org.eclipse.jdt.internal.ui.jarpackager;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -40,6 +43,7 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 
@@ -81,6 +85,68 @@ public final class JarPackagerUtil {
 		return queryDialog(parent, JarPackagerMessages.JarPackage_confirmCreate_title, Messages.format(JarPackagerMessages.JarPackage_confirmCreate_message, BasicElementLabels.getPathLabel(directory)));
 	}
 
+	/**
+	 * Checks if the JAR file can be overwritten.
+	 * If the JAR package setting does not allow to overwrite the JAR
+	 * then a dialog will ask the user again.
+	 *
+	 * @param	jarPackage	the JAR specification
+	 * @param	parent	the parent for the dialog,
+	 * 			or <code>null</code> if no dialog should be presented
+	 * @return	<code>true</code> if it is OK to create the JAR
+	 */
+	public static boolean canCreateJar(JarPackageData jarPackage, Shell parent) {
+		File file= jarPackage.getAbsoluteJarLocation().toFile();
+		if (file.exists()) {
+			if (!file.canWrite())
+				return false;
+			if (jarPackage.allowOverwrite())
+				return true;
+			return parent != null && askForOverwritePermission(parent, jarPackage.getAbsoluteJarLocation(), true);
+		}
+
+		// Test if directory exists
+		String path= file.getAbsolutePath();
+		int separatorIndex = path.lastIndexOf(File.separator);
+		if (separatorIndex == -1) // i.e.- default directory, which is fine
+			return true;
+		File directory= new File(path.substring(0, separatorIndex));
+		if (!directory.exists()) {
+			if (askToCreateDirectory(parent, directory))
+				return directory.mkdirs();
+			else
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Refreshes the workspace folder that contains the given JAR, if there is one.
+	 *
+	 * @param jarLocation the absolute location of the JAR
+	 */
+	public static void refreshJarLocation(IPath jarLocation) {
+		IPath jarPath= jarLocation;
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			// The Jar is always put into the local file system. So it can only be
+			// part of a project if the project is local as well. So using getLocation
+			// is currently save here.
+			IPath projectLocation= project.getLocation();
+			if (projectLocation != null && projectLocation.isPrefixOf(jarPath)) {
+				try {
+					jarPath= jarPath.removeFirstSegments(projectLocation.segmentCount());
+					jarPath= jarPath.removeLastSegments(1);
+					IResource containingFolder= project.findMember(jarPath);
+					if (containingFolder != null && containingFolder.isAccessible())
+						containingFolder.refreshLocal(IResource.DEPTH_ONE, null);
+				} catch (CoreException ex) {
+					// don't refresh the folder but log the problem
+					JavaPlugin.log(ex);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns the name of the refactorings zip entry.
 	 *
@@ -249,6 +315,20 @@ public final class JarPackagerUtil {
 		entry.setCrc(crc.getValue());
 	}
 
+	/**
+	 * Sets the CRC and size of a stored entry, reading the content in chunks instead of loading
+	 * it into memory. The content stream is not closed.
+	 *
+	 * @param entry the entry to update
+	 * @param content the content of the entry
+	 * @throws IOException if the content cannot be read
+	 */
+	public static void setCrcAndSize(final ZipEntry entry, final InputStream content) throws IOException {
+		final CheckedInputStream checked= new CheckedInputStream(content, new CRC32());
+		entry.setSize(checked.transferTo(OutputStream.nullOutputStream()));
+		entry.setCrc(checked.getChecksum().getValue());
+	}
+
 	/**
 	 * Opens the archive file at the given location.<br>
 	 * <em>Note: It is the caller's responsibility to close the returned
@@ -25,6 +25,8 @@ import org.eclipse.core.runtime.MultiStatus;
 
 import org.eclipse.core.resources.IFile;
 
+import org.eclipse.jdt.internal.corext.util.Messages;
+
 import org.eclipse.jdt.ui.jarpackager.IManifestProvider;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 import org.eclipse.jdt.ui.jarpackager.JarWriter3;
@@ -40,6 +42,7 @@ public class PlainJarBuilder extends JarBuilder {
 
 	private JarPackageData fJarPackage;
 	private JarWriter3 fJarWriter;
+	private IncrementalJarWriter fIncrementalJarWriter;
 
 	@Override
 	public String getId() {
@@ -55,12 +58,19 @@ public class PlainJarBuilder extends JarBuilder {
 	public void open(JarPackageData jarPackage, Shell displayShell, MultiStatus statusMsg) throws CoreException {
 		super.open(jarPackage, displayShell, statusMsg);
 		fJarPackage= jarPackage;
-		fJarWriter= new JarWriter3(fJarPackage, displayShell);
+		// the refactoring history is written by JarWriter3 only
+		if (fJarPackage.isIncremental() && !fJarPackage.isRefactoringAware())
+			fIncrementalJarWriter= new IncrementalJarWriter(fJarPackage, displayShell);
+		else
+			fJarWriter= new JarWriter3(fJarPackage, displayShell);
 	}
 
 	@Override
 	public void writeFile(IFile resource, IPath destinationPath) throws CoreException {
-		fJarWriter.write(resource, destinationPath);
+		if (fIncrementalJarWriter != null)
+			fIncrementalJarWriter.write(resource, destinationPath);
+		else
+			fJarWriter.write(resource, destinationPath);
 	}
 
 	@Override
@@ -73,6 +83,11 @@ public class PlainJarBuilder extends JarBuilder {
 		if (fJarWriter != null) {
 			fJarWriter.close();
 		}
+		if (fIncrementalJarWriter != null) {
+			fIncrementalJarWriter.close();
+			addInfo(Messages.format(JarPackagerMessages.IncrementalJarWriter_entriesReused,
+					new Object[] { Integer.valueOf(fIncrementalJarWriter.getReusedCount()), Integer.valueOf(fIncrementalJarWriter.getWrittenCount()) }), null);
+		}
 	}
 
 }
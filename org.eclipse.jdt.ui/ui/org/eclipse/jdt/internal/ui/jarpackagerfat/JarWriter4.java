@@ -20,6 +20,7 @@ package org.eclipse.jdt.internal.ui.jarpackagerfat;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
@@ -94,6 +95,29 @@ public class JarWriter4 extends JarWriter3 {
 		jarOutputStream.write(content);
 	}
 
+	/**
+	 * Copies a library archive as it is into the current archive. The entries of the library are
+	 * compressed already, so the archive is always stored instead of being deflated once more, and
+	 * it is streamed from the file system instead of being read into memory.
+	 *
+	 * @param file the library archive
+	 * @param path the path of the archive inside the current archive
+	 * @throws IOException if an I/O error has occurred
+	 */
+	public void addArchive(File file, String path) throws IOException {
+		if (fJarPackage.areDirectoryEntriesIncluded())
+			addDirectories(path);
+		JarEntry newEntry= new JarEntry(path.replace(File.separatorChar, '/'));
+		newEntry.setMethod(ZipEntry.STORED);
+		try (InputStream contents= Files.newInputStream(file.toPath())) {
+			JarPackagerUtil.setCrcAndSize(newEntry, contents);
+		}
+		newEntry.setTime(System.currentTimeMillis());
+		@SuppressWarnings("resource")
+		JarOutputStream jarOutputStream= getJarOutputStream();
+		JarPackagerUtilCore.addEntry(newEntry, Files.newInputStream(file.toPath()), jarOutputStream);
+	}
+
 	public void write(File file, IPath destinationPath) throws CoreException {
 		try {
 			addFile(file, destinationPath);
@@ -116,20 +140,20 @@ public class JarWriter4 extends JarWriter3 {
 
 		JarEntry newEntry= new JarEntry(path.toString().replace(File.separatorChar, '/'));
 
-		byte[] allBytes= Files.readAllBytes(file.toPath());
 		if (fJarPackage.isCompressed())
 			newEntry.setMethod(ZipEntry.DEFLATED);
 			// Entry is filled automatically.
 		else {
 			newEntry.setMethod(ZipEntry.STORED);
-				JarPackagerUtil.setCrcAndSize(newEntry, allBytes);
+			try (InputStream contents= Files.newInputStream(file.toPath())) {
+				JarPackagerUtil.setCrcAndSize(newEntry, contents);
+			}
 		}
 
 		newEntry.setTime(file.lastModified());
 
 		@SuppressWarnings("resource")
 		JarOutputStream jarOutputStream= getJarOutputStream();
-		jarOutputStream.putNextEntry(newEntry);
-		jarOutputStream.write(allBytes);
+		JarPackagerUtilCore.addEntry(newEntry, Files.newInputStream(file.toPath()), jarOutputStream);
 	}
 }
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.javaeditor;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
 import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IWindowListener;
 import org.eclipse.ui.IWorkbenchPart;
@@ -25,6 +29,7 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 
+import org.eclipse.jdt.internal.core.manipulation.RecentASTCache;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
 import org.eclipse.jdt.ui.JavaUI;
@@ -42,6 +47,11 @@ public final class ASTProvider implements IASTSharedValues {
 
 	private static final CoreASTProvider INSTANCE= CoreASTProvider.getInstance();
 
+	/**
+	 * Number of recently active Java editors whose ASTs are kept available.
+	 */
+	private static final int RECENT_EDITORS= 4;
+
 	/**
 	 * Internal activation listener.
 	 *
@@ -73,6 +83,8 @@ public final class ASTProvider implements IASTSharedValues {
 		 */
 		@Override
 		public void partClosed(IWorkbenchPartReference ref) {
+			if (isJavaEditor(ref))
+				javaEditorClosed(ref.getPart(false));
 			if (isActiveEditor(ref)) {
 				if (JavaPlugin.DEBUG_AST_PROVIDER)
 					System.out.println(CoreASTProvider.getThreadName() + " - " + CoreASTProvider.DEBUG_PREFIX + "closed active editor: " + ref.getTitle()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -182,6 +194,8 @@ public final class ASTProvider implements IASTSharedValues {
 
 	private ActivationListener fActivationListener;
 	private IWorkbenchPart fActiveEditor;
+	/** Input elements of the recently active Java editors, most recent first */
+	private final LinkedList<ITypeRoot> fRecentElements= new LinkedList<>();
 
 	/**
 	 * Returns the Java plug-in's AST provider.
@@ -220,11 +234,23 @@ public final class ASTProvider implements IASTSharedValues {
 		if (editor instanceof JavaEditor)
 			javaElement= ((JavaEditor)editor).getInputJavaElement();
 
+		List<ITypeRoot> prefetch;
 		synchronized (this) {
 			fActiveEditor= editor;
 			INSTANCE.setActiveJavaElement(javaElement);
 			INSTANCE.cache(null, javaElement);
+
+			if (javaElement != null) {
+				fRecentElements.remove(javaElement);
+				fRecentElements.addFirst(javaElement);
+				if (fRecentElements.size() > RECENT_EDITORS)
+					fRecentElements.removeLast();
+			}
+			prefetch= new ArrayList<>(fRecentElements);
+			prefetch.remove(javaElement);
 		}
+		// keep the ASTs of the other recent editors available for hovers, quick assists and the next activation
+		RecentASTCache.getDefault().prefetch(prefetch);
 
 		if (JavaPlugin.DEBUG_AST_PROVIDER)
 			System.out.println(CoreASTProvider.getThreadName() + " - " + CoreASTProvider.DEBUG_PREFIX + "active editor is: " + INSTANCE.toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$
@@ -235,6 +261,11 @@ public final class ASTProvider implements IASTSharedValues {
 		}
 	}
 
+	private synchronized void javaEditorClosed(IWorkbenchPart editor) {
+		if (editor instanceof JavaEditor)
+			fRecentElements.remove(((JavaEditor)editor).getInputJavaElement());
+	}
+
 	/**
 	 * Returns whether the given compilation unit AST is
 	 * cached by this AST provided.
@@ -270,6 +301,9 @@ public final class ASTProvider implements IASTSharedValues {
 		INSTANCE.disposeAST();
 		INSTANCE.waitLockNotifyAll();
 
+		if (JavaPlugin.DEBUG_AST_PROVIDER)
+			System.out.println(CoreASTProvider.getThreadName() + " - " + CoreASTProvider.DEBUG_PREFIX + "statistics: " + RecentASTCache.getDefault().getStatistics()); //$NON-NLS-1$ //$NON-NLS-2$
+
 	}
 
 }
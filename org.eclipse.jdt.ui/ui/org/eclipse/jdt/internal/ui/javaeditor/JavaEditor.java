@@ -197,6 +197,7 @@ import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.Occu
 import org.eclipse.jdt.internal.core.manipulation.search.ImplementOccurrencesFinder;
 import org.eclipse.jdt.internal.core.manipulation.search.MethodExitsFinder;
 import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesIndex;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
 import org.eclipse.jdt.ui.IContextMenuConstants;
@@ -1679,6 +1680,16 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 	private OccurrencesFinderJob fOccurrencesFinderJob;
 	/** The occurrences finder job canceler */
 	private OccurrencesFinderJobCanceler fOccurrencesFinderJobCanceler;
+	/**
+	 * The occurrences index of the AST of the last occurrences update.
+	 * @since 3.33
+	 */
+	private volatile OccurrencesIndex fOccurrencesIndex;
+	/**
+	 * The time in nanoseconds the last occurrences update spent finding the occurrences.
+	 * @since 3.33
+	 */
+	private volatile long fOccurrencesUpdateTime;
 	/**
 	 * This editor's projection support
 	 * @since 3.0
@@ -3314,6 +3325,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		}
 
 		OccurrenceLocation[] locations= null;
+		long start= System.nanoTime();
 
 		ASTNode selectedNode= NodeFinder.perform(astRoot, selection.getOffset(), selection.getLength());
 		if (fMarkExceptions) {
@@ -3347,12 +3359,13 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		if (locations == null && selectedNode instanceof Name) {
 			IBinding binding= ((Name)selectedNode).resolveBinding();
 			if (binding != null && markOccurrencesOfType(binding)) {
-				OccurrencesFinder finder= new OccurrencesFinder();
+				OccurrencesFinder finder= new OccurrencesFinder(getOccurrencesIndex(astRoot));
 				if (finder.initialize(astRoot, selectedNode) == null) {
 					locations= finder.getOccurrences();
 				}
 			}
 		}
+		fOccurrencesUpdateTime= System.nanoTime() - start;
 
 		if (locations == null) {
 			if (!fStickyOccurrenceAnnotations
@@ -3369,6 +3382,34 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		fOccurrencesFinderJob.run(new NullProgressMonitor());
 	}
 
+	/**
+	 * Returns the occurrences index for the given AST. The index is created on the first
+	 * occurrences update of each AST and answers all following caret moves.
+	 *
+	 * @param astRoot the compilation unit AST
+	 * @return the occurrences index
+	 * @since 3.33
+	 */
+	private OccurrencesIndex getOccurrencesIndex(CompilationUnit astRoot) {
+		OccurrencesIndex index= fOccurrencesIndex;
+		if (index == null || index.getASTRoot() != astRoot) {
+			index= OccurrencesIndex.create(astRoot);
+			fOccurrencesIndex= index;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the time the last occurrences update spent finding the occurrences of the
+	 * selection. Used by the performance tests.
+	 *
+	 * @return the time in nanoseconds
+	 * @since 3.33
+	 */
+	public long getOccurrencesUpdateTime() {
+		return fOccurrencesUpdateTime;
+	}
+
 	protected void installOccurrencesFinder(boolean forceUpdate) {
 		fMarkOccurrenceAnnotations= true;
 
@@ -3411,6 +3452,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			fPostSelectionListenerWithAST= null;
 		}
 
+		fOccurrencesIndex= null;
 		removeOccurrenceAnnotations();
 	}
 
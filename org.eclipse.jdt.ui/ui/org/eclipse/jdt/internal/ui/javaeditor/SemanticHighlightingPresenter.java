@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -183,15 +183,36 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 
 		try {
 			synchronized (fPositionLock) {
-				List<Position> oldPositions= fPositions;
-				int newSize= Math.max(fPositions.size() + addedPositions.length - removedPositions.length, 10);
+				/*
+				 * Only the positions between the first and the last added or removed position can
+				 * change. The positions outside of that window are kept in place.
+				 */
+				int minStart= Integer.MAX_VALUE;
+				int maxEnd= Integer.MIN_VALUE;
+				for (HighlightedPosition position : removedPositions) {
+					minStart= Math.min(minStart, position.getOffset());
+					maxEnd= Math.max(maxEnd, position.getOffset() + position.getLength());
+				}
+				for (HighlightedPosition position : addedPositions) {
+					minStart= Math.min(minStart, position.getOffset());
+					maxEnd= Math.max(maxEnd, position.getOffset() + position.getLength());
+				}
+
+				int windowStart= 0;
+				int windowEnd= 0;
+				if (minStart <= maxEnd) {
+					windowStart= computeIndexAtOffset(fPositions, minStart);
+					windowEnd= computeIndexAtOffset(fPositions, maxEnd + 1);
+				}
+				List<Position> oldPositions= fPositions.subList(windowStart, windowEnd);
+				int newSize= Math.max(oldPositions.size() + addedPositions.length - removedPositions.length, 10);
 
 				/*
 				 * The following loop is a kind of merge sort: it merges two List<Position>, each
 				 * sorted by position.offset, into one new list. The first of the two is the
-				 * previous list of positions (oldPositions), from which any deleted positions get
-				 * removed on the fly. The second of two is the list of added positions. The result
-				 * is stored in newPositions.
+				 * window of the previous list of positions (oldPositions), from which any deleted
+				 * positions get removed on the fly. The second of two is the list of added
+				 * positions. The result replaces the window.
 				 */
 				List<Position> newPositions= new ArrayList<>(newSize);
 				Position position= null;
@@ -233,7 +254,8 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 						addedPosition= null;
 					}
 				}
-				fPositions= newPositions;
+				oldPositions.clear();
+				fPositions.addAll(windowStart, newPositions);
 			}
 		} catch (BadPositionCategoryException | BadLocationException e) {
 			// Should not happen
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,7 +25,9 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextPresentation;
@@ -37,18 +39,30 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
 import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
 import org.eclipse.jdt.core.dom.GuardedPattern;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.LambdaExpression;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.StructuralPropertyDescriptor;
 import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.YieldStatement;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
@@ -264,8 +278,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		private void addPosition(int offset, int length, Highlighting highlighting) {
 			boolean isExisting= false;
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeRemovedIndexAtOffset(offset), n= fRemovedPositions.size(); i < n && fRemovedOffsets[i] == offset; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
 				if (position == null)
 					continue;
@@ -290,8 +303,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeRemovedIndexAtOffset(offset), n= fRemovedPositions.size(); i < n && fRemovedOffsets[i] <= offset + length; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
 				if (position != null && position.isContained(offset, length)) {
 					fRemovedPositions.set(i, null);
@@ -323,6 +335,113 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		}
 	}
 
+	/**
+	 * A document region changed since the last reconcile.
+	 */
+	private static final class ChangedRegion {
+
+		/** The start offset of the changed region, <code>-1</code> if nothing changed */
+		private final int fOffset;
+		/** The end offset of the changed region */
+		private final int fEnd;
+		/** <code>true</code> if all positions must be reconciled */
+		private final boolean fIsFull;
+		/** The modification stamp of the tracker when the region was taken */
+		private final int fStamp;
+
+		ChangedRegion(int offset, int end, boolean isFull, int stamp) {
+			fOffset= offset;
+			fEnd= end;
+			fIsFull= isFull;
+			fStamp= stamp;
+		}
+
+		/**
+		 * @return <code>true</code> iff all positions must be reconciled
+		 */
+		boolean isFull() {
+			return fIsFull || fOffset == -1;
+		}
+	}
+
+	/**
+	 * Tracks the document region changed since the positions were last reconciled. The region is
+	 * kept in the coordinates of the current document and is only reset when a reconcile that
+	 * started after the last change has been applied.
+	 */
+	private static class ChangedRegionTracker implements IDocumentListener, ITextInputListener {
+
+		/** The start offset of the changed region, <code>-1</code> if nothing changed */
+		private int fOffset= -1;
+		/** The end offset of the changed region */
+		private int fEnd;
+		/** <code>true</code> if all positions must be reconciled */
+		private boolean fIsFull= true;
+		/** Incremented on every change */
+		private int fStamp;
+
+		/**
+		 * @return the region changed since the last applied reconcile
+		 */
+		synchronized ChangedRegion getChangedRegion() {
+			return new ChangedRegion(fOffset, fEnd, fIsFull, fStamp);
+		}
+
+		/**
+		 * Resets the changed region if the document did not change since the given region was
+		 * taken.
+		 *
+		 * @param changedRegion the region that has been reconciled
+		 */
+		synchronized void reconciled(ChangedRegion changedRegion) {
+			if (changedRegion.fStamp == fStamp) {
+				fOffset= -1;
+				fIsFull= false;
+			}
+		}
+
+		/**
+		 * Requires the next reconcile to reconcile all positions.
+		 */
+		synchronized void requireFullReconcile() {
+			fIsFull= true;
+			fStamp++;
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// Do nothing
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			int offset= event.getOffset();
+			int oldEnd= offset + event.getLength();
+			int newEnd= offset + (event.getText() == null ? 0 : event.getText().length());
+			if (fOffset == -1) {
+				fOffset= offset;
+				fEnd= newEnd;
+			} else {
+				fOffset= Math.min(fOffset, offset);
+				fEnd= fEnd >= oldEnd ? fEnd + newEnd - oldEnd : Math.max(fEnd, newEnd);
+			}
+			fStamp++;
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null)
+				oldInput.removeDocumentListener(this);
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			if (newInput != null)
+				newInput.addDocumentListener(this);
+			requireFullReconcile();
+		}
+	}
+
 	/** Position collector */
 	private PositionCollector fCollector= new PositionCollector();
 
@@ -343,6 +462,15 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private List<Position> fRemovedPositions= new ArrayList<>();
 	/** Number of removed positions */
 	private int fNOfRemovedPositions;
+	/** Offsets of the background job's removed highlighted positions when reconciling started, ordered like them */
+	private int[] fRemovedOffsets;
+
+	/** Tracks the document region changed since the last reconcile, <code>null</code> if not installed on a compilation unit editor */
+	private ChangedRegionTracker fChangedRegionTracker;
+	/** The changed region taken before the pending reconcile, <code>null</code> if none */
+	private volatile ChangedRegion fJobChangedRegion;
+	/** The member structure of the AST of the last applied reconcile, see {@link #computeStructure(CompilationUnit)} */
+	private volatile String fStructure;
 
 	/** Background job */
 	private Job fJob;
@@ -378,7 +506,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		ChangedRegionTracker tracker= fChangedRegionTracker;
+		fJobChangedRegion= tracker != null ? tracker.getChangedRegion() : null;
 	}
 
 	/*
@@ -386,6 +515,25 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+		ChangedRegion changedRegion= fJobChangedRegion;
+		fJobChangedRegion= null;
+		reconcile(ast, forced ? null : changedRegion, progressMonitor);
+	}
+
+	/**
+	 * Reconciles the positions with the given AST.
+	 * <p>
+	 * If the document only changed inside of a single method, initializer or lambda body since the
+	 * last reconcile, only the positions of that body are reconciled. Declarations inside of a body
+	 * cannot change the highlighting outside of it. Otherwise all positions are reconciled.
+	 * </p>
+	 *
+	 * @param ast the AST
+	 * @param changedRegion the region changed since the last reconcile, <code>null</code> to
+	 *            reconcile all positions
+	 * @param progressMonitor the progress monitor
+	 */
+	private void reconcile(CompilationUnit ast, ChangedRegion changedRegion, IProgressMonitor progressMonitor) {
 		// ensure at most one thread can be reconciling at any time
 		synchronized (fReconcileLock) {
 			if (fIsReconciling)
@@ -406,11 +554,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
+			String structure= computeStructure(ast);
+			ASTNode[] subtrees= getAffectedSubtrees(ast, structure.equals(fStructure) ? changedRegion : null);
 			if (subtrees.length == 0)
 				return;
 
-			startReconcilingPositions();
+			startReconcilingPositions(subtrees);
 
 			if (!fJobPresenter.isCanceled()) {
 				fJobDeprecatedMemberHighlighting= null;
@@ -428,8 +577,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+			if (!fJobPresenter.isCanceled()) {
+				if (fAddedPositions.isEmpty() && fRemovedPositions.isEmpty())
+					markReconciled(changedRegion, structure);
+				else
+					updatePresentation(textPresentation, fAddedPositions, fRemovedPositions, changedRegion, structure);
+			}
 
 			stopReconcilingPositions();
 		} finally {
@@ -444,20 +597,106 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
-	 * @param node Root node
+	 * @param ast the AST
+	 * @param changedRegion the region changed since the last reconcile, <code>null</code> if unknown
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private ASTNode[] getAffectedSubtrees(CompilationUnit ast, ChangedRegion changedRegion) {
+		if (changedRegion == null || changedRegion.isFull())
+			return new ASTNode[] { ast };
+
+		ASTNode node= NodeFinder.perform(ast, changedRegion.fOffset, changedRegion.fEnd - changedRegion.fOffset);
+		while (node != null) {
+			if (node instanceof LambdaExpression) {
+				// bindings in a lambda body depend on the inferred target type outside of the body
+				break;
+			}
+			if (node instanceof Block && isBody(node.getLocationInParent())) {
+				int start= node.getStartPosition();
+				if (start < changedRegion.fOffset && changedRegion.fEnd < start + node.getLength())
+					return new ASTNode[] { node };
+			}
+			node= node.getParent();
+		}
+		return new ASTNode[] { ast };
+	}
+
+	private static boolean isBody(StructuralPropertyDescriptor location) {
+		return location == MethodDeclaration.BODY_PROPERTY || location == Initializer.BODY_PROPERTY;
+	}
+
+	/**
+	 * Computes the member structure of the given AST: the kind, name and modifiers of all type
+	 * members. A body can only be reconciled alone if the structure did not change, since the
+	 * parser's error recovery can move members into or out of a body while it is being edited.
+	 *
+	 * @param ast the AST
+	 * @return the member structure
+	 */
+	private static String computeStructure(CompilationUnit ast) {
+		StringBuilder buffer= new StringBuilder();
+		appendStructure(ast.types(), buffer);
+		return buffer.toString();
+	}
+
+	private static void appendStructure(List<?> declarations, StringBuilder buffer) {
+		for (Object element : declarations) {
+			BodyDeclaration declaration= (BodyDeclaration) element;
+			buffer.append(declaration.getNodeType()).append(' ').append(declaration.getModifiers()).append(' ');
+			if (declaration instanceof AbstractTypeDeclaration) {
+				AbstractTypeDeclaration type= (AbstractTypeDeclaration) declaration;
+				buffer.append(type.getName().getIdentifier()).append('{');
+				if (type instanceof EnumDeclaration)
+					appendStructure(((EnumDeclaration) type).enumConstants(), buffer);
+				appendStructure(type.bodyDeclarations(), buffer);
+				buffer.append('}');
+			} else if (declaration instanceof MethodDeclaration) {
+				MethodDeclaration method= (MethodDeclaration) declaration;
+				buffer.append(method.getName().getIdentifier()).append('(').append(method.parameters().size()).append(')');
+			} else if (declaration instanceof FieldDeclaration) {
+				for (Object fragment : ((FieldDeclaration) declaration).fragments())
+					buffer.append(((VariableDeclarationFragment) fragment).getName().getIdentifier()).append(',');
+			} else if (declaration instanceof EnumConstantDeclaration) {
+				buffer.append(((EnumConstantDeclaration) declaration).getName().getIdentifier());
+			}
+			buffer.append(';');
+		}
 	}
 
 	/**
 	 * Start reconciling positions.
+	 *
+	 * @param subtrees the AST subtrees to reconcile
 	 */
-	private void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+	private void startReconcilingPositions(ASTNode[] subtrees) {
+		if (subtrees.length == 1 && subtrees[0].getParent() != null)
+			fJobPresenter.addPositions(fRemovedPositions, subtrees[0].getStartPosition(), subtrees[0].getLength());
+		else
+			fJobPresenter.addAllPositions(fRemovedPositions);
 		fNOfRemovedPositions= fRemovedPositions.size();
+		fRemovedOffsets= new int[fNOfRemovedPositions];
+		for (int i= 0; i < fNOfRemovedPositions; i++)
+			fRemovedOffsets[i]= fRemovedPositions.get(i).getOffset();
+	}
+
+	/**
+	 * Returns the index of the first removed position with an offset equal or greater than the
+	 * given offset when reconciling started.
+	 *
+	 * @param offset the offset
+	 * @return the index into the removed positions
+	 */
+	private int computeRemovedIndexAtOffset(int offset) {
+		int i= -1;
+		int j= fRemovedOffsets.length;
+		while (j - i > 1) {
+			int k= (i + j) >> 1;
+			if (fRemovedOffsets[k] >= offset)
+				j= k;
+			else
+				i= k;
+		}
+		return j;
 	}
 
 	/**
@@ -466,10 +705,6 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param subtrees the AST subtrees
 	 */
 	private void reconcilePositions(ASTNode[] subtrees) {
-		// FIXME: remove positions not covered by subtrees
-
-
-
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
 		List<Position> oldPositions= fRemovedPositions;
@@ -487,9 +722,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param textPresentation the text presentation
 	 * @param addedPositions the added positions
 	 * @param removedPositions the removed positions
+	 * @param changedRegion the changed region that has been reconciled, <code>null</code> if none
+	 * @param structure the member structure of the reconciled AST
 	 */
-	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions) {
-		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
+	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions, ChangedRegion changedRegion, String structure) {
+		SemanticHighlightingPresenter presenter= fJobPresenter;
+		Runnable runnable= presenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
 		if (runnable == null)
 			return;
 
@@ -513,17 +751,36 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		display.asyncExec(() -> {
 			// check Editor not reused otherwise meanwhile
 			if (fSourceViewer != null && document == fSourceViewer.getDocument()) {
+				boolean isApplied= !presenter.isCanceled();
 				runnable.run();
+				if (isApplied)
+					markReconciled(changedRegion, structure);
 			}
 		});
 	}
 
+	/**
+	 * Marks the given changed region as reconciled after the positions of a reconcile have been
+	 * applied.
+	 *
+	 * @param changedRegion the reconciled changed region, <code>null</code> if none
+	 * @param structure the member structure of the reconciled AST
+	 */
+	private void markReconciled(ChangedRegion changedRegion, String structure) {
+		ChangedRegionTracker tracker= fChangedRegionTracker;
+		if (changedRegion != null && tracker != null) {
+			fStructure= structure;
+			tracker.reconciled(changedRegion);
+		}
+	}
+
 	/**
 	 * Stop reconciling positions.
 	 */
 	private void stopReconcilingPositions() {
 		fRemovedPositions.clear();
 		fNOfRemovedPositions= 0;
+		fRemovedOffsets= null;
 		fAddedPositions.clear();
 	}
 
@@ -545,6 +802,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 		if (fEditor instanceof CompilationUnitEditor) {
 			if (registerAsEditorReconcilingListener()) {
+				fChangedRegionTracker= new ChangedRegionTracker();
+				fChangedRegionTracker.inputDocumentChanged(null, fSourceViewer.getDocument());
+				fSourceViewer.addTextInputListener(fChangedRegionTracker);
 				((CompilationUnitEditor)fEditor).addReconcileListener(this);
 			}
 		} else if (fEditor != null) {
@@ -579,9 +839,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fPresenter.setCanceled(true);
 
 		if (fEditor != null) {
-			if (fEditor instanceof CompilationUnitEditor)
+			if (fEditor instanceof CompilationUnitEditor) {
 				((CompilationUnitEditor)fEditor).removeReconcileListener(this);
-			else
+				if (fChangedRegionTracker != null) {
+					fSourceViewer.removeTextInputListener(fChangedRegionTracker);
+					fChangedRegionTracker.inputDocumentAboutToBeChanged(fSourceViewer.getDocument(), null);
+					fChangedRegionTracker= null;
+				}
+			} else
 				fSourceViewer.removeTextInputListener(this);
 			fEditor= null;
 		}
@@ -630,7 +895,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 							return Status.CANCEL_STATUS;
 						JavaCore.runReadOnly(() -> {
 							CompilationUnit ast= SharedASTProviderCore.getAST(element, SharedASTProviderCore.WAIT_YES, monitor);
-							reconciled(ast, false, monitor);
+							reconcile(ast, null, monitor);
 						});
 						synchronized (fJobLock) {
 							// allow the job to be gc'ed
@@ -675,6 +940,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.2
 	 */
 	public void refresh() {
+		ChangedRegionTracker tracker= fChangedRegionTracker;
+		if (tracker != null)
+			tracker.requireFullReconcile();
 		scheduleJob();
 	}
 }
@@ -14,10 +14,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -58,8 +59,6 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 	private CompletionProposalCollector collector;
 
-	private List<ChainElement> entrypoints;
-
 	private String error;
 
 	private String[] excludedTypes;
@@ -115,8 +114,8 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 				|| ChainElementAnalyzer.getExpectedType(ctx.getProject(), ctx.getCoreContext()) != null;
 	}
 
-	private boolean findEntrypoints() {
-		entrypoints= new LinkedList<>();
+	private List<ChainElement> findEntrypoints() {
+		final List<ChainElement> entrypoints= new LinkedList<>();
 		for (IJavaCompletionProposal prop : collector.getJavaCompletionProposals()) {
 			if (prop instanceof AbstractJavaCompletionProposal) {
 				AbstractJavaCompletionProposal aprop= (AbstractJavaCompletionProposal) prop;
@@ -143,7 +142,7 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 			}
 		}
 
-		return !entrypoints.isEmpty();
+		return entrypoints;
 	}
 
 	private boolean matchesExpectedPrefix(final IJavaElement element) {
@@ -173,37 +172,42 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 		final List<ChainType> expectedTypes= ChainElementAnalyzer.resolveBindingsForExpectedTypes(ctx.getProject(), ctx.getCoreContext());
 		final ChainFinder finder= new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType);
-		final ExecutorService executor= Executors.newSingleThreadExecutor();
+		final List<ICompletionProposal> proposals= new LinkedList<>();
+		finder.setChainListener(chain -> proposals.add(createCompletionProposal(chain)));
+
+		long timeout;
+		try {
+			timeout= Long.parseLong(JavaManipulation.getPreference(PreferenceConstants.PREF_CHAIN_TIMEOUT, ctx.getProject()));
+		} catch (NumberFormatException e) {
+			timeout = 1;
+		}
+		final long timeoutMillis= TimeUnit.SECONDS.toMillis(timeout);
+		final long start= System.currentTimeMillis();
+		// finding the entry points is part of the timed computation, it is abandoned on timeout
+		final Future<List<ChainElement>> entrypointsFuture= ForkJoinPool.commonPool().submit(this::findEntrypoints);
 		try {
-			Future<?> future= executor.submit(() -> {
-				if (findEntrypoints()) {
-					finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
+			final List<ChainElement> entrypoints= entrypointsFuture.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			if (!entrypoints.isEmpty()) {
+				long remaining= timeoutMillis - (System.currentTimeMillis() - start);
+				if (!finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth, remaining)) {
+					setError("Timeout during call chain computation."); //$NON-NLS-1$
 				}
-			});
-
-			long timeout;
-			try {
-				timeout= Long.parseLong(JavaManipulation.getPreference(PreferenceConstants.PREF_CHAIN_TIMEOUT, ctx.getProject()));
-			} catch (NumberFormatException e) {
-				timeout = 1;
 			}
-			future.get(timeout, TimeUnit.SECONDS);
-		} catch (final Exception e) {
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			entrypointsFuture.cancel(true);
+			finder.cancel();
+		} catch (final TimeoutException | ExecutionException | RuntimeException e) {
+			entrypointsFuture.cancel(true);
 			finder.cancel();
-			executor.shutdownNow();
 			setError("Timeout during call chain computation."); //$NON-NLS-1$
 		}
-		return buildCompletionProposals(finder.getChains());
+		return proposals;
 	}
 
-	private List<ICompletionProposal> buildCompletionProposals(final List<Chain> chains) {
-		final List<ICompletionProposal> proposals= new LinkedList<>();
-		for (final Chain chain : chains) {
-			final TemplateProposal proposal= ChainCompletionTemplateBuilder.create(chain, ctx);
-			final ChainCompletionProposal completionProposal= new ChainCompletionProposal(proposal, chain);
-			proposals.add(completionProposal);
-		}
-		return proposals;
+	private ICompletionProposal createCompletionProposal(final Chain chain) {
+		final TemplateProposal proposal= ChainCompletionTemplateBuilder.create(chain, ctx);
+		return new ChainCompletionProposal(proposal, chain);
 	}
 
 	private void setError(final String errorMessage) {
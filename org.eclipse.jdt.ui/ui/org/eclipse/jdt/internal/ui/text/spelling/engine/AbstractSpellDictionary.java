@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -25,13 +26,17 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -61,7 +66,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 */
 	private static class ByteArrayWrapper {
 
-		private byte[] byteArray;
+		private final byte[] byteArray;
 
 		public ByteArrayWrapper(byte[] byteArray) {
 			this.byteArray= byteArray;
@@ -111,8 +116,16 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	/** The phonetic distance algorithm */
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
-	/** The mapping from phonetic hashes to word lists */
-	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+	/**
+	 * The mapping from phonetic hashes to word lists. If the word list has been compiled, this
+	 * only holds the words added after loading.
+	 */
+	private Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+
+	/**
+	 * The memory-mapped image of the compiled word list, or <code>null</code> if none
+	 */
+	private volatile CompiledSpellDictionary fCompiledDictionary;
 
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
@@ -141,22 +154,59 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return 32;
 	}
 
+	/**
+	 * Returns the file the word list of this dictionary is compiled into.
+	 * <p>
+	 * If a file is returned, the word list is compiled into a memory-mapped image on first use
+	 * and the image is reused as long as the word list does not change. Words added with
+	 * {@link #hashWord(String)} after loading are kept in memory.
+	 * </p>
+	 *
+	 * @return the compiled dictionary file, or <code>null</code> if the word list is kept in
+	 *         memory
+	 */
+	protected File getCompiledDictionaryFile() {
+		return null;
+	}
+
 	/**
 	 * Returns all candidates with the same phonetic hash.
 	 *
 	 * @param hash
 	 *                   The hash to retrieve the candidates of
-	 * @return Array of candidates for the phonetic hash
+	 * @param limit
+	 *                   The maximum number of candidates to return
+	 * @return List of candidates for the phonetic hash
 	 */
-	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
+	protected final List<String> getCandidates(final String hash, final int limit) {
+		final ArrayList<String> result= new ArrayList<>(BUCKET_CAPACITY);
+		byte[] hashBytes;
 		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
+			hashBytes= hash.getBytes(UTF_8);
 		} catch (UnsupportedEncodingException e) {
 			JavaPlugin.log(e);
-			return null;
+			return result;
+		}
+
+		final CompiledSpellDictionary compiled= fCompiledDictionary;
+		if (compiled != null)
+			compiled.getWords(hashBytes, limit, result);
+
+		final Object candidates= fHashBuckets.get(new ByteArrayWrapper(hashBytes));
+		if (candidates == null)
+			return result;
+
+		if (candidates instanceof byte[]) {
+			if (result.size() < limit)
+				result.add(new String((byte[])candidates, StandardCharsets.UTF_8));
+			return result;
 		}
-		return fHashBuckets.get(hashBytes);
+
+		@SuppressWarnings("unchecked")
+		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
+		for (int offset= 0; offset < candidateList.size() && result.size() < limit; offset++)
+			result.add(new String(candidateList.get(offset), StandardCharsets.UTF_8));
+		return result;
 	}
 
 	/**
@@ -184,40 +234,9 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 			hash= hash2;
 
-			final Object candidates= getCandidates(hash);
-			if (candidates == null)
-				continue;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-				if (distance < DISTANCE_THRESHOLD) {
-					buffer.setLength(0);
-					buffer.append(candidate);
-					if (sentence)
-						buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-					result.add(new RankedWordProposal(buffer.toString(), -distance));
-				}
-				continue;
-			}
+			final List<String> candidates= getCandidates(hash, 500); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
+			for (String candidate : candidates) {
 
-			@SuppressWarnings("unchecked")
-			final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
-			for (int offset= 0; offset < candidateSize; offset++) {
-
-				String candidate;
-				try {
-					candidate= new String(candidateList.get(offset), UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
 				distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 				if (distance < DISTANCE_THRESHOLD) {
@@ -255,37 +274,10 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 		StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
-			distance= fDistanceAlgorithm.getDistance(word, candidate);
-			buffer.append(candidate);
-			if (sentence)
-				buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-			result.add(new RankedWordProposal(buffer.toString(), -distance));
-			return;
-		}
-
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
+		final List<String> candidates= getCandidates(fHashProvider.getHash(word), Integer.MAX_VALUE);
+		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidates.size());
 
-		for (byte[] element : candidateList) {
-			String candidate;
-			try {
-				candidate= new String(element, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
+		for (String candidate : candidates) {
 			distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 			if (distance <= minimum) {
@@ -314,7 +306,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		final CompiledSpellDictionary compiled= fCompiledDictionary;
+		return fHashBuckets.isEmpty() && (compiled == null || compiled.isEmpty());
 	}
 
 	/**
@@ -506,32 +499,30 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			// Do nothing
 		}
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return false;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return false;
-			}
-			if (candidate.equals(word) || candidate.equals(word.toLowerCase()))
-				return true;
-			return false;
-		}
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
+		byte[] hashBytes;
 		byte[] wordBytes;
 		byte[] lowercaseWordBytes;
 		try {
+			hashBytes= fHashProvider.getHash(word).getBytes(UTF_8);
 			wordBytes= word.getBytes(UTF_8);
 			lowercaseWordBytes= word.toLowerCase().getBytes(UTF_8);
 		} catch (UnsupportedEncodingException e) {
 			JavaPlugin.log(e);
 			return false;
 		}
+
+		final CompiledSpellDictionary compiled= fCompiledDictionary;
+		if (compiled != null && (compiled.contains(hashBytes, wordBytes) || compiled.contains(hashBytes, lowercaseWordBytes)))
+			return true;
+
+		final Object candidates= fHashBuckets.get(new ByteArrayWrapper(hashBytes));
+		if (candidates == null)
+			return false;
+		else if (candidates instanceof byte[])
+			return Arrays.equals((byte[])candidates, wordBytes) || Arrays.equals((byte[])candidates, lowercaseWordBytes);
+
+		@SuppressWarnings("unchecked")
+		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
 		for (byte[] candidate : candidateList) {
 			if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes)) {
 				return true;
@@ -574,7 +565,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+		return fLoaded || fHashBuckets.size() > 0 || fCompiledDictionary != null;
 	}
 
 	/**
@@ -590,11 +581,16 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			 return fLoaded;
 
 		if (url != null) {
-			InputStream stream= null;
+			final File compiledFile= getCompiledDictionaryFile();
+			if (compiledFile != null && loadCompiled(url, compiledFile))
+				return true;
+
+			CheckedInputStream stream= null;
 			int line= 0;
 			try {
-				stream= url.openStream();
-				if (stream != null) {
+				InputStream input= url.openStream();
+				if (input != null) {
+					stream= new CheckedInputStream(input, new CRC32());
 					String word= null;
 
 					// Setup a reader with a decoder in order to read over malformed input if needed.
@@ -627,6 +623,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 								hashWord(word);
 						}
 					}
+					if (compiledFile != null)
+						compile(compiledFile, stream.getChecksum().getValue());
 					return true;
 				}
 			} catch (FileNotFoundException ex) {
@@ -659,6 +657,84 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
+	/**
+	 * Maps the compiled dictionary file if it has been compiled from the current content of the
+	 * word list.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @param file
+	 *                   The compiled dictionary file
+	 * @return <code>true</code> iff the compiled dictionary could be mapped, <code>false</code>
+	 *               otherwise
+	 */
+	private boolean loadCompiled(final URL url, final File file) {
+		if (!file.isFile())
+			return false;
+
+		final CRC32 checksum= new CRC32();
+		try (InputStream stream= url.openStream()) {
+			if (stream == null)
+				return false;
+			final byte[] buffer= new byte[8192];
+			int read;
+			while ((read= stream.read(buffer)) != -1)
+				checksum.update(buffer, 0, read);
+
+			final CompiledSpellDictionary compiled= CompiledSpellDictionary.open(file, checksum.getValue(), getEncoding(), fHashProvider.getClass().getName());
+			if (compiled == null)
+				return false;
+
+			fCompiledDictionary= compiled;
+			fMustLoad= false;
+			return true;
+		} catch (IOException exception) {
+			// Read the word list instead, which reports the problem if it persists
+			return false;
+		}
+	}
+
+	/**
+	 * Compiles the hashed words into the given file and replaces them by the memory-mapped
+	 * image of the file.
+	 *
+	 * @param file
+	 *                   The compiled dictionary file
+	 * @param checksum
+	 *                   The checksum of the word list the words have been read from
+	 */
+	private void compile(final File file, final long checksum) {
+		final byte[][] hashes= new byte[fHashBuckets.size()][];
+		final byte[][][] words= new byte[hashes.length][][];
+
+		int index= 0;
+		for (Map.Entry<ByteArrayWrapper, Object> entry : fHashBuckets.entrySet()) {
+			hashes[index]= entry.getKey().byteArray;
+			final Object bucket= entry.getValue();
+			if (bucket instanceof byte[])
+				words[index]= new byte[][] { (byte[])bucket };
+			else {
+				@SuppressWarnings("unchecked")
+				final ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
+				words[index]= bucketList.toArray(new byte[bucketList.size()][]);
+			}
+			index++;
+		}
+
+		try {
+			final String encoding= getEncoding();
+			final String hashProvider= fHashProvider.getClass().getName();
+			CompiledSpellDictionary.write(file, checksum, encoding, hashProvider, hashes, words);
+			final CompiledSpellDictionary compiled= CompiledSpellDictionary.open(file, checksum, encoding, hashProvider);
+			if (compiled != null) {
+				fCompiledDictionary= compiled;
+				fHashBuckets= new HashMap<>(BUCKET_CAPACITY, LOAD_FACTOR);
+			}
+		} catch (IOException exception) {
+			JavaPlugin.log(exception);
+		}
+	}
+
 	/**
 	 * Compacts the dictionary.
 	 *
@@ -698,6 +774,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		fLoaded= false;
 		fMustLoad= true;
 		fHashBuckets.clear();
+		fCompiledDictionary= null;
 	}
 
 	@Override
@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Read-only, memory-mapped image of a compiled word list.
+ * <p>
+ * The image stores the words of a dictionary grouped by phonetic hash. The hashes are
+ * sorted by their unsigned UTF-8 bytes, so that a bucket is found by binary search
+ * directly in the mapped file, without creating an object per word. The layout is:
+ * </p>
+ * <pre>
+ * header:       magic, version, source checksum, encoding, hash provider,
+ *               bucket count, word count
+ * bucket table: (bucket count + 1) x (hash offset, index of first word)
+ * word table:   (word count + 1) x word offset
+ * data:         UTF-8 bytes of all hashes, followed by UTF-8 bytes of all words
+ * </pre>
+ * <p>
+ * The last entry of each table is a sentinel that marks the end of the previous entry.
+ * Offsets are relative to the start of the data section.
+ * </p>
+ */
+public final class CompiledSpellDictionary {
+
+	/** Magic number of compiled dictionary files ("JDSD") */
+	private static final int MAGIC= 0x4A445344;
+
+	/** Version of the file format */
+	private static final int VERSION= 1;
+
+	/** Size of an entry in the bucket table */
+	private static final int BUCKET_ENTRY_SIZE= 8;
+
+	/** Size of an entry in the word table */
+	private static final int WORD_ENTRY_SIZE= 4;
+
+	/** The mapped image, only accessed with absolute reads */
+	private final ByteBuffer fBuffer;
+
+	/** The number of phonetic hash buckets */
+	private final int fBucketCount;
+
+	/** The number of words */
+	private final int fWordCount;
+
+	/** Position of the bucket table */
+	private final int fBucketTable;
+
+	/** Position of the word table */
+	private final int fWordTable;
+
+	/** Position of the data section */
+	private final int fData;
+
+	private CompiledSpellDictionary(ByteBuffer buffer, int bucketCount, int wordCount, int bucketTable) {
+		fBuffer= buffer;
+		fBucketCount= bucketCount;
+		fWordCount= wordCount;
+		fBucketTable= bucketTable;
+		fWordTable= bucketTable + (bucketCount + 1) * BUCKET_ENTRY_SIZE;
+		fData= fWordTable + (wordCount + 1) * WORD_ENTRY_SIZE;
+	}
+
+	/**
+	 * Maps a compiled dictionary file.
+	 *
+	 * @param file the compiled dictionary file
+	 * @param checksum the checksum of the word list the image must have been compiled from
+	 * @param encoding the encoding the word list must have been read with
+	 * @param hashProvider the name of the phonetic hash provider the image must have been
+	 *            compiled with
+	 * @return the mapped image, or <code>null</code> if the file does not exist, is corrupt or
+	 *         was compiled from a different word list, encoding or hash provider
+	 * @throws IOException if the file could not be mapped
+	 */
+	public static CompiledSpellDictionary open(File file, long checksum, String encoding, String hashProvider) throws IOException {
+		if (!file.isFile())
+			return null;
+
+		ByteBuffer buffer;
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size= channel.size();
+			if (size > Integer.MAX_VALUE)
+				return null;
+			buffer= channel.map(MapMode.READ_ONLY, 0, size);
+		}
+
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != checksum)
+				return null;
+			if (!encoding.equals(readString(buffer)) || !hashProvider.equals(readString(buffer)))
+				return null;
+
+			int bucketCount= buffer.getInt();
+			int wordCount= buffer.getInt();
+			if (bucketCount < 0 || wordCount < 0)
+				return null;
+
+			long data= buffer.position() + (bucketCount + 1L) * BUCKET_ENTRY_SIZE + (wordCount + 1L) * WORD_ENTRY_SIZE;
+			if (data > buffer.limit())
+				return null;
+
+			CompiledSpellDictionary dictionary= new CompiledSpellDictionary(buffer, bucketCount, wordCount, buffer.position());
+			if (data + dictionary.getWordOffset(wordCount) > buffer.limit() || dictionary.getFirstWord(bucketCount) != wordCount)
+				return null;
+			return dictionary;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Writes a compiled dictionary file. The file is written to a temporary file first which
+	 * then replaces the given file.
+	 *
+	 * @param file the file to write
+	 * @param checksum the checksum of the word list the image is compiled from
+	 * @param encoding the encoding the word list has been read with
+	 * @param hashProvider the name of the phonetic hash provider the hashes were computed with
+	 * @param hashes the UTF-8 bytes of the phonetic hashes, in any order
+	 * @param words the UTF-8 bytes of the words for each hash in <code>hashes</code>
+	 * @throws IOException if the file could not be written
+	 */
+	public static void write(File file, long checksum, String encoding, String hashProvider, byte[][] hashes, byte[][][] words) throws IOException {
+		Integer[] order= new Integer[hashes.length];
+		for (int i= 0; i < order.length; i++)
+			order[i]= Integer.valueOf(i);
+		Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(hashes[a.intValue()], hashes[b.intValue()]));
+
+		long hashBytes= 0;
+		long wordBytes= 0;
+		int wordCount= 0;
+		for (int i= 0; i < hashes.length; i++) {
+			hashBytes+= hashes[i].length;
+			wordCount+= words[i].length;
+			for (byte[] word : words[i])
+				wordBytes+= word.length;
+		}
+		if (hashBytes + wordBytes + (hashes.length + wordCount) * 12L > Integer.MAX_VALUE)
+			throw new IOException("Dictionary too large to be compiled: " + file); //$NON-NLS-1$
+
+		File parent= file.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+			throw new IOException("Could not create directory " + parent); //$NON-NLS-1$
+
+		File temp= File.createTempFile(file.getName(), ".tmp", parent); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 64 * 1024))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(checksum);
+				writeString(out, encoding);
+				writeString(out, hashProvider);
+				out.writeInt(hashes.length);
+				out.writeInt(wordCount);
+
+				int hashOffset= 0;
+				int firstWord= 0;
+				for (Integer index : order) {
+					int i= index.intValue();
+					out.writeInt(hashOffset);
+					out.writeInt(firstWord);
+					hashOffset+= hashes[i].length;
+					firstWord+= words[i].length;
+				}
+				out.writeInt(hashOffset);
+				out.writeInt(firstWord);
+
+				int wordOffset= hashOffset;
+				for (Integer index : order) {
+					for (byte[] word : words[index.intValue()]) {
+						out.writeInt(wordOffset);
+						wordOffset+= word.length;
+					}
+				}
+				out.writeInt(wordOffset);
+
+				for (Integer index : order)
+					out.write(hashes[index.intValue()]);
+				for (Integer index : order) {
+					for (byte[] word : words[index.intValue()])
+						out.write(word);
+				}
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	/**
+	 * Tells whether the given word is contained in the bucket of the given phonetic hash.
+	 *
+	 * @param hash the UTF-8 bytes of the phonetic hash
+	 * @param word the UTF-8 bytes of the word
+	 * @return <code>true</code> iff the word is contained
+	 */
+	public boolean contains(byte[] hash, byte[] word) {
+		int bucket= findBucket(hash);
+		if (bucket < 0)
+			return false;
+
+		int last= getFirstWord(bucket + 1);
+		for (int index= getFirstWord(bucket); index < last; index++) {
+			int start= fData + getWordOffset(index);
+			int end= fData + getWordOffset(index + 1);
+			if (compare(start, end, word) == 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the words with the given phonetic hash to the given list.
+	 *
+	 * @param hash the UTF-8 bytes of the phonetic hash
+	 * @param limit the maximum number of words to add
+	 * @param result the list to add the words to
+	 */
+	public void getWords(byte[] hash, int limit, List<String> result) {
+		int bucket= findBucket(hash);
+		if (bucket < 0)
+			return;
+
+		int first= getFirstWord(bucket);
+		int last= Math.min(getFirstWord(bucket + 1), first + limit);
+		for (int index= first; index < last; index++) {
+			int start= getWordOffset(index);
+			byte[] bytes= new byte[getWordOffset(index + 1) - start];
+			fBuffer.get(fData + start, bytes);
+			result.add(new String(bytes, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Tells whether this image contains no words.
+	 *
+	 * @return <code>true</code> iff this image is empty
+	 */
+	public boolean isEmpty() {
+		return fWordCount == 0;
+	}
+
+	private int findBucket(byte[] hash) {
+		int low= 0;
+		int high= fBucketCount - 1;
+		while (low <= high) {
+			int middle= (low + high) >>> 1;
+			int start= fData + fBuffer.getInt(fBucketTable + middle * BUCKET_ENTRY_SIZE);
+			int end= fData + fBuffer.getInt(fBucketTable + (middle + 1) * BUCKET_ENTRY_SIZE);
+			int result= compare(start, end, hash);
+			if (result < 0)
+				low= middle + 1;
+			else if (result > 0)
+				high= middle - 1;
+			else
+				return middle;
+		}
+		return -1;
+	}
+
+	/*
+	 * Compares the bytes in the given range of the image to the given bytes, unsigned and
+	 * lexicographically like Arrays#compareUnsigned.
+	 */
+	private int compare(int start, int end, byte[] bytes) {
+		int length= end - start;
+		int common= Math.min(length, bytes.length);
+		for (int i= 0; i < common; i++) {
+			int result= Integer.compare(Byte.toUnsignedInt(fBuffer.get(start + i)), Byte.toUnsignedInt(bytes[i]));
+			if (result != 0)
+				return result;
+		}
+		return length - bytes.length;
+	}
+
+	private int getFirstWord(int bucket) {
+		return fBuffer.getInt(fBucketTable + bucket * BUCKET_ENTRY_SIZE + 4);
+	}
+
+	private int getWordOffset(int index) {
+		return fBuffer.getInt(fWordTable + index * WORD_ENTRY_SIZE);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length= buffer.getInt();
+		if (length < 0 || length > buffer.remaining())
+			throw new BufferUnderflowException();
+		byte[] bytes= new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+}
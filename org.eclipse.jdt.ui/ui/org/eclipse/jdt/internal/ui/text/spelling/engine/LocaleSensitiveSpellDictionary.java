@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,10 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Locale;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 
 /**
  * Platform wide read-only locale sensitive dictionary for spell checking.
@@ -25,6 +28,9 @@ import java.util.Locale;
  */
 public class LocaleSensitiveSpellDictionary extends AbstractSpellDictionary {
 
+	/** The state location folder of the compiled dictionaries */
+	private static final String COMPILED_DICTIONARY_DIR= "dictionaries"; //$NON-NLS-1$
+
 	/** The locale of this dictionary */
 	private final Locale fLocale;
 
@@ -62,4 +68,12 @@ public class LocaleSensitiveSpellDictionary extends AbstractSpellDictionary {
 	protected int getInitialSize() {
 		return 32 * 1024;
 	}
+
+	@Override
+	protected File getCompiledDictionaryFile() {
+		JavaPlugin plugin= JavaPlugin.getDefault();
+		if (plugin == null)
+			return null;
+		return plugin.getStateLocation().append(COMPILED_DICTIONARY_DIR).append(fLocale.toString() + ".dictionary.bin").toFile(); //$NON-NLS-1$
+	}
 }
@@ -16,6 +16,7 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.KeyAdapter;
 import org.eclipse.swt.events.KeyEvent;
 import org.eclipse.swt.layout.GridData;
@@ -378,6 +379,13 @@ public class HierarchyInformationControl extends AbstractInformationControl {
 		}
 	}
 
+	@Override
+	public void widgetDisposed(DisposeEvent event) {
+		// releases the shared hierarchy
+		fLifeCycle.freeHierarchy();
+		super.widgetDisposed(event);
+	}
+
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.AbstractInformationControl#getId()
 	 */
@@ -36,10 +36,7 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaElementDelta;
-import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IOrdinaryClassFile;
-import org.eclipse.jdt.core.IPackageFragmentRoot;
-import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
@@ -53,10 +50,16 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 /**
  * Manages a type hierarchy, to keep it refreshed, and to allow it to be shared.
+ * The hierarchy itself is taken from the {@link TypeHierarchyService}, so life cycles on the
+ * same input share one hierarchy and one refresh.
  */
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
 	private boolean fHierarchyRefreshNeeded;
+	/**
+	 * Whether the next refresh computes the hierarchy again, also if no change has been reported.
+	 */
+	private boolean fHierarchyRefreshForced;
 	private ITypeHierarchy fHierarchy;
 	private IJavaElement[] fInputElements;
 	private boolean fIsSuperTypesOnly;
@@ -121,6 +124,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		if (fHierarchy != null) {
 			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
+			TypeHierarchyService.getDefault().release(fHierarchy);
 			fHierarchy= null;
 			fInputElements= null;
 		}
@@ -288,33 +292,6 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
-	private ITypeHierarchy createTypeHierarchy(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
-		if (elements.length == 1 && elements[0].getElementType() == IJavaElement.TYPE) {
-			IType type= (IType)elements[0];
-			if (fIsSuperTypesOnly) {
-				return type.newSupertypeHierarchy(pm);
-			} else {
-				return type.newTypeHierarchy(pm);
-			}
-		} else {
-			IRegion region= JavaCore.newRegion();
-			for (IJavaElement element : elements) {
-				if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
-					// for projects only add the contained source folders
-					for (IPackageFragmentRoot root : ((IJavaProject) element).getPackageFragmentRoots()) {
-						if (!root.isExternal()) {
-							region.add(root);
-						}
-					}
-				} else {
-					region.add(element);
-				}
-			}
-			return JavaCore.newTypeHierarchy(region, null, pm);
-		}
-	}
-
-
 	public void doHierarchyRefresh(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
 		boolean hierachyCreationNeeded= (fHierarchy == null || !Arrays.equals(elements, fInputElements));
 		// to ensure the order of the two listeners always remove / add listeners on operations
@@ -323,20 +300,30 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
 		}
+		TypeHierarchyService service= TypeHierarchyService.getDefault();
 		if (hierachyCreationNeeded) {
-			fHierarchy= createTypeHierarchy(elements, pm);
-			if (pm != null && pm.isCanceled()) {
-				throw new OperationCanceledException();
+			ITypeHierarchy hierarchy= service.acquire(elements, fIsSuperTypesOnly, pm);
+			if (fHierarchy != null) {
+				service.release(fHierarchy);
 			}
+			fHierarchy= hierarchy;
 			fInputElements= elements;
 		} else {
-			fHierarchy.refresh(pm);
-			if (pm != null && pm.isCanceled())
-				throw new OperationCanceledException();
+			fHierarchy= service.refresh(fHierarchy, fHierarchyRefreshForced, pm);
 		}
 		fHierarchy.addTypeHierarchyChangedListener(this);
 		JavaCore.addElementChangedListener(this);
 		fHierarchyRefreshNeeded= false;
+		fHierarchyRefreshForced= false;
+	}
+
+	/**
+	 * Requests a refresh of the hierarchy that computes it again, even if the shared hierarchy has
+	 * not been reported as changed. Used for explicit refreshes by the user.
+	 */
+	public void forceRefresh() {
+		fHierarchyRefreshForced= true;
+		typeHierarchyChanged(fHierarchy);
 	}
 
 	/*
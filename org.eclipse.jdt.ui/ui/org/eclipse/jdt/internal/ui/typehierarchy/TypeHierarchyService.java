@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.typehierarchy;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Shares type hierarchies between the clients of {@link TypeHierarchyLifeCycle}, such as
+ * the type hierarchy view and the quick hierarchy.
+ * <p>
+ * Hierarchies are keyed by their input elements and reference counted. Concurrent requests
+ * for the same input share one computation. When the Java model reports a change that
+ * affects a shared hierarchy, the hierarchy is marked stale. The first client that needs it
+ * computes a new hierarchy, which replaces the stale one once it is complete; the other clients
+ * get the new hierarchy from their next refresh without computing it again. A hierarchy handed
+ * out is never modified, so clients that have not refreshed yet keep reading a consistent one,
+ * and a canceled refresh leaves the stale hierarchy intact. Whether a change affects a
+ * hierarchy is decided by the hierarchy itself from the element deltas.
+ * </p>
+ * <p>
+ * Hierarchies without references are kept until more than a few other hierarchies have been
+ * released, so that reopening the quick hierarchy on the same type does not compute it again.
+ * The number can be configured with the system property
+ * <code>org.eclipse.jdt.ui.idleTypeHierarchies</code>.
+ * </p>
+ */
+public final class TypeHierarchyService {
+
+	private record Key(List<IJavaElement> elements, boolean superTypesOnly) {
+	}
+
+	private static final class Entry implements ITypeHierarchyChangedListener {
+
+		private final Key fKey;
+		/** The current hierarchy, replaced under the entries of the service. */
+		private volatile ITypeHierarchy fHierarchy;
+		private volatile boolean fStale;
+		/**
+		 * References per hierarchy handed out, including replaced ones that clients have not
+		 * refreshed yet. Guarded by the entries of the service.
+		 */
+		private final Map<ITypeHierarchy, Integer> fReferences= new IdentityHashMap<>();
+
+		public Entry(Key key, ITypeHierarchy hierarchy) {
+			fKey= key;
+			fHierarchy= hierarchy;
+			fHierarchy.addTypeHierarchyChangedListener(this);
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			if (typeHierarchy == fHierarchy) {
+				fStale= true;
+			}
+		}
+
+		public int getReferenceCount() {
+			int count= 0;
+			for (Integer references : fReferences.values()) {
+				count+= references.intValue();
+			}
+			return count;
+		}
+
+		public void dispose() {
+			fHierarchy.removeTypeHierarchyChangedListener(this);
+		}
+
+		@Override
+		public String toString() {
+			return "Shared hierarchy of: " + fKey.elements() + " (" + getReferenceCount() + " references)"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static final int IDLE_HIERARCHIES= Math.max(0, Integer.getInteger("org.eclipse.jdt.ui.idleTypeHierarchies", 1).intValue()); //$NON-NLS-1$
+
+	private static final long CANCEL_POLL_MILLIS= 100;
+
+	private static final TypeHierarchyService fgDefault= new TypeHierarchyService();
+
+	/**
+	 * @return the shared instance
+	 */
+	public static TypeHierarchyService getDefault() {
+		return fgDefault;
+	}
+
+	/** All entries, guarded by itself. */
+	private final Map<Key, Entry> fEntries= new HashMap<>();
+	/** Computations in progress, guarded by {@link #fEntries}. */
+	private final Map<Key, CompletableFuture<Entry>> fPending= new HashMap<>();
+	/** Entries without references, least recently released first, guarded by {@link #fEntries}. */
+	private final Deque<Entry> fIdle= new ArrayDeque<>();
+
+	private TypeHierarchyService() {
+	}
+
+	/**
+	 * Returns an up-to-date hierarchy for the given input elements and adds a reference to
+	 * it. Each call must be balanced by a call to {@link #release(ITypeHierarchy)}.
+	 *
+	 * @param elements the input elements, a single type or the elements of a region
+	 * @param superTypesOnly <code>true</code> for a supertype hierarchy of a single type
+	 * @param pm the progress monitor, can be <code>null</code>
+	 * @return the shared hierarchy
+	 * @throws JavaModelException if the hierarchy cannot be computed
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public ITypeHierarchy acquire(IJavaElement[] elements, boolean superTypesOnly, IProgressMonitor pm) throws JavaModelException {
+		Key key= new Key(List.of(elements), superTypesOnly);
+		while (true) {
+			Entry entry= null;
+			CompletableFuture<Entry> pending;
+			boolean compute= false;
+			synchronized (fEntries) {
+				entry= fEntries.get(key);
+				if (entry != null && !entry.fHierarchy.exists()) {
+					removeEntry(entry);
+					entry= null;
+				}
+				if (entry != null) {
+					addReference(entry, entry.fHierarchy);
+					pending= null;
+				} else {
+					pending= fPending.get(key);
+					if (pending == null) {
+						pending= new CompletableFuture<>();
+						fPending.put(key, pending);
+						compute= true;
+					}
+				}
+			}
+
+			if (entry != null) {
+				ITypeHierarchy hierarchy= entry.fHierarchy;
+				boolean refreshed= false;
+				try {
+					refreshIfStale(entry, pm);
+					refreshed= true;
+				} finally {
+					if (!refreshed) {
+						release(hierarchy);
+					}
+				}
+				synchronized (fEntries) {
+					return moveReference(entry, hierarchy);
+				}
+			}
+			if (compute) {
+				return compute(key, pending, pm);
+			}
+			// another client computes the same hierarchy, take its result from the entries
+			waitFor(pending, pm);
+		}
+	}
+
+	private ITypeHierarchy compute(Key key, CompletableFuture<Entry> pending, IProgressMonitor pm) throws JavaModelException {
+		Entry entry= null;
+		try {
+			ITypeHierarchy hierarchy= createTypeHierarchy(key, pm);
+			if (pm != null && pm.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			entry= new Entry(key, hierarchy);
+			synchronized (fEntries) {
+				Entry previous= fEntries.put(key, entry);
+				if (previous != null) {
+					removeEntry(previous);
+				}
+				addReference(entry, hierarchy);
+			}
+			return hierarchy;
+		} finally {
+			synchronized (fEntries) {
+				fPending.remove(key, pending);
+			}
+			pending.complete(entry);
+		}
+	}
+
+	private static void waitFor(CompletableFuture<Entry> pending, IProgressMonitor pm) {
+		while (true) {
+			if (pm != null && pm.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				pending.get(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				// check the monitor again
+			} catch (ExecutionException e) {
+				return;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+		}
+	}
+
+	/**
+	 * Computes a new hierarchy for a stale entry and makes it the current one. The hierarchies
+	 * already handed out are not modified.
+	 */
+	private void refreshIfStale(Entry entry, IProgressMonitor pm) throws JavaModelException {
+		synchronized (entry) {
+			if (!entry.fStale) {
+				return;
+			}
+			// a change reported while computing marks the entry stale again, the current
+			// hierarchy keeps listening until the new one replaces it
+			entry.fStale= false;
+			ITypeHierarchy hierarchy= null;
+			try {
+				hierarchy= createTypeHierarchy(entry.fKey, pm);
+				if (pm != null && pm.isCanceled()) {
+					hierarchy= null;
+				}
+			} finally {
+				if (hierarchy == null) {
+					entry.fStale= true;
+				}
+			}
+			if (hierarchy == null) {
+				throw new OperationCanceledException();
+			}
+			hierarchy.addTypeHierarchyChangedListener(entry);
+			ITypeHierarchy previous;
+			boolean removed;
+			synchronized (fEntries) {
+				previous= entry.fHierarchy;
+				entry.fHierarchy= hierarchy;
+				removed= fEntries.get(entry.fKey) != entry;
+			}
+			previous.removeTypeHierarchyChangedListener(entry);
+			if (removed) {
+				hierarchy.removeTypeHierarchyChangedListener(entry);
+			}
+		}
+	}
+
+	/**
+	 * Brings a hierarchy returned by {@link #acquire(IJavaElement[], boolean, IProgressMonitor)}
+	 * up to date. If the hierarchy changed since the last refresh by any of its clients, a new
+	 * hierarchy is returned and the reference moves to it; the given hierarchy is not modified,
+	 * as other clients can still read it. The clients are notified of the change by the
+	 * hierarchy they hold.
+	 *
+	 * @param hierarchy the shared hierarchy
+	 * @param force whether to compute a new hierarchy even if no change has been reported, as for
+	 *            an explicit refresh by the user
+	 * @param pm the progress monitor, can be <code>null</code>
+	 * @return the up-to-date hierarchy, to be used and released instead of the given one
+	 * @throws JavaModelException if the hierarchy cannot be refreshed
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public ITypeHierarchy refresh(ITypeHierarchy hierarchy, boolean force, IProgressMonitor pm) throws JavaModelException {
+		Entry entry;
+		synchronized (fEntries) {
+			entry= findEntry(hierarchy);
+		}
+		if (entry == null) {
+			// no longer shared
+			hierarchy.refresh(pm);
+			if (pm != null && pm.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			return hierarchy;
+		}
+		if (force) {
+			entry.fStale= true;
+		}
+		refreshIfStale(entry, pm);
+		synchronized (fEntries) {
+			return moveReference(entry, hierarchy);
+		}
+	}
+
+	/**
+	 * Removes a reference added by {@link #acquire(IJavaElement[], boolean, IProgressMonitor)}.
+	 *
+	 * @param hierarchy the shared hierarchy
+	 */
+	public void release(ITypeHierarchy hierarchy) {
+		synchronized (fEntries) {
+			Entry entry= findEntry(hierarchy);
+			if (entry == null || !removeReference(entry, hierarchy)) {
+				return;
+			}
+			if (entry.fReferences.isEmpty()) {
+				fIdle.addLast(entry);
+				while (fIdle.size() > IDLE_HIERARCHIES) {
+					removeEntry(fIdle.getFirst());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of references to the given hierarchy, including the references to the
+	 * hierarchies it replaced or was replaced by. Used for testing.
+	 *
+	 * @param hierarchy a hierarchy
+	 * @return the number of references, or <code>-1</code> if the hierarchy is not shared
+	 */
+	public int getReferenceCount(ITypeHierarchy hierarchy) {
+		synchronized (fEntries) {
+			Entry entry= findEntry(hierarchy);
+			return entry != null ? entry.getReferenceCount() : -1;
+		}
+	}
+
+	private void addReference(Entry entry, ITypeHierarchy hierarchy) {
+		if (entry.fReferences.isEmpty()) {
+			fIdle.remove(entry);
+		}
+		entry.fReferences.merge(hierarchy, Integer.valueOf(1), Integer::sum);
+	}
+
+	private static boolean removeReference(Entry entry, ITypeHierarchy hierarchy) {
+		Integer references= entry.fReferences.get(hierarchy);
+		if (references == null) {
+			return false;
+		}
+		if (references.intValue() == 1) {
+			entry.fReferences.remove(hierarchy);
+		} else {
+			entry.fReferences.put(hierarchy, Integer.valueOf(references.intValue() - 1));
+		}
+		return true;
+	}
+
+	private ITypeHierarchy moveReference(Entry entry, ITypeHierarchy hierarchy) {
+		ITypeHierarchy current= entry.fHierarchy;
+		if (current != hierarchy && removeReference(entry, hierarchy)) {
+			addReference(entry, current);
+		}
+		return current;
+	}
+
+	private void removeEntry(Entry entry) {
+		fEntries.remove(entry.fKey, entry);
+		fIdle.remove(entry);
+		entry.dispose();
+	}
+
+	private Entry findEntry(ITypeHierarchy hierarchy) {
+		for (Entry entry : fEntries.values()) {
+			if (entry.fHierarchy == hierarchy || entry.fReferences.containsKey(hierarchy)) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	private static ITypeHierarchy createTypeHierarchy(Key key, IProgressMonitor pm) throws JavaModelException {
+		List<IJavaElement> elements= key.elements();
+		if (elements.size() == 1 && elements.get(0).getElementType() == IJavaElement.TYPE) {
+			IType type= (IType) elements.get(0);
+			if (key.superTypesOnly()) {
+				return type.newSupertypeHierarchy(pm);
+			} else {
+				return type.newTypeHierarchy(pm);
+			}
+		} else {
+			IRegion region= JavaCore.newRegion();
+			for (IJavaElement element : elements) {
+				if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
+					// for projects only add the contained source folders
+					for (IPackageFragmentRoot root : ((IJavaProject) element).getPackageFragmentRoots()) {
+						if (!root.isExternal()) {
+							region.add(root);
+						}
+					}
+				} else {
+					region.add(element);
+				}
+			}
+			return JavaCore.newTypeHierarchy(region, null, pm);
+		}
+	}
+}
@@ -775,7 +775,7 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 					if (event.keyCode == SWT.F5) {
 						ITypeHierarchy hierarchy= fHierarchyLifeCycle.getHierarchy();
 						if (hierarchy != null) {
-							fHierarchyLifeCycle.typeHierarchyChanged(hierarchy);
+							fHierarchyLifeCycle.forceRefresh();
 							doTypeHierarchyChangedOnViewers(null);
 						}
 						updateHierarchyViewer(false);
@@ -65,19 +65,34 @@ public class SelectionListenerWithASTManager {
 		private ITextEditor fPart;
 		private ISelectionListener fPostSelectionListener;
 		private ISelectionChangedListener fSelectionListener;
-		private Job fCurrentJob;
-		private ListenerList<ISelectionListenerWithAST> fAstListeners;
 		/**
-		 * Lock to avoid having more than one calculateAndInform job in parallel.
-		 * Only jobs may synchronize on this as otherwise deadlocks are possible.
+		 * The one job of this group. Post selection events only update the pending input
+		 * and selection and reschedule the job, so a burst of caret moves is coalesced into
+		 * at most one running and one pending computation, and the job never runs in parallel
+		 * with itself.
 		 */
-		private final Object fJobLock= new Object();
+		private final Job fCurrentJob;
+		private volatile ITypeRoot fPendingInput;
+		private volatile ITextSelection fPendingSelection;
+		private ListenerList<ISelectionListenerWithAST> fAstListeners;
 
 		public PartListenerGroup(ITextEditor editorPart) {
 			fPart= editorPart;
-			fCurrentJob= null;
 			fAstListeners= new ListenerList<>(ListenerList.IDENTITY);
 
+			fCurrentJob= new Job(JavaUIMessages.SelectionListenerWithASTManager_job_title) {
+				@Override
+				public IStatus run(IProgressMonitor monitor) {
+					ITypeRoot typeRoot= fPendingInput;
+					ITextSelection selection= fPendingSelection;
+					if (typeRoot == null || selection == null)
+						return Status.CANCEL_STATUS;
+					return JavaCore.callReadOnly(() -> calculateASTandInform(typeRoot, selection, monitor));
+				}
+			};
+			fCurrentJob.setPriority(Job.DECORATE);
+			fCurrentJob.setSystem(true);
+
 			fSelectionListener= event -> {
 				ISelection selection= event.getSelection();
 				if (selection instanceof ITextSelection) {
@@ -121,9 +136,7 @@ public class SelectionListenerWithASTManager {
 		 * @param selection the selection
 		 */
 		public void fireSelectionChanged(final ITextSelection selection) {
-			if (fCurrentJob != null) {
-				fCurrentJob.cancel();
-			}
+			fCurrentJob.cancel();
 		}
 
 		/**
@@ -132,26 +145,14 @@ public class SelectionListenerWithASTManager {
 		 * @param selection the selection
 		 */
 		public void firePostSelectionChanged(final ITextSelection selection) {
-			if (fCurrentJob != null) {
-				fCurrentJob.cancel();
-			}
+			fCurrentJob.cancel();
 			ITypeRoot input= EditorUtility.getEditorInputJavaElement(fPart, false);
 			if (input == null) {
 				return;
 			}
-			final ITypeRoot typeRoot= input;
-
-
-			fCurrentJob= new Job(JavaUIMessages.SelectionListenerWithASTManager_job_title) {
-				@Override
-				public IStatus run(IProgressMonitor monitor) {
-					synchronized (fJobLock) {
-						return JavaCore.callReadOnly(() -> calculateASTandInform(typeRoot, selection, monitor));
-					}
-				}
-			};
-			fCurrentJob.setPriority(Job.DECORATE);
-			fCurrentJob.setSystem(true);
+			fPendingInput= input;
+			fPendingSelection= selection;
+			// a running job is canceled and runs again with the latest selection when it is done
 			fCurrentJob.schedule();
 		}
 
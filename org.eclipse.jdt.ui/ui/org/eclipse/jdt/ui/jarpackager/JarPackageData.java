@@ -134,6 +134,9 @@ public class JarPackageData {
 	// Add directory entries to the jar
 	private boolean fIncludeDirectoryEntries;
 
+	// Reuse the unchanged entries of the previous export
+	private boolean fIncremental;
+
 	// Projects for which to store refactoring information
 	private IProject[] fRefactoringProjects= {};
 
@@ -175,6 +178,7 @@ public class JarPackageData {
 		setExportWarnings(true);
 		setBuildIfNeeded(true);
 		setIncludeDirectoryEntries(false);
+		setIncremental(false);
 	}
 
 	// ----------- Accessors -----------
@@ -1057,6 +1061,30 @@ public class JarPackageData {
 		fIncludeDirectoryEntries = includeDirectoryEntries;
 	}
 
+	/**
+	 * Tells whether the export reuses the entries of the previous export whose content did not
+	 * change. An index of the entries is kept next to the JAR for this.
+	 *
+	 * @return	<code>true</code> if the JAR is exported incrementally
+	 *
+	 * @since 3.33
+	 */
+	public boolean isIncremental() {
+		return fIncremental;
+	}
+
+	/**
+	 * Sets the option to reuse the unchanged entries of the previous export.
+	 *
+	 * @param incremental <code>true</code> to export incrementally
+	 *  <code>false</code> to always write all entries
+	 *
+	 * @since 3.33
+	 */
+	public void setIncremental(boolean incremental) {
+		fIncremental= incremental;
+	}
+
 	/**
 	 * Returns the projects for which refactoring information should be stored.
 	 * <p>
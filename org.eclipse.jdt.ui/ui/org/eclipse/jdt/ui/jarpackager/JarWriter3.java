@@ -50,9 +50,7 @@ import org.eclipse.core.runtime.Path;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
@@ -62,7 +60,6 @@ import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
 
-import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerMessages;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
@@ -248,16 +245,15 @@ public class JarWriter3 {
 	 */
 	protected void addFile(IFile resource, IPath path) throws IOException, CoreException {
 		JarEntry newEntry= new JarEntry(path.toString().replace(File.separatorChar, '/'));
-		byte[] allBytes;
-		try (InputStream contents= resource.getContents(false)) {
-			allBytes= contents.readAllBytes();
-		}
 		if (fJarPackage.isCompressed()) {
 			newEntry.setMethod(ZipEntry.DEFLATED);
 			// Entry is filled automatically.
 		} else {
 			newEntry.setMethod(ZipEntry.STORED);
-			JarPackagerUtil.setCrcAndSize(newEntry, allBytes);
+			// The CRC is needed before the entry is written, the content is read twice instead of being held in memory
+			try (InputStream contents= resource.getContents(false)) {
+				JarPackagerUtil.setCrcAndSize(newEntry, contents);
+			}
 		}
 
 		long lastModified= System.currentTimeMillis();
@@ -271,8 +267,7 @@ public class JarWriter3 {
 		// Set modification time
 		newEntry.setTime(lastModified);
 
-		fJarOutputStream.putNextEntry(newEntry);
-		fJarOutputStream.write(allBytes);
+		JarPackagerUtilCore.addEntry(newEntry, resource.getContents(false), fJarOutputStream);
 	}
 
 	/**
@@ -338,28 +333,7 @@ public class JarWriter3 {
 	 * @return	<code>true</code> if it is OK to create the JAR
 	 */
 	protected boolean canCreateJar(Shell parent) {
-		File file= fJarPackage.getAbsoluteJarLocation().toFile();
-		if (file.exists()) {
-			if (!file.canWrite())
-				return false;
-			if (fJarPackage.allowOverwrite())
-				return true;
-			return parent != null && JarPackagerUtil.askForOverwritePermission(parent, fJarPackage.getAbsoluteJarLocation(), true);
-		}
-
-		// Test if directory exists
-		String path= file.getAbsolutePath();
-		int separatorIndex = path.lastIndexOf(File.separator);
-		if (separatorIndex == -1) // i.e.- default directory, which is fine
-			return true;
-		File directory= new File(path.substring(0, separatorIndex));
-		if (!directory.exists()) {
-			if (JarPackagerUtil.askToCreateDirectory(parent, directory))
-				return directory.mkdirs();
-			else
-				return false;
-		}
-		return true;
+		return JarPackagerUtil.canCreateJar(fJarPackage, parent);
 	}
 
 	/**
@@ -373,34 +347,12 @@ public class JarWriter3 {
 		if (fJarOutputStream != null)
 			try {
 				fJarOutputStream.close();
-				registerInWorkspaceIfNeeded();
+				JarPackagerUtil.refreshJarLocation(fJarPackage.getAbsoluteJarLocation());
 			} catch (IOException ex) {
 				throw JarPackagerUtil.createCoreException(ex.getLocalizedMessage(), ex);
 			}
 	}
 
-	private void registerInWorkspaceIfNeeded() {
-		IPath jarPath= fJarPackage.getAbsoluteJarLocation();
-		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
-			// The Jar is always put into the local file system. So it can only be
-			// part of a project if the project is local as well. So using getLocation
-			// is currently save here.
-			IPath projectLocation= project.getLocation();
-			if (projectLocation != null && projectLocation.isPrefixOf(jarPath)) {
-				try {
-					jarPath= jarPath.removeFirstSegments(projectLocation.segmentCount());
-					jarPath= jarPath.removeLastSegments(1);
-					IResource containingFolder= project.findMember(jarPath);
-					if (containingFolder != null && containingFolder.isAccessible())
-						containingFolder.refreshLocal(IResource.DEPTH_ONE, null);
-				} catch (CoreException ex) {
-					// don't refresh the folder but log the problem
-					JavaPlugin.log(ex);
-				}
-			}
-		}
-	}
-
 	/**
 	 * Writes the passed resource to the current archive.
 	 *
@@ -447,15 +399,15 @@ public class JarWriter3 {
 		Assert.isNotNull(file);
 		Assert.isNotNull(path);
 		final JarEntry entry= new JarEntry(path.toString().replace(File.separatorChar, '/'));
-		byte[] allBytes= Files.readAllBytes(file.toPath());
 		if (data.isCompressed())
 			entry.setMethod(ZipEntry.DEFLATED);
 		else {
 			entry.setMethod(ZipEntry.STORED);
-			JarPackagerUtil.setCrcAndSize(entry, allBytes);
+			try (InputStream contents= Files.newInputStream(file.toPath())) {
+				JarPackagerUtil.setCrcAndSize(entry, contents);
+			}
 		}
 		entry.setTime(System.currentTimeMillis());
-		fJarOutputStream.putNextEntry(entry);
-		fJarOutputStream.write(allBytes);
+		JarPackagerUtilCore.addEntry(entry, Files.newInputStream(file.toPath()), fJarOutputStream);
 	}
 }